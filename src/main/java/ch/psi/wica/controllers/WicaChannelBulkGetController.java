@@ -0,0 +1,231 @@
+/*- Package Declaration ------------------------------------------------------*/
+
+package ch.psi.wica.controllers;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.controlsystem.epics.EpicsChannelName;
+import ch.psi.wica.infrastructure.channel.WicaChannelDataSerializer;
+import ch.psi.wica.infrastructure.channel.WicaChannelDataSerializerBuilder;
+import ch.psi.wica.model.app.StatisticsCollectionService;
+import ch.psi.wica.model.channel.WicaChannelValue;
+import ch.psi.wica.services.channel.WicaChannelGetService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+/**
+ * Provides a SpringBoot REST Controller to handle bulk GET operations on the
+ * {code /ca/channels} endpoint.
+ */
+@RestController
+@RequestMapping( "/ca/channels")
+class WicaChannelBulkGetController
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private final Logger logger = LoggerFactory.getLogger( WicaChannelBulkGetController.class );
+   private final WicaChannelGetService wicaChannelGetService;
+   private final int defaultTimeoutInMillis;
+   private final int defaultNumericScale;
+   private final String defaultFieldsOfInterest;
+
+   private final JsonFactory jsonFactory = new JsonFactory();
+   private final ControllerStatistics statisticsCollector;
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+
+   /**
+    * Constructs a new controller for handling bulk channel GET requests.
+    *
+    * @param defaultTimeoutInMillis the default timeout that will be used
+    *        when getting data from the wica channels.
+    *
+    * @param defaultNumericScale the default numeric scale that will be used
+    *        when returning the values of the channels.
+    *
+    * @param defaultFieldsOfInterest the default fields of interest that will
+    *        be used when returning the values of the channels.
+    *
+    * @param wicaChannelGetService reference to the service object which can be used
+    *        to get values from a wica channel.
+    * @param statisticsCollectionService an object which will collect the statistics
+    *        associated with this class instance.
+    */
+   private WicaChannelBulkGetController( @Value( "${wica.channel-get-timeout-interval-in-ms}") int defaultTimeoutInMillis,
+                                         @Value( "${wica.channel-get-numeric-scale}") int defaultNumericScale,
+                                         @Value( "${wica.channel-get-fields-of-interest}") String defaultFieldsOfInterest,
+                                         @Autowired WicaChannelGetService wicaChannelGetService,
+                                         @Autowired StatisticsCollectionService statisticsCollectionService
+   )
+   {
+      Validate.isTrue( defaultTimeoutInMillis > 0 );
+      Validate.isTrue( defaultNumericScale > 0 );
+      Validate.notNull( wicaChannelGetService );
+
+      this.defaultTimeoutInMillis = defaultTimeoutInMillis;
+      this.defaultNumericScale = defaultNumericScale;
+      this.defaultFieldsOfInterest = defaultFieldsOfInterest;
+      this.wicaChannelGetService = wicaChannelGetService;
+
+      this.statisticsCollector = new ControllerStatistics("WICA CHANNEL BULK GET CONTROLLER" );
+      statisticsCollectionService.addCollectable( statisticsCollector );
+   }
+
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   /**
+    * Handles an HTTP POST request to return the values of the specified channels.
+    *
+    * The values of all channels are obtained concurrently within a single shared
+    * timeout, so the time taken to service the request is governed by the
+    * slowest channel rather than by the number of channels.
+    *
+    * @param channelNames the names of the channels whose values are to be fetched.
+    *     Duplicate names are ignored.
+    *
+    * @param timeoutInMillis the timeout to be applied when attempting to
+    *     get the channel values from the underlying data source. If this
+    *     optional parameter is not provided then the configured default
+    *     value will be used.
+    *
+    * @param numericScale the default number of digits after the decimal
+    *     point when getting the current value of a wica channel. If this
+    *     optional parameter is not provided then the configured default
+    *     value will be used.
+    *
+    * @param fieldsOfInterest the default fields of interest to be returned
+    *      when getting the current value of a wica channel. If this
+    *     optional parameter is not provided then the configured default
+    *     value will be used.
+    *
+    * @param useMonitorCache whether the value of a channel whose monitor is
+    *     connected may be returned instead of reading the value from the
+    *     underlying data source. The monitored value is returned regardless of
+    *     when it was received. False forces a read from the data source. If
+    *     this optional parameter is not provided then the configured default
+    *     value will be used.
+    *
+    * @param httpServletRequest contextual information for the request; used
+    *     for statistics collection only.
+    *
+    * @return ResponseEntity set to return an HTTP status code of 'OK'
+    *    (= 200) and a body which includes a JSON object mapping each channel
+    *    name to the JSON representation of its current value. Channels whose
+    *    values could not be obtained within the timeout will be shown as
+    *    currently disconnected. If the list of channel names was empty an
+    *    HTTP status code of 'Bad Request' (= 400) will be returned.
+    */
+   @PostMapping( value="/get", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE )
+   public ResponseEntity<String> getChannelValues( @RequestBody List<String> channelNames,
+                                                   @RequestParam( value="timeout", required = false ) Integer timeoutInMillis,
+                                                   @RequestParam( value="numericScale", required = false ) Integer numericScale,
+                                                   @RequestParam( value="fieldsOfInterest", required = false ) String fieldsOfInterest,
+                                                   @RequestParam( value="useMonitorCache", required = false ) Boolean useMonitorCache,
+                                                   HttpServletRequest httpServletRequest )
+   {
+      logger.info( "POST: Handling bulk channel get request." );
+
+      // Check that the Spring framework gives us something in the HttpServletRequest and channelNames fields.
+      Validate.notNull( httpServletRequest, "The 'httpServletRequest' field was empty." );
+      Validate.notNull( channelNames, "The 'channelNames' field was empty." );
+
+      logger.info( "POST: Handling bulk channel get request for {} channels from remote host '{}'", channelNames.size(), httpServletRequest.getRemoteHost() );
+
+      // Update the usage statistics for this controller.
+      statisticsCollector.incrementRequests();
+      statisticsCollector.addClientIpAddr(httpServletRequest.getRemoteHost() );
+
+      // Handle the situation where no channels were specified.
+      if ( channelNames.isEmpty() )
+      {
+         final String errorMessage = "The list of channel names was empty.";
+         logger.warn( "POST: Rejected request because {}", errorMessage );
+         statisticsCollector.incrementErrors();
+         return ResponseEntity.status( HttpStatus.BAD_REQUEST ).header( "X-WICA-ERROR", errorMessage ).build();
+      }
+
+      // Assign default values when not explicitly provided.
+      timeoutInMillis = timeoutInMillis == null ? defaultTimeoutInMillis : timeoutInMillis;
+      numericScale = numericScale == null ? defaultNumericScale : numericScale;
+      fieldsOfInterest = fieldsOfInterest == null ? defaultFieldsOfInterest : fieldsOfInterest;
+
+      final Set<EpicsChannelName> epicsChannelNames = channelNames.stream()
+            .map( EpicsChannelName::of )
+            .collect( Collectors.toCollection( LinkedHashSet::new ) );
+
+      final var wicaChannelValueMap = useMonitorCache == null ?
+            wicaChannelGetService.getAll( epicsChannelNames, timeoutInMillis, TimeUnit.MILLISECONDS ) :
+            wicaChannelGetService.getAll( epicsChannelNames, timeoutInMillis, TimeUnit.MILLISECONDS, useMonitorCache );
+      final var fieldsOfInterestSet = Set.of( fieldsOfInterest.split( ";" ) );
+
+      final var serializer = WicaChannelDataSerializerBuilder
+            .create()
+            .withFieldsOfInterest( fieldsOfInterestSet )
+            .withNumericScale( numericScale )
+            .withQuotedNumericStrings( false )
+            .build();
+
+      logger.info( "OK: Returning {} wica channel values.", wicaChannelValueMap.size() );
+      statisticsCollector.incrementReplies();
+      return new ResponseEntity<>( writeToJson( wicaChannelValueMap, serializer ), HttpStatus.OK );
+   }
+
+   @ExceptionHandler( Exception.class )
+   public void handleException( Exception ex)
+   {
+      statisticsCollector.incrementErrors();
+      logger.warn( "Exception handler was called with exception '{}'", ex.toString() );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+
+   private String writeToJson( Map<EpicsChannelName,WicaChannelValue> wicaChannelValueMap, WicaChannelDataSerializer serializer )
+   {
+      final StringWriter stringWriter = new StringWriter();
+      try ( JsonGenerator jsonGenerator = jsonFactory.createGenerator( stringWriter ) )
+      {
+         jsonGenerator.writeStartObject();
+         for ( Map.Entry<EpicsChannelName,WicaChannelValue> entry : wicaChannelValueMap.entrySet() )
+         {
+            jsonGenerator.writeFieldName( entry.getKey().asString() );
+            jsonGenerator.writeRawValue( serializer.writeToJson( entry.getValue() ) );
+         }
+         jsonGenerator.writeEndObject();
+      }
+      catch ( IOException ex )
+      {
+         throw new UncheckedIOException( "Unexpected exception whilst serializing the channel values.", ex );
+      }
+      return stringWriter.toString();
+   }
+
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
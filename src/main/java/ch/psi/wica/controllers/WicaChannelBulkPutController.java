@@ -0,0 +1,206 @@
+/*- Package Declaration ------------------------------------------------------*/
+
+package ch.psi.wica.controllers;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.controlsystem.epics.EpicsChannelGetAndPutService;
+import ch.psi.wica.controlsystem.epics.EpicsChannelName;
+import ch.psi.wica.controlsystem.epics.EpicsChannelPutResult;
+import ch.psi.wica.model.app.StatisticsCollectionService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+/**
+ * Provides a SpringBoot REST Controller to handle bulk PUT operations on the
+ * {code /ca/channels} endpoint.
+ */
+@RestController
+@RequestMapping( "/ca/channels")
+class WicaChannelBulkPutController
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private final Logger logger = LoggerFactory.getLogger( WicaChannelBulkPutController.class );
+   private final EpicsChannelGetAndPutService epicsChannelGetAndPutService;
+   private final int defaultTimeoutInMillis;
+
+   private final JsonFactory jsonFactory = new JsonFactory();
+   private final ControllerStatistics statisticsCollector;
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+
+   /**
+    * Constructs a new controller for handling bulk channel PUT requests.
+    *
+    * @param defaultTimeoutInMillis the default timeout that will be used
+    *        when putting data to the wica channels.
+    *
+    * @param epicsChannelGetAndPutService reference to the service object which can be used
+    *        to get values to or from a wica channel.
+    * @param statisticsCollectionService an object which will collect the statistics
+    *        associated with this class instance.
+    */
+   private WicaChannelBulkPutController( @Value( "${wica.channel-put-timeout-interval-in-ms}") int defaultTimeoutInMillis,
+                                         @Autowired EpicsChannelGetAndPutService epicsChannelGetAndPutService,
+                                         @Autowired StatisticsCollectionService statisticsCollectionService
+   )
+   {
+      Validate.isTrue( defaultTimeoutInMillis > 0 );
+      Validate.notNull( epicsChannelGetAndPutService );
+
+      this.defaultTimeoutInMillis = defaultTimeoutInMillis;
+      this.epicsChannelGetAndPutService = epicsChannelGetAndPutService;
+
+      this.statisticsCollector = new ControllerStatistics("WICA CHANNEL BULK PUT CONTROLLER" );
+      statisticsCollectionService.addCollectable( statisticsCollector );
+   }
+
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   /**
+    * Handles an HTTP POST request to set the values of the specified channels.
+    *
+    * @param channelValues a JSON object whose keys are the names of the channels
+    *     to be changed and whose values are the new channel values. Values may be
+    *     JSON strings, numbers or booleans.
+    *
+    * @param timeoutInMillis the timeout to be applied when attempting to
+    *     put the channel values to the underlying data source. If this
+    *     optional parameter is not provided then the configured default
+    *     value will be used.
+    *
+    * @param httpServletRequest contextual information for the request; used
+    *     for statistics collection only.
+    *
+    * @return ResponseEntity whose body is a JSON object mapping each channel
+    *    name to the result of its PUT operation. The HTTP status code is 'OK'
+    *    (= 200) if all operations completed successfully or 'Internal Server
+    *    Error' (= 500) if any of them failed, in which case the response header
+    *    'X-WICA-ERROR' is written with a summary of the failures. If the request
+    *    was empty or contained non-scalar values an HTTP status code of
+    *    'Bad Request' (= 400) is returned.
+    */
+   @PostMapping( value="/put", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE )
+   public ResponseEntity<String> putChannelValues( @RequestBody Map<String,Object> channelValues,
+                                                   @RequestParam( value="timeout", required = false ) Integer timeoutInMillis,
+                                                   HttpServletRequest httpServletRequest )
+   {
+      logger.info( "POST: Handling bulk channel put request." );
+
+      // Check that the Spring framework gives us something in the HttpServletRequest and channelValues fields.
+      Validate.notNull( httpServletRequest, "The 'httpServletRequest' field was empty." );
+      Validate.notNull( channelValues, "The 'channelValues' field was empty." );
+
+      logger.info( "POST: Handling bulk channel put request for {} channels from remote host '{}'", channelValues.size(), httpServletRequest.getRemoteHost() );
+
+      // Update the usage statistics for this controller.
+      statisticsCollector.incrementRequests();
+      statisticsCollector.addClientIpAddr(httpServletRequest.getRemoteHost() );
+
+      // Handle the situation where the request cannot be processed.
+      if ( channelValues.isEmpty() )
+      {
+         return rejectBadRequest( "The map of channel values was empty." );
+      }
+      if ( channelValues.values().stream().anyMatch( v -> ( v == null ) || ( v instanceof Map ) || ( v instanceof Collection ) ) )
+      {
+         return rejectBadRequest( "The channel values must be JSON strings, numbers or booleans." );
+      }
+
+      // Assign default values when not explicitly provided.
+      timeoutInMillis = timeoutInMillis == null ? defaultTimeoutInMillis : timeoutInMillis;
+
+      final Map<EpicsChannelName,String> epicsChannelValues = new LinkedHashMap<>();
+      channelValues.forEach( ( channelName, channelValue ) -> epicsChannelValues.put( EpicsChannelName.of( channelName ), String.valueOf( channelValue ) ) );
+
+      final var resultMap = epicsChannelGetAndPutService.putAll( epicsChannelValues, timeoutInMillis, TimeUnit.MILLISECONDS );
+      final var responseBody = writeToJson( resultMap );
+      final long failureCount = resultMap.values().stream().filter( r -> ! r.isSuccess() ).count();
+      statisticsCollector.incrementReplies();
+
+      // Handle failure of one or more of the operations.
+      if ( failureCount > 0 )
+      {
+         final String errorMessage = failureCount + " of " + resultMap.size() + " channel PUT operations failed.";
+         logger.warn( "POST: Bulk put request incomplete because {}", errorMessage  );
+         statisticsCollector.incrementErrors();
+         return ResponseEntity.status( HttpStatus.INTERNAL_SERVER_ERROR ).header( "X-WICA-ERROR", errorMessage ).contentType( MediaType.APPLICATION_JSON ).body( responseBody );
+      }
+
+      // Handle the normal situation.
+      logger.info( "OK: Bulk PUT channel request for {} channels.", resultMap.size() );
+      return new ResponseEntity<>( responseBody, HttpStatus.OK );
+   }
+
+   @ExceptionHandler( Exception.class )
+   public void handleException( Exception ex)
+   {
+      statisticsCollector.incrementErrors();
+      logger.warn( "Exception handler was called with exception '{}'", ex.toString() );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+
+   private ResponseEntity<String> rejectBadRequest( String errorMessage )
+   {
+      logger.warn( "POST: Rejected request because {}", errorMessage );
+      statisticsCollector.incrementErrors();
+      return ResponseEntity.status( HttpStatus.BAD_REQUEST ).header( "X-WICA-ERROR", errorMessage ).build();
+   }
+
+   private String writeToJson( Map<EpicsChannelName,EpicsChannelPutResult> resultMap )
+   {
+      final StringWriter stringWriter = new StringWriter();
+      try ( JsonGenerator jsonGenerator = jsonFactory.createGenerator( stringWriter ) )
+      {
+         jsonGenerator.writeStartObject();
+         for ( Map.Entry<EpicsChannelName,EpicsChannelPutResult> entry : resultMap.entrySet() )
+         {
+            final EpicsChannelPutResult result = entry.getValue();
+            jsonGenerator.writeObjectFieldStart( entry.getKey().asString() );
+            jsonGenerator.writeBooleanField( "success", result.isSuccess() );
+            if ( result.getErrorMessage().isPresent() )
+            {
+               jsonGenerator.writeStringField( "error", result.getErrorMessage().get() );
+            }
+            jsonGenerator.writeNumberField( "latency", result.getLatency().toMillis() );
+            jsonGenerator.writeEndObject();
+         }
+         jsonGenerator.writeEndObject();
+      }
+      catch ( IOException ex )
+      {
+         throw new UncheckedIOException( "Unexpected exception whilst serializing the channel put results.", ex );
+      }
+      return stringWriter.toString();
+   }
+
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
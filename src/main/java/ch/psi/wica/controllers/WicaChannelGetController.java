@@ -4,10 +4,10 @@ package ch.psi.wica.controllers;
 
 /*- Imported packages --------------------------------------------------------*/
 
-import ch.psi.wica.controlsystem.epics.EpicsChannelGetAndPutService;
 import ch.psi.wica.controlsystem.epics.EpicsChannelName;
 import ch.psi.wica.infrastructure.channel.WicaChannelDataSerializerBuilder;
 import ch.psi.wica.model.app.StatisticsCollectionService;
+import ch.psi.wica.services.channel.WicaChannelGetService;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,7 +38,7 @@ class WicaChannelGetController
 /*- Private attributes -------------------------------------------------------*/
 
    private final Logger logger = LoggerFactory.getLogger( WicaChannelGetController.class );
-   private final EpicsChannelGetAndPutService epicsChannelGetAndPutService;
+   private final WicaChannelGetService wicaChannelGetService;
    private final int defaultTimeoutInMillis;
    private final int defaultNumericScale;
    private final String defaultFieldsOfInterest;
@@ -57,26 +57,26 @@ class WicaChannelGetController
     * @param defaultNumericScale the default numeric scale that will be used
     *        when returning the value of the channel.
     *
-    * @param epicsChannelGetAndPutService reference to the service object which can be used
-    *        to get values to or from a wica channel.
+    * @param wicaChannelGetService reference to the service object which can be used
+    *        to get values from a wica channel.
     * @param statisticsCollectionService an object which will collect the statistics
     *        associated with this class instance.
     */
    private WicaChannelGetController( @Value( "${wica.channel-get-timeout-interval-in-ms}") int defaultTimeoutInMillis,
                                      @Value( "${wica.channel-get-numeric-scale}") int defaultNumericScale,
                                      @Value( "${wica.channel-get-fields-of-interest}") String defaultFieldsOfInterest,
-                                     @Autowired EpicsChannelGetAndPutService epicsChannelGetAndPutService,
+                                     @Autowired WicaChannelGetService wicaChannelGetService,
                                      @Autowired StatisticsCollectionService statisticsCollectionService
    )
    {
       Validate.isTrue( defaultTimeoutInMillis > 0 );
       Validate.isTrue( defaultNumericScale > 0 );
-      Validate.notNull(epicsChannelGetAndPutService);
+      Validate.notNull( wicaChannelGetService );
 
       this.defaultTimeoutInMillis = defaultTimeoutInMillis;
       this.defaultNumericScale = defaultNumericScale;
       this.defaultFieldsOfInterest = defaultFieldsOfInterest;
-      this.epicsChannelGetAndPutService = epicsChannelGetAndPutService;
+      this.wicaChannelGetService = wicaChannelGetService;
 
       this.statisticsCollector = new ControllerStatistics("WICA CHANNEL GET CONTROLLER" );
       statisticsCollectionService.addCollectable( statisticsCollector );
@@ -105,6 +105,13 @@ class WicaChannelGetController
     *     optional parameter is not provided then the configured default
     *     value will be used.
     *
+    * @param useMonitorCache whether the value of a channel whose monitor is
+    *     connected may be returned instead of reading the value from the
+    *     underlying data source. The monitored value is returned regardless of
+    *     when it was received. False forces a read from the data source. If
+    *     this optional parameter is not provided then the configured default
+    *     value will be used.
+    *
     * @param httpServletRequest contextual information for the request; used
     *     for statistics collection only.
     *
@@ -118,6 +125,7 @@ class WicaChannelGetController
                                                   @RequestParam( value="timeout", required = false ) Integer timeoutInMillis,
                                                   @RequestParam( value="numericScale", required = false ) Integer numericScale,
                                                   @RequestParam( value="fieldsOfInterest", required = false ) String fieldsOfInterest,
+                                                  @RequestParam( value="useMonitorCache", required = false ) Boolean useMonitorCache,
                                                   HttpServletRequest httpServletRequest )
    {
       logger.info( "GET: Handling channel get request." );
@@ -137,7 +145,10 @@ class WicaChannelGetController
       numericScale = numericScale == null ? defaultNumericScale : numericScale;
       fieldsOfInterest = fieldsOfInterest == null ? defaultFieldsOfInterest : fieldsOfInterest;
 
-      final var wicaChannelValue = epicsChannelGetAndPutService.get( EpicsChannelName.of( channelName ), timeoutInMillis, TimeUnit.MILLISECONDS );
+      final var epicsChannelName = EpicsChannelName.of( channelName );
+      final var wicaChannelValue = useMonitorCache == null ?
+            wicaChannelGetService.get( epicsChannelName, timeoutInMillis, TimeUnit.MILLISECONDS ) :
+            wicaChannelGetService.get( epicsChannelName, timeoutInMillis, TimeUnit.MILLISECONDS, useMonitorCache );
       final var fieldsOfInterestSet = Set.of( fieldsOfInterest.split( ";" ) );
 
       final var serializer = WicaChannelDataSerializerBuilder
@@ -0,0 +1,195 @@
+/*- Package Declaration ------------------------------------------------------*/
+
+package ch.psi.wica.controllers;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.app.StatisticsCollectionService;
+import ch.psi.wica.model.stream.WicaStreamId;
+import ch.psi.wica.services.stream.WicaStreamLifecycleService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.HashSet;
+import java.util.Set;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+/**
+ * Provides a SpringBoot REST Controller to handle PATCH operations on the
+ * {code /ca/streams} endpoint.
+ *
+ * The request body is a JSON object with the optional properties 'add' (an
+ * array of channel configurations with the same format as those used when
+ * creating a stream) and 'remove' (an array of channel names). For example:
+ * <pre>
+ *    { "add": [ { "name": "XXX:CHAN3", "props": { "prec": 2 } } ], "remove": [ "XXX:CHAN1" ] }
+ * </pre>
+ */
+@RestController
+@RequestMapping( "/ca/streams")
+class WicaStreamModifyController
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private final Logger appLogger = LoggerFactory.getLogger("APP_LOGGER" );
+   private final Logger logger = LoggerFactory.getLogger(WicaStreamModifyController.class );
+   private final WicaStreamLifecycleService wicaStreamLifecycleService;
+   private final ControllerStatistics statisticsCollector;
+
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+
+   /**
+    * Constructs a new controller for handling stream PATCH requests.
+    *
+    * @param wicaStreamLifecycleService reference to the service object which can be used
+    *        to modify the reactive stream.
+    * @param statisticsCollectionService an object which will collect the statistics
+    *        associated with this class instance.
+    */
+   public WicaStreamModifyController( @Autowired WicaStreamLifecycleService wicaStreamLifecycleService,
+                                      @Autowired StatisticsCollectionService statisticsCollectionService)
+   {
+      this.wicaStreamLifecycleService = Validate.notNull(wicaStreamLifecycleService);
+
+      this.statisticsCollector = new ControllerStatistics("WICA STREAM MODIFY CONTROLLER" );
+      statisticsCollectionService.addCollectable( statisticsCollector );
+   }
+
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   /**
+    * Handles HTTP PATCH requests to add channels to, or remove channels from,
+    * the wica stream with the specified ID.
+    *
+    * @param streamId the ID of the stream to be modified.
+    * @param jsonModificationRequest the JSON object describing the channels to
+    *     be added and/or removed.
+    * @param httpServletRequest contextual information for the request; used
+    *     for statistics collection only.
+    *
+    * @return an HTTP response whose status code will be set to 'OK' (= 200)
+    *     if the modify operation completes successfully or 'Bad Request'
+    *     (= 400) if some error occurs.  When successful the body of the HTTP
+    *     response contains the ID of the resource which was modified. When
+    *     unsuccessful an additional response header 'X-WICA-ERROR' is written
+    *     with a more detailed description of the error.
+    */
+   @PatchMapping( value = "/{streamId}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.TEXT_PLAIN_VALUE )
+   public ResponseEntity<String> modifyStream( @PathVariable String streamId,
+                                               @RequestBody( required = false ) String jsonModificationRequest,
+                                               HttpServletRequest httpServletRequest )
+   {
+      // Check that the Spring framework gives us something in the HttpServletRequest field.
+      Validate.notNull( httpServletRequest, "The 'httpServletRequest' field was empty." );
+
+      logger.trace( "PATCH: The modify request originated from remote host '{}'", httpServletRequest.getRemoteHost() );
+
+      // Update the usage statistics for this controller.
+      statisticsCollector.incrementRequests();
+      statisticsCollector.addClientIpAddr( httpServletRequest.getRemoteHost() );
+
+      // Handle the situation where the stream ID string is blank.
+      if( streamId.isBlank() )
+      {
+         return handleError( "WICA SERVER: The stream ID was blank." );
+      }
+
+      logger.trace( "PATCH: Handling modify stream request for ID: '{}'", streamId );
+
+      // Handle the situation where an unknown stream ID is given
+      final WicaStreamId wicaStreamId = WicaStreamId.of( streamId );
+      if ( ! wicaStreamLifecycleService.isKnown( wicaStreamId ) )
+      {
+         return handleError( "WICA SERVER: The stream ID '" + streamId + "' was not recognised." );
+      }
+
+      // Handle the situation where no modification request is given.
+      if ( ( jsonModificationRequest == null ) || jsonModificationRequest.isBlank() )
+      {
+         return handleError( "WICA SERVER: The modification request was empty." );
+      }
+
+      // Attempt to decode the modification request and to modify the specified stream.
+      try
+      {
+         final JsonNode rootNode = new ObjectMapper().readTree( jsonModificationRequest );
+         Validate.isTrue( rootNode.isObject(), "The modification request was not a JSON object." );
+
+         final JsonNode addNode = rootNode.get( "add" );
+         Validate.isTrue( ( addNode == null ) || addNode.isArray(), "The 'add' property was not an array." );
+
+         final JsonNode removeNode = rootNode.get( "remove" );
+         Validate.isTrue( ( removeNode == null ) || removeNode.isArray(), "The 'remove' property was not an array." );
+
+         final Set<String> channelNamesToRemove = new HashSet<>();
+         if ( removeNode != null )
+         {
+            for ( JsonNode channelNameNode : removeNode )
+            {
+               Validate.isTrue( channelNameNode.isTextual(), "The 'remove' property contained an entry which was not a channel name." );
+               channelNamesToRemove.add( channelNameNode.asText() );
+            }
+         }
+         Validate.isTrue( ( addNode != null && addNode.size() > 0 ) || ! channelNamesToRemove.isEmpty(), "The modification request did not add or remove any channels." );
+
+         final String jsonChannelsToAdd = ( addNode == null || addNode.size() == 0 ) ? null : addNode.toString();
+         wicaStreamLifecycleService.modify( wicaStreamId, jsonChannelsToAdd, channelNamesToRemove );
+      }
+      catch( Exception ex )
+      {
+         final String errorMessage;
+         if ( ex.getMessage() == null )
+         {
+            final String exceptionClass = ex.getClass().toString();
+            errorMessage = "WICA SERVER: An exception occurred of class: '" + exceptionClass + "'.";
+         }
+         else
+         {
+            errorMessage = "WICA SERVER: " + ex.getMessage();
+         }
+         return handleError( errorMessage );
+      }
+
+      logger.trace( "PATCH: modified stream with id: '{}'" , streamId );
+      appLogger.info( "PATCH: modified stream with id: '{}' following request from client with IP: '{}'", wicaStreamId, httpServletRequest.getRemoteHost() );
+      statisticsCollector.incrementReplies();
+      return new ResponseEntity<>( streamId, HttpStatus.OK );
+   }
+
+
+   @ExceptionHandler( Exception.class )
+   public void handleException( Exception ex)
+   {
+      statisticsCollector.incrementErrors();
+      logger.warn( "Exception handler was called with exception '{}'", ex.toString() );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+
+   private ResponseEntity<String> handleError( String errorMessage )
+   {
+      logger.warn( "PATCH: Rejected request because '{}'.", errorMessage  );
+      statisticsCollector.incrementErrors();
+      statisticsCollector.incrementReplies();
+      return ResponseEntity.status( HttpStatus.BAD_REQUEST ).header( "X-WICA-ERROR", errorMessage ).build();
+   }
+
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
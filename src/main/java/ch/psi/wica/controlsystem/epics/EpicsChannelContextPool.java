@@ -0,0 +1,159 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.controlsystem.epics;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import net.jcip.annotations.ThreadSafe;
+import org.apache.commons.lang3.Validate;
+import org.epics.ca.Context;
+import org.epics.ca.impl.LibraryConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+/**
+ * Provides a fixed set of EPICS CA contexts between which channels are
+ * distributed according to a consistent hash of the channel name.
+ *
+ * Each context has its own TCP circuits and its own monitor notifier pool,
+ * so spreading the channels over several contexts allows the network I/O
+ * and monitor notification work to proceed in parallel on multi-core
+ * servers. A given channel name is always assigned to the same context.
+ */
+@ThreadSafe
+class EpicsChannelContextPool implements AutoCloseable
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private final Logger logger = LoggerFactory.getLogger( EpicsChannelContextPool.class );
+   private final List<Context> contexts;
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+
+   /**
+    * Returns a new instance with the specified number of contexts, each of
+    * which is configured with the supplied monitor notification policy and
+    * debug message log level.
+    *
+    * @param numberOfContexts the number of contexts.
+    * @param epicsCaLibraryMonitorNotifierImpl the CA library monitor notifier configuration.
+    * @param epicsCaLibraryDebugLevel the CA library debug level.
+    */
+   EpicsChannelContextPool( int numberOfContexts, String epicsCaLibraryMonitorNotifierImpl, int epicsCaLibraryDebugLevel )
+   {
+      Validate.isTrue( numberOfContexts > 0, "The number of contexts must be greater than zero." );
+      Validate.notNull( epicsCaLibraryMonitorNotifierImpl );
+
+      final Properties properties = new Properties();
+      properties.setProperty( LibraryConfiguration.PropertyNames.CA_MONITOR_NOTIFIER_IMPL.toString(), epicsCaLibraryMonitorNotifierImpl );
+      properties.setProperty( LibraryConfiguration.PropertyNames.CA_LIBRARY_LOG_LEVEL.toString(), String.valueOf( epicsCaLibraryDebugLevel ) );
+
+      logger.info( "Creating {} CA context(s)...", numberOfContexts );
+      final List<Context> contextList = new ArrayList<>();
+      for ( int i = 0; i < numberOfContexts; i++ )
+      {
+         contextList.add( new Context( properties ) );
+      }
+      this.contexts = Collections.unmodifiableList( contextList );
+   }
+
+/*- Class methods ------------------------------------------------------------*/
+
+   /**
+    * Maps the supplied key onto one of the specified number of buckets using
+    * the "jump consistent hash" algorithm of Lamping and Veach. The result is
+    * stable for a given key and, when the number of buckets grows, only the
+    * minimum number of keys are moved to a different bucket.
+    *
+    * @param key the key.
+    * @param numberOfBuckets the number of buckets.
+    * @return the bucket index in the range 0 to numberOfBuckets - 1.
+    */
+   static int jumpConsistentHash( long key, int numberOfBuckets )
+   {
+      long b = -1;
+      long j = 0;
+      while ( j < numberOfBuckets )
+      {
+         b = j;
+         key = key * 2862933555777941757L + 1;
+         j = (long) ( ( b + 1 ) * ( (double) ( 1L << 31 ) / (double) ( ( key >>> 33 ) + 1 ) ) );
+      }
+      return (int) b;
+   }
+
+/*- Package-access methods ---------------------------------------------------*/
+
+   /**
+    * Returns the number of contexts in the pool.
+    *
+    * @return the result.
+    */
+   int size()
+   {
+      return contexts.size();
+   }
+
+   /**
+    * Returns the index of the context to which the specified channel is assigned.
+    *
+    * @param epicsChannelName the channel name.
+    * @return the index in the range 0 to size() - 1.
+    */
+   int getShardIndex( EpicsChannelName epicsChannelName )
+   {
+      Validate.notNull( epicsChannelName );
+      return jumpConsistentHash( spread( epicsChannelName.asString().hashCode() ), contexts.size() );
+   }
+
+   /**
+    * Returns the context to which the specified channel is assigned.
+    *
+    * @param epicsChannelName the channel name.
+    * @return the context.
+    */
+   Context getContext( EpicsChannelName epicsChannelName )
+   {
+      return contexts.get( getShardIndex( epicsChannelName ) );
+   }
+
+   /**
+    * Disposes of all contexts in the pool, together with any open channels.
+    */
+   @Override
+   public void close()
+   {
+      contexts.forEach( Context::close );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+
+   /**
+    * Spreads the bits of a 32-bit hash code over a 64-bit key so that similar
+    * channel names (eg 'XXX:1', 'XXX:2') are distributed evenly.
+    */
+   private static long spread( int hashCode )
+   {
+      long h = hashCode;
+      h ^= ( h >>> 33 );
+      h *= 0xff51afd7ed558ccdL;
+      h ^= ( h >>> 33 );
+      h *= 0xc4ceb9fe1a85ec53L;
+      h ^= ( h >>> 33 );
+      return h;
+   }
+
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
@@ -5,22 +5,21 @@ package ch.psi.wica.controlsystem.epics;
 /*- Interface Declaration ----------------------------------------------------*/
 /*- Class Declaration --------------------------------------------------------*/
 
+import ch.psi.wica.model.app.StatisticsCollectionService;
 import ch.psi.wica.model.channel.WicaChannelValue;
 import net.jcip.annotations.ThreadSafe;
 import org.apache.commons.lang3.Validate;
 import org.epics.ca.Channel;
-import org.epics.ca.Context;
-import org.epics.ca.impl.LibraryConfiguration;
+import org.epics.ca.Status;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.Properties;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * A service which offers the possibility to get or put the values of an
@@ -30,6 +29,10 @@ import java.util.concurrent.TimeoutException;
  * The current implementation uses PSI's CA EPICS client library to create a
  * single shared EPICS CA Context per class instance. The EPICS CA context and
  * all associated resources are disposed of when the service instance is closed.
+ *
+ * Channels used for PUT operations are retained in a bounded pool so that
+ * subsequent writes to the same channel do not incur the cost of establishing
+ * a new connection.
  */
 @Service
 @ThreadSafe
@@ -40,10 +43,16 @@ public class EpicsChannelGetAndPutService implements AutoCloseable
 /*- Private attributes -------------------------------------------------------*/
 
    private final Logger logger = LoggerFactory.getLogger(EpicsChannelMonitoringService.class );
-   private final Context caContext;
+   private final EpicsChannelContextPool caContextPool;
    private final EpicsChannelValueGetter epicsChannelValueGetter;
+   private final EpicsChannelMonitoringService epicsChannelMonitoringService;
+   private final Semaphore putInFlightPermits;
+   private final int putChannelPoolSize;
+   private final Map<EpicsChannelName,PutChannel> putChannelPool = new ConcurrentHashMap<>();
+   private final Map<EpicsChannelName,GetFlight> inFlightGets = new ConcurrentHashMap<>();
+   private final EpicsChannelGetAndPutServiceStatistics statisticsCollector;
 
-   private boolean closed = false;
+   private volatile boolean closed = false;
 
 /*- Main ---------------------------------------------------------------------*/
 /*- Constructor --------------------------------------------------------------*/
@@ -53,29 +62,47 @@ public class EpicsChannelGetAndPutService implements AutoCloseable
     *
     * @param epicsCaLibraryMonitorNotifierImpl the CA library monitor notifier configuration.
     * @param epicsCaLibraryDebugLevel the CA library debug level.
+    * @param epicsCaLibraryContextCount the number of CA contexts between which the channels will be shared.
+    * @param putMaxInFlight the maximum number of PUT operations that may be
+    *        in progress at the same time.
+    * @param putChannelPoolSize the maximum number of channels that will be
+    *        retained for reuse by subsequent PUT operations.
     * @param epicsChannelValueGetter an object that can get and build the returned value.
-
+    * @param epicsChannelMonitoringService the service whose connected channels may be
+    *        reused when getting channel values.
+    * @param statisticsCollectionService an object which will collect the statistics
+    *        associated with this class instance.
     */
    public EpicsChannelGetAndPutService( @Value( "${wica.epics-ca-library-monitor-notifier-impl}") String  epicsCaLibraryMonitorNotifierImpl,
                                         @Value( "${wica.epics-ca-library-debug-level}") int epicsCaLibraryDebugLevel,
-                                        @Autowired EpicsChannelValueGetter epicsChannelValueGetter )
+                                        @Value( "${wica.epics-ca-library-context-count:1}") int epicsCaLibraryContextCount,
+                                        @Value( "${wica.channel-put-max-in-flight}") int putMaxInFlight,
+                                        @Value( "${wica.channel-put-channel-pool-size}") int putChannelPoolSize,
+                                        @Autowired EpicsChannelValueGetter epicsChannelValueGetter,
+                                        @Autowired EpicsChannelMonitoringService epicsChannelMonitoringService,
+                                        @Autowired StatisticsCollectionService statisticsCollectionService )
    {
       logger.debug( "'{}' - constructing new EpicsChannelGetAndPutService instance...", this );
 
       this.epicsChannelValueGetter = Validate.notNull( epicsChannelValueGetter );
+      this.epicsChannelMonitoringService = Validate.notNull( epicsChannelMonitoringService );
+      Validate.isTrue( putMaxInFlight > 0 );
+      Validate.isTrue( putChannelPoolSize >= 0 );
+      this.putInFlightPermits = new Semaphore( putMaxInFlight );
+      this.putChannelPoolSize = putChannelPoolSize;
 
-      logger.info( "Creating CA context for WicaChannelService..." );
+      logger.info( "Creating CA contexts for WicaChannelService..." );
 
-      // Setup a context that uses the monitor notification policy and debug
+      // Setup the contexts that use the monitor notification policy and debug
       // message log level defined in the configuration file.
       // Note: the EPICS_CA_MAX_ARRAY_BYTES property should not be required, since unlimited
       // size is the defaulty behaviour of the library.
       // System.setProperty( ProtocolConfiguration.PropertyNames.EPICS_CA_MAX_ARRAY_BYTES.toString(), "1000000");
-      final Properties properties = new Properties();
-      properties.setProperty( LibraryConfiguration.PropertyNames.CA_MONITOR_NOTIFIER_IMPL.toString(), epicsCaLibraryMonitorNotifierImpl );
-      properties.setProperty( LibraryConfiguration.PropertyNames.CA_LIBRARY_LOG_LEVEL.toString(), String.valueOf( epicsCaLibraryDebugLevel ) );
+      caContextPool = new EpicsChannelContextPool( epicsCaLibraryContextCount, epicsCaLibraryMonitorNotifierImpl, epicsCaLibraryDebugLevel );
+
+      this.statisticsCollector = new EpicsChannelGetAndPutServiceStatistics( inFlightGets, putChannelPool, caContextPool );
+      statisticsCollectionService.addCollectable( statisticsCollector );
 
-      caContext = new Context( properties );
       logger.debug( "'{}' - service instance constructed ok.", this );
    }
 
@@ -85,14 +112,20 @@ public class EpicsChannelGetAndPutService implements AutoCloseable
    /**
     * Gets the value of a channel.
     *
-    * This method incurs the network cost of establishing a channel to the remote
-    * data source and performing a synchronous (=confirmed) GET operation.
+    * Concurrent requests for the same channel are coalesced: only the first
+    * caller triggers a read from the remote data source and any further callers
+    * which arrive while that read is still in progress share its result. A read
+    * which is not coalesced incurs the network cost of establishing a channel
+    * to the remote data source, unless the channel is already being monitored.
     *
     * @param epicsChannelName the name of the channel.
     *
     * @param timeout the timeout to be applied when attempting to get the channel
     *     value from the underlying data source. If a timeout occurs the returned
-    *     value will be WicaChannelValueDisconnected.
+    *     value will be WicaChannelValueDisconnected. A caller which joins a read
+    *     already in progress waits for up to its own timeout: the read remains in
+    *     progress until the longest of the timeouts requested by the callers
+    *     sharing it has expired.
     * @param timeUnit the time units to be used.
     * @return the value.
     */
@@ -103,43 +136,111 @@ public class EpicsChannelGetAndPutService implements AutoCloseable
       Validate.isTrue( timeout > 0 );
       Validate.validState( ! closed, "The service was previously closed and can no longer be used." );
 
-
-      // Create a new channel
       final String channelName = epicsChannelName.asString();
-      final Channel<Object> caChannel;
+      final GetFlight flight = getCoalesced( epicsChannelName, timeout, timeUnit );
       try
       {
-         logger.info( "'{}' - Creating channel...", channelName );
-         caChannel = caContext.createChannel(channelName, Object.class );
-         logger.info( "'{}' - OK: channel created.", channelName );
+         logger.info( "'{}' - Getting channel value with timeout {} {}...", channelName, timeout, timeUnit );
+         final WicaChannelValue wicaChannelValue = flight.future.get( timeout, timeUnit );
+         logger.info( "'{}' - OK: channel value obtained.", channelName );
+         return wicaChannelValue;
       }
-      catch ( Throwable ex )
+      catch ( InterruptedException ex )
       {
-         logger.info( "'{}' - ERROR: Exception whilst creating channel. Details: '{}'", channelName, ex.getMessage() );
+         logger.info( "'{}' - ERROR: Interrupted whilst getting channel value.", channelName );
+         Thread.currentThread().interrupt();
+         return WicaChannelValue.createChannelValueDisconnected();
+      }
+      catch ( ExecutionException | TimeoutException ex )
+      {
+         logger.info( "'{}' - ERROR: Exception whilst getting channel value. Details: '{}'.", channelName, ex.toString() );
+
+         // Abandon the read unless it is still needed by a caller which joined it later.
+         flight.expireIfDue();
          return WicaChannelValue.createChannelValueDisconnected();
       }
+   }
 
-      // Wait for it to connect
+   /**
+    * Gets the values of multiple channels.
+    *
+    * The GET operations for all channels are issued concurrently and share
+    * a single timeout. As for single channel requests, reads of channels
+    * which are already in progress on behalf of other callers are shared,
+    * and remain in progress until the longest of the timeouts requested by
+    * their callers has expired.
+    * Channels which are already being monitored and are currently connected
+    * are read using the existing monitor channel. All other channels incur
+    * the network cost of establishing a new channel to the remote data
+    * source, which is closed again when the operation completes.
+    *
+    * @param epicsChannelNames the names of the channels.
+    *
+    * @param timeout the timeout to be applied when attempting to get the channel
+    *     values from the underlying data source. Any channels whose values
+    *     are not available when the timeout expires will be returned as
+    *     WicaChannelValueDisconnected.
+    * @param timeUnit the time units to be used.
+    * @return map of channel names to values, ordered as in the supplied set.
+    * @throws NullPointerException if any of the reference object arguments were null.
+    */
+   public Map<EpicsChannelName,WicaChannelValue> getAll( Set<EpicsChannelName> epicsChannelNames, long timeout, TimeUnit timeUnit )
+   {
+      Validate.notNull( epicsChannelNames );
+      Validate.notNull( timeUnit );
+      Validate.isTrue( timeout > 0 );
+      Validate.validState( ! closed, "The service was previously closed and can no longer be used." );
+
+      // Issue the GET requests for every channel without waiting for the results.
+      final Map<EpicsChannelName,GetFlight> flightMap = new LinkedHashMap<>();
+      epicsChannelNames.forEach( epicsChannelName -> flightMap.put( epicsChannelName, getCoalesced( epicsChannelName, timeout, timeUnit ) ) );
+
+      // Wait until all the requests have completed or the shared timeout has expired.
       try
       {
-         logger.info( "'{}' - Connecting channel with timeout {} {}...", channelName, timeout, timeUnit );
-         caChannel.connectAsync().get( timeout, timeUnit );
-         logger.info( "'{}' - OK: channel connected.", channelName );
+         logger.info( "Waiting for {} channels with timeout {} {}...", flightMap.size(), timeout, timeUnit );
+         CompletableFuture.allOf( flightMap.values().stream().map( f -> f.future ).toArray( CompletableFuture<?>[]::new ) ).get( timeout, timeUnit );
+         logger.info( "OK: all channel values obtained." );
       }
-      catch ( InterruptedException | ExecutionException | TimeoutException ex )
+      catch ( InterruptedException ex )
       {
-         logger.info( "'{}' - ERROR: Exception whilst connecting channel. Details: '{}'.", channelName, ex.toString() );
-         return WicaChannelValue.createChannelValueDisconnected();
+         logger.info( "ERROR: Interrupted whilst waiting for channel values." );
+         Thread.currentThread().interrupt();
       }
+      catch ( ExecutionException | TimeoutException ex )
+      {
+         logger.info( "ERROR: Exception whilst waiting for channel values. Details: '{}'.", ex.toString() );
 
-      return epicsChannelValueGetter.get( caChannel );
+         // Abandon the reads which are not still needed by callers which joined them later.
+         flightMap.values().forEach( GetFlight::expireIfDue );
+      }
+
+      // Collect the results. Anything which did not complete successfully is reported as disconnected.
+      final Map<EpicsChannelName,WicaChannelValue> resultMap = new LinkedHashMap<>();
+      flightMap.forEach( ( epicsChannelName, flight ) -> {
+         final boolean completedOk = flight.future.isDone() && ! flight.future.isCompletedExceptionally();
+         resultMap.put( epicsChannelName, completedOk ? flight.future.join() : WicaChannelValue.createChannelValueDisconnected() );
+      } );
+      return Collections.unmodifiableMap( resultMap );
+   }
+
+   /**
+    * Returns an object which can be used to obtain the statistics associated
+    * with this class instance.
+    *
+    * @return the statistics.
+    */
+   public EpicsChannelGetAndPutServiceStatistics getStatistics()
+   {
+      return statisticsCollector;
    }
 
    /**
     * Sets the value of a channel.
     *
-    * This method incurs the network cost of establishing a channel to the remote
-    * data source and performing a synchronous (= confirmed) PUT operation.
+    * This method performs a synchronous (= confirmed) PUT operation. The
+    * network cost of establishing a channel to the remote data source is
+    * only incurred the first time that a channel is written.
     *
     * @param epicsChannelName the channel name.
     * @param channelValue the channel value.
@@ -154,75 +255,359 @@ public class EpicsChannelGetAndPutService implements AutoCloseable
    {
       Validate.notNull( epicsChannelName );
       Validate.notNull( channelValue );
+
+      final EpicsChannelPutResult result = putAll( Map.of( epicsChannelName, channelValue ), timeout, timeUnit ).get( epicsChannelName );
+      return result.isSuccess();
+   }
+
+   /**
+    * Sets the values of multiple channels.
+    *
+    * The PUT operations are performed concurrently, subject to the configured
+    * limit on the number of operations which may be in flight at the same time,
+    * and share a single timeout. Channels are taken from a pool of previously
+    * connected channels where possible.
+    *
+    * @param channelValues map of the channel names and the values to be written.
+    * @param timeout the timeout to be applied when attempting to put the channel
+    *     values to the underlying data source. Any channels whose PUT operations
+    *     do not complete before the timeout expires will be reported as failed.
+    * @param timeUnit the time units to be used.
+    * @return map of channel names to the results of the PUT operations, ordered
+    *     as in the supplied map.
+    * @throws NullPointerException if any of the reference object arguments were null.
+    */
+   public Map<EpicsChannelName,EpicsChannelPutResult> putAll( Map<EpicsChannelName,String> channelValues, long timeout, TimeUnit timeUnit )
+   {
+      Validate.notNull( channelValues );
+      Validate.noNullElements( channelValues.values() );
       Validate.notNull( timeUnit );
       Validate.isTrue( timeout > 0 );
       Validate.validState( ! closed, "The service was previously closed and can no longer be used." );
 
-      // Create a new channel
+      // Issue the PUT requests. Each request completes no later than the deadline.
+      final long deadline = System.nanoTime() + timeUnit.toNanos( timeout );
+      final Map<EpicsChannelName,CompletableFuture<EpicsChannelPutResult>> futureMap = new LinkedHashMap<>();
+      channelValues.forEach( ( epicsChannelName, channelValue ) -> futureMap.put( epicsChannelName, putAsync( epicsChannelName, channelValue, deadline ) ) );
+
+      // Collect the results.
+      final Map<EpicsChannelName,EpicsChannelPutResult> resultMap = new LinkedHashMap<>();
+      futureMap.forEach( ( epicsChannelName, future ) -> resultMap.put( epicsChannelName, future.join() ) );
+      return Collections.unmodifiableMap( resultMap );
+   }
+
+   /**
+    * Disposes of all resources associated with this class instance.
+    */
+   @Override
+   public void close()
+   {
+      // Set a flag to prevent further usage
+      closed = true;
+
+      // Dispose of any references that are no longer required
+      logger.debug( "'{}' - disposing resources...", this );
+
+      // Note: closing the context disposes of any open channels.
+      putChannelPool.clear();
+      caContextPool.close();
+
+      logger.debug( "'{}' - resources disposed ok.", this );
+   }
+
+
+/*- Private methods ----------------------------------------------------------*/
+
+   /**
+    * Returns the read of the specified channel, either by joining a read which
+    * is already in progress or by starting a new one.
+    *
+    * @param epicsChannelName the channel name.
+    * @param timeout the time for which the caller needs the read to remain in
+    *     progress.
+    * @param timeUnit the time units to be used.
+    * @return the read, whose future always completes normally, at the latest
+    *     when the longest of the timeouts requested by its callers has expired.
+    */
+   private GetFlight getCoalesced( EpicsChannelName epicsChannelName, long timeout, TimeUnit timeUnit )
+   {
+      statisticsCollector.incrementGetRequests();
+
+      // Join any read which is still in progress, extending its lifetime where
+      // necessary to cover the timeout of this caller. A read which has completed
+      // or expired but which has not yet been removed from the map gets replaced.
+      final long deadline = System.nanoTime() + timeUnit.toNanos( timeout );
+      final GetFlight newFlight = new GetFlight( deadline );
+      final GetFlight existingFlight = inFlightGets.compute( epicsChannelName, ( k, v ) -> ( v == null ) || ! v.tryJoin( deadline ) ? newFlight : v );
+      if ( existingFlight != newFlight )
+      {
+         logger.info( "'{}' - Joining channel read already in progress.", epicsChannelName.asString() );
+         statisticsCollector.incrementGetRequestsCoalesced();
+         return existingFlight;
+      }
+
+      // Ensure the map entry is removed when the read completes so that later
+      // callers will trigger a fresh read.
+      newFlight.future.whenComplete( ( v, ex ) -> inFlightGets.remove( epicsChannelName, newFlight ) );
+
+      // The read must complete the flight in all circumstances, including when
+      // starting it fails synchronously (for example because a monitored channel
+      // disconnected after it was obtained), otherwise later callers would keep
+      // joining a flight that never ends.
+      try
+      {
+         final CompletableFuture<WicaChannelValue> read = getAsync( epicsChannelName );
+         read.whenComplete( ( v, ex ) -> newFlight.future.complete( ex == null ? v : WicaChannelValue.createChannelValueDisconnected() ) );
+
+         // When the read expires it is cancelled so that any channel created for it gets closed.
+         newFlight.future.whenComplete( ( v, ex ) -> read.cancel( false ) );
+      }
+      catch ( RuntimeException ex )
+      {
+         logger.info( "'{}' - ERROR: Exception whilst starting channel read. Details: '{}'", epicsChannelName.asString(), ex.getMessage() );
+         newFlight.future.complete( WicaChannelValue.createChannelValueDisconnected() );
+      }
+      newFlight.scheduleExpiry();
+      return newFlight;
+   }
+
+   private CompletableFuture<WicaChannelValue> getAsync( EpicsChannelName epicsChannelName )
+   {
       final String channelName = epicsChannelName.asString();
-      final Channel<String> caChannel;
+
+      // Where possible use the channel that has already been established for monitoring.
+      final Optional<Channel<Object>> optMonitoredChannel = epicsChannelMonitoringService.getConnectedChannel( epicsChannelName );
+      if ( optMonitoredChannel.isPresent() )
+      {
+         logger.info( "'{}' - Reusing connected monitor channel.", channelName );
+         // Cancelling the copy leaves the monitor channel untouched.
+         return epicsChannelValueGetter.getAsync( optMonitoredChannel.get() ).copy();
+      }
+
+      // Otherwise create a new channel, ensuring that it gets closed afterwards.
+      final Channel<Object> caChannel;
       try
       {
          logger.info( "'{}' - Creating channel...", channelName );
-         caChannel = caContext.createChannel(channelName, String.class );
+         caChannel = caContextPool.getContext( epicsChannelName ).createChannel( channelName, Object.class );
          logger.info( "'{}' - OK: channel created.", channelName );
       }
       catch ( Throwable ex )
       {
          logger.info( "'{}' - ERROR: Exception whilst creating channel. Details: '{}'", channelName, ex.getMessage() );
-         return false;
+         return CompletableFuture.completedFuture( WicaChannelValue.createChannelValueDisconnected() );
       }
 
-      // Wait for it to connect
+      final CompletableFuture<WicaChannelValue> read = caChannel.connectAsync()
+            .thenCompose( epicsChannelValueGetter::getAsync );
+      read.whenComplete( ( v, ex ) -> caChannel.close() );
+      return read;
+   }
+
+   /**
+    * Starts an asynchronous PUT operation, blocking the caller only when the
+    * limit on the number of operations in flight has been reached.
+    *
+    * @param epicsChannelName the channel name.
+    * @param channelValue the channel value.
+    * @param deadline the value of System.nanoTime() at which the operation
+    *     should be abandoned.
+    * @return a future which always completes normally, at the latest shortly
+    *     after the deadline.
+    */
+   private CompletableFuture<EpicsChannelPutResult> putAsync( EpicsChannelName epicsChannelName, String channelValue, long deadline )
+   {
+      final String channelName = epicsChannelName.asString();
+      final long startTime = System.nanoTime();
+      statisticsCollector.incrementPutRequests();
+
+      // Wait until the in-flight limit allows a new operation to start.
       try
       {
-         logger.info( "'{}' - Connecting channel with timeout {} {}...", channelName, timeout, timeUnit );
-         caChannel.connectAsync().get( timeout, timeUnit );
-         logger.info( "'{}' - OK: channel connected.", channelName );
+         if ( ! putInFlightPermits.tryAcquire( deadline - startTime, TimeUnit.NANOSECONDS ) )
+         {
+            logger.info( "'{}' - ERROR: Timeout whilst waiting to start channel PUT.", channelName );
+            return CompletableFuture.completedFuture( EpicsChannelPutResult.ofFailure( "timeout whilst waiting for the in-flight limit", elapsedSince( startTime ) ) );
+         }
       }
-      catch ( InterruptedException | ExecutionException | TimeoutException ex )
+      catch ( InterruptedException ex )
       {
-         logger.info( "'{}' - ERROR: Exception whilst connecting channel. Details: '{}'.", channelName, ex.toString() );
-         return false;
+         Thread.currentThread().interrupt();
+         return CompletableFuture.completedFuture( EpicsChannelPutResult.ofFailure( "interrupted", elapsedSince( startTime ) ) );
       }
 
-      // Now set the value, ensuring that the channel gets closed afterwards.
-      try( Channel<String> channel = caChannel )
+      // Obtain a channel from the pool, or create a new one.
+      final PutChannel putChannel;
+      try
       {
-         logger.info( "'{}' - Putting to channel with timeout {} {}...", channelName, timeout, timeUnit );
-         channel.putAsync( channelValue ).get( timeout, timeUnit );
-         logger.info( "'{}' - OK: Channel PUT completed.", channelName );
+         putChannel = acquirePutChannel( epicsChannelName );
       }
       catch ( Throwable ex )
       {
-         logger.info( "ERROR: Exception whilst putting to channel '{}'. Details: '{}'.", channelName, ex.getMessage() );
-         return false;
+         putInFlightPermits.release();
+         logger.info( "'{}' - ERROR: Exception whilst creating channel. Details: '{}'", channelName, ex.getMessage() );
+         return CompletableFuture.completedFuture( EpicsChannelPutResult.ofFailure( "exception whilst creating channel: " + ex.getMessage(), elapsedSince( startTime ) ) );
       }
 
-      // If we get here return a token to indicate that the put was successful.
-      return true;
+      logger.info( "'{}' - Putting to channel...", channelName );
+      return putChannel.connectFuture
+            .thenCompose( channel -> channel.putAsync( channelValue ) )
+            .orTimeout( Math.max( 0, deadline - System.nanoTime() ), TimeUnit.NANOSECONDS )
+            .handle( ( status, ex ) -> {
+               putInFlightPermits.release();
+               releasePutChannel( epicsChannelName, putChannel );
+               final Duration latency = elapsedSince( startTime );
+               if ( ex != null )
+               {
+                  final Throwable cause = ( ex instanceof CompletionException ) && ( ex.getCause() != null ) ? ex.getCause() : ex;
+                  final String errorMessage = ( cause instanceof TimeoutException ) ? "timeout" : "exception: " + cause.getMessage();
+                  logger.info( "'{}' - ERROR: Channel PUT failed. Details: '{}'.", channelName, errorMessage );
+                  return EpicsChannelPutResult.ofFailure( errorMessage, latency );
+               }
+               if ( ( status != null ) && ! status.isSuccessful() )
+               {
+                  logger.info( "'{}' - ERROR: Channel PUT failed with status '{}'.", channelName, status );
+                  return EpicsChannelPutResult.ofFailure( "status: " + status.getMessage(), latency );
+               }
+               logger.info( "'{}' - OK: Channel PUT completed.", channelName );
+               return EpicsChannelPutResult.ofSuccess( latency );
+            } );
    }
 
+   private PutChannel acquirePutChannel( EpicsChannelName epicsChannelName )
+   {
+      final PutChannel existingChannel = putChannelPool.get( epicsChannelName );
+      if ( existingChannel != null )
+      {
+         return existingChannel;
+      }
+
+      logger.info( "'{}' - Creating channel...", epicsChannelName.asString() );
+      final Channel<String> caChannel = caContextPool.getContext( epicsChannelName ).createChannel( epicsChannelName.asString(), String.class );
+      final boolean pooled = putChannelPool.size() < putChannelPoolSize;
+      final PutChannel newChannel = new PutChannel( caChannel, caChannel.connectAsync(), pooled );
+      if ( pooled )
+      {
+         // Another thread may have created the same channel in the meantime.
+         final PutChannel racingChannel = putChannelPool.putIfAbsent( epicsChannelName, newChannel );
+         if ( racingChannel != null )
+         {
+            caChannel.close();
+            return racingChannel;
+         }
+      }
+      logger.info( "'{}' - OK: channel created.", epicsChannelName.asString() );
+      return newChannel;
+   }
+
+   private void releasePutChannel( EpicsChannelName epicsChannelName, PutChannel putChannel )
+   {
+      if ( ! putChannel.pooled )
+      {
+         putChannel.channel.close();
+         return;
+      }
+
+      // Evict channels which never connected so that the pool does not fill up with
+      // the names of channels that do not exist.
+      final boolean connectFailed = ! putChannel.connectFuture.isDone() || putChannel.connectFuture.isCompletedExceptionally();
+      if ( connectFailed && putChannelPool.remove( epicsChannelName, putChannel ) )
+      {
+         logger.info( "'{}' - Evicting unconnected channel from pool.", epicsChannelName.asString() );
+         putChannel.channel.close();
+      }
+   }
+
+   private static Duration elapsedSince( long startTime )
+   {
+      return Duration.ofNanos( System.nanoTime() - startTime );
+   }
+
+/*- Nested Classes -----------------------------------------------------------*/
+
    /**
-    * Disposes of all resources associated with this class instance.
+    * A read of a channel which is shared by all the callers that request the
+    * channel whilst it is in progress. The read expires when the latest of
+    * the deadlines of those callers has passed.
     */
-   @Override
-   public void close()
+   @ThreadSafe
+   private static class GetFlight
    {
-      // Set a flag to prevent further usage
-      closed = true;
+      private final CompletableFuture<WicaChannelValue> future = new CompletableFuture<>();
+      private long deadline;
+      private boolean expired = false;
 
-      // Dispose of any references that are no longer required
-      logger.debug( "'{}' - disposing resources...", this );
+      private GetFlight( long deadline )
+      {
+         this.deadline = deadline;
+      }
 
-      // Note: closing the context disposes of any open channels.
-      caContext.close();
+      /**
+       * Attempts to join the read, extending its lifetime where necessary.
+       *
+       * @param newDeadline the value of System.nanoTime() until which the
+       *     joining caller needs the read to remain in progress.
+       * @return true if the read was joined, false if it has already
+       *     completed or expired.
+       */
+      private synchronized boolean tryJoin( long newDeadline )
+      {
+         if ( expired || future.isDone() )
+         {
+            return false;
+         }
+         deadline = ( newDeadline - deadline > 0 ) ? newDeadline : deadline;
+         return true;
+      }
 
-      logger.debug( "'{}' - resources disposed ok.", this );
+      /**
+       * Completes the read with a disconnected value if its deadline has passed.
+       *
+       * @return true if the read has expired.
+       */
+      private boolean expireIfDue()
+      {
+         // The future is completed outside the lock since its dependent actions
+         // update the map of reads, whose own locks are held whilst joining.
+         synchronized( this )
+         {
+            if ( ! expired && ( System.nanoTime() - deadline < 0 ) )
+            {
+               return false;
+            }
+            expired = true;
+         }
+         future.complete( WicaChannelValue.createChannelValueDisconnected() );
+         return true;
+      }
+
+      private void scheduleExpiry()
+      {
+         if ( future.isDone() || expireIfDue() )
+         {
+            return;
+         }
+         final long remaining;
+         synchronized( this )
+         {
+            remaining = deadline - System.nanoTime();
+         }
+         CompletableFuture.delayedExecutor( remaining, TimeUnit.NANOSECONDS ).execute( this::scheduleExpiry );
+      }
    }
 
+   private static class PutChannel
+   {
+      private final Channel<String> channel;
+      private final CompletableFuture<Channel<String>> connectFuture;
+      private final boolean pooled;
 
-/*- Private methods ----------------------------------------------------------*/
-/*- Nested Classes -----------------------------------------------------------*/
+      private PutChannel( Channel<String> channel, CompletableFuture<Channel<String>> connectFuture, boolean pooled )
+      {
+         this.channel = channel;
+         this.connectFuture = connectFuture;
+         this.pooled = pooled;
+      }
+   }
 
 }
@@ -0,0 +1,127 @@
+/*- Package Declaration ------------------------------------------------------*/
+
+package ch.psi.wica.controlsystem.epics;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.app.StatisticsCollectable;
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+@ThreadSafe
+public class EpicsChannelGetAndPutServiceStatistics implements StatisticsCollectable
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private final AtomicInteger getRequests = new AtomicInteger(0);
+   private final AtomicInteger getRequestsCoalesced = new AtomicInteger(0);
+   private final AtomicInteger putRequests = new AtomicInteger(0);
+
+   private final Map<EpicsChannelName,?> inFlightGetMap;
+   private final Map<EpicsChannelName,?> putChannelPoolMap;
+   private final EpicsChannelContextPool contextPool;
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+
+   public EpicsChannelGetAndPutServiceStatistics( Map<EpicsChannelName,?> inFlightGetMap,
+                                                  Map<EpicsChannelName,?> putChannelPoolMap,
+                                                  EpicsChannelContextPool contextPool )
+   {
+      this.inFlightGetMap = inFlightGetMap;
+      this.putChannelPoolMap = putChannelPoolMap;
+      this.contextPool = contextPool;
+   }
+
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @Override
+   public Statistics get()
+   {
+      final List<StatisticsItem> items = new ArrayList<>(
+                             List.of( new StatisticsItem("- Channel GET Requests: Total", getGetRequests() ),
+                                      new StatisticsItem("- Channel GET Requests: Coalesced", getGetRequestsCoalesced() ),
+                                      new StatisticsItem("- Channel GET Requests: In Flight", getInFlightGetCount() ),
+                                      new StatisticsItem("- Channel PUT Requests: Total", getPutRequests() ),
+                                      new StatisticsItem("- Channel PUT Pool: Channels", getPutChannelPoolCount() ) ) );
+
+      if ( contextPool.size() > 1 )
+      {
+         for ( int shard = 0; shard < contextPool.size(); shard++ )
+         {
+            items.add( new StatisticsItem( "- CA Context " + shard + ": PUT Pool Channels", getPutChannelPoolCount( shard ) ) );
+         }
+      }
+      return new Statistics( "EPICS GET AND PUT SERVICE", items );
+   }
+
+   @Override
+   public void reset()
+   {
+      getRequests.set( 0 );
+      getRequestsCoalesced.set( 0 );
+      putRequests.set( 0 );
+   }
+
+   public String getGetRequests()
+   {
+      return String.valueOf( getRequests.get() );
+   }
+
+   public String getGetRequestsCoalesced()
+   {
+      return String.valueOf( getRequestsCoalesced.get() );
+   }
+
+   public String getInFlightGetCount()
+   {
+      return String.valueOf( inFlightGetMap.size() );
+   }
+
+   public String getPutRequests()
+   {
+      return String.valueOf( putRequests.get() );
+   }
+
+   public String getPutChannelPoolCount()
+   {
+      return String.valueOf( putChannelPoolMap.size() );
+   }
+
+   public String getPutChannelPoolCount( int shard )
+   {
+      return String.valueOf( putChannelPoolMap.keySet().stream().filter( name -> contextPool.getShardIndex( name ) == shard ).count() );
+   }
+
+/*- Package-access methods ---------------------------------------------------*/
+
+   void incrementGetRequests()
+   {
+      getRequests.incrementAndGet();
+   }
+
+   void incrementGetRequestsCoalesced()
+   {
+      getRequestsCoalesced.incrementAndGet();
+   }
+
+   void incrementPutRequests()
+   {
+      putRequests.incrementAndGet();
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
@@ -10,10 +10,9 @@ import ch.psi.wica.model.channel.WicaChannelValue;
 import net.jcip.annotations.ThreadSafe;
 import org.apache.commons.lang3.Validate;
 import org.epics.ca.Channel;
-import org.epics.ca.Context;
+import org.epics.ca.ConnectionState;
 import org.epics.ca.Monitor;
 import org.epics.ca.data.Timestamped;
-import org.epics.ca.impl.LibraryConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,7 +20,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
-import java.util.Properties;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
@@ -52,7 +51,7 @@ public class EpicsChannelMonitoringService implements AutoCloseable
    private final Map<EpicsChannelName,Channel<?>> channels;
    private final Map<EpicsChannelName,Monitor<?>> monitors;
 
-   private final Context caContext;
+   private final EpicsChannelContextPool caContextPool;
 
    private final boolean epicsGetChannelValueOnMonitorConnect;
    private final EpicsChannelMetadataGetter epicsChannelMetadataGetter;
@@ -71,6 +70,7 @@ public class EpicsChannelMonitoringService implements AutoCloseable
     *
     * @param epicsCaLibraryMonitorNotifierImpl the CA library monitor notifier configuration.
     * @param epicsCaLibraryDebugLevel the CA library debug level.
+    * @param epicsCaLibraryContextCount the number of CA contexts between which the channels will be shared.
     * @param epicsGetChannelValueOnMonitorConnect whether an explicit get will be performed to read a channel's value
     *        when it first comes online.
     * @param epicsChannelMetadataGetter an object which can be used to get the channel metadata.
@@ -82,6 +82,7 @@ public class EpicsChannelMonitoringService implements AutoCloseable
     */
    public EpicsChannelMonitoringService( @Value( "${wica.epics-ca-library-monitor-notifier-impl}") String  epicsCaLibraryMonitorNotifierImpl,
                                          @Value( "${wica.epics-ca-library-debug-level}") int epicsCaLibraryDebugLevel,
+                                         @Value( "${wica.epics-ca-library-context-count:1}") int epicsCaLibraryContextCount,
                                          @Value( "${wica.epics-get-channel-value-on-monitor-connect:true}") boolean epicsGetChannelValueOnMonitorConnect,
                                          @Autowired EpicsChannelMetadataGetter epicsChannelMetadataGetter,
                                          @Autowired EpicsChannelValueGetter epicsChannelValueGetter,
@@ -102,20 +103,15 @@ public class EpicsChannelMonitoringService implements AutoCloseable
       channels = new ConcurrentHashMap<>();
       monitors = new ConcurrentHashMap<>();
 
-      this.statisticsCollector = new EpicsChannelMonitoringServiceStatistics( channels, monitors );
-      statisticsCollectionService.addCollectable( statisticsCollector );
-
-      // Setup a context that uses the monitor notification policy and debug
+      // Setup the contexts that use the monitor notification policy and debug
       // message log level defined in the configuration file.
-      final Properties properties = new Properties();
-      properties.setProperty( LibraryConfiguration.PropertyNames.CA_MONITOR_NOTIFIER_IMPL.toString(), epicsCaLibraryMonitorNotifierImpl );
-      properties.setProperty( LibraryConfiguration.PropertyNames.CA_LIBRARY_LOG_LEVEL.toString(), String.valueOf( epicsCaLibraryDebugLevel ) );
-
       //System.setProperty( "EPICS_CA_ADDR_LIST", "192.168.0.46:5064" );
       //System.setProperty( "EPICS_CA_ADDR_LIST", "129.129.145.206:5064" );
       //System.setProperty( "EPICS_CA_ADDR_LIST", "proscan-cagw:5062" );
+      caContextPool = new EpicsChannelContextPool( epicsCaLibraryContextCount, epicsCaLibraryMonitorNotifierImpl, epicsCaLibraryDebugLevel );
 
-      caContext = new Context( properties );
+      this.statisticsCollector = new EpicsChannelMonitoringServiceStatistics( channels, monitors, caContextPool );
+      statisticsCollectionService.addCollectable( statisticsCollector );
       logger.debug( "'{}' - service instance constructed ok.", this );
    }
 
@@ -165,7 +161,7 @@ public class EpicsChannelMonitoringService implements AutoCloseable
       try
       {
          logger.info("'{}' - creating channel of type '{}'...", epicsChannelName, "generic");
-         final Channel<Object> channel = caContext.createChannel( epicsChannelName.asString(), Object.class);
+         final Channel<Object> channel = caContextPool.getContext( epicsChannelName ).createChannel( epicsChannelName.asString(), Object.class);
          channels.put( epicsChannelName, channel);
          logger.info("'{}' - channel created ok.", epicsChannelName);
 
@@ -276,7 +272,7 @@ public class EpicsChannelMonitoringService implements AutoCloseable
       logger.debug( "'{}' - disposing resources...", this );
 
       // Note: closing the context disposes of any open channels and monitors
-      caContext.close();
+      caContextPool.close();
       monitors.clear();
       channels.clear();
 
@@ -288,6 +284,48 @@ public class EpicsChannelMonitoringService implements AutoCloseable
       return statisticsCollector;
    }
 
+   /**
+    * Returns an indication of whether the specified channel is currently being
+    * monitored and is connected to its remote data source.
+    *
+    * @param epicsChannelName the name of the channel.
+    * @return the result.
+    * @throws NullPointerException if the channel name argument was null.
+    */
+   public boolean isMonitoredAndConnected( EpicsChannelName epicsChannelName )
+   {
+      return getConnectedChannel( epicsChannelName ).isPresent();
+   }
+
+   /**
+    * Returns the channel that is currently being used to monitor the specified
+    * EPICS channel, provided that it is currently connected.
+    *
+    * This allows other services to reuse the existing network connection, for
+    * example when performing a one-off GET operation, rather than incurring
+    * the cost of creating and connecting a new channel.
+    *
+    * @param epicsChannelName the name of the channel.
+    * @return the channel, or empty if the channel is not being monitored or
+    *     is not currently connected.
+    * @throws NullPointerException if the 'epicsChannelName' argument was null.
+    */
+   Optional<Channel<Object>> getConnectedChannel( EpicsChannelName epicsChannelName )
+   {
+      Validate.notNull( epicsChannelName );
+
+      final Channel<?> channel = channels.get( epicsChannelName );
+      if ( ( channel == null ) || ( channel.getConnectionState() != ConnectionState.CONNECTED ) )
+      {
+         return Optional.empty();
+      }
+
+      // This cast is ok. All channels in the map are created with the generic Object type.
+      @SuppressWarnings( "unchecked" )
+      final Channel<Object> objectChannel = (Channel<Object>) channel;
+      return Optional.of( objectChannel );
+   }
+
 /*- Private methods ----------------------------------------------------------*/
 
    public void handleChannelComesOnline( WicaChannel wicaChannel, Channel<Object> epicsChannel )
@@ -325,9 +363,10 @@ public class EpicsChannelMonitoringService implements AutoCloseable
       // -----------------------------------------------------------
 
       // 3a) Create a handler for value change notifications
+      final int shard = caContextPool.getShardIndex( epicsChannelName );
       final Consumer<WicaChannelValue> valueChangedHandler = v -> {
          epicsEventPublisher.publishMonitoredValueChanged( wicaChannel, v );
-         statisticsCollector.incrementMonitorUpdateCount();
+         statisticsCollector.incrementMonitorUpdateCount( shard );
       };
 
       // 3b) Create a monitor which will notify future value changes.
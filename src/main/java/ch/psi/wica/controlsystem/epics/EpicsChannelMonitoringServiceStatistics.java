@@ -11,9 +11,11 @@ import org.epics.ca.Channel;
 import org.epics.ca.ConnectionState;
 import org.epics.ca.Monitor;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.stream.Collectors;
 
 
@@ -33,15 +35,20 @@ public class EpicsChannelMonitoringServiceStatistics implements StatisticsCollec
 
    private final Map<EpicsChannelName, Channel<?>> channelMap;
    private final Map<EpicsChannelName, Monitor<?>> monitorMap;
+   private final EpicsChannelContextPool contextPool;
+   private final AtomicIntegerArray shardMonitorUpdateCounts;
 
 /*- Main ---------------------------------------------------------------------*/
 /*- Constructor --------------------------------------------------------------*/
 
    public EpicsChannelMonitoringServiceStatistics( Map<EpicsChannelName, Channel<?>> channelMap,
-                                                   Map<EpicsChannelName, Monitor<?>> monitorMap )
+                                                   Map<EpicsChannelName, Monitor<?>> monitorMap,
+                                                   EpicsChannelContextPool contextPool )
    {
       this.channelMap = channelMap;
       this.monitorMap = monitorMap;
+      this.contextPool = contextPool;
+      this.shardMonitorUpdateCounts = new AtomicIntegerArray( contextPool.size() );
    }
 
 /*- Class methods ------------------------------------------------------------*/
@@ -50,7 +57,7 @@ public class EpicsChannelMonitoringServiceStatistics implements StatisticsCollec
    @Override
    public Statistics get()
    {
-      return new Statistics( "EPICS MONITORING SERVICE",
+      final List<StatisticsItem> items = new ArrayList<>(
                              List.of( new StatisticsItem("- Start Monitor Requests", getStartRequests() ),
                                       new StatisticsItem("- Stop Monitor Requests", getStopRequests() ),
                                       new StatisticsItem("- EPICS Channels: Total", getTotalChannelCount() ),
@@ -61,6 +68,18 @@ public class EpicsChannelMonitoringServiceStatistics implements StatisticsCollec
                                       new StatisticsItem("- EPICS Channels: Closed", getClosedChannelCount() ),
                                       new StatisticsItem("- EPICS Monitors: Total", getTotalMonitorCount() ),
                                       new StatisticsItem("- EPICS Monitors: Updates", getMonitorUpdateCount() ) ) );
+
+      // When the channels are distributed over more than one CA context show the
+      // breakdown per context so that any imbalance can be seen.
+      if ( contextPool.size() > 1 )
+      {
+         for ( int shard = 0; shard < contextPool.size(); shard++ )
+         {
+            items.add( new StatisticsItem( "- CA Context " + shard + ": EPICS Channels", getShardChannelCount( shard ) ) );
+            items.add( new StatisticsItem( "- CA Context " + shard + ": EPICS Monitor Updates", getShardMonitorUpdateCount( shard ) ) );
+         }
+      }
+      return new Statistics( "EPICS MONITORING SERVICE", items );
    }
 
    @Override
@@ -69,6 +88,10 @@ public class EpicsChannelMonitoringServiceStatistics implements StatisticsCollec
       startRequests.set( 0 );
       stopRequests.set( 0 );
       monitorUpdateCount.set( 0 );
+      for ( int shard = 0; shard < shardMonitorUpdateCounts.length(); shard++ )
+      {
+         shardMonitorUpdateCounts.set( shard, 0 );
+      }
    }
 
    public List<String> getChannelNames()
@@ -139,6 +162,16 @@ public class EpicsChannelMonitoringServiceStatistics implements StatisticsCollec
       return String.valueOf( monitorUpdateCount.get() );
    }
 
+   public String getShardChannelCount( int shard )
+   {
+      return String.valueOf( channelMap.keySet().stream().filter( name -> contextPool.getShardIndex( name ) == shard ).count() );
+   }
+
+   public String getShardMonitorUpdateCount( int shard )
+   {
+      return String.valueOf( shardMonitorUpdateCounts.get( shard ) );
+   }
+
 /*- Package-access methods ---------------------------------------------------*/
 
    void incrementStartRequests()
@@ -151,9 +184,10 @@ public class EpicsChannelMonitoringServiceStatistics implements StatisticsCollec
       stopRequests.incrementAndGet();
    }
 
-   void incrementMonitorUpdateCount()
+   void incrementMonitorUpdateCount( int shard )
    {
       monitorUpdateCount.incrementAndGet();
+      shardMonitorUpdateCounts.incrementAndGet( shard );
    }
 
 /*- Private methods ----------------------------------------------------------*/
@@ -0,0 +1,94 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.controlsystem.epics;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import net.jcip.annotations.Immutable;
+import org.apache.commons.lang3.Validate;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+/**
+ * Describes the outcome of a PUT operation on a single EPICS channel.
+ */
+@Immutable
+public class EpicsChannelPutResult
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private final boolean success;
+   private final String errorMessage;
+   private final Duration latency;
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+
+   private EpicsChannelPutResult( boolean success, String errorMessage, Duration latency )
+   {
+      this.success = success;
+      this.errorMessage = errorMessage;
+      this.latency = Validate.notNull( latency );
+   }
+
+/*- Class methods ------------------------------------------------------------*/
+
+   /**
+    * Returns a result indicating that the PUT operation completed successfully.
+    *
+    * @param latency the time taken to complete the operation.
+    * @return the result.
+    */
+   public static EpicsChannelPutResult ofSuccess( Duration latency )
+   {
+      return new EpicsChannelPutResult( true, null, latency );
+   }
+
+   /**
+    * Returns a result indicating that the PUT operation failed.
+    *
+    * @param errorMessage a description of the failure.
+    * @param latency the time that elapsed before the failure was detected.
+    * @return the result.
+    */
+   public static EpicsChannelPutResult ofFailure( String errorMessage, Duration latency )
+   {
+      return new EpicsChannelPutResult( false, Validate.notNull( errorMessage ), latency );
+   }
+
+/*- Public methods -----------------------------------------------------------*/
+
+   public boolean isSuccess()
+   {
+      return success;
+   }
+
+   public Optional<String> getErrorMessage()
+   {
+      return Optional.ofNullable( errorMessage );
+   }
+
+   public Duration getLatency()
+   {
+      return latency;
+   }
+
+   @Override
+   public String toString()
+   {
+      return "EpicsChannelPutResult{" +
+            "success=" + success +
+            ", errorMessage='" + errorMessage + '\'' +
+            ", latency=" + latency +
+            '}';
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
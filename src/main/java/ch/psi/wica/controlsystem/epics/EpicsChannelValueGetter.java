@@ -15,6 +15,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 
 /*- Interface Declaration ----------------------------------------------------*/
 /*- Class Declaration --------------------------------------------------------*/
@@ -88,6 +90,39 @@ class EpicsChannelValueGetter
       return wicaChannelValueBuilder.build( controlSystemName, epicsTimestampedObject );
    }
 
+   /**
+    * Queries the supplied EPICS channel asynchronously, returning a future
+    * which will complete with a WicaChannelValue object when the remote data
+    * source replies.
+    *
+    * This method does NOT block and may therefore be used to issue many
+    * concurrent requests on different channels.
+    *
+    * Precondition: the channel should have been connected at least once.
+    * Postcondition: the state of the channel will remain unaffected.
+    *
+    * @param channel the EPICS channel.
+    * @return the future.
+    *
+    * @throws NullPointerException if the channel argument was null.
+    * @throws IllegalStateException if the channel state was not as expected.
+    */
+   CompletableFuture<WicaChannelValue> getAsync( Channel<Object> channel )
+   {
+      // Validate preconditions
+      validateChannelConnectionState( channel );
+
+      // Obtain the control system name for logging purposes.
+      final ControlSystemName controlSystemName = ControlSystemName.of(channel.getName());
+
+      logger.trace( "'{}' - getting EPICS TIMESTAMPED data asynchronously...", controlSystemName );
+      final CompletableFuture<Timestamped<Object>> epicsTimestampedObjectFuture = channel.getAsync( Timestamped.class );
+      return epicsTimestampedObjectFuture.thenApply( ( epicsTimestampedObject ) -> {
+         logger.trace( "'{}' - EPICS TIMESTAMPED data received.", controlSystemName ) ;
+         return wicaChannelValueBuilder.build( controlSystemName, epicsTimestampedObject );
+      } );
+   }
+
 /*- Private methods ----------------------------------------------------------*/
 
    private void validateChannelConnectionState( Channel<Object> channel )
@@ -5,6 +5,7 @@ package ch.psi.wica.infrastructure.channel;
 
 import ch.psi.wica.model.channel.WicaChannel;
 import ch.psi.wica.model.channel.WicaChannelName;
+import ch.psi.wica.infrastructure.util.WeakInterner;
 import ch.psi.wica.model.channel.WicaChannelProperties;
 import org.apache.commons.lang3.Validate;
 
@@ -18,6 +19,12 @@ public class WicaChannelBuilder
 /*- Public attributes --------------------------------------------------------*/
 /*- Private attributes -------------------------------------------------------*/
 
+   // Channel names are looked up by their string specifier so that the regex
+   // parse is only performed for names which are not already in use. The
+   // canonical name holds the specifier string which serves as its key.
+   private static final WeakInterner<String,WicaChannelName> wicaChannelNameInterner = new WeakInterner<>();
+   private static final WeakInterner<WicaChannel,WicaChannel> wicaChannelInterner = new WeakInterner<>();
+
    private WicaChannelName wicaChannelName;
    private WicaChannelProperties wicaChannelProperties;
 
@@ -40,7 +47,7 @@ public class WicaChannelBuilder
    public WicaChannelBuilder withChannelNameAndEmptyProperties( String wicaChannelName )
    {
       Validate.notNull( wicaChannelName,"The 'wicaChannelName' argument was null." );
-      this.wicaChannelName = WicaChannelName.of( wicaChannelName );
+      this.wicaChannelName = wicaChannelNameInterner.get( wicaChannelName, WicaChannelName::of );
       this.wicaChannelProperties = WicaChannelPropertiesBuilder.create().build();
       return this;
    }
@@ -48,7 +55,7 @@ public class WicaChannelBuilder
    public WicaChannelBuilder withChannelNameAndDefaultProperties( String wicaChannelName )
    {
       Validate.notNull( wicaChannelName,"The 'wicaChannelName' argument was null." );
-      this.wicaChannelName = WicaChannelName.of( wicaChannelName );
+      this.wicaChannelName = wicaChannelNameInterner.get( wicaChannelName, WicaChannelName::of );
       this.wicaChannelProperties = WicaChannelPropertiesBuilder.create().withDefaultProperties().build();
       return this;
    }
@@ -56,14 +63,21 @@ public class WicaChannelBuilder
    public WicaChannelBuilder withChannelNameAndProperties( String wicaChannelName, WicaChannelProperties wicaChannelProperties  )
    {
       Validate.notNull( wicaChannelName,"The 'wicaChannelName' argument was null." );
-      this.wicaChannelName = WicaChannelName.of( wicaChannelName );
+      this.wicaChannelName = wicaChannelNameInterner.get( wicaChannelName, WicaChannelName::of );
       this.wicaChannelProperties = Validate.notNull( wicaChannelProperties );
       return this;
    }
 
+   /**
+    * Returns a channel with the configured name and properties. Channels
+    * which are equal share a single instance for as long as any part of the
+    * application refers to them.
+    *
+    * @return the channel.
+    */
    public WicaChannel build()
    {
-      return new WicaChannel( wicaChannelName, wicaChannelProperties );
+      return wicaChannelInterner.intern( new WicaChannel( wicaChannelName, wicaChannelProperties ) );
    }
 
 
@@ -3,6 +3,7 @@ package ch.psi.wica.infrastructure.channel;
 
 /*- Imported packages --------------------------------------------------------*/
 
+import ch.psi.wica.model.app.WicaWaveformDecimationMode;
 import ch.psi.wica.model.channel.*;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonFilter;
@@ -76,10 +77,38 @@ public class WicaChannelDataSerializer
     * @throws NullPointerException if the supplied filterProvider was null.
     */
    WicaChannelDataSerializer( Set<String> fieldsOfInterest, int numericScale, boolean quoteNumericStrings )
+   {
+      this( fieldsOfInterest, numericScale, quoteNumericStrings, 0, WicaWaveformDecimationMode.MIN_MAX );
+   }
+
+   /**
+    * Returns an instance that behaves as described above but which
+    * additionally reduces the number of points written for values of
+    * type double[] and int[] (= REAL_ARRAY and INTEGER_ARRAY channels).
+    *
+    * @param fieldsOfInterest as above.
+    * @param numericScale as above.
+    * @param quoteNumericStrings as above.
+    *
+    * @param waveformDecimationPoints the maximum number of points to be
+    *     written for each array, or zero if arrays are to be written in
+    *     full.
+    *
+    * @param waveformDecimationMode the method used to select the points
+    *     which will be written.
+    *
+    * @throws IllegalArgumentException if the numericScale or the
+    *     waveformDecimationPoints was negative.
+    * @throws NullPointerException if the fieldsOfInterest or the
+    *     waveformDecimationMode was null.
+    */
+   WicaChannelDataSerializer( Set<String> fieldsOfInterest, int numericScale, boolean quoteNumericStrings, int waveformDecimationPoints, WicaWaveformDecimationMode waveformDecimationMode )
    {
       Validate.notNull( fieldsOfInterest );
       Validate.isTrue(numericScale >= 0, String.format( "numericScale ('%d') cannot be negative", numericScale ) );
-      jsonObjectMapper = getMapper( fieldsOfInterest, numericScale, quoteNumericStrings );
+      Validate.isTrue(waveformDecimationPoints >= 0, String.format( "waveformDecimationPoints ('%d') cannot be negative", waveformDecimationPoints ) );
+      Validate.notNull( waveformDecimationMode );
+      jsonObjectMapper = getMapper( fieldsOfInterest, numericScale, quoteNumericStrings, waveformDecimationPoints, waveformDecimationMode );
    }
 
 /*- Class methods ------------------------------------------------------------*/
@@ -110,16 +139,18 @@ public class WicaChannelDataSerializer
 
    private ObjectMapper getMapper( Set<String> fieldsOfInterest,
                                    int numericScale,
-                                   boolean quoteNumericStrings)
+                                   boolean quoteNumericStrings,
+                                   int waveformDecimationPoints,
+                                   WicaWaveformDecimationMode waveformDecimationMode )
    {
-      final int hash = getHash( fieldsOfInterest, numericScale, quoteNumericStrings );
+      final int hash = getHash( fieldsOfInterest, numericScale, quoteNumericStrings, waveformDecimationPoints, waveformDecimationMode );
       if ( mapperPool.containsKey( hash ) )
       {
          return mapperPool.get( hash );
       }
       else
       {
-         final ObjectMapper objectMapper = getNewMapper( fieldsOfInterest, numericScale, quoteNumericStrings );
+         final ObjectMapper objectMapper = getNewMapper( fieldsOfInterest, numericScale, quoteNumericStrings, waveformDecimationPoints, waveformDecimationMode );
          mapperPool.put( hash, objectMapper );
       }
       return mapperPool.get( hash );
@@ -127,7 +158,9 @@ public class WicaChannelDataSerializer
 
    private ObjectMapper getNewMapper( Set<String> fieldsOfInterest,
                                       int numericScale,
-                                      boolean quoteNumericStrings )
+                                      boolean quoteNumericStrings,
+                                      int waveformDecimationPoints,
+                                      WicaWaveformDecimationMode waveformDecimationMode )
    {
       // Start defining the special properties of this serialiser
       final SimpleModule module = new SimpleModule();
@@ -135,7 +168,14 @@ public class WicaChannelDataSerializer
       // It is "special" because (a) it is possible to control the number of digits
       // sent down the wire when representing doubles and/or double arrays.
       module.addSerializer( double.class, new WicaDoubleSerializer( numericScale ) );
-      module.addSerializer( double[].class, new WicaDoubleArraySerializer( numericScale ) );
+      // It is also possible to reduce the number of points sent down the wire
+      // when representing double and/or integer arrays.
+      final WicaWaveformDecimator decimator = new WicaWaveformDecimator( waveformDecimationPoints, waveformDecimationMode );
+      module.addSerializer( double[].class, new WicaDoubleArraySerializer( numericScale, decimator ) );
+      if ( waveformDecimationPoints > 0 )
+      {
+         module.addSerializer( int[].class, new WicaIntegerArraySerializer( decimator ) );
+      }
 
       final ObjectMapper mapper = JsonMapper.builder()
             // Turn off the feature whereby date/time values are written as timestamps.
@@ -165,6 +205,8 @@ public class WicaChannelDataSerializer
       mapper.addMixIn( WicaChannelValue.WicaChannelValueConnectedRealArray.class, WicaChannelValueMixins.WicaChannelValueConnectedRealArraySerializerMixin.class  );
       mapper.addMixIn( WicaChannelValue.WicaChannelValueConnectedString.class, WicaChannelValueMixins.WicaChannelValueConnectedStringSerializerMixin.class  );
       mapper.addMixIn( WicaChannelValue.WicaChannelValueConnectedStringArray.class, WicaChannelValueMixins.WicaChannelValueConnectedStringArraySerializerMixin.class  );
+      mapper.addMixIn( WicaChannelValue.WicaChannelValueConnectedStatistics.class, WicaChannelValueMixins.WicaChannelValueConnectedStatisticsSerializerMixin.class  );
+      mapper.addMixIn( WicaChannelStatistics.class, WicaChannelValueMixins.WicaChannelStatisticsMixin.class  );
       mapper.addMixIn( WicaChannelAlarmStatus.class, WicaChannelValueMixins.WicaChannelAlarmStatusMixin.class  );
 
       // It is "special" because (e) it uses WicaChannelMetadata Mixin types.
@@ -189,10 +231,10 @@ public class WicaChannelDataSerializer
       return mapper;
    }
 
-   private int getHash( Set<String> fieldsOfInterest, int numericScale, boolean quoteNumericStrings)
+   private int getHash( Set<String> fieldsOfInterest, int numericScale, boolean quoteNumericStrings, int waveformDecimationPoints, WicaWaveformDecimationMode waveformDecimationMode )
    {
       final int fieldsOfInterestHash = String.join("", fieldsOfInterest ).hashCode();
-      return Objects.hash( fieldsOfInterestHash, numericScale, quoteNumericStrings );
+      return Objects.hash( fieldsOfInterestHash, numericScale, quoteNumericStrings, waveformDecimationPoints, waveformDecimationMode );
    }
 
    private static FilterProvider getSerializeSelectedFieldsFilterProvider( Set<String> fieldsOfInterest )
@@ -3,6 +3,8 @@ package ch.psi.wica.infrastructure.channel;
 
 /*- Imported packages --------------------------------------------------------*/
 
+import ch.psi.wica.model.app.WicaWaveformDecimationMode;
+
 import java.util.Set;
 
 /*- Interface Declaration ----------------------------------------------------*/
@@ -17,6 +19,8 @@ public class WicaChannelDataSerializerBuilder
    private Set<String> fieldsOfInterest = Set.of();
    private int numericScale = 6;
    private boolean quoteNumericStrings = false;
+   private int waveformDecimationPoints = 0;
+   private WicaWaveformDecimationMode waveformDecimationMode = WicaWaveformDecimationMode.MIN_MAX;
 
 /*- Main ---------------------------------------------------------------------*/
 /*- Constructor --------------------------------------------------------------*/
@@ -50,9 +54,21 @@ public class WicaChannelDataSerializerBuilder
       return this;
    }
 
+   public WicaChannelDataSerializerBuilder withWaveformDecimationPoints( int waveformDecimationPoints )
+   {
+      this.waveformDecimationPoints = waveformDecimationPoints;
+      return this;
+   }
+
+   public WicaChannelDataSerializerBuilder withWaveformDecimationMode( WicaWaveformDecimationMode waveformDecimationMode )
+   {
+      this.waveformDecimationMode = waveformDecimationMode;
+      return this;
+   }
+
    public WicaChannelDataSerializer build()
    {
-      return new WicaChannelDataSerializer( this.fieldsOfInterest, this.numericScale, this.quoteNumericStrings );
+      return new WicaChannelDataSerializer( this.fieldsOfInterest, this.numericScale, this.quoteNumericStrings, this.waveformDecimationPoints, this.waveformDecimationMode );
    }
 
 /*- Private methods ----------------------------------------------------------*/
@@ -6,13 +6,18 @@ package ch.psi.wica.infrastructure.channel;
 /*- Interface Declaration ----------------------------------------------------*/
 /*- Class Declaration --------------------------------------------------------*/
 
+import ch.psi.wica.infrastructure.util.WeakInterner;
 import ch.psi.wica.model.app.WicaDataAcquisitionMode;
+import ch.psi.wica.model.app.WicaDeadbandMode;
 import ch.psi.wica.model.app.WicaFilterType;
+import ch.psi.wica.model.app.WicaWaveformDecimationMode;
 import ch.psi.wica.model.channel.WicaChannelProperties;
 import ch.psi.wica.model.channel.WicaChannelPropertiesDefaults;
 import ch.psi.wica.model.stream.WicaStreamProperties;
 import org.apache.commons.lang3.Validate;
 
+import java.util.List;
+
 
 /*- Interface Declaration ----------------------------------------------------*/
 /*- Class Declaration --------------------------------------------------------*/
@@ -23,6 +28,8 @@ public class WicaChannelPropertiesBuilder
 /*- Public attributes --------------------------------------------------------*/
 /*- Private attributes -------------------------------------------------------*/
 
+   private static final WeakInterner<WicaChannelProperties,WicaChannelProperties> wicaChannelPropertiesInterner = new WeakInterner<>();
+
    private WicaDataAcquisitionMode dataAcquisitionMode;
    private Integer pollingIntervalInMillis;
    private Integer numericPrecision;
@@ -32,6 +39,11 @@ public class WicaChannelPropertiesBuilder
    private Integer filterCycleLength;
    private Integer filterSamplingIntervalInMillis;
    private Double filterDeadband;
+   private Integer waveformDecimationPoints;
+   private WicaWaveformDecimationMode waveformDecimationMode;
+   private List<WicaFilterType> filterChain;
+   private Boolean alarmBypass;
+   private WicaDeadbandMode filterDeadbandMode;
    private String fieldsOfInterest;
 
 /*- Main ---------------------------------------------------------------------*/
@@ -61,6 +73,11 @@ public class WicaChannelPropertiesBuilder
       filterCycleLength = WicaChannelPropertiesDefaults.DEFAULT_FILTER_CYCLE_LENGTH;
       filterSamplingIntervalInMillis = WicaChannelPropertiesDefaults.DEFAULT_FILTER_SAMPLING_INTERVAL_IN_MILLIS;
       filterDeadband =  WicaChannelPropertiesDefaults.DEFAULT_FILTER_DEADBAND;
+      waveformDecimationPoints = WicaChannelPropertiesDefaults.DEFAULT_WAVEFORM_DECIMATION_POINTS;
+      waveformDecimationMode = WicaChannelPropertiesDefaults.DEFAULT_WAVEFORM_DECIMATION_MODE;
+      filterChain = WicaChannelPropertiesDefaults.DEFAULT_FILTER_CHAIN;
+      alarmBypass = WicaChannelPropertiesDefaults.DEFAULT_ALARM_BYPASS;
+      filterDeadbandMode = WicaChannelPropertiesDefaults.DEFAULT_FILTER_DEADBAND_MODE;
       return this;
    }
 
@@ -77,6 +94,11 @@ public class WicaChannelPropertiesBuilder
       wicaStreamProperties.getOptionalFilterCycleLength().ifPresent(              o -> filterCycleLength = o              );
       wicaStreamProperties.getOptionalFilterSamplingIntervalInMillis().ifPresent( o -> filterSamplingIntervalInMillis = o );
       wicaStreamProperties.getOptionalFilterDeadband().ifPresent(                 o -> filterDeadband = o                 );
+      wicaStreamProperties.getOptionalWaveformDecimationPoints().ifPresent(       o -> waveformDecimationPoints = o       );
+      wicaStreamProperties.getOptionalWaveformDecimationMode().ifPresent(         o -> waveformDecimationMode = o         );
+      wicaStreamProperties.getOptionalFilterChain().ifPresent(                    o -> filterChain = o                    );
+      wicaStreamProperties.getOptionalAlarmBypass().ifPresent(                    o -> alarmBypass = o                    );
+      wicaStreamProperties.getOptionalFilterDeadbandMode().ifPresent(             o -> filterDeadbandMode = o             );
 
       return this;
    }
@@ -94,6 +116,11 @@ public class WicaChannelPropertiesBuilder
       wicaChannelProperties.getOptionalFilterCycleLength().ifPresent(              o -> filterCycleLength = o              );
       wicaChannelProperties.getOptionalFilterSamplingIntervalInMillis().ifPresent( o -> filterSamplingIntervalInMillis = o );
       wicaChannelProperties.getOptionalFilterDeadband().ifPresent(                 o -> filterDeadband = o                 );
+      wicaChannelProperties.getOptionalWaveformDecimationPoints().ifPresent(       o -> waveformDecimationPoints = o       );
+      wicaChannelProperties.getOptionalWaveformDecimationMode().ifPresent(         o -> waveformDecimationMode = o         );
+      wicaChannelProperties.getOptionalFilterChain().ifPresent(                    o -> filterChain = o                    );
+      wicaChannelProperties.getOptionalAlarmBypass().ifPresent(                    o -> alarmBypass = o                    );
+      wicaChannelProperties.getOptionalFilterDeadbandMode().ifPresent(             o -> filterDeadbandMode = o             );
 
       return this;
    }
@@ -165,18 +192,64 @@ public class WicaChannelPropertiesBuilder
       return this;
    }
 
+   public WicaChannelPropertiesBuilder withWaveformDecimationPoints( int waveformDecimationPoints )
+   {
+      Validate.isTrue( waveformDecimationPoints >= 0,"The 'waveformDecimationPoints' argument was negative." );
+      this.waveformDecimationPoints = waveformDecimationPoints;
+      return this;
+   }
+
+   public WicaChannelPropertiesBuilder withWaveformDecimationMode( WicaWaveformDecimationMode waveformDecimationMode )
+   {
+      Validate.notNull( waveformDecimationMode, "The 'waveformDecimationMode' argument was null." );
+      this.waveformDecimationMode = waveformDecimationMode;
+      return this;
+   }
+
+   public WicaChannelPropertiesBuilder withFilterChain( List<WicaFilterType> filterChain )
+   {
+      Validate.noNullElements( filterChain, "The 'filterChain' argument contained a null element." );
+      this.filterChain = filterChain;
+      return this;
+   }
+
+   public WicaChannelPropertiesBuilder withAlarmBypass( boolean alarmBypass )
+   {
+      this.alarmBypass = alarmBypass;
+      return this;
+   }
+
+   public WicaChannelPropertiesBuilder withFilterDeadbandMode( WicaDeadbandMode filterDeadbandMode )
+   {
+      Validate.notNull( filterDeadbandMode, "The 'filterDeadbandMode' argument was null." );
+      this.filterDeadbandMode = filterDeadbandMode;
+      return this;
+   }
+
+   /**
+    * Returns the configured properties. Properties which are equal share a
+    * single instance for as long as any part of the application refers to them.
+    *
+    * @return the properties.
+    */
    public WicaChannelProperties build()
    {
-      return new WicaChannelProperties( dataAcquisitionMode,
-                                        pollingIntervalInMillis,
-                                        fieldsOfInterest,
-                                        numericPrecision,
-                                        filterType,
-                                        filterNumSamples,
-                                        filterNumSamplesInAverage,
-                                        filterCycleLength,
-                                        filterSamplingIntervalInMillis,
-                                        filterDeadband );
+      final WicaChannelProperties wicaChannelProperties = new WicaChannelProperties( dataAcquisitionMode,
+                                                                                     pollingIntervalInMillis,
+                                                                                     fieldsOfInterest,
+                                                                                     numericPrecision,
+                                                                                     filterType,
+                                                                                     filterNumSamples,
+                                                                                     filterNumSamplesInAverage,
+                                                                                     filterCycleLength,
+                                                                                     filterSamplingIntervalInMillis,
+                                                                                     filterDeadband,
+                                                                                     waveformDecimationPoints,
+                                                                                     waveformDecimationMode,
+                                                                                     filterChain,
+                                                                                     alarmBypass,
+                                                                                     filterDeadbandMode );
+      return wicaChannelPropertiesInterner.intern( wicaChannelProperties );
    }
 
 /*- Private methods ----------------------------------------------------------*/
@@ -5,9 +5,11 @@ package ch.psi.wica.infrastructure.channel;
 
 import ch.psi.wica.model.channel.WicaChannelAlarmSeverity;
 import ch.psi.wica.model.channel.WicaChannelAlarmStatus;
+import ch.psi.wica.model.channel.WicaChannelStatistics;
 import ch.psi.wica.model.channel.WicaChannelType;
 import ch.psi.wica.model.channel.WicaChannelValue;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonValue;
 
 import java.time.LocalDateTime;
@@ -136,6 +138,33 @@ class WicaChannelValueMixins
       @Override public abstract @JsonProperty( "val" ) double[] getValue();
    }
 
+/*- Nested Class: WicaChannelValueConnectedStatisticsSerializerMixin ----------*/
+
+   public static abstract class WicaChannelValueConnectedStatisticsSerializerMixin extends WicaChannelValue.WicaChannelValueConnectedStatistics
+   {
+      // Dummy: only required to detect signature override errors.
+      private  WicaChannelValueConnectedStatisticsSerializerMixin() { super( null, null, null, null ); }
+
+      // Mappings: start here.
+      @Override public abstract @JsonProperty( "val" ) WicaChannelStatistics getValue();
+   }
+
+/*- Nested Class: WicaChannelStatisticsMixin -----------------------------------*/
+
+   @JsonPropertyOrder( { "n", "min", "max", "mean", "sdev" } )
+   public static abstract class WicaChannelStatisticsMixin extends WicaChannelStatistics
+   {
+      // Dummy: only required to detect signature override errors.
+      private  WicaChannelStatisticsMixin() { super( 1, 0.0, 0.0, 0.0, 0.0 ); }
+
+      // Mappings: start here.
+      @Override public abstract @JsonProperty( "n"    ) long getCount();
+      @Override public abstract @JsonProperty( "min"  ) double getMin();
+      @Override public abstract @JsonProperty( "max"  ) double getMax();
+      @Override public abstract @JsonProperty( "mean" ) double getMean();
+      @Override public abstract @JsonProperty( "sdev" ) double getStandardDeviation();
+   }
+
 /*- Nested Class: WicaChannelAlarmStatusMixin ----------------------------------*/
 
    public static abstract class WicaChannelAlarmStatusMixin extends WicaChannelAlarmStatus
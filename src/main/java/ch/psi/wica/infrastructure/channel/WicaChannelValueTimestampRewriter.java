@@ -5,6 +5,7 @@ package ch.psi.wica.infrastructure.channel;
 
 import ch.psi.wica.model.channel.WicaChannelAlarmSeverity;
 import ch.psi.wica.model.channel.WicaChannelAlarmStatus;
+import ch.psi.wica.model.channel.WicaChannelStatistics;
 import ch.psi.wica.model.channel.WicaChannelValue;
 import org.springframework.stereotype.Component;
 
@@ -65,6 +66,10 @@ public class WicaChannelValueTimestampRewriter
             final String[] strArrayValue = ((WicaChannelValue.WicaChannelValueConnectedStringArray) connectedValue).getValue();
             return WicaChannelValue.createChannelValueConnected( alarmSeverity, alarmStatus, newTimeStamp, strArrayValue);
 
+         case STATISTICS:
+            final WicaChannelStatistics statsValue = ((WicaChannelValue.WicaChannelValueConnectedStatistics) connectedValue).getValue();
+            return WicaChannelValue.createChannelValueConnected( alarmSeverity, alarmStatus, newTimeStamp, statsValue);
+
          default:
             throw new IllegalArgumentException("The supplied object was of an unexpected type ");
       }
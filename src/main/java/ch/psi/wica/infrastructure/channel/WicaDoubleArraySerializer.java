@@ -17,7 +17,8 @@ import java.io.IOException;
 
 /**
  * Provides a means of serializing objects of type double[] in such a way that
- * a configurable number of digits appear after the decimal point.
+ * a configurable number of digits appear after the decimal point and,
+ * optionally, only a decimated subset of the points is written.
  *
  * This class works in conjunction with Jackson library module class with whom
  * it must be registered.
@@ -30,6 +31,7 @@ class WicaDoubleArraySerializer extends JsonSerializer<double[]>
 /*- Private attributes -------------------------------------------------------*/
 
    private final int numericScale;
+   private final WicaWaveformDecimator decimator;
 
 /*- Main ---------------------------------------------------------------------*/
 /*- Constructor --------------------------------------------------------------*/
@@ -54,9 +56,26 @@ class WicaDoubleArraySerializer extends JsonSerializer<double[]>
     * @throws IllegalArgumentException if the requested numeric scale is negative.
     */
    WicaDoubleArraySerializer( int numericScale )
+   {
+      this( numericScale, WicaWaveformDecimator.NONE );
+   }
+
+   /**
+    * Constructs a new custom serializer for double arrays which writes only
+    * the points selected by the supplied decimator.
+    *
+    * @param numericScale a positive number specifying the number of digits to
+    *     appear after the decimal point in the serialized representation.
+    * @param decimator the object which selects the points to be written.
+    *
+    * @throws IllegalArgumentException if the requested numeric scale is negative.
+    * @throws NullPointerException if the decimator was null.
+    */
+   WicaDoubleArraySerializer( int numericScale, WicaWaveformDecimator decimator )
    {
       Validate.isTrue(numericScale >= 0, String.format( "numericScale ('%d') cannot be negative", numericScale ) );
       this.numericScale = numericScale;
+      this.decimator = Validate.notNull( decimator );
    }
 
 /*- Class methods ------------------------------------------------------------*/
@@ -75,10 +94,20 @@ class WicaDoubleArraySerializer extends JsonSerializer<double[]>
    {
       gen.writeStartArray();
 
-      for ( double value: values )
+      if ( decimator.isDecimationRequired( values.length ) )
+      {
+         for ( int index : decimator.selectIndices( values ) )
+         {
+            WicaDoubleSerializer.serializeDouble( values[ index ], gen, numericScale );
+         }
+      }
+      else
       {
-         // All other detaiuls the same as for the double scalar serializer
-         WicaDoubleSerializer.serializeDouble( value, gen, numericScale );
+         for ( double value: values )
+         {
+            // All other detaiuls the same as for the double scalar serializer
+            WicaDoubleSerializer.serializeDouble( value, gen, numericScale );
+         }
       }
       gen.writeEndArray();
    }
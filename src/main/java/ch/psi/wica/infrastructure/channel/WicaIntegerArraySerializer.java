@@ -0,0 +1,81 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.infrastructure.channel;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import net.jcip.annotations.Immutable;
+import org.apache.commons.lang3.Validate;
+
+import java.io.IOException;
+
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+/**
+ * Provides a means of serializing objects of type int[] in such a way that
+ * only a decimated subset of the points is written.
+ *
+ * This class works in conjunction with Jackson library module class with whom
+ * it must be registered.
+ */
+@Immutable
+class WicaIntegerArraySerializer extends JsonSerializer<int[]>
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private final WicaWaveformDecimator decimator;
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+
+   /**
+    * Constructs a new custom serializer for integer arrays.
+    *
+    * @param decimator the object which selects the points to be written.
+    *
+    * @throws NullPointerException if the decimator was null.
+    */
+   WicaIntegerArraySerializer( WicaWaveformDecimator decimator )
+   {
+      this.decimator = Validate.notNull( decimator );
+   }
+
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   /**
+    * Serialize the Integer Array.
+    *
+    * @param values the array of values to be serialized.
+    * @param gen reference to a Java generator object that provides methods for generating the output string.
+    * @param serializers reference to a serializer provider (not needed by this implementation)
+    *
+    */
+   @Override
+   public void serialize( int[] values, JsonGenerator gen, SerializerProvider serializers ) throws IOException
+   {
+      if ( ! decimator.isDecimationRequired( values.length ) )
+      {
+         gen.writeArray( values, 0, values.length );
+         return;
+      }
+
+      gen.writeStartArray();
+      for ( int index : decimator.selectIndices( values ) )
+      {
+         gen.writeNumber( values[ index ] );
+      }
+      gen.writeEndArray();
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+
+}
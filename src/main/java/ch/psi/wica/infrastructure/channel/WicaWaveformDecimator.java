@@ -0,0 +1,154 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.infrastructure.channel;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.app.WicaWaveformDecimationMode;
+import net.jcip.annotations.Immutable;
+import org.apache.commons.lang3.Validate;
+
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+/**
+ * Selects the points of a waveform which should be serialized when the
+ * waveform is to be reduced to a target number of points.
+ *
+ * The selection is returned as an array of indices into the original
+ * waveform so that the values themselves can be written directly from the
+ * primitive array without creating an intermediate copy.
+ */
+@Immutable
+class WicaWaveformDecimator
+{
+
+/*- Public attributes --------------------------------------------------------*/
+
+   /**
+    * A decimator which always selects every point.
+    */
+   static final WicaWaveformDecimator NONE = new WicaWaveformDecimator( 0, WicaWaveformDecimationMode.MIN_MAX );
+
+/*- Private attributes -------------------------------------------------------*/
+
+   private final int targetPoints;
+   private final WicaWaveformDecimationMode mode;
+
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+
+   /**
+    * Constructs a new decimator.
+    *
+    * @param targetPoints the maximum number of points to be selected, or
+    *     zero if every point is to be selected.
+    * @param mode the decimation mode. In MIN_MAX mode a target of one point
+    *     is handled as if STRIDE mode had been selected.
+    *
+    * @throws IllegalArgumentException if the target is negative.
+    * @throws NullPointerException if the mode was null.
+    */
+   WicaWaveformDecimator( int targetPoints, WicaWaveformDecimationMode mode )
+   {
+      Validate.isTrue( targetPoints >= 0, String.format( "targetPoints ('%d') cannot be negative", targetPoints ) );
+      this.targetPoints = targetPoints;
+      this.mode = Validate.notNull( mode );
+   }
+
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+/*- Package-access methods ---------------------------------------------------*/
+
+   /**
+    * Returns true when a waveform of the specified length would be reduced
+    * by this decimator.
+    *
+    * @param length the number of points in the waveform.
+    * @return the result.
+    */
+   boolean isDecimationRequired( int length )
+   {
+      return ( targetPoints > 0 ) && ( length > targetPoints );
+   }
+
+   /**
+    * Returns the indices of the selected points in ascending order.
+    *
+    * @param values the waveform.
+    * @return the indices.
+    */
+   int[] selectIndices( double[] values )
+   {
+      return selectIndices( values.length, i -> values[ i ] );
+   }
+
+   /**
+    * Returns the indices of the selected points in ascending order.
+    *
+    * @param values the waveform.
+    * @return the indices.
+    */
+   int[] selectIndices( int[] values )
+   {
+      return selectIndices( values.length, i -> values[ i ] );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+
+   private int[] selectIndices( int length, IntToDoubleFunction valueAt )
+   {
+      if ( ( mode == WicaWaveformDecimationMode.STRIDE ) || ( targetPoints < 2 ) )
+      {
+         final int[] indices = new int[ targetPoints ];
+         for ( int bucket = 0; bucket < targetPoints; bucket++ )
+         {
+            indices[ bucket ] = (int) ( (long) bucket * length / targetPoints );
+         }
+         return indices;
+      }
+
+      // Each bucket contributes its minimum and maximum points, in the order
+      // in which they occur. Where both are the same point it is only
+      // selected once.
+      final int numberOfBuckets = targetPoints / 2;
+      final int[] indices = new int[ numberOfBuckets * 2 ];
+      int count = 0;
+      for ( int bucket = 0; bucket < numberOfBuckets; bucket++ )
+      {
+         final int start = (int) ( (long) bucket * length / numberOfBuckets );
+         final int end = (int) ( (long) ( bucket + 1 ) * length / numberOfBuckets );
+         int minIndex = start;
+         int maxIndex = start;
+         double min = valueAt.applyAsDouble( start );
+         double max = min;
+         for ( int i = start + 1; i < end; i++ )
+         {
+            final double value = valueAt.applyAsDouble( i );
+            if ( value < min || Double.isNaN( min ) )
+            {
+               min = value;
+               minIndex = i;
+            }
+            if ( value > max || Double.isNaN( max ) )
+            {
+               max = value;
+               maxIndex = i;
+            }
+         }
+         indices[ count++ ] = Math.min( minIndex, maxIndex );
+         if ( minIndex != maxIndex )
+         {
+            indices[ count++ ] = Math.max( minIndex, maxIndex );
+         }
+      }
+      return count == indices.length ? indices : Arrays.copyOf( indices, count );
+   }
+
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
@@ -13,8 +13,10 @@ import ch.psi.wica.model.stream.WicaStreamProperties;
 import org.apache.commons.lang3.Validate;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /*- Interface Declaration ----------------------------------------------------*/
@@ -31,6 +33,11 @@ public class WicaStreamBuilder
    private WicaStreamProperties wicaStreamProperties = WicaStreamPropertiesBuilder.create().build();
    private List<WicaChannel> wicaChannels = new ArrayList<>();
 
+   // Channel properties derived from the current stream properties. Many channels in a
+   // stream share the same properties so they are computed once and then reused.
+   private WicaChannelProperties wicaChannelPropertiesFromStream;
+   private final Map<WicaChannelProperties,WicaChannelProperties> wicaChannelCombinedPropertiesCache = new HashMap<>();
+
 
 /*- Main ---------------------------------------------------------------------*/
 /*- Constructor --------------------------------------------------------------*/
@@ -72,6 +79,7 @@ public class WicaStreamBuilder
    public WicaStreamBuilder withDefaultStreamProperties()
    {
       this.wicaStreamProperties = WicaStreamPropertiesBuilder.create().withDefaultProperties().build();
+      clearChannelPropertiesCache();
       return this;
    }
 
@@ -79,6 +87,7 @@ public class WicaStreamBuilder
    {
       Validate.notNull( wicaStreamProperties,"The 'wicaStreamProperties' argument was null." );
       this.wicaStreamProperties = WicaStreamPropertiesBuilder.create().withStreamProperties( wicaStreamProperties ).build();
+      clearChannelPropertiesCache();
       return this;
    }
 
@@ -93,9 +102,8 @@ public class WicaStreamBuilder
    {
       Validate.notNull( wicaChannelName,"The 'WicaChannelName' argument was null." );
 
-      final WicaChannelProperties wicaChannelPropertiesFromStream = WicaChannelPropertiesBuilder.create().withChannelPropertiesFromStream( wicaStreamProperties ).build();
       final WicaChannel wicaChannel = WicaChannelBuilder.create()
-            .withChannelNameAndProperties( wicaChannelName, wicaChannelPropertiesFromStream ).build();
+            .withChannelNameAndProperties( wicaChannelName, getChannelPropertiesFromStream() ).build();
       wicaChannels.add ( wicaChannel );
       return this;
    }
@@ -115,10 +123,11 @@ public class WicaStreamBuilder
       Validate.notNull( wicaChannelName,"The 'WicaChannelName' argument was null." );
       Validate.notNull( wicaChannelProperties,"The 'wicaChannelProperties' argument was null." );
 
-      final WicaChannelProperties wicaChannelCombinedProperties = WicaChannelPropertiesBuilder.create()
-            .withChannelPropertiesFromStream( wicaStreamProperties )
-            .withChannelProperties( wicaChannelProperties )
-            .build();
+      final WicaChannelProperties wicaChannelCombinedProperties = wicaChannelCombinedPropertiesCache.computeIfAbsent( wicaChannelProperties, p ->
+            WicaChannelPropertiesBuilder.create()
+               .withChannelPropertiesFromStream( wicaStreamProperties )
+               .withChannelProperties( p )
+               .build() );
 
       wicaChannels.add( WicaChannelBuilder.create().withChannelNameAndProperties( wicaChannelName, wicaChannelCombinedProperties ).build() );
       return this;
@@ -131,6 +140,21 @@ public class WicaStreamBuilder
    }
 
 /*- Private methods ----------------------------------------------------------*/
+
+   private WicaChannelProperties getChannelPropertiesFromStream()
+   {
+      if ( wicaChannelPropertiesFromStream == null )
+      {
+         wicaChannelPropertiesFromStream = WicaChannelPropertiesBuilder.create().withChannelPropertiesFromStream( wicaStreamProperties ).build();
+      }
+      return wicaChannelPropertiesFromStream;
+   }
+
+   private void clearChannelPropertiesCache()
+   {
+      wicaChannelPropertiesFromStream = null;
+      wicaChannelCombinedPropertiesCache.clear();
+   }
 /*- Nested Classes -----------------------------------------------------------*/
 
 }
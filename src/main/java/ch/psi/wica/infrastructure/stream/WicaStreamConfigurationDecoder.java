@@ -8,8 +8,7 @@ import ch.psi.wica.model.channel.WicaChannelProperties;
 import ch.psi.wica.model.stream.WicaStream;
 import ch.psi.wica.model.stream.WicaStreamProperties;
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonToken;
 import net.jcip.annotations.Immutable;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
@@ -17,6 +16,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 
 /*- Interface Declaration ----------------------------------------------------*/
@@ -52,94 +53,207 @@ public class WicaStreamConfigurationDecoder
       }
    }
 
-/*- Private methods ----------------------------------------------------------*/
-
-   private WicaStream parse( String jsonInputString ) throws IOException
+   /**
+    * Decodes a JSON array of channel configurations in the context of an
+    * existing stream. The channel properties are combined with the properties
+    * of the existing stream in exactly the same way as they would have been
+    * had the channels been specified when the stream was created.
+    *
+    * @param wicaStream the existing stream.
+    * @param jsonChannelArrayString the JSON array of channel configurations.
+    * @return a stream with the same id and properties as the existing stream
+    *     which contains only the decoded channels.
+    * @throws IllegalArgumentException if the JSON input string was invalid.
+    */
+   public WicaStream decodeChannels( WicaStream wicaStream, String jsonChannelArrayString )
    {
-      final ObjectMapper mapper = new ObjectMapper();
-      mapper.enable( JsonParser.Feature.STRICT_DUPLICATE_DETECTION );
-      final JsonNode rootNode = mapper.readTree( jsonInputString );
-
-      if ( !rootNode.isObject() )
+      Validate.notNull( wicaStream, "The stream was null." );
+      Validate.notBlank( jsonChannelArrayString, "The JSON input string was blank." );
+      try ( JsonParser jsonParser = WicaStreamSerializer.createParser( jsonChannelArrayString ) )
+      {
+         if ( jsonParser.nextToken() != JsonToken.START_ARRAY )
+         {
+            throw new IllegalArgumentException( "The JSON channel configuration string was not an array." );
+         }
+         final WicaStreamBuilder wicaStreamBuilder = WicaStreamBuilder.create()
+               .withId( wicaStream.getWicaStreamId() )
+               .withStreamProperties( wicaStream.getWicaStreamProperties() );
+         return addChannels( wicaStreamBuilder, parseChannelArray( jsonParser ) ).build();
+      }
+      catch ( IOException ex )
       {
-         throw new IllegalArgumentException("The root node of the JSON configuration string was not a JSON Object.");
+         throw new IllegalArgumentException( "The JSON channel configuration string: '" + jsonChannelArrayString + "' was invalid.", ex );
       }
+   }
 
-      final WicaStreamProperties wicaStreamProperties;
-      if ( rootNode.hasNonNull("props") )
+/*- Private methods ----------------------------------------------------------*/
+
+   /**
+    * Decodes the stream configuration in a single pass over the JSON token
+    * stream. The stream and channel properties are bound directly from the
+    * parser without building an intermediate tree.
+    *
+    * Since the 'channels' field may precede the 'props' field the channel
+    * configurations are collected first and combined with the stream
+    * properties once the whole configuration has been read.
+    */
+   private WicaStream parse( String jsonInputString ) throws IOException
+   {
+      try ( JsonParser jsonParser = WicaStreamSerializer.createParser( jsonInputString ) )
       {
-         final JsonNode propsNode = rootNode.get( "props" );
-         if ( propsNode.isContainerNode() )
+         if ( jsonParser.nextToken() != JsonToken.START_OBJECT )
          {
-            final String wicaStreamPropertiesString = propsNode.toString();
-            final WicaStreamProperties wicaStreamPropertiesFromJson = WicaStreamSerializer.readFromJson( wicaStreamPropertiesString, WicaStreamProperties.class );
-            wicaStreamProperties = WicaStreamPropertiesBuilder.create().withDefaultProperties().withStreamProperties( wicaStreamPropertiesFromJson ).build();
+            throw new IllegalArgumentException( "The root node of the JSON configuration string was not a JSON Object." );
          }
-         else
+
+         WicaStreamProperties wicaStreamPropertiesFromJson = null;
+         List<ChannelConfiguration> channelConfigurations = null;
+         while ( jsonParser.nextToken() == JsonToken.FIELD_NAME )
          {
-            throw new IllegalArgumentException( "The 'props' field in the root node of the JSON configuration string was not a container value." );
+            final String fieldName = jsonParser.getCurrentName();
+            final JsonToken valueToken = jsonParser.nextToken();
+            switch ( fieldName )
+            {
+               case "props":
+                  if ( valueToken == JsonToken.VALUE_NULL )
+                  {
+                     break;
+                  }
+                  if ( ! valueToken.isStructStart() )
+                  {
+                     throw new IllegalArgumentException( "The 'props' field in the root node of the JSON configuration string was not a container value." );
+                  }
+                  wicaStreamPropertiesFromJson = WicaStreamSerializer.readFromJson( jsonParser, WicaStreamProperties.class );
+                  break;
+
+               case "channels":
+                  if ( valueToken == JsonToken.VALUE_NULL )
+                  {
+                     throw new IllegalArgumentException( "The root node of the JSON configuration string did not contain a value for field named 'channels'." );
+                  }
+                  if ( valueToken != JsonToken.START_ARRAY )
+                  {
+                     throw new IllegalArgumentException( "The root node of the JSON configuration string contained a field named 'channels', but it wasn't an array." );
+                  }
+                  channelConfigurations = parseChannelArray( jsonParser );
+                  break;
+
+               default:
+                  jsonParser.skipChildren();
+                  break;
+            }
          }
-      }
-      else
-      {
-         wicaStreamProperties = WicaStreamPropertiesBuilder.create().withDefaultProperties().build();
-      }
 
-      if ( ! rootNode.has("channels") )
-      {
-         throw new IllegalArgumentException( "The root node of the JSON configuration string did not contain a field named 'channels'.");
-      }
+         if ( channelConfigurations == null )
+         {
+            throw new IllegalArgumentException( "The root node of the JSON configuration string did not contain a field named 'channels'." );
+         }
 
-      if ( ! rootNode.hasNonNull("channels") )
-      {
-         throw new IllegalArgumentException( "The root node of the JSON configuration string did not contain a value for field named 'channels'.");
-      }
+         final WicaStreamProperties wicaStreamProperties = wicaStreamPropertiesFromJson == null ?
+               WicaStreamPropertiesBuilder.create().withDefaultProperties().build() :
+               WicaStreamPropertiesBuilder.create().withDefaultProperties().withStreamProperties( wicaStreamPropertiesFromJson ).build();
 
-      final JsonNode channelsObjectNode = rootNode.get( "channels" );
-      if ( ! channelsObjectNode.isArray() )
-      {
-         throw new IllegalArgumentException( "The root node of the JSON configuration string contained a field named 'channels', but it wasn't an array." );
+         final WicaStreamBuilder wicaStreamBuilder = WicaStreamBuilder.create().withStreamProperties( wicaStreamProperties );
+         return addChannels( wicaStreamBuilder, channelConfigurations ).build();
       }
+   }
 
-      WicaStreamBuilder wicaStreamBuilder = WicaStreamBuilder.create().withStreamProperties( wicaStreamProperties );
-
-      final JsonNode channelArrayNode = rootNode.get( "channels" );
-      for (final JsonNode channelNode: channelArrayNode )
+   /**
+    * Reads the channel configurations from the array which starts at the
+    * parser's current token. On return the parser is positioned on the
+    * array's closing token.
+    */
+   private List<ChannelConfiguration> parseChannelArray( JsonParser jsonParser ) throws IOException
+   {
+      final List<ChannelConfiguration> channelConfigurations = new ArrayList<>();
+      while ( jsonParser.nextToken() != JsonToken.END_ARRAY )
       {
-         if ( !channelNode.has("name") )
+         if ( jsonParser.currentToken() != JsonToken.START_OBJECT )
          {
             throw new IllegalArgumentException( "The JSON configuration string did not specify the name of one or more channels (missing 'name' field).");
          }
 
-         if ( !channelNode.hasNonNull("name") )
+         boolean hasName = false;
+         boolean hasValidProps = true;
+         String wicaChannelName = null;
+         WicaChannelProperties wicaChannelPropertiesFromJson = null;
+         while ( jsonParser.nextToken() == JsonToken.FIELD_NAME )
          {
-            throw new IllegalArgumentException( "The JSON configuration string did not contain a valid value for one or more channel 'name' fields.");
+            final String fieldName = jsonParser.getCurrentName();
+            final JsonToken valueToken = jsonParser.nextToken();
+            switch ( fieldName )
+            {
+               case "name":
+                  hasName = true;
+                  wicaChannelName = valueToken == JsonToken.VALUE_STRING ? jsonParser.getText() : null;
+                  jsonParser.skipChildren();
+                  break;
+
+               case "props":
+                  if ( valueToken.isStructStart() )
+                  {
+                     wicaChannelPropertiesFromJson = WicaStreamSerializer.readFromJson( jsonParser, WicaChannelProperties.class );
+                  }
+                  else
+                  {
+                     hasValidProps = false;
+                  }
+                  break;
+
+               default:
+                  jsonParser.skipChildren();
+                  break;
+            }
          }
 
-         final String wicaChannelName = channelNode.get("name").textValue();
-         if ( channelNode.has("props") )
+         if ( ! hasName )
          {
-            final JsonNode propsNode = channelNode.get( "props" );
-            if ( propsNode.isContainerNode() )
-            {
+            throw new IllegalArgumentException( "The JSON configuration string did not specify the name of one or more channels (missing 'name' field).");
+         }
 
-               final WicaChannelProperties wicaChannelPropertiesFromJson = WicaStreamSerializer.readFromJson( propsNode.toString(), WicaChannelProperties.class );
-               wicaStreamBuilder = wicaStreamBuilder.withChannelNameAndCombinedProperties( wicaChannelName, wicaChannelPropertiesFromJson );
-           }
-            else
-            {
-               throw new IllegalArgumentException( "The 'props' field in one or more channel nodes of the JSON configuration string was not a container value." );
-            }
+         if ( wicaChannelName == null )
+         {
+            throw new IllegalArgumentException( "The JSON configuration string did not contain a valid value for one or more channel 'name' fields.");
          }
-         else
+
+         if ( ! hasValidProps )
          {
-            wicaStreamBuilder = wicaStreamBuilder.withChannelNameAndStreamProperties( wicaChannelName );
+            throw new IllegalArgumentException( "The 'props' field in one or more channel nodes of the JSON configuration string was not a container value." );
          }
+
+         channelConfigurations.add( new ChannelConfiguration( wicaChannelName, wicaChannelPropertiesFromJson ) );
       }
+      return channelConfigurations;
+   }
 
-      return wicaStreamBuilder.build();
+   private WicaStreamBuilder addChannels( WicaStreamBuilder wicaStreamBuilder, List<ChannelConfiguration> channelConfigurations )
+   {
+      for ( ChannelConfiguration channelConfiguration : channelConfigurations )
+      {
+         wicaStreamBuilder = channelConfiguration.wicaChannelPropertiesFromJson == null ?
+               wicaStreamBuilder.withChannelNameAndStreamProperties( channelConfiguration.wicaChannelName ) :
+               wicaStreamBuilder.withChannelNameAndCombinedProperties( channelConfiguration.wicaChannelName, channelConfiguration.wicaChannelPropertiesFromJson );
+      }
+      return wicaStreamBuilder;
    }
 
 /*- Nested Classes -----------------------------------------------------------*/
 
+   /**
+    * The configuration of a single channel as read from the JSON input,
+    * before it has been combined with the stream properties.
+    */
+   @Immutable
+   private static class ChannelConfiguration
+   {
+      private final String wicaChannelName;
+      private final WicaChannelProperties wicaChannelPropertiesFromJson;
+
+      private ChannelConfiguration( String wicaChannelName, WicaChannelProperties wicaChannelPropertiesFromJson )
+      {
+         this.wicaChannelName = wicaChannelName;
+         this.wicaChannelPropertiesFromJson = wicaChannelPropertiesFromJson;
+      }
+   }
+
 }
@@ -25,7 +25,10 @@ abstract class WicaStreamDataBuffer<T extends WicaChannelData>
 /*- Public attributes --------------------------------------------------------*/
 /*- Private attributes -------------------------------------------------------*/
 
-   private final Map<WicaDataBufferStorageKey, Deque<T>> stash;
+   // All access to the map is guarded by the monitor of this object. The data
+   // points are looked up directly by their storage keys: a single hash lookup
+   // is cheaper than first translating the key into a dense index.
+   private final Map<WicaDataBufferStorageKey, Deque<T>> stash = new HashMap<>();
    private final int bufferSize;
 
 /*- Main ---------------------------------------------------------------------*/
@@ -40,7 +43,6 @@ abstract class WicaStreamDataBuffer<T extends WicaChannelData>
    WicaStreamDataBuffer( int bufferSize  )
    {
       this.bufferSize = bufferSize;
-      this.stash = Collections.synchronizedMap( new HashMap<>() );
    }
 
 /*- Class methods ------------------------------------------------------------*/
@@ -66,14 +68,9 @@ abstract class WicaStreamDataBuffer<T extends WicaChannelData>
       {
          // Lazily instantiate a Queue the first time a data point comes in
          // for a control system name that was not previously known.
-         if ( ! stash.containsKey( key ) )
-         {
-            final Deque<T> deque = new ConcurrentLinkedDeque<>();
-            stash.put( key, deque);
-         }
+         final Deque<T> deque = stash.computeIfAbsent( key, k -> new ConcurrentLinkedDeque<>() );
 
          // Evict the oldest value from the queue when it has reached its configured size limit.
-         final Deque<T> deque = stash.get( key );
          if ( deque.size() == bufferSize )
          {
             deque.remove();
@@ -87,15 +84,59 @@ abstract class WicaStreamDataBuffer<T extends WicaChannelData>
    public T getLatest( WicaDataBufferStorageKey key )
    {
       Validate.notNull( key );
-      Validate.isTrue( stash.containsKey( key ) );
 
       synchronized ( this )
       {
          final Deque<T> deque = stash.get( key );
+         Validate.isTrue( deque != null );
          return deque.peekLast();
       }
    }
 
+   /**
+    * Returns the most recent data point saved under the specified key, or an
+    * empty result if no data has yet been saved under that key.
+    *
+    * @param key the key.
+    * @return the result.
+    */
+   public Optional<T> findLatest( WicaDataBufferStorageKey key )
+   {
+      Validate.notNull( key );
+
+      synchronized ( this )
+      {
+         final Deque<T> deque = stash.get( key );
+         return deque == null ? Optional.empty() : Optional.ofNullable( deque.peekLast() );
+      }
+   }
+
+   /**
+    * Discards all data points saved under the specified key.
+    *
+    * @param key the key.
+    * @return true if data was held for the key.
+    */
+   public boolean discard( WicaDataBufferStorageKey key )
+   {
+      Validate.notNull( key );
+
+      synchronized ( this )
+      {
+         return stash.remove( key ) != null;
+      }
+   }
+
+   /**
+    * Returns the number of keys for which data is currently held.
+    *
+    * @return the result.
+    */
+   public synchronized int size()
+   {
+      return stash.size();
+   }
+
 /*- Protected methods --------------------------------------------------------*/
 
    protected abstract WicaDataBufferStorageKey getStorageKey( WicaChannel wicaChannel );
@@ -107,15 +148,20 @@ abstract class WicaStreamDataBuffer<T extends WicaChannelData>
       Validate.notNull( key );
       Validate.notNull( since );
 
-      final Queue<T> inputQueue = stash.get( key );
+      final Queue<T> inputQueue;
+      synchronized ( this )
+      {
+         inputQueue = stash.get( key );
+      }
       if ( inputQueue == null )
       {
          return List.of();
       }
 
+      final long sinceInEpochNanos = WicaChannelData.toEpochNanos( since );
       final List<T> outputList = new ArrayList<>();
       inputQueue.forEach( c -> {
-         if ( c.getWicaServerTimestamp().compareTo( since ) > 0 )
+         if ( c.getWicaServerTimestampInEpochNanos() > sinceInEpochNanos )
          {
             outputList.add( c );
          }
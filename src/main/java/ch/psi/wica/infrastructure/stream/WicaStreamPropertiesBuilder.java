@@ -4,11 +4,15 @@ package ch.psi.wica.infrastructure.stream;
 /*- Imported packages --------------------------------------------------------*/
 
 import ch.psi.wica.model.app.WicaDataAcquisitionMode;
+import ch.psi.wica.model.app.WicaDeadbandMode;
 import ch.psi.wica.model.app.WicaFilterType;
+import ch.psi.wica.model.app.WicaWaveformDecimationMode;
 import ch.psi.wica.model.stream.WicaStreamProperties;
 import ch.psi.wica.model.stream.WicaStreamPropertiesDefaults;
 import org.apache.commons.lang3.Validate;
 
+import java.util.List;
+
 /*- Interface Declaration ----------------------------------------------------*/
 /*- Class Declaration --------------------------------------------------------*/
 
@@ -23,6 +27,7 @@ public class WicaStreamPropertiesBuilder
    private Integer metadataFluxIntervalInMillis;
    private Integer monitoredValueFluxIntervalInMillis;
    private Integer polledValueFluxIntervalInMillis;
+   private Integer alarmSummaryFluxIntervalInMillis;
    private WicaDataAcquisitionMode dataAcquisitionMode;
    private Integer pollingIntervalInMillis;
    private Integer numericPrecision;
@@ -32,6 +37,11 @@ public class WicaStreamPropertiesBuilder
    private Integer filterCycleLength;
    private Integer filterSamplingIntervalInMillis;
    private Double filterDeadband;
+   private Integer waveformDecimationPoints;
+   private WicaWaveformDecimationMode waveformDecimationMode;
+   private List<WicaFilterType> filterChain;
+   private Boolean alarmBypass;
+   private WicaDeadbandMode filterDeadbandMode;
    private String fieldsOfInterest;
 
 /*- Main ---------------------------------------------------------------------*/
@@ -57,6 +67,7 @@ public class WicaStreamPropertiesBuilder
       metadataFluxIntervalInMillis = WicaStreamPropertiesDefaults.DEFAULT_METADATA_FLUX_INTERVAL_IN_MILLIS;
       monitoredValueFluxIntervalInMillis = WicaStreamPropertiesDefaults.DEFAULT_MONITORED_VALUE_FLUX_INTERVAL_IN_MILLIS;
       polledValueFluxIntervalInMillis = WicaStreamPropertiesDefaults.DEFAULT_POLLED_VALUE_FLUX_INTERVAL_IN_MILLIS;
+      alarmSummaryFluxIntervalInMillis = WicaStreamPropertiesDefaults.DEFAULT_ALARM_SUMMARY_FLUX_INTERVAL_IN_MILLIS;
       dataAcquisitionMode = WicaStreamPropertiesDefaults.DEFAULT_DATA_ACQUISITION_MODE;
       pollingIntervalInMillis = WicaStreamPropertiesDefaults.DEFAULT_POLLING_INTERVAL_IN_MILLIS;
       fieldsOfInterest = WicaStreamPropertiesDefaults.DEFAULT_FIELDS_OF_INTEREST;
@@ -67,6 +78,11 @@ public class WicaStreamPropertiesBuilder
       filterCycleLength = WicaStreamPropertiesDefaults.DEFAULT_FILTER_CYCLE_LENGTH;
       filterSamplingIntervalInMillis = WicaStreamPropertiesDefaults.DEFAULT_FILTER_SAMPLING_INTERVAL_IN_MILLIS;
       filterDeadband =  WicaStreamPropertiesDefaults.DEFAULT_FILTER_DEADBAND;
+      waveformDecimationPoints = WicaStreamPropertiesDefaults.DEFAULT_WAVEFORM_DECIMATION_POINTS;
+      waveformDecimationMode = WicaStreamPropertiesDefaults.DEFAULT_WAVEFORM_DECIMATION_MODE;
+      filterChain = WicaStreamPropertiesDefaults.DEFAULT_FILTER_CHAIN;
+      alarmBypass = WicaStreamPropertiesDefaults.DEFAULT_ALARM_BYPASS;
+      filterDeadbandMode = WicaStreamPropertiesDefaults.DEFAULT_FILTER_DEADBAND_MODE;
       return this;
    }
 
@@ -78,6 +94,7 @@ public class WicaStreamPropertiesBuilder
       wicaStreamProperties.getOptionalMetadataFluxIntervalInMillis().ifPresent(        o -> metadataFluxIntervalInMillis = o       );
       wicaStreamProperties.getOptionalMonitoredValueFluxIntervalInMillis().ifPresent(  o -> monitoredValueFluxIntervalInMillis = o );
       wicaStreamProperties.getOptionalPolledValueFluxIntervalInMillis().ifPresent(     o -> polledValueFluxIntervalInMillis = o    );
+      wicaStreamProperties.getOptionalAlarmSummaryFluxIntervalInMillis().ifPresent(    o -> alarmSummaryFluxIntervalInMillis = o   );
       wicaStreamProperties.getOptionalDataAcquisitionMode().ifPresent(                 o -> dataAcquisitionMode = o                );
       wicaStreamProperties.getOptionalPollingIntervalInMillis().ifPresent(             o -> pollingIntervalInMillis = o            );
       wicaStreamProperties.getOptionalFieldsOfInterest().ifPresent(                    o -> fieldsOfInterest = o                   );
@@ -88,6 +105,11 @@ public class WicaStreamPropertiesBuilder
       wicaStreamProperties.getOptionalFilterCycleLength().ifPresent(                   o -> filterCycleLength = o                  );
       wicaStreamProperties.getOptionalFilterSamplingIntervalInMillis().ifPresent(      o -> filterSamplingIntervalInMillis = o     );
       wicaStreamProperties.getOptionalFilterDeadband().ifPresent(                      o -> filterDeadband = o                     );
+      wicaStreamProperties.getOptionalWaveformDecimationPoints().ifPresent(            o -> waveformDecimationPoints = o           );
+      wicaStreamProperties.getOptionalWaveformDecimationMode().ifPresent(              o -> waveformDecimationMode = o             );
+      wicaStreamProperties.getOptionalFilterChain().ifPresent(                         o -> filterChain = o                        );
+      wicaStreamProperties.getOptionalAlarmBypass().ifPresent(                         o -> alarmBypass = o                        );
+      wicaStreamProperties.getOptionalFilterDeadbandMode().ifPresent(                  o -> filterDeadbandMode = o                 );
       return this;
    }
 
@@ -115,6 +137,12 @@ public class WicaStreamPropertiesBuilder
       return this;
    }
 
+   public WicaStreamPropertiesBuilder withAlarmSummaryFluxInterval( int alarmSummaryFluxIntervalInMillis )
+   {
+      this.alarmSummaryFluxIntervalInMillis = alarmSummaryFluxIntervalInMillis;
+      return this;
+   }
+
    public WicaStreamPropertiesBuilder withDataAcquisitionMode( WicaDataAcquisitionMode dataAcquisitionMode )
    {
       this.dataAcquisitionMode = Validate.notNull( dataAcquisitionMode, "The 'dataAcquisitionMode' argument was null." );
@@ -175,6 +203,36 @@ public class WicaStreamPropertiesBuilder
       return this;
    }
 
+   public WicaStreamPropertiesBuilder withWaveformDecimationPoints( int waveformDecimationPoints )
+   {
+      this.waveformDecimationPoints = waveformDecimationPoints;
+      return this;
+   }
+
+   public WicaStreamPropertiesBuilder withWaveformDecimationMode( WicaWaveformDecimationMode waveformDecimationMode )
+   {
+      this.waveformDecimationMode = waveformDecimationMode;
+      return this;
+   }
+
+   public WicaStreamPropertiesBuilder withFilterChain( List<WicaFilterType> filterChain )
+   {
+      this.filterChain = filterChain;
+      return this;
+   }
+
+   public WicaStreamPropertiesBuilder withAlarmBypass( boolean alarmBypass )
+   {
+      this.alarmBypass = alarmBypass;
+      return this;
+   }
+
+   public WicaStreamPropertiesBuilder withFilterDeadbandMode( WicaDeadbandMode filterDeadbandMode )
+   {
+      this.filterDeadbandMode = filterDeadbandMode;
+      return this;
+   }
+
    public WicaStreamProperties build()
    {
       return new WicaStreamProperties( heartbeatFluxIntervalInMillis,
@@ -190,7 +248,13 @@ public class WicaStreamPropertiesBuilder
                                        filterNumSamplesInAverage,
                                        filterCycleLength,
                                        filterSamplingIntervalInMillis,
-                                       filterDeadband );
+                                       filterDeadband,
+                                       waveformDecimationPoints,
+                                       waveformDecimationMode,
+                                       filterChain,
+                                       alarmBypass,
+                                       filterDeadbandMode,
+                                       alarmSummaryFluxIntervalInMillis );
    }
 
 /*- Private methods ----------------------------------------------------------*/
@@ -4,7 +4,9 @@ package ch.psi.wica.infrastructure.stream;
 /*- Imported packages --------------------------------------------------------*/
 
 import ch.psi.wica.model.app.WicaDataAcquisitionMode;
+import ch.psi.wica.model.app.WicaDeadbandMode;
 import ch.psi.wica.model.app.WicaFilterType;
+import ch.psi.wica.model.app.WicaWaveformDecimationMode;
 import ch.psi.wica.model.channel.WicaChannel;
 import ch.psi.wica.model.channel.WicaChannelName;
 import ch.psi.wica.model.channel.WicaChannelProperties;
@@ -13,6 +15,7 @@ import ch.psi.wica.model.stream.WicaStream;
 import ch.psi.wica.model.stream.WicaStreamProperties;
 import ch.psi.wica.model.stream.WicaStreamPropertiesDefaults;
 import com.fasterxml.jackson.annotation.*;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -23,6 +26,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -109,6 +113,45 @@ public class WicaStreamSerializer
       }
    }
 
+/*- Package-access methods ---------------------------------------------------*/
+
+   /**
+    * Returns a streaming parser for the supplied JSON string.
+    *
+    * The parser is created by the factory belonging to the deserializer,
+    * so wica objects can be bound directly from the current position in the
+    * token stream using {@link #readFromJson(JsonParser, Class)}.
+    *
+    * @param jsonString the string to parse.
+    * @return the parser, with strict duplicate field detection enabled.
+    * @throws IOException if the parser could not be created.
+    */
+   static JsonParser createParser( String jsonString ) throws IOException
+   {
+      Validate.notNull( jsonString, "The 'jsonString' argument was null." );
+      return deserializerMapper.getFactory()
+                               .createParser( jsonString )
+                               .enable( JsonParser.Feature.STRICT_DUPLICATE_DETECTION );
+   }
+
+   /**
+    * Binds a wica object from the JSON container which starts at the
+    * supplied parser's current token. On return the parser is positioned
+    * on the container's closing token.
+    *
+    * @param jsonParser the parser.
+    * @param valueType the type of object to bind.
+    * @param <T> the type of object.
+    * @return the object.
+    * @throws IOException if the object could not be bound.
+    */
+   static <T> T readFromJson( JsonParser jsonParser, Class<T> valueType ) throws IOException
+   {
+      Validate.notNull( jsonParser, "The 'jsonParser' argument was null." );
+      Validate.notNull( valueType, "The 'valueType' argument was null." );
+      return deserializerMapper.readerFor( valueType ).readValue( jsonParser );
+   }
+
 /*- Private methods ----------------------------------------------------------*/
 /*- Nested Classes: Serializers ----------------------------------------------*/
    
@@ -128,7 +171,7 @@ public class WicaStreamSerializer
    /**
     * WicaStreamPropertiesSerializerMixin
     */
-   @JsonPropertyOrder( { "hbflux", "metaflux", "monflux", "pollflux", "daqmode", "pollint", "fields", "prec", "filter", "n", "x", "m", "interval", "deadband" } )
+   @JsonPropertyOrder( { "hbflux", "metaflux", "monflux", "pollflux", "daqmode", "pollint", "fields", "prec", "filter", "n", "x", "m", "interval", "deadband", "wfpts", "wfmode", "filters", "alarmbypass", "dbmode", "sumflux" } )
    @JsonInclude( JsonInclude.Include.NON_DEFAULT )
    public static abstract class WicaStreamPropertiesSerializerMixin extends WicaStreamProperties
    {
@@ -146,6 +189,12 @@ public class WicaStreamSerializer
       @Override public abstract @JsonProperty( "m"        ) Optional<Integer> getOptionalFilterCycleLength();
       @Override public abstract @JsonProperty( "interval" ) Optional<Integer> getOptionalFilterSamplingIntervalInMillis();
       @Override public abstract @JsonProperty( "deadband" ) Optional<Double> getOptionalFilterDeadband();
+      @Override public abstract @JsonProperty( "wfpts"    ) Optional<Integer> getOptionalWaveformDecimationPoints();
+      @Override public abstract @JsonProperty( "wfmode"   ) Optional<WicaWaveformDecimationMode> getOptionalWaveformDecimationMode();
+      @Override public abstract @JsonProperty( "filters"  ) Optional<List<WicaFilterType>> getOptionalFilterChain();
+      @Override public abstract @JsonProperty( "alarmbypass") Optional<Boolean> getOptionalAlarmBypass();
+      @Override public abstract @JsonProperty( "dbmode"     ) Optional<WicaDeadbandMode> getOptionalFilterDeadbandMode();
+      @Override public abstract @JsonProperty( "sumflux"    ) Optional<Integer> getOptionalAlarmSummaryFluxIntervalInMillis();
    }
 
    /**
@@ -167,7 +216,7 @@ public class WicaStreamSerializer
    // Note: Include.NON_DEFAULT is selected so that serializer will only send the values
    // that are different from the defaults.
    @JsonInclude( value = JsonInclude.Include.NON_DEFAULT)
-   @JsonPropertyOrder( { "daqmode", "pollint", "fields", "prec", "filter", "n", "x", "m", "interval", "deadband" } )
+   @JsonPropertyOrder( { "daqmode", "pollint", "fields", "prec", "filter", "n", "x", "m", "interval", "deadband", "wfpts", "wfmode", "filters", "alarmbypass", "dbmode" } )
    public static abstract class WicaChannelPropertiesSerializerMixin extends WicaChannelProperties
    {
       @Override public abstract @JsonProperty( "daqmode"  ) Optional<WicaDataAcquisitionMode> getOptionalDataAcquisitionMode();
@@ -180,6 +229,11 @@ public class WicaStreamSerializer
       @Override public abstract @JsonProperty( "m"        ) Optional<Integer> getOptionalFilterCycleLength();
       @Override public abstract @JsonProperty( "interval" ) Optional<Integer> getOptionalFilterSamplingIntervalInMillis();
       @Override public abstract @JsonProperty( "deadband" ) Optional<Double> getOptionalFilterDeadband();
+      @Override public abstract @JsonProperty( "wfpts"    ) Optional<Integer> getOptionalWaveformDecimationPoints();
+      @Override public abstract @JsonProperty( "wfmode"   ) Optional<WicaWaveformDecimationMode> getOptionalWaveformDecimationMode();
+      @Override public abstract @JsonProperty( "filters"  ) Optional<List<WicaFilterType>> getOptionalFilterChain();
+      @Override public abstract @JsonProperty( "alarmbypass") Optional<Boolean> getOptionalAlarmBypass();
+      @Override public abstract @JsonProperty( "dbmode"     ) Optional<WicaDeadbandMode> getOptionalFilterDeadbandMode();
    }
    
 /*- Nested Classes: Deserializers --------------------------------------------*/
@@ -217,7 +271,13 @@ public class WicaStreamSerializer
                                                     @JsonProperty( "x"         ) Integer filterNumSamplesInAverage,
                                                     @JsonProperty( "m"         ) Integer filterCycleLength,
                                                     @JsonProperty( "interval"  ) Integer filterSamplingIntervalInMillis,
-                                                    @JsonProperty( "deadband"  ) Double filterDeadband ) {}
+                                                    @JsonProperty( "deadband"  ) Double filterDeadband,
+                                                    @JsonProperty( "wfpts"    ) Integer waveformDecimationPoints,
+                                                    @JsonProperty( "wfmode"    ) WicaWaveformDecimationMode waveformDecimationMode,
+                                                    @JsonProperty( "filters"   ) List<WicaFilterType> filterChain,
+                                                    @JsonProperty( "alarmbypass") Boolean alarmBypass,
+                                                    @JsonProperty( "dbmode"     ) WicaDeadbandMode filterDeadbandMode,
+                                                    @JsonProperty( "sumflux"    ) Integer alarmSummaryFluxIntervalInMillis ) {}
    }
 
    /**
@@ -248,7 +308,12 @@ public class WicaStreamSerializer
                                                      @JsonProperty( "x"        ) Integer filterNumSamplesInAverage,
                                                      @JsonProperty( "m"        ) Integer filterCycleLength,
                                                      @JsonProperty( "interval" ) Integer filterSamplingIntervalInMillis,
-                                                     @JsonProperty( "deadband" ) Double filterDeadband ) {}
+                                                     @JsonProperty( "deadband" ) Double filterDeadband,
+                                                     @JsonProperty( "wfpts"    ) Integer waveformDecimationPoints,
+                                                     @JsonProperty( "wfmode"   ) WicaWaveformDecimationMode waveformDecimationMode,
+                                                     @JsonProperty( "filters"  ) List<WicaFilterType> filterChain,
+                                                     @JsonProperty( "alarmbypass") Boolean alarmBypass,
+                                                     @JsonProperty( "dbmode"     ) WicaDeadbandMode filterDeadbandMode ) {}
    }
 
 /*- Nested Classes: Filters --------------------------------------------------*/
@@ -279,7 +344,13 @@ public class WicaStreamSerializer
                optEqualsDefaultValue( props.getOptionalFilterNumSamplesInAverage(),          WicaStreamPropertiesDefaults.DEFAULT_FILTER_NUM_SAMPLES_IN_AVERAGE           ) &&
                optEqualsDefaultValue( props.getOptionalFilterCycleLength(),                  WicaStreamPropertiesDefaults.DEFAULT_FILTER_CYCLE_LENGTH                     ) &&
                optEqualsDefaultValue( props.getOptionalFilterSamplingIntervalInMillis(),     WicaStreamPropertiesDefaults.DEFAULT_FILTER_SAMPLING_INTERVAL_IN_MILLIS      ) &&
-               optEqualsDefaultValue( props.getOptionalFilterDeadband(),                     WicaStreamPropertiesDefaults.DEFAULT_FILTER_DEADBAND                         );
+               optEqualsDefaultValue( props.getOptionalFilterDeadband(),                     WicaStreamPropertiesDefaults.DEFAULT_FILTER_DEADBAND                         ) &&
+               optEqualsDefaultValue( props.getOptionalWaveformDecimationPoints(),           WicaStreamPropertiesDefaults.DEFAULT_WAVEFORM_DECIMATION_POINTS              ) &&
+               optEqualsDefaultValue( props.getOptionalWaveformDecimationMode(),             WicaStreamPropertiesDefaults.DEFAULT_WAVEFORM_DECIMATION_MODE                ) &&
+               optEqualsDefaultValue( props.getOptionalFilterChain(),                        WicaStreamPropertiesDefaults.DEFAULT_FILTER_CHAIN                            ) &&
+               optEqualsDefaultValue( props.getOptionalAlarmBypass(),                        WicaStreamPropertiesDefaults.DEFAULT_ALARM_BYPASS                            ) &&
+               optEqualsDefaultValue( props.getOptionalFilterDeadbandMode(),                 WicaStreamPropertiesDefaults.DEFAULT_FILTER_DEADBAND_MODE                    ) &&
+               optEqualsDefaultValue( props.getOptionalAlarmSummaryFluxIntervalInMillis(),   WicaStreamPropertiesDefaults.DEFAULT_ALARM_SUMMARY_FLUX_INTERVAL_IN_MILLIS   );
          }
          else
          {
@@ -316,7 +387,12 @@ public class WicaStreamSerializer
                optEqualsDefaultValue( props.getOptionalFilterNumSamples(),               WicaChannelPropertiesDefaults.DEFAULT_FILTER_NUM_SAMPLES                      ) &&
                optEqualsDefaultValue( props.getOptionalFilterCycleLength(),              WicaChannelPropertiesDefaults.DEFAULT_FILTER_CYCLE_LENGTH                     ) &&
                optEqualsDefaultValue( props.getOptionalFilterSamplingIntervalInMillis(), WicaChannelPropertiesDefaults.DEFAULT_FILTER_SAMPLING_INTERVAL_IN_MILLIS      ) &&
-               optEqualsDefaultValue( props.getOptionalFilterDeadband(),                 WicaChannelPropertiesDefaults.DEFAULT_FILTER_DEADBAND                         );
+               optEqualsDefaultValue( props.getOptionalFilterDeadband(),                 WicaChannelPropertiesDefaults.DEFAULT_FILTER_DEADBAND                         ) &&
+               optEqualsDefaultValue( props.getOptionalWaveformDecimationPoints(),       WicaChannelPropertiesDefaults.DEFAULT_WAVEFORM_DECIMATION_POINTS              ) &&
+               optEqualsDefaultValue( props.getOptionalWaveformDecimationMode(),         WicaChannelPropertiesDefaults.DEFAULT_WAVEFORM_DECIMATION_MODE                ) &&
+               optEqualsDefaultValue( props.getOptionalFilterChain(),                    WicaChannelPropertiesDefaults.DEFAULT_FILTER_CHAIN                            ) &&
+               optEqualsDefaultValue( props.getOptionalAlarmBypass(),                    WicaChannelPropertiesDefaults.DEFAULT_ALARM_BYPASS                            ) &&
+               optEqualsDefaultValue( props.getOptionalFilterDeadbandMode(),             WicaChannelPropertiesDefaults.DEFAULT_FILTER_DEADBAND_MODE                    );
          }
          else
          {
@@ -21,7 +21,8 @@ public enum WicaStreamServerSentEventBuilder
    EV_WICA_SERVER_HEARTBEAT         ("ev-wica-server-heartbeat", "server heartbeat"         ),
    EV_WICA_CHANNEL_METADATA         ("ev-wica-channel-metadata", "channel metadata"         ),
    EV_WICA_CHANNEL_POLLED_VALUES    ("ev-wica-channel-value",    "channel polled values"    ),
-   EV_WICA_CHANNEL_MONITORED_VALUES ("ev-wica-channel-value",    "channel monitored values" );
+   EV_WICA_CHANNEL_MONITORED_VALUES ("ev-wica-channel-value",    "channel monitored values" ),
+   EV_WICA_STREAM_ALARM_SUMMARY     ("ev-wica-alarm-summary",    "stream alarm summary"     );
 
 /*- Public attributes --------------------------------------------------------*/
 /*- Private attributes -------------------------------------------------------*/
@@ -0,0 +1,98 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.infrastructure.util;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import net.jcip.annotations.ThreadSafe;
+import org.apache.commons.lang3.Validate;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+/**
+ * Provides a table of canonical instances which holds both its keys and its
+ * values through weak references. Entries therefore remain in the table only
+ * for as long as some other part of the application refers to them.
+ *
+ * The intended use is to ensure that equal immutable value objects share a
+ * single instance (the "flyweight" pattern). When the key and the value are
+ * the same object use {@link #intern(Object)}. When the value is looked up
+ * from some cheaper key (for example, a name from its string representation)
+ * the value must hold a strong reference to the key object that was supplied,
+ * otherwise the entry may be discarded whilst the value is still in use.
+ *
+ * @param <K> the type of the key.
+ * @param <V> the type of the canonical value.
+ */
+@ThreadSafe
+public class WeakInterner<K,V>
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private final Map<K,WeakReference<V>> map = new WeakHashMap<>();
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   /**
+    * Returns the canonical value for the specified key, creating it with the
+    * supplied factory if there is none.
+    *
+    * @param key the key.
+    * @param factory the function which creates the value for a new key.
+    * @return the canonical value.
+    */
+   public synchronized V get( K key, Function<? super K, ? extends V> factory )
+   {
+      Validate.notNull( key, "The 'key' argument was null." );
+      Validate.notNull( factory, "The 'factory' argument was null." );
+
+      final WeakReference<V> reference = map.get( key );
+      final V existingValue = reference == null ? null : reference.get();
+      if ( existingValue != null )
+      {
+         return existingValue;
+      }
+      final V newValue = Validate.notNull( factory.apply( key ), "The factory returned null." );
+      map.put( key, new WeakReference<>( newValue ) );
+      return newValue;
+   }
+
+   /**
+    * Returns the canonical instance which is equal to the supplied sample,
+    * registering the sample as the canonical instance if there is none.
+    *
+    * @param sample the sample.
+    * @return the canonical instance.
+    * @throws ClassCastException if the key and value types differ.
+    */
+   @SuppressWarnings( "unchecked" )
+   public V intern( K sample )
+   {
+      return get( sample, k -> (V) k );
+   }
+
+   /**
+    * Returns the number of entries currently in the table. Entries whose
+    * keys have been garbage collected are removed before counting.
+    *
+    * @return the result.
+    */
+   public synchronized int size()
+   {
+      return map.size();
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
@@ -20,16 +20,26 @@ public class WicaDataBufferStorageKey
 /*- Public attributes --------------------------------------------------------*/
 /*- Private attributes -------------------------------------------------------*/
 
-   private WicaChannel wicaChannel;
-   private int storageKey;
+   private final WicaChannel wicaChannel;
+
+   // The fields which together identify the storage location. Equality is
+   // based on these fields rather than on their hash, since different
+   // channels may legitimately share the same hash value.
+   private final Object channelName;
+   private final Integer pollingIntervalInMillis;
+   private final WicaDataAcquisitionMode dataAcquisitionMode;
+   private final int hashCode;
 
 /*- Main ---------------------------------------------------------------------*/
 /*- Constructor --------------------------------------------------------------*/
 
-   private WicaDataBufferStorageKey( WicaChannel wicaChannel, int storageKey )
+   private WicaDataBufferStorageKey( WicaChannel wicaChannel, Object channelName, Integer pollingIntervalInMillis, WicaDataAcquisitionMode dataAcquisitionMode )
    {
       this.wicaChannel = wicaChannel;
-      this.storageKey = storageKey;
+      this.channelName = channelName;
+      this.pollingIntervalInMillis = pollingIntervalInMillis;
+      this.dataAcquisitionMode = dataAcquisitionMode;
+      this.hashCode = Objects.hash( channelName, pollingIntervalInMillis, dataAcquisitionMode );
    }
 
 /*- Class methods ------------------------------------------------------------*/
@@ -43,11 +53,10 @@ public class WicaDataBufferStorageKey
       // channel's polling interval and the polling mode (network-based or monitor based).
       // This means that resources can be shared between different subscribers when/if
       // these parameters are aligned.
-      final int hashCode = (Objects.hash( wicaChannel.getName(),
-                                          wicaChannel.getProperties().getOptionalPollingIntervalInMillis(),
-                                          wicaChannel.getProperties().getDataAcquisitionMode() ) );
-
-      return new WicaDataBufferStorageKey( wicaChannel, hashCode );
+      return new WicaDataBufferStorageKey( wicaChannel,
+                                           wicaChannel.getName(),
+                                           wicaChannel.getProperties().getOptionalPollingIntervalInMillis().orElse( null ),
+                                           wicaChannel.getProperties().getDataAcquisitionMode() );
    }
 
    public static WicaDataBufferStorageKey getMonitoredValueStorageKey( WicaChannel wicaChannel )
@@ -58,8 +67,7 @@ public class WicaDataBufferStorageKey
       // The storage key for monitoring a channel is based only on the channel's name.
       // This means that resources can be shared when multiple wica stream subscribers
       // share the same parameters.
-      final int hashCode = (Objects.hash( wicaChannel.getName().getControlSystemName() ) );
-      return new WicaDataBufferStorageKey( wicaChannel, hashCode );
+      return new WicaDataBufferStorageKey( wicaChannel, wicaChannel.getName().getControlSystemName(), null, null );
    }
 
 /*- Public methods -----------------------------------------------------------*/
@@ -75,13 +83,16 @@ public class WicaDataBufferStorageKey
       if ( this == o ) return true;
       if ( !(o instanceof WicaDataBufferStorageKey) ) return false;
       WicaDataBufferStorageKey that = (WicaDataBufferStorageKey) o;
-      return storageKey == that.storageKey;
+      return hashCode == that.hashCode &&
+             channelName.equals( that.channelName ) &&
+             Objects.equals( pollingIntervalInMillis, that.pollingIntervalInMillis ) &&
+             dataAcquisitionMode == that.dataAcquisitionMode;
    }
 
    @Override
    public int hashCode()
    {
-      return Objects.hash( storageKey );
+      return hashCode;
    }
 
 /*- Protected methods --------------------------------------------------------*/
@@ -0,0 +1,72 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.model.app;
+
+/*- Imported packages --------------------------------------------------------*/
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+/**
+ * Represents the way in which the deadband of a change-detector filter is
+ * interpreted when deciding whether a change in a channel's value is
+ * significant.
+ */
+public enum WicaDeadbandMode
+{
+
+/*- Public attributes --------------------------------------------------------*/
+
+   /**
+    * A change is significant when its magnitude exceeds the deadband,
+    * expressed in the units of the channel.
+    */
+   ABSOLUTE   ("absolute" ),
+
+   /**
+    * A change is significant when its magnitude exceeds the deadband,
+    * expressed as a percentage of the magnitude of the previous value.
+    */
+   RELATIVE   ("relative" ),
+
+   /**
+    * A change is significant when its magnitude exceeds the deadband,
+    * expressed as a percentage of the channel's display range (that is
+    * to say the difference between the upper and lower display limits
+    * given in the channel's metadata).
+    */
+   RANGE      ("range" ),
+
+   /**
+    * A change is significant when the value has moved further than the
+    * deadband, expressed in the units of the channel, from the last value
+    * which was itself considered significant. Slow drifts are therefore
+    * eventually reported, whereas noise around a steady value is not.
+    */
+   HYSTERESIS ("hysteresis" );
+
+/*- Private attributes -------------------------------------------------------*/
+
+   private final String name;
+
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+
+   WicaDeadbandMode( String name )
+   {
+      this.name = name;
+   }
+
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @Override
+   public String toString()
+   {
+      return name;
+   }
+
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
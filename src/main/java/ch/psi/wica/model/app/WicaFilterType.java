@@ -19,7 +19,10 @@ public enum WicaFilterType
    LAST_N          ("last-n" ),
    ONE_IN_M        ("one-in-m" ),
    CHANGE_DETECTOR("changes" ),
-   AVERAGER        ("averager" );
+   AVERAGER        ("averager" ),
+   LTTB            ("lttb" ),
+   AGGREGATOR      ("aggregator" ),
+   ALARM_CHANGES   ("alarm-changes" );
 
 /*- Private attributes -------------------------------------------------------*/
 
@@ -0,0 +1,57 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.model.app;
+
+/*- Imported packages --------------------------------------------------------*/
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+/**
+ * Represents the method that will be used to reduce the number of points
+ * in a waveform (REAL_ARRAY or INTEGER_ARRAY) value before it is
+ * serialized.
+ */
+public enum WicaWaveformDecimationMode
+{
+
+/*- Public attributes --------------------------------------------------------*/
+
+   /**
+    * The waveform is divided into buckets of approximately equal size and
+    * the minimum and maximum points in each bucket are retained, in the
+    * order in which they occur. This preserves the envelope of the signal
+    * including any narrow peaks.
+    */
+   MIN_MAX ("minmax" ),
+
+   /**
+    * Points are taken from the waveform at regular intervals.
+    */
+   STRIDE  ("stride" );
+
+/*- Private attributes -------------------------------------------------------*/
+
+   private final String name;
+
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+
+   WicaWaveformDecimationMode( String name )
+   {
+      this.name = name;
+   }
+
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @Override
+   public String toString()
+   {
+      return name;
+   }
+
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
@@ -27,6 +27,10 @@ public class WicaChannel
    private final WicaChannelName wicaChannelName;
    private final WicaChannelProperties wicaChannelProperties;
 
+   // The hash code is computed on first use and then cached. The race on the
+   // field is benign since every thread computes the same value.
+   private int hashCode;
+
 /*- Main ---------------------------------------------------------------------*/
 /*- Constructor --------------------------------------------------------------*/
 
@@ -84,14 +88,21 @@ public class WicaChannel
       if ( this == o ) return true;
       if ( !(o instanceof WicaChannel) ) return false;
       WicaChannel that = (WicaChannel) o;
-      return Objects.equals(wicaChannelName, that.wicaChannelName) &&
+      return hashCode() == that.hashCode() &&
+            Objects.equals(wicaChannelName, that.wicaChannelName) &&
             Objects.equals(wicaChannelProperties, that.wicaChannelProperties);
    }
 
    @Override
    public int hashCode()
    {
-      return Objects.hash( wicaChannelName, wicaChannelProperties);
+      int result = hashCode;
+      if ( result == 0 )
+      {
+         result = Objects.hash( wicaChannelName, wicaChannelProperties);
+         hashCode = result;
+      }
+      return result;
    }
 
 /*- Private methods ----------------------------------------------------------*/
@@ -16,6 +16,16 @@ public class WicaChannelAlarmStatus
 /*- Public attributes --------------------------------------------------------*/
 /*- Private attributes -------------------------------------------------------*/
 
+   // Instances for the commonly occurring status codes are shared.
+   private static final WicaChannelAlarmStatus[] sharedInstances = new WicaChannelAlarmStatus[ 32 ];
+   static
+   {
+      for ( int i = 0; i < sharedInstances.length; i++ )
+      {
+         sharedInstances[ i ] = new WicaChannelAlarmStatus( i );
+      }
+   }
+
    private final int wicaAlarmStatusCode;
 
 /*- Main ---------------------------------------------------------------------*/
@@ -30,12 +40,16 @@ public class WicaChannelAlarmStatus
 
    public static WicaChannelAlarmStatus of( int statusCode )
    {
+      if ( ( statusCode >= 0 ) && ( statusCode < sharedInstances.length ) )
+      {
+         return sharedInstances[ statusCode ];
+      }
       return new WicaChannelAlarmStatus( statusCode );
    }
 
    static WicaChannelAlarmStatus ofNoError()
    {
-      return new WicaChannelAlarmStatus( 0 );
+      return sharedInstances[ 0 ];
    }
 
 /*- Public methods -----------------------------------------------------------*/
@@ -9,6 +9,7 @@ import net.jcip.annotations.Immutable;
 import org.apache.commons.lang3.Validate;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 /**
  * Represents the abstract root of a hierarchy of objects which provide
@@ -23,8 +24,17 @@ public abstract class WicaChannelData
 /*- Public attributes --------------------------------------------------------*/
 /*- Private attributes -------------------------------------------------------*/
 
+   // The nanosecond value can represent all dates between the years 1677 and
+   // 2262 which is more than sufficient for the timestamps of channel data.
+   private static final long MAX_EPOCH_SECONDS = Long.MAX_VALUE / 1_000_000_000L - 1;
+   private static final long MIN_EPOCH_SECONDS = Long.MIN_VALUE / 1_000_000_000L + 1;
+
+   // Optimisation Note:
+   // Channel data is buffered in large quantities so the server timestamp is
+   // held in primitive form. This avoids the three objects that would otherwise
+   // be needed to hold each LocalDateTime.
    private final WicaChannelType wicaChannelType;
-   private final LocalDateTime wicaServerTimestamp;
+   private final long wicaServerTimestampInEpochNanos;
 
 /*- Main ---------------------------------------------------------------------*/
 /*- Constructor --------------------------------------------------------------*/
@@ -32,16 +42,55 @@ public abstract class WicaChannelData
    public WicaChannelData()
    {
       this.wicaChannelType = WicaChannelType.UNKNOWN;
-      this.wicaServerTimestamp = LocalDateTime.now();
+      this.wicaServerTimestampInEpochNanos = toEpochNanos( LocalDateTime.now() );
    }
 
    public WicaChannelData( WicaChannelType wicaChannelType, LocalDateTime wicaServerTimestamp )
    {
       this.wicaChannelType = wicaChannelType;
-      this.wicaServerTimestamp = Validate.notNull( wicaServerTimestamp, "wicaServerTimestamp cannot be null" );
+      this.wicaServerTimestampInEpochNanos = toEpochNanos( Validate.notNull( wicaServerTimestamp, "wicaServerTimestamp cannot be null" ) );
    }
 
 /*- Class methods ------------------------------------------------------------*/
+
+   /**
+    * Converts the supplied timestamp to the number of nanoseconds which
+    * separate it from the start of 1970-01-01. The local time is treated
+    * as if it were UTC, so no time zone information is involved.
+    *
+    * Timestamps outside the representable range saturate to
+    * Long.MIN_VALUE or Long.MAX_VALUE.
+    *
+    * @param localDateTime the timestamp.
+    * @return the result.
+    */
+   public static long toEpochNanos( LocalDateTime localDateTime )
+   {
+      Validate.notNull( localDateTime );
+      final long epochSeconds = localDateTime.toEpochSecond( ZoneOffset.UTC );
+      if ( epochSeconds > MAX_EPOCH_SECONDS )
+      {
+         return Long.MAX_VALUE;
+      }
+      if ( epochSeconds < MIN_EPOCH_SECONDS )
+      {
+         return Long.MIN_VALUE;
+      }
+      return epochSeconds * 1_000_000_000L + localDateTime.getNano();
+   }
+
+   /**
+    * Converts the supplied number of nanoseconds since the start of
+    * 1970-01-01 back to a timestamp.
+    *
+    * @param epochNanos the number of nanoseconds.
+    * @return the result.
+    */
+   public static LocalDateTime fromEpochNanos( long epochNanos )
+   {
+      return LocalDateTime.ofEpochSecond( Math.floorDiv( epochNanos, 1_000_000_000L ), (int) Math.floorMod( epochNanos, 1_000_000_000L ), ZoneOffset.UTC );
+   }
+
 /*- Public methods -----------------------------------------------------------*/
 
    public WicaChannelType getType()
@@ -49,9 +98,21 @@ public abstract class WicaChannelData
       return wicaChannelType;
    }
    public LocalDateTime getWicaServerTimestamp()
-{
-   return this.wicaServerTimestamp;
-}
+   {
+      return fromEpochNanos( wicaServerTimestampInEpochNanos );
+   }
+
+   /**
+    * Returns the wica server timestamp in the form used by
+    * {@link #toEpochNanos(LocalDateTime)}. This allows timestamps to be
+    * compared without creating any objects.
+    *
+    * @return the result.
+    */
+   public long getWicaServerTimestampInEpochNanos()
+   {
+      return wicaServerTimestampInEpochNanos;
+   }
 
 /*- Private methods ----------------------------------------------------------*/
 /*- Nested Classes -----------------------------------------------------------*/
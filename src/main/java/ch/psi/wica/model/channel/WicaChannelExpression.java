@@ -0,0 +1,411 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.model.channel;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.app.ControlSystemName;
+import net.jcip.annotations.Immutable;
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+/**
+ * Represents an arithmetic expression which computes the value of a derived
+ * wica channel from the values of one or more other control system channels.
+ *
+ * The expression is compiled once into a tree of nodes which can thereafter
+ * be evaluated any number of times without creating any new objects.
+ *
+ * The following syntax is supported:
+ * <ul>
+ *    <li>the binary operators + - * / and ^ (exponentiation), with the usual
+ *        precedence and associativity, and the unary operators - and +.</li>
+ *    <li>parentheses.</li>
+ *    <li>numeric literals, for example 2, 0.5 or 1.5e-3.</li>
+ *    <li>the functions abs, sqrt, exp, log, log10, sin, cos and tan, each
+ *        taking one argument, and min and max, each taking two.</li>
+ *    <li>control system channel names. Names which consist only of letters,
+ *        digits and the characters _ : . [ ] &lt; &gt; may be written directly.
+ *        Other names (for example those including the minus sign) must be
+ *        enclosed in braces, for example {XYZ-01:CURRENT}.</li>
+ * </ul>
+ */
+@Immutable
+public class WicaChannelExpression
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private final String text;
+   private final List<ControlSystemName> inputs;
+   private final Node root;
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+
+   private WicaChannelExpression( String text, List<ControlSystemName> inputs, Node root )
+   {
+      this.text = text;
+      this.inputs = Collections.unmodifiableList( inputs );
+      this.root = root;
+   }
+
+/*- Class methods ------------------------------------------------------------*/
+
+   /**
+    * Compiles the supplied expression.
+    *
+    * @param text the expression.
+    * @return the compiled expression.
+    *
+    * @throws NullPointerException if the text was null.
+    * @throws IllegalArgumentException if the text was not a valid expression.
+    */
+   public static WicaChannelExpression compile( String text )
+   {
+      Validate.notNull( text );
+      final Parser parser = new Parser( text );
+      final Node root = parser.parseExpression();
+      parser.expectEnd();
+      Validate.isTrue( ! parser.inputs.isEmpty(), "The expression: '" + text + "' does not refer to any channels." );
+      return new WicaChannelExpression( text, parser.inputs, root );
+   }
+
+   /**
+    * Compiles the expression of the specified derived channel.
+    *
+    * @param wicaChannelName the name of the channel.
+    * @return the compiled expression.
+    *
+    * @throws IllegalArgumentException if the channel was not a derived channel.
+    */
+   public static WicaChannelExpression of( WicaChannelName wicaChannelName )
+   {
+      Validate.isTrue( wicaChannelName.isDerived(), "The channel: '" + wicaChannelName + "' was not a derived channel." );
+      final String controlSystemName = wicaChannelName.getControlSystemName().asString();
+      return compile( controlSystemName.substring( WicaChannelName.Protocol.CALC.getName().length() ) );
+   }
+
+/*- Public methods -----------------------------------------------------------*/
+
+   /**
+    * Returns the names of the control system channels on which the expression
+    * depends. Each name appears once, in the order in which it first occurs
+    * in the expression.
+    *
+    * @return the list.
+    */
+   public List<ControlSystemName> getInputs()
+   {
+      return inputs;
+   }
+
+   /**
+    * Evaluates the expression.
+    *
+    * @param inputValues the values of the input channels, in the order
+    *     given by {@link #getInputs()}.
+    * @return the result.
+    */
+   public double evaluate( double[] inputValues )
+   {
+      Validate.isTrue( inputValues.length == inputs.size() );
+      return root.evaluate( inputValues );
+   }
+
+   @Override
+   public String toString()
+   {
+      return "WicaChannelExpression{" +
+            "text='" + text + '\'' +
+            '}';
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+   @FunctionalInterface
+   private interface Node
+   {
+      double evaluate( double[] inputValues );
+   }
+
+   /**
+    * Recursive descent parser which builds the node tree.
+    */
+   private static class Parser
+   {
+      private final String text;
+      private final List<ControlSystemName> inputs = new ArrayList<>();
+      private int position;
+
+      Parser( String text )
+      {
+         this.text = text;
+         this.position = 0;
+      }
+
+      // expression := term ( ( '+' | '-' ) term )*
+      Node parseExpression()
+      {
+         Node node = parseTerm();
+         while ( true )
+         {
+            if ( accept( '+' ) )
+            {
+               final Node left = node, right = parseTerm();
+               node = v -> left.evaluate( v ) + right.evaluate( v );
+            }
+            else if ( accept( '-' ) )
+            {
+               final Node left = node, right = parseTerm();
+               node = v -> left.evaluate( v ) - right.evaluate( v );
+            }
+            else
+            {
+               return node;
+            }
+         }
+      }
+
+      // term := unary ( ( '*' | '/' ) unary )*
+      private Node parseTerm()
+      {
+         Node node = parseUnary();
+         while ( true )
+         {
+            if ( accept( '*' ) )
+            {
+               final Node left = node, right = parseUnary();
+               node = v -> left.evaluate( v ) * right.evaluate( v );
+            }
+            else if ( accept( '/' ) )
+            {
+               final Node left = node, right = parseUnary();
+               node = v -> left.evaluate( v ) / right.evaluate( v );
+            }
+            else
+            {
+               return node;
+            }
+         }
+      }
+
+      // unary := ( '-' | '+' ) unary | power
+      private Node parseUnary()
+      {
+         if ( accept( '-' ) )
+         {
+            final Node operand = parseUnary();
+            return v -> - operand.evaluate( v );
+         }
+         if ( accept( '+' ) )
+         {
+            return parseUnary();
+         }
+         return parsePower();
+      }
+
+      // power := primary ( '^' unary )?
+      private Node parsePower()
+      {
+         final Node base = parsePrimary();
+         if ( accept( '^' ) )
+         {
+            final Node exponent = parseUnary();
+            return v -> Math.pow( base.evaluate( v ), exponent.evaluate( v ) );
+         }
+         return base;
+      }
+
+      // primary := number | '(' expression ')' | '{' name '}' | identifier ( '(' arguments ')' )?
+      private Node parsePrimary()
+      {
+         skipWhitespace();
+         if ( position >= text.length() )
+         {
+            throw error( "unexpected end of expression" );
+         }
+
+         final char c = text.charAt( position );
+         if ( accept( '(' ) )
+         {
+            final Node node = parseExpression();
+            expect( ')' );
+            return node;
+         }
+         if ( accept( '{' ) )
+         {
+            final int end = text.indexOf( '}', position );
+            if ( end < 0 )
+            {
+               throw error( "missing '}'" );
+            }
+            final String name = text.substring( position, end ).trim();
+            if ( ! name.chars().allMatch( ch -> isNamePart( (char) ch ) || ( ch == '-' ) ) )
+            {
+               throw error( "invalid channel name '" + name + "'" );
+            }
+            position = end + 1;
+            return createInputNode( name );
+         }
+         if ( Character.isDigit( c ) || ( c == '.' ) )
+         {
+            final double value = parseNumber();
+            return v -> value;
+         }
+         if ( isNameStart( c ) )
+         {
+            final String name = parseName();
+            if ( accept( '(' ) )
+            {
+               return parseFunction( name );
+            }
+            return createInputNode( name );
+         }
+         throw error( "unexpected character '" + c + "'" );
+      }
+
+      private Node parseFunction( String name )
+      {
+         final Node argument = parseExpression();
+         switch ( name )
+         {
+            case "min":
+            case "max":
+               expect( ',' );
+               final Node secondArgument = parseExpression();
+               expect( ')' );
+               return name.equals( "min" ) ? v -> Math.min( argument.evaluate( v ), secondArgument.evaluate( v ) )
+                                           : v -> Math.max( argument.evaluate( v ), secondArgument.evaluate( v ) );
+
+            case "abs":   expect( ')' ); return v -> Math.abs( argument.evaluate( v ) );
+            case "sqrt":  expect( ')' ); return v -> Math.sqrt( argument.evaluate( v ) );
+            case "exp":   expect( ')' ); return v -> Math.exp( argument.evaluate( v ) );
+            case "log":   expect( ')' ); return v -> Math.log( argument.evaluate( v ) );
+            case "log10": expect( ')' ); return v -> Math.log10( argument.evaluate( v ) );
+            case "sin":   expect( ')' ); return v -> Math.sin( argument.evaluate( v ) );
+            case "cos":   expect( ')' ); return v -> Math.cos( argument.evaluate( v ) );
+            case "tan":   expect( ')' ); return v -> Math.tan( argument.evaluate( v ) );
+
+            default:
+               throw error( "unknown function '" + name + "'" );
+         }
+      }
+
+      private Node createInputNode( String name )
+      {
+         if ( name.isEmpty() )
+         {
+            throw error( "empty channel name" );
+         }
+         final ControlSystemName controlSystemName = ControlSystemName.of( name );
+         int index = inputs.indexOf( controlSystemName );
+         if ( index < 0 )
+         {
+            index = inputs.size();
+            inputs.add( controlSystemName );
+         }
+         final int slot = index;
+         return v -> v[ slot ];
+      }
+
+      private double parseNumber()
+      {
+         final int start = position;
+         while ( ( position < text.length() ) && ( Character.isDigit( text.charAt( position ) ) || text.charAt( position ) == '.' ) )
+         {
+            position++;
+         }
+         if ( ( position < text.length() ) && ( Character.toLowerCase( text.charAt( position ) ) == 'e' ) )
+         {
+            position++;
+            if ( ( position < text.length() ) && ( ( text.charAt( position ) == '+' ) || ( text.charAt( position ) == '-' ) ) )
+            {
+               position++;
+            }
+            while ( ( position < text.length() ) && Character.isDigit( text.charAt( position ) ) )
+            {
+               position++;
+            }
+         }
+         try
+         {
+            return Double.parseDouble( text.substring( start, position ) );
+         }
+         catch ( NumberFormatException ex )
+         {
+            throw error( "invalid number '" + text.substring( start, position ) + "'" );
+         }
+      }
+
+      private String parseName()
+      {
+         final int start = position;
+         while ( ( position < text.length() ) && isNamePart( text.charAt( position ) ) )
+         {
+            position++;
+         }
+         return text.substring( start, position );
+      }
+
+      void expectEnd()
+      {
+         skipWhitespace();
+         if ( position < text.length() )
+         {
+            throw error( "unexpected character '" + text.charAt( position ) + "'" );
+         }
+      }
+
+      private void expect( char c )
+      {
+         if ( ! accept( c ) )
+         {
+            throw error( "expected '" + c + "'" );
+         }
+      }
+
+      private boolean accept( char c )
+      {
+         skipWhitespace();
+         if ( ( position < text.length() ) && ( text.charAt( position ) == c ) )
+         {
+            position++;
+            return true;
+         }
+         return false;
+      }
+
+      private void skipWhitespace()
+      {
+         while ( ( position < text.length() ) && Character.isWhitespace( text.charAt( position ) ) )
+         {
+            position++;
+         }
+      }
+
+      private static boolean isNameStart( char c )
+      {
+         return Character.isLetter( c ) || ( c == '_' );
+      }
+
+      private static boolean isNamePart( char c )
+      {
+         return Character.isLetterOrDigit( c ) || ( "_:.[]<>".indexOf( c ) >= 0 );
+      }
+
+      private IllegalArgumentException error( String message )
+      {
+         return new IllegalArgumentException( "The expression: '" + text + "' is invalid at position " + position + ": " + message + "." );
+      }
+   }
+
+}
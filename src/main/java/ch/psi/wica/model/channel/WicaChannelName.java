@@ -47,11 +47,21 @@ public class WicaChannelName
    private static final String WICA_CHANNEL_NAME_FORMAT = PROTOCOL_REGEX + "?" + CONTROL_SYSTEM_NAME_REGEX + INSTANCE_REGEX + "?";
    private static final Pattern pattern = Pattern.compile( WICA_CHANNEL_NAME_FORMAT );
 
+   // The name of a derived channel is the expression from which its value is
+   // computed. The control system name includes the protocol so that it can
+   // never coincide with the name of a real control system channel.
+   private static final String DERIVED_CHANNEL_NAME_FORMAT = "(?<csname>calc://[^#]+)" + INSTANCE_REGEX + "?";
+   private static final Pattern derivedChannelPattern = Pattern.compile( DERIVED_CHANNEL_NAME_FORMAT );
+
    private final Protocol protocol;
    private final ControlSystemName controlSystemName;
    private final Integer instance;
    private final String stringRepresentation;
 
+   // The hash code is computed on first use and then cached. The race on the
+   // field is benign since every thread computes the same value.
+   private int hashCode;
+
 /*- Main ---------------------------------------------------------------------*/
 /*- Constructor --------------------------------------------------------------*/
 
@@ -68,6 +78,11 @@ public class WicaChannelName
    @JsonCreator
    public static WicaChannelName of( String strSpecifier )
    {
+      if ( strSpecifier.startsWith( Protocol.CALC.getName() ) )
+      {
+         return ofDerivedChannel( strSpecifier );
+      }
+
       final Matcher matcher = pattern.matcher( strSpecifier );
 
       Validate.isTrue( matcher.matches(), "The string: '" + strSpecifier + "' was not a valid channel name." );
@@ -89,6 +104,18 @@ public class WicaChannelName
 
 /*- Public methods -----------------------------------------------------------*/
 
+   /**
+    * Returns true if this is the name of a derived channel, that is to say a
+    * channel whose value is computed by the wica server from the values of
+    * other channels.
+    *
+    * @return the result.
+    */
+   public boolean isDerived()
+   {
+      return protocol == Protocol.CALC;
+   }
+
    public Optional<Protocol> getProtocol()
    {
       return Optional.ofNullable( protocol );
@@ -131,7 +158,8 @@ public class WicaChannelName
       if ( this == o ) return true;
       if ( !(o instanceof WicaChannelName) ) return false;
       WicaChannelName that = (WicaChannelName) o;
-      return protocol == that.protocol &&
+      return hashCode() == that.hashCode() &&
+            protocol == that.protocol &&
             Objects.equals(controlSystemName, that.controlSystemName) &&
             Objects.equals(instance, that.instance);
    }
@@ -139,10 +167,33 @@ public class WicaChannelName
    @Override
    public int hashCode()
    {
-      return Objects.hash(protocol, controlSystemName, instance);
+      int result = hashCode;
+      if ( result == 0 )
+      {
+         result = Objects.hash(protocol, controlSystemName, instance);
+         hashCode = result;
+      }
+      return result;
    }
 
 /*- Private methods ----------------------------------------------------------*/
+
+   private static WicaChannelName ofDerivedChannel( String strSpecifier )
+   {
+      final Matcher matcher = derivedChannelPattern.matcher( strSpecifier );
+      Validate.isTrue( matcher.matches(), "The string: '" + strSpecifier + "' was not a valid derived channel name." );
+
+      final ControlSystemName controlSystemName = ControlSystemName.of( matcher.group( "csname" ).trim() );
+      final Integer instance = matcher.group("instance" ) == null ?
+            null : Integer.parseInt( matcher.group("instance" ).split( "##" )[ 1] );
+
+      final WicaChannelName wicaChannelName = new WicaChannelName( Protocol.CALC, controlSystemName, instance, strSpecifier );
+
+      // Reject invalid expressions now rather than when the channel is first monitored.
+      WicaChannelExpression.of( wicaChannelName );
+      return wicaChannelName;
+   }
+
 /*- Nested Classes -----------------------------------------------------------*/
 
    /**
@@ -152,7 +203,8 @@ public class WicaChannelName
    public enum Protocol
    {
       CA( "ca://" ),
-      PV( "pv://" );
+      PV( "pv://" ),
+      CALC( "calc://" );
 
       private static final Map<String,Protocol> ENUM_MAP;
       static
@@ -4,10 +4,13 @@ package ch.psi.wica.model.channel;
 /*- Imported packages --------------------------------------------------------*/
 
 import ch.psi.wica.model.app.WicaDataAcquisitionMode;
+import ch.psi.wica.model.app.WicaDeadbandMode;
 import ch.psi.wica.model.app.WicaFilterType;
+import ch.psi.wica.model.app.WicaWaveformDecimationMode;
 import ch.psi.wica.model.stream.WicaStreamPropertiesDefaults;
 import net.jcip.annotations.Immutable;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -38,8 +41,17 @@ public class WicaChannelProperties
    private final Integer filterCycleLength;
    private final Integer filterSamplingIntervalInMillis;
    private final Double filterDeadband;
+   private final Integer waveformDecimationPoints;
+   private final WicaWaveformDecimationMode waveformDecimationMode;
+   private final List<WicaFilterType> filterChain;
+   private final Boolean alarmBypass;
+   private final WicaDeadbandMode filterDeadbandMode;
    private final String fieldsOfInterest;
 
+   // The hash code is computed on first use and then cached. The race on the
+   // field is benign since every thread computes the same value.
+   private int hashCode;
+
 
 /*- Main ---------------------------------------------------------------------*/
 /*- Constructor --------------------------------------------------------------*/
@@ -55,6 +67,11 @@ public class WicaChannelProperties
       this.filterCycleLength              = WicaChannelPropertiesDefaults.DEFAULT_FILTER_CYCLE_LENGTH;
       this.filterSamplingIntervalInMillis = WicaChannelPropertiesDefaults.DEFAULT_FILTER_SAMPLING_INTERVAL_IN_MILLIS;
       this.filterDeadband                 = WicaChannelPropertiesDefaults.DEFAULT_FILTER_DEADBAND;
+      this.waveformDecimationPoints       = WicaChannelPropertiesDefaults.DEFAULT_WAVEFORM_DECIMATION_POINTS;
+      this.waveformDecimationMode         = WicaChannelPropertiesDefaults.DEFAULT_WAVEFORM_DECIMATION_MODE;
+      this.filterChain                    = WicaChannelPropertiesDefaults.DEFAULT_FILTER_CHAIN;
+      this.alarmBypass                    = WicaChannelPropertiesDefaults.DEFAULT_ALARM_BYPASS;
+      this.filterDeadbandMode             = WicaChannelPropertiesDefaults.DEFAULT_FILTER_DEADBAND_MODE;
       this.fieldsOfInterest               = WicaChannelPropertiesDefaults.DEFAULT_FIELDS_OF_INTEREST;
    }
 
@@ -70,7 +87,12 @@ public class WicaChannelProperties
                                  Integer filterNumSamplesInAverage,
                                  Integer filterCycleLength,
                                  Integer filterSamplingIntervalInMillis,
-                                 Double filterDeadband )
+                                 Double filterDeadband,
+                                 Integer waveformDecimationPoints,
+                                 WicaWaveformDecimationMode waveformDecimationMode,
+                                 List<WicaFilterType> filterChain,
+                                 Boolean alarmBypass,
+                                 WicaDeadbandMode filterDeadbandMode )
    {
       this.dataAcquisitionMode                = dataAcquisitionMode;
       this.pollingIntervalInMillis            = extractPollingInterval( pollingIntervalInMillis, pollingRatio );
@@ -81,6 +103,11 @@ public class WicaChannelProperties
       this.filterCycleLength                  = filterCycleLength;
       this.filterSamplingIntervalInMillis     = filterSamplingIntervalInMillis;
       this.filterDeadband                     = filterDeadband;
+      this.waveformDecimationPoints           = waveformDecimationPoints;
+      this.waveformDecimationMode             = waveformDecimationMode;
+      this.filterChain                        = ( filterChain == null ) ? null : List.copyOf( filterChain );
+      this.alarmBypass                        = alarmBypass;
+      this.filterDeadbandMode                 = filterDeadbandMode;
       this.fieldsOfInterest                   = fieldsOfInterest;
    }
 
@@ -107,7 +134,12 @@ public class WicaChannelProperties
                                  Integer filterNumSamplesInAverage,
                                  Integer filterCycleLength,
                                  Integer filterSamplingIntervalInMillis,
-                                 Double filterDeadband )
+                                 Double filterDeadband,
+                                 Integer waveformDecimationPoints,
+                                 WicaWaveformDecimationMode waveformDecimationMode,
+                                 List<WicaFilterType> filterChain,
+                                 Boolean alarmBypass,
+                                 WicaDeadbandMode filterDeadbandMode )
    {
       this.dataAcquisitionMode            = dataAcquisitionMode;
       this.pollingIntervalInMillis        = pollingIntervalInMillis;
@@ -118,6 +150,11 @@ public class WicaChannelProperties
       this.filterCycleLength              = filterCycleLength;
       this.filterSamplingIntervalInMillis = filterSamplingIntervalInMillis;
       this.filterDeadband                 = filterDeadband;
+      this.waveformDecimationPoints       = waveformDecimationPoints;
+      this.waveformDecimationMode         = waveformDecimationMode;
+      this.filterChain                    = ( filterChain == null ) ? null : List.copyOf( filterChain );
+      this.alarmBypass                    = alarmBypass;
+      this.filterDeadbandMode             = filterDeadbandMode;
       this.fieldsOfInterest               = fieldsOfInterest;
    }
 
@@ -214,6 +251,56 @@ public class WicaChannelProperties
       return getOptionalFilterDeadband().orElseThrow( () -> new IllegalArgumentException( "The deadband for this channel's CHANGE_DETECTOR filter was not specified." ) );
    }
 
+   public Optional<Integer> getOptionalWaveformDecimationPoints()
+   {
+      return Optional.ofNullable( waveformDecimationPoints );
+   }
+
+   public int getWaveformDecimationPoints()
+   {
+      return getOptionalWaveformDecimationPoints().orElseThrow( () -> new IllegalArgumentException( "The waveform decimation point count for this channel was not specified." ) );
+   }
+
+   public Optional<WicaWaveformDecimationMode> getOptionalWaveformDecimationMode()
+   {
+      return Optional.ofNullable( waveformDecimationMode );
+   }
+
+   public WicaWaveformDecimationMode getWaveformDecimationMode()
+   {
+      return getOptionalWaveformDecimationMode().orElseThrow( () -> new IllegalArgumentException( "The waveform decimation mode for this channel was not specified." ) );
+   }
+
+   public Optional<List<WicaFilterType>> getOptionalFilterChain()
+   {
+      return Optional.ofNullable( filterChain );
+   }
+
+   public List<WicaFilterType> getFilterChain()
+   {
+      return getOptionalFilterChain().orElseThrow( () -> new IllegalArgumentException( "The filter chain for this channel was not specified." ) );
+   }
+
+   public Optional<Boolean> getOptionalAlarmBypass()
+   {
+      return Optional.ofNullable( alarmBypass );
+   }
+
+   public boolean getAlarmBypass()
+   {
+      return getOptionalAlarmBypass().orElseThrow( () -> new IllegalArgumentException( "The alarm bypass mode for this channel was not specified." ) );
+   }
+
+   public Optional<WicaDeadbandMode> getOptionalFilterDeadbandMode()
+   {
+      return Optional.ofNullable( filterDeadbandMode );
+   }
+
+   public WicaDeadbandMode getFilterDeadbandMode()
+   {
+      return getOptionalFilterDeadbandMode().orElseThrow( () -> new IllegalArgumentException( "The filter deadband mode for this channel was not specified." ) );
+   }
+
    public Optional<Integer> getOptionalFilterSamplingIntervalInMillis()
    {
       return Optional.ofNullable( filterSamplingIntervalInMillis );
@@ -231,7 +318,8 @@ public class WicaChannelProperties
       if ( this == o ) return true;
       if ( !(o instanceof WicaChannelProperties) ) return false;
       WicaChannelProperties that = (WicaChannelProperties) o;
-      return dataAcquisitionMode == that.dataAcquisitionMode &&
+      return hashCode() == that.hashCode() &&
+            dataAcquisitionMode == that.dataAcquisitionMode &&
             Objects.equals(pollingIntervalInMillis, that.pollingIntervalInMillis) &&
             Objects.equals( numericPrecision, that.numericPrecision ) &&
             filterType == that.filterType &&
@@ -240,13 +328,24 @@ public class WicaChannelProperties
             Objects.equals( filterCycleLength, that.filterCycleLength ) &&
             Objects.equals( filterSamplingIntervalInMillis, that.filterSamplingIntervalInMillis ) &&
             Objects.equals( filterDeadband, that.filterDeadband ) &&
+            Objects.equals( waveformDecimationPoints, that.waveformDecimationPoints ) &&
+            Objects.equals( waveformDecimationMode, that.waveformDecimationMode ) &&
+            Objects.equals( filterChain, that.filterChain ) &&
+            Objects.equals( alarmBypass, that.alarmBypass ) &&
+            Objects.equals( filterDeadbandMode, that.filterDeadbandMode ) &&
             Objects.equals( fieldsOfInterest, that.fieldsOfInterest );
    }
 
    @Override
    public int hashCode()
    {
-      return Objects.hash(dataAcquisitionMode, pollingIntervalInMillis, numericPrecision, filterType, filterNumSamples, filterCycleLength, filterSamplingIntervalInMillis, filterDeadband, fieldsOfInterest);
+      int result = hashCode;
+      if ( result == 0 )
+      {
+         result = Objects.hash(dataAcquisitionMode, pollingIntervalInMillis, numericPrecision, filterType, filterNumSamples, filterCycleLength, filterSamplingIntervalInMillis, filterDeadband, waveformDecimationPoints, waveformDecimationMode, filterChain, alarmBypass, filterDeadbandMode, fieldsOfInterest);
+         hashCode = result;
+      }
+      return result;
    }
 
    @Override
@@ -262,6 +361,11 @@ public class WicaChannelProperties
             ", filterCycleLength=" + filterCycleLength +
             ", filterSamplingIntervalInMillis=" + filterSamplingIntervalInMillis +
             ", filterDeadband=" + filterDeadband +
+            ", waveformDecimationPoints=" + waveformDecimationPoints +
+            ", waveformDecimationMode=" + waveformDecimationMode +
+            ", filterChain=" + filterChain +
+            ", alarmBypass=" + alarmBypass +
+            ", filterDeadbandMode=" + filterDeadbandMode +
             ", fieldsOfInterest='" + fieldsOfInterest + '\'' +
             '}';
    }
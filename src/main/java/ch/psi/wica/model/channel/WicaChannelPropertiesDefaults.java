@@ -7,10 +7,14 @@ package ch.psi.wica.model.channel;
 /*- Class Declaration --------------------------------------------------------*/
 
 import ch.psi.wica.model.app.WicaDataAcquisitionMode;
+import ch.psi.wica.model.app.WicaDeadbandMode;
 import ch.psi.wica.model.app.WicaFilterType;
+import ch.psi.wica.model.app.WicaWaveformDecimationMode;
 import ch.psi.wica.model.stream.WicaStreamPropertiesDefaults;
 import net.jcip.annotations.Immutable;
 
+import java.util.List;
+
 /**
  * Represents the property values that will be used if not explicitly specified
  * in the configuration information provided when the channel is created.
@@ -72,6 +76,32 @@ public class WicaChannelPropertiesDefaults
     */
    public static final double DEFAULT_FILTER_DEADBAND = WicaStreamPropertiesDefaults.DEFAULT_FILTER_DEADBAND;
 
+   /**
+    * Default value for the waveform decimation point count (zero means no decimation).
+    */
+   public static final int DEFAULT_WAVEFORM_DECIMATION_POINTS = WicaStreamPropertiesDefaults.DEFAULT_WAVEFORM_DECIMATION_POINTS;
+
+   /**
+    * Default value for the waveform decimation mode (only relevant when the waveform decimation point count is non-zero).
+    */
+   public static final WicaWaveformDecimationMode DEFAULT_WAVEFORM_DECIMATION_MODE = WicaStreamPropertiesDefaults.DEFAULT_WAVEFORM_DECIMATION_MODE;
+
+   /**
+    * Default value for the filter chain (empty, ie the single filter specified by the filter type is used).
+    */
+   public static final List<WicaFilterType> DEFAULT_FILTER_CHAIN = WicaStreamPropertiesDefaults.DEFAULT_FILTER_CHAIN;
+
+   /**
+    * Default value for the alarm bypass mode (off, ie alarm changes are
+    * published at the same rate as other value changes).
+    */
+   public static final boolean DEFAULT_ALARM_BYPASS = WicaStreamPropertiesDefaults.DEFAULT_ALARM_BYPASS;
+
+   /**
+    * Default value for the filter deadband mode (only relevant when the filter type is FilterType.CHANGE_DETECTOR).
+    */
+   public static final WicaDeadbandMode DEFAULT_FILTER_DEADBAND_MODE = WicaStreamPropertiesDefaults.DEFAULT_FILTER_DEADBAND_MODE;
+
 
 /*- Private attributes -------------------------------------------------------*/
 /*- Main ---------------------------------------------------------------------*/
@@ -0,0 +1,96 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.model.channel;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import net.jcip.annotations.Immutable;
+import org.apache.commons.lang3.Validate;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+/**
+ * Represents the summary statistics of the numeric values received by a
+ * wica channel during some period of time.
+ */
+@Immutable
+public class WicaChannelStatistics
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private final long count;
+   private final double min;
+   private final double max;
+   private final double mean;
+   private final double standardDeviation;
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+
+   /**
+    * Constructs a new instance.
+    *
+    * @param count the number of values summarised. Must be at least one.
+    * @param min the smallest value.
+    * @param max the largest value.
+    * @param mean the arithmetic mean of the values.
+    * @param standardDeviation the sample standard deviation of the values.
+    *
+    * @throws IllegalArgumentException if the count was less than one.
+    */
+   public WicaChannelStatistics( long count, double min, double max, double mean, double standardDeviation )
+   {
+      Validate.isTrue( count > 0, String.format( "count ('%d') must be at least one", count ) );
+      this.count = count;
+      this.min = min;
+      this.max = max;
+      this.mean = mean;
+      this.standardDeviation = standardDeviation;
+   }
+
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   public long getCount()
+   {
+      return count;
+   }
+
+   public double getMin()
+   {
+      return min;
+   }
+
+   public double getMax()
+   {
+      return max;
+   }
+
+   public double getMean()
+   {
+      return mean;
+   }
+
+   public double getStandardDeviation()
+   {
+      return standardDeviation;
+   }
+
+   @Override
+   public String toString()
+   {
+      return "WicaChannelStatistics{" +
+            "count=" + count +
+            ", min=" + min +
+            ", max=" + max +
+            ", mean=" + mean +
+            ", standardDeviation=" + standardDeviation +
+            '}';
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
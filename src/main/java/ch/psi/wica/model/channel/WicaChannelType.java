@@ -26,7 +26,9 @@ public enum WicaChannelType
    STRING,
    INTEGER_ARRAY,
    REAL_ARRAY,
-   STRING_ARRAY;
+   STRING_ARRAY,
+   STATISTICS; // Derived by the wica server: summary statistics of the
+               // numeric values received during a time window.
 
 
 /*- Private attributes -------------------------------------------------------*/
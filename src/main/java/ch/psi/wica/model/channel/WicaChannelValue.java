@@ -113,6 +113,11 @@ public abstract class WicaChannelValue extends WicaChannelData
       return new WicaChannelValue.WicaChannelValueConnectedStringArray(wicaChannelAlarmSeverity, wicaChannelAlarmStatus, dataSourceTimestamp, value );
    }
 
+   public static WicaChannelValue.WicaChannelValueConnectedStatistics createChannelValueConnected( WicaChannelAlarmSeverity wicaChannelAlarmSeverity, WicaChannelAlarmStatus wicaChannelAlarmStatus, LocalDateTime dataSourceTimestamp, WicaChannelStatistics value  )
+   {
+      return new WicaChannelValue.WicaChannelValueConnectedStatistics(wicaChannelAlarmSeverity, wicaChannelAlarmStatus, dataSourceTimestamp, value );
+   }
+
 /*- Public methods -----------------------------------------------------------*/
 
    public boolean isConnected()
@@ -150,35 +155,50 @@ public abstract class WicaChannelValue extends WicaChannelData
     */
    public static abstract class WicaChannelValueConnected extends WicaChannelValue
    {
-      private final WicaChannelType wicaChannelType;
-      private final WicaChannelAlarmSeverity wicaChannelAlarmSeverity;
-      private final WicaChannelAlarmStatus wicaChannelAlarmStatus;
-      private final LocalDateTime dataSourceTimestamp;
+      // Optimisation Note:
+      // Connected values are buffered in large quantities so the alarm state
+      // and the data source timestamp are held in primitive form. The alarm
+      // severity occupies the top two bits of the packed alarm field and the
+      // alarm status code the remaining fourteen. The object forms are
+      // recreated on demand by the getters.
+      private static final int ALARM_STATUS_BITS = 14;
+      private static final int ALARM_STATUS_MASK = ( 1 << ALARM_STATUS_BITS ) - 1;
+      private static final WicaChannelAlarmSeverity[] ALARM_SEVERITIES = WicaChannelAlarmSeverity.values();
+
+      private final short packedAlarm;
+      private final long dataSourceTimestampInEpochNanos;
 
       public WicaChannelType getWicaChannelType()
       {
-         return wicaChannelType;
+         return getType();
       }
       public WicaChannelAlarmSeverity getWicaAlarmSeverity()
       {
-         return wicaChannelAlarmSeverity;
+         return ALARM_SEVERITIES[ ( packedAlarm & 0xFFFF ) >>> ALARM_STATUS_BITS ];
       }
       public WicaChannelAlarmStatus getWicaChannelAlarmStatus()
       {
-         return wicaChannelAlarmStatus;
+         return WicaChannelAlarmStatus.of( packedAlarm & ALARM_STATUS_MASK );
       }
       public LocalDateTime getDataSourceTimestamp()
       {
-         return dataSourceTimestamp;
+         return fromEpochNanos( dataSourceTimestampInEpochNanos );
+      }
+      public long getDataSourceTimestampInEpochNanos()
+      {
+         return dataSourceTimestampInEpochNanos;
       }
 
       public WicaChannelValueConnected( WicaChannelType wicaChannelType, WicaChannelAlarmSeverity wicaChannelAlarmSeverity, WicaChannelAlarmStatus wicaChannelAlarmStatus, LocalDateTime dataSourceTimestamp )
       {
-         super( wicaChannelType, LocalDateTime.now(), true );
-         this.wicaChannelType = Validate.notNull( wicaChannelType, "wicaChannelType cannot be null " );
-         this.wicaChannelAlarmSeverity = Validate.notNull( wicaChannelAlarmSeverity, "wicaAlarmSeverity cannot be null " );
-         this.wicaChannelAlarmStatus = Validate.notNull( wicaChannelAlarmStatus, "wicaAlarmStatus cannot be null " );
-         this.dataSourceTimestamp = Validate.notNull( dataSourceTimestamp,"dataSourceTimestamp cannot be null " );
+         super( Validate.notNull( wicaChannelType, "wicaChannelType cannot be null " ), LocalDateTime.now(), true );
+         Validate.notNull( wicaChannelAlarmSeverity, "wicaAlarmSeverity cannot be null " );
+         Validate.notNull( wicaChannelAlarmStatus, "wicaAlarmStatus cannot be null " );
+         Validate.notNull( dataSourceTimestamp,"dataSourceTimestamp cannot be null " );
+         final int statusCode = wicaChannelAlarmStatus.getStatusCode();
+         Validate.inclusiveBetween( 0, ALARM_STATUS_MASK, statusCode, "wicaAlarmStatus was out of range " );
+         this.packedAlarm = (short) ( ( wicaChannelAlarmSeverity.ordinal() << ALARM_STATUS_BITS ) | statusCode );
+         this.dataSourceTimestampInEpochNanos = toEpochNanos( dataSourceTimestamp );
       }
    }
 
@@ -302,4 +322,25 @@ public abstract class WicaChannelValue extends WicaChannelData
       }
    }
 
-}
\ No newline at end of file
+/*- Nested Class: WicaChannelValueConnectedStatistics -----------------------*/
+
+   /**
+    * Represents the value of a connected channel whose values have been
+    * summarised over a time window. The underlying type is STATISTICS.
+    */
+   public static class WicaChannelValueConnectedStatistics extends WicaChannelValueConnected
+   {
+      private final WicaChannelStatistics value;
+      public WicaChannelStatistics getValue()
+      {
+         return value;
+      }
+
+      public WicaChannelValueConnectedStatistics( WicaChannelAlarmSeverity alarmSeverity, WicaChannelAlarmStatus alarmStatus, LocalDateTime dataSourceTimestamp, WicaChannelStatistics value )
+      {
+         super( WicaChannelType.STATISTICS, alarmSeverity, alarmStatus, dataSourceTimestamp);
+         this.value = Validate.notNull( value );
+      }
+   }
+
+}
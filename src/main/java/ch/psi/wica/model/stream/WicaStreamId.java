@@ -6,6 +6,7 @@ package ch.psi.wica.model.stream;
 import net.jcip.annotations.ThreadSafe;
 import org.apache.commons.lang3.Validate;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /*- Interface Declaration ----------------------------------------------------*/
 /*- Class Declaration --------------------------------------------------------*/
@@ -21,7 +22,7 @@ public class WicaStreamId
 /*- Public attributes --------------------------------------------------------*/
 /*- Private attributes -------------------------------------------------------*/
 
-   private static int nextAllocationId;
+   private static final AtomicInteger nextAllocationId = new AtomicInteger( 0 );
    private final String id;
 
 /*- Main ---------------------------------------------------------------------*/
@@ -36,7 +37,7 @@ public class WicaStreamId
 
    public static WicaStreamId createNext()
    {
-      return new WicaStreamId( String.valueOf( nextAllocationId++ ) );
+      return new WicaStreamId( String.valueOf( nextAllocationId.getAndIncrement() ) );
    }
    public static WicaStreamId of( String string )
    {
@@ -44,7 +45,7 @@ public class WicaStreamId
    }
    public static void resetAllocationSequencer()
    {
-      nextAllocationId = 0;
+      nextAllocationId.set( 0 );
    }
 
 /*- Public methods -----------------------------------------------------------*/
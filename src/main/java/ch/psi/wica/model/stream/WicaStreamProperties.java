@@ -4,9 +4,12 @@ package ch.psi.wica.model.stream;
 /*- Imported packages --------------------------------------------------------*/
 
 import ch.psi.wica.model.app.WicaDataAcquisitionMode;
+import ch.psi.wica.model.app.WicaDeadbandMode;
 import ch.psi.wica.model.app.WicaFilterType;
+import ch.psi.wica.model.app.WicaWaveformDecimationMode;
 import net.jcip.annotations.Immutable;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -17,7 +20,8 @@ import java.util.Optional;
  * Represents the configurable properties of a wica stream.
  * <p>
  * These include parameters for controlling the frequency at which
- * the various fluxes (heartbeat, metadata, monitored and polled values)
+ * the various fluxes (heartbeat, metadata, monitored and polled values,
+ * alarm summary)
  * are sent down the wire to the end consumer.
  * <p>
  * Additionally the stream properties specify the default values that
@@ -39,6 +43,7 @@ public class WicaStreamProperties
    private final Integer metadataFluxIntervalInMillis;
    private final Integer monitoredValueFluxIntervalInMillis;
    private final Integer polledValueFluxIntervalInMillis;
+   private final Integer alarmSummaryFluxIntervalInMillis;
    private final Integer pollingIntervalInMillis;
    private final Integer numericPrecision;
    private final Integer filterNumSamples;
@@ -46,6 +51,11 @@ public class WicaStreamProperties
    private final Integer filterCycleLength;
    private final Integer filterSamplingIntervalInMillis;
    private final Double filterDeadband;
+   private final Integer waveformDecimationPoints;
+   private final WicaWaveformDecimationMode waveformDecimationMode;
+   private final List<WicaFilterType> filterChain;
+   private final Boolean alarmBypass;
+   private final WicaDeadbandMode filterDeadbandMode;
    private final String fieldsOfInterest;
 
 
@@ -67,7 +77,13 @@ public class WicaStreamProperties
       this.filterCycleLength                  = WicaStreamPropertiesDefaults.DEFAULT_FILTER_CYCLE_LENGTH;
       this.filterSamplingIntervalInMillis     = WicaStreamPropertiesDefaults.DEFAULT_FILTER_SAMPLING_INTERVAL_IN_MILLIS;
       this.filterDeadband                     = WicaStreamPropertiesDefaults.DEFAULT_FILTER_DEADBAND;
+      this.waveformDecimationPoints           = WicaStreamPropertiesDefaults.DEFAULT_WAVEFORM_DECIMATION_POINTS;
+      this.waveformDecimationMode             = WicaStreamPropertiesDefaults.DEFAULT_WAVEFORM_DECIMATION_MODE;
+      this.filterChain                        = WicaStreamPropertiesDefaults.DEFAULT_FILTER_CHAIN;
+      this.alarmBypass                        = WicaStreamPropertiesDefaults.DEFAULT_ALARM_BYPASS;
+      this.filterDeadbandMode                 = WicaStreamPropertiesDefaults.DEFAULT_FILTER_DEADBAND_MODE;
       this.fieldsOfInterest                   = WicaStreamPropertiesDefaults.DEFAULT_FIELDS_OF_INTEREST;
+      this.alarmSummaryFluxIntervalInMillis   = WicaStreamPropertiesDefaults.DEFAULT_ALARM_SUMMARY_FLUX_INTERVAL_IN_MILLIS;
    }
 
    // Support for deprecated property POLLRATIO. In the future this constructor can go.
@@ -86,7 +102,13 @@ public class WicaStreamProperties
                                 Integer filterNumSamplesInAverage,
                                 Integer filterCycleLength,
                                 Integer filterSamplingIntervalInMillis,
-                                Double filterDeadband )
+                                Double filterDeadband,
+                                Integer waveformDecimationPoints,
+                                WicaWaveformDecimationMode waveformDecimationMode,
+                                List<WicaFilterType> filterChain,
+                                Boolean alarmBypass,
+                                WicaDeadbandMode filterDeadbandMode,
+                                Integer alarmSummaryFluxIntervalInMillis )
    {
       this.heartbeatFluxIntervalInMillis      = heartbeatFluxIntervalInMillis;
       this.metadataFluxIntervalInMillis       = metadataFluxIntervalInMillis;
@@ -101,7 +123,13 @@ public class WicaStreamProperties
       this.filterCycleLength                  = filterCycleLength;
       this.filterSamplingIntervalInMillis     = filterSamplingIntervalInMillis;
       this.filterDeadband                     = filterDeadband;
+      this.waveformDecimationPoints           = waveformDecimationPoints;
+      this.waveformDecimationMode             = waveformDecimationMode;
+      this.filterChain                        = ( filterChain == null ) ? null : List.copyOf( filterChain );
+      this.alarmBypass                        = alarmBypass;
+      this.filterDeadbandMode                 = filterDeadbandMode;
       this.fieldsOfInterest                   = fieldsOfInterest;
+      this.alarmSummaryFluxIntervalInMillis   = alarmSummaryFluxIntervalInMillis;
    }
 
    // Support for deprecated property pollratio. In the future this method can go.
@@ -130,7 +158,13 @@ public class WicaStreamProperties
                                 Integer filterNumSamplesInAverage,
                                 Integer filterCycleLength,
                                 Integer filterSamplingIntervalInMillis,
-                                Double filterDeadband )
+                                Double filterDeadband,
+                                Integer waveformDecimationPoints,
+                                WicaWaveformDecimationMode waveformDecimationMode,
+                                List<WicaFilterType> filterChain,
+                                Boolean alarmBypass,
+                                WicaDeadbandMode filterDeadbandMode,
+                                Integer alarmSummaryFluxIntervalInMillis )
    {
       this.heartbeatFluxIntervalInMillis      = heartbeatFluxIntervalInMillis;
       this.metadataFluxIntervalInMillis       = metadataFluxIntervalInMillis;
@@ -145,7 +179,13 @@ public class WicaStreamProperties
       this.filterCycleLength                  = filterCycleLength;
       this.filterSamplingIntervalInMillis     = filterSamplingIntervalInMillis;
       this.filterDeadband                     = filterDeadband;
+      this.waveformDecimationPoints           = waveformDecimationPoints;
+      this.waveformDecimationMode             = waveformDecimationMode;
+      this.filterChain                        = ( filterChain == null ) ? null : List.copyOf( filterChain );
+      this.alarmBypass                        = alarmBypass;
+      this.filterDeadbandMode                 = filterDeadbandMode;
       this.fieldsOfInterest                   = fieldsOfInterest;
+      this.alarmSummaryFluxIntervalInMillis   = alarmSummaryFluxIntervalInMillis;
    }
 
 
@@ -192,6 +232,16 @@ public class WicaStreamProperties
       return getOptionalPolledValueFluxIntervalInMillis().orElseThrow( () -> new IllegalArgumentException( "The polled value flux interval for this stream was not specified." ) );
    }
 
+   public Optional<Integer> getOptionalAlarmSummaryFluxIntervalInMillis()
+   {
+      return Optional.ofNullable( alarmSummaryFluxIntervalInMillis );
+   }
+
+   public int getAlarmSummaryFluxIntervalInMillis()
+   {
+      return getOptionalAlarmSummaryFluxIntervalInMillis().orElseThrow( () -> new IllegalArgumentException( "The alarm summary flux interval for this stream was not specified." ) );
+   }
+
    public Optional<WicaDataAcquisitionMode> getOptionalDataAcquisitionMode()
    {
       return Optional.ofNullable( dataAcquisitionMode );
@@ -282,6 +332,56 @@ public class WicaStreamProperties
       return getOptionalFilterDeadband().orElseThrow( () -> new IllegalArgumentException( "The deadband for this stream's CHANGE_DETECTOR filter was not specified." ) );
    }
 
+   public Optional<Integer> getOptionalWaveformDecimationPoints()
+   {
+      return Optional.ofNullable( waveformDecimationPoints );
+   }
+
+   public int getWaveformDecimationPoints()
+   {
+      return getOptionalWaveformDecimationPoints().orElseThrow( () -> new IllegalArgumentException( "The waveform decimation point count for this stream was not specified." ) );
+   }
+
+   public Optional<WicaWaveformDecimationMode> getOptionalWaveformDecimationMode()
+   {
+      return Optional.ofNullable( waveformDecimationMode );
+   }
+
+   public WicaWaveformDecimationMode getWaveformDecimationMode()
+   {
+      return getOptionalWaveformDecimationMode().orElseThrow( () -> new IllegalArgumentException( "The waveform decimation mode for this stream was not specified." ) );
+   }
+
+   public Optional<List<WicaFilterType>> getOptionalFilterChain()
+   {
+      return Optional.ofNullable( filterChain );
+   }
+
+   public List<WicaFilterType> getFilterChain()
+   {
+      return getOptionalFilterChain().orElseThrow( () -> new IllegalArgumentException( "The filter chain for this stream was not specified." ) );
+   }
+
+   public Optional<Boolean> getOptionalAlarmBypass()
+   {
+      return Optional.ofNullable( alarmBypass );
+   }
+
+   public boolean getAlarmBypass()
+   {
+      return getOptionalAlarmBypass().orElseThrow( () -> new IllegalArgumentException( "The alarm bypass mode for this stream was not specified." ) );
+   }
+
+   public Optional<WicaDeadbandMode> getOptionalFilterDeadbandMode()
+   {
+      return Optional.ofNullable( filterDeadbandMode );
+   }
+
+   public WicaDeadbandMode getFilterDeadbandMode()
+   {
+      return getOptionalFilterDeadbandMode().orElseThrow( () -> new IllegalArgumentException( "The filter deadband mode for this stream was not specified." ) );
+   }
+
    public Optional<Integer> getOptionalFilterSamplingIntervalInMillis()
    {
       return Optional.ofNullable( filterSamplingIntervalInMillis );
@@ -305,6 +405,7 @@ public class WicaStreamProperties
             Objects.equals(metadataFluxIntervalInMillis, that.metadataFluxIntervalInMillis) &&
             Objects.equals(monitoredValueFluxIntervalInMillis, that.monitoredValueFluxIntervalInMillis) &&
             Objects.equals(polledValueFluxIntervalInMillis, that.polledValueFluxIntervalInMillis) &&
+            Objects.equals(alarmSummaryFluxIntervalInMillis, that.alarmSummaryFluxIntervalInMillis) &&
             Objects.equals(pollingIntervalInMillis, that.pollingIntervalInMillis) &&
             Objects.equals(numericPrecision, that.numericPrecision) &&
             Objects.equals(filterNumSamples, that.filterNumSamples) &&
@@ -312,13 +413,18 @@ public class WicaStreamProperties
             Objects.equals(filterCycleLength, that.filterCycleLength) &&
             Objects.equals(filterSamplingIntervalInMillis, that.filterSamplingIntervalInMillis) &&
             Objects.equals(filterDeadband, that.filterDeadband) &&
+            Objects.equals(waveformDecimationPoints, that.waveformDecimationPoints) &&
+            Objects.equals(waveformDecimationMode, that.waveformDecimationMode) &&
+            Objects.equals(filterChain, that.filterChain) &&
+            Objects.equals(alarmBypass, that.alarmBypass) &&
+            Objects.equals(filterDeadbandMode, that.filterDeadbandMode) &&
             Objects.equals(fieldsOfInterest, that.fieldsOfInterest);
    }
 
    @Override
    public int hashCode()
    {
-      return Objects.hash(dataAcquisitionMode, filterType, heartbeatFluxIntervalInMillis, metadataFluxIntervalInMillis, monitoredValueFluxIntervalInMillis, polledValueFluxIntervalInMillis, pollingIntervalInMillis, numericPrecision, filterNumSamples, filterCycleLength, filterSamplingIntervalInMillis, filterDeadband, fieldsOfInterest);
+      return Objects.hash(dataAcquisitionMode, filterType, heartbeatFluxIntervalInMillis, metadataFluxIntervalInMillis, monitoredValueFluxIntervalInMillis, polledValueFluxIntervalInMillis, alarmSummaryFluxIntervalInMillis, pollingIntervalInMillis, numericPrecision, filterNumSamples, filterCycleLength, filterSamplingIntervalInMillis, filterDeadband, waveformDecimationPoints, waveformDecimationMode, filterChain, alarmBypass, filterDeadbandMode, fieldsOfInterest);
    }
 
 /*- Private methods ----------------------------------------------------------*/
@@ -4,9 +4,13 @@ package ch.psi.wica.model.stream;
 /*- Imported packages --------------------------------------------------------*/
 
 import ch.psi.wica.model.app.WicaDataAcquisitionMode;
+import ch.psi.wica.model.app.WicaDeadbandMode;
 import ch.psi.wica.model.app.WicaFilterType;
+import ch.psi.wica.model.app.WicaWaveformDecimationMode;
 import net.jcip.annotations.Immutable;
 
+import java.util.List;
+
 /*- Interface Declaration ----------------------------------------------------*/
 /*- Class Declaration --------------------------------------------------------*/
 
@@ -44,6 +48,13 @@ public class WicaStreamPropertiesDefaults
     */
    public static final int DEFAULT_POLLED_VALUE_FLUX_INTERVAL_IN_MILLIS = 1000;
 
+   /**
+    * Default value for the alarm summary flux interval that will be assigned if
+    * the property is not explicitly set in the stream configuration. The value
+    * zero means that the stream does not publish alarm summaries.
+    */
+   public static final int DEFAULT_ALARM_SUMMARY_FLUX_INTERVAL_IN_MILLIS = 0;
+
    /**
     * Default value for the data acquisition mode for channels in the stream
     * if the property is not explicitly set in the stream property or
@@ -108,6 +119,38 @@ public class WicaStreamPropertiesDefaults
     */
    public static final double DEFAULT_FILTER_DEADBAND = 1.0;
 
+   /**
+    * Default value for the number of points to which REAL_ARRAY and
+    * INTEGER_ARRAY values will be reduced before serialization. Zero means
+    * that waveforms are sent in full.
+    */
+   public static final int DEFAULT_WAVEFORM_DECIMATION_POINTS = 0;
+
+   /**
+    * Default value for the method used to reduce the number of points
+    * in REAL_ARRAY and INTEGER_ARRAY values (only relevant when the
+    * waveform decimation point count is non-zero).
+    */
+   public static final WicaWaveformDecimationMode DEFAULT_WAVEFORM_DECIMATION_MODE = WicaWaveformDecimationMode.MIN_MAX;
+
+   /**
+    * Default value for the filter chain (empty, ie the single filter specified
+    * by the filter type is used).
+    */
+   public static final List<WicaFilterType> DEFAULT_FILTER_CHAIN = List.of();
+
+   /**
+    * Default value for the alarm bypass mode (off, ie alarm changes are
+    * published at the same rate as other value changes).
+    */
+   public static final boolean DEFAULT_ALARM_BYPASS = false;
+
+   /**
+    * Default value for the deadband mode (used for channels whose
+    * filter type is FilterType.CHANGE_DETECTOR).
+    */
+   public static final WicaDeadbandMode DEFAULT_FILTER_DEADBAND_MODE = WicaDeadbandMode.ABSOLUTE;
+
 
 /*- Private attributes -------------------------------------------------------*/
 /*- Main ---------------------------------------------------------------------*/
@@ -0,0 +1,215 @@
+/*- Package Declaration ------------------------------------------------------*/
+
+package ch.psi.wica.services.channel;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.controlsystem.epics.EpicsChannelGetAndPutService;
+import ch.psi.wica.controlsystem.epics.EpicsChannelMonitoringService;
+import ch.psi.wica.controlsystem.epics.EpicsChannelName;
+import ch.psi.wica.model.app.StatisticsCollectionService;
+import ch.psi.wica.model.channel.WicaChannelValue;
+import ch.psi.wica.services.stream.WicaStreamMonitoredValueCollectorService;
+import net.jcip.annotations.ThreadSafe;
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+/**
+ * A service which gets the current value of one or more wica channels.
+ *
+ * When a channel is already being monitored on behalf of some wica stream
+ * and the monitor is connected, the value is answered from the monitored
+ * value buffer. Otherwise the value is read from the control system.
+ *
+ * Since a connected monitor delivers every change in the value of a channel,
+ * the buffered value is current however long ago it was received: a channel
+ * whose value is stable is not re-read merely because it has not changed
+ * recently. The use of the monitored value buffer can be switched off, in
+ * which case the value is always read from the control system.
+ */
+@Service
+@ThreadSafe
+public class WicaChannelGetService
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private final Logger logger = LoggerFactory.getLogger( WicaChannelGetService.class );
+   private final boolean defaultUseMonitorCache;
+   private final EpicsChannelGetAndPutService epicsChannelGetAndPutService;
+   private final EpicsChannelMonitoringService epicsChannelMonitoringService;
+   private final WicaStreamMonitoredValueCollectorService wicaStreamMonitoredValueCollectorService;
+   private final WicaChannelGetServiceStatistics statisticsCollector;
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+
+   /**
+    * Constructs a new instance.
+    *
+    * @param defaultUseMonitorCache whether, by default, the value of a channel
+    *        whose monitor is connected may be returned instead of reading from
+    *        the control system.
+    * @param epicsChannelGetAndPutService the service used to read values from
+    *        the control system.
+    * @param epicsChannelMonitoringService the service which knows whether a
+    *        channel is currently being monitored.
+    * @param wicaStreamMonitoredValueCollectorService the service which buffers
+    *        the monitored values.
+    * @param statisticsCollectionService an object which will collect the statistics
+    *        associated with this class instance.
+    */
+   public WicaChannelGetService( @Value( "${wica.channel-get-use-monitor-cache}") boolean defaultUseMonitorCache,
+                                 @Autowired EpicsChannelGetAndPutService epicsChannelGetAndPutService,
+                                 @Autowired EpicsChannelMonitoringService epicsChannelMonitoringService,
+                                 @Autowired WicaStreamMonitoredValueCollectorService wicaStreamMonitoredValueCollectorService,
+                                 @Autowired StatisticsCollectionService statisticsCollectionService )
+   {
+      this.defaultUseMonitorCache = defaultUseMonitorCache;
+      this.epicsChannelGetAndPutService = Validate.notNull( epicsChannelGetAndPutService );
+      this.epicsChannelMonitoringService = Validate.notNull( epicsChannelMonitoringService );
+      this.wicaStreamMonitoredValueCollectorService = Validate.notNull( wicaStreamMonitoredValueCollectorService );
+
+      this.statisticsCollector = new WicaChannelGetServiceStatistics();
+      statisticsCollectionService.addCollectable( statisticsCollector );
+   }
+
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   /**
+    * Gets the value of a channel, using the configured default setting for
+    * the use of monitored values.
+    *
+    * @param epicsChannelName the name of the channel.
+    * @param timeout the timeout to be applied when reading from the control system.
+    * @param timeUnit the time units to be used.
+    * @return the value.
+    */
+   public WicaChannelValue get( EpicsChannelName epicsChannelName, long timeout, TimeUnit timeUnit )
+   {
+      return get( epicsChannelName, timeout, timeUnit, defaultUseMonitorCache );
+   }
+
+   /**
+    * Gets the value of a channel.
+    *
+    * @param epicsChannelName the name of the channel.
+    * @param timeout the timeout to be applied when reading from the control system.
+    *     If a timeout occurs the returned value will be WicaChannelValueDisconnected.
+    * @param timeUnit the time units to be used.
+    * @param useMonitorCache whether the value of a channel whose monitor is
+    *     connected may be returned instead of reading from the control system.
+    *     The monitored value is considered current regardless of when it was
+    *     received. False forces the value to be read from the control system.
+    * @return the value.
+    */
+   public WicaChannelValue get( EpicsChannelName epicsChannelName, long timeout, TimeUnit timeUnit, boolean useMonitorCache )
+   {
+      Validate.notNull( epicsChannelName );
+
+      final Optional<WicaChannelValue> optMonitoredValue = getMonitoredValue( epicsChannelName, useMonitorCache );
+      if ( optMonitoredValue.isPresent() )
+      {
+         return optMonitoredValue.get();
+      }
+      return epicsChannelGetAndPutService.get( epicsChannelName, timeout, timeUnit );
+   }
+
+   /**
+    * Gets the values of multiple channels, using the configured default maximum
+    * age for monitored values.
+    *
+    * @param epicsChannelNames the names of the channels.
+    * @param timeout the shared timeout to be applied when reading from the control system.
+    * @param timeUnit the time units to be used.
+    * @return map of channel names to values, ordered as in the supplied set.
+    */
+   public Map<EpicsChannelName,WicaChannelValue> getAll( Set<EpicsChannelName> epicsChannelNames, long timeout, TimeUnit timeUnit )
+   {
+      return getAll( epicsChannelNames, timeout, timeUnit, defaultUseMonitorCache );
+   }
+
+   /**
+    * Gets the values of multiple channels. Only the channels for which no
+    * value is available from a connected monitor are read from the control
+    * system.
+    *
+    * @param epicsChannelNames the names of the channels.
+    * @param timeout the shared timeout to be applied when reading from the control system.
+    * @param timeUnit the time units to be used.
+    * @param useMonitorCache whether the values of channels whose monitors are
+    *     connected may be returned instead of reading from the control system.
+    *     The monitored values are considered current regardless of when they
+    *     were received. False forces the values to be read from the control
+    *     system.
+    * @return map of channel names to values, ordered as in the supplied set.
+    */
+   public Map<EpicsChannelName,WicaChannelValue> getAll( Set<EpicsChannelName> epicsChannelNames, long timeout, TimeUnit timeUnit, boolean useMonitorCache )
+   {
+      Validate.notNull( epicsChannelNames );
+
+      final Map<EpicsChannelName,WicaChannelValue> monitoredValues = new HashMap<>();
+      final Set<EpicsChannelName> channelsToRead = new LinkedHashSet<>();
+      for ( EpicsChannelName epicsChannelName : epicsChannelNames )
+      {
+         final Optional<WicaChannelValue> optMonitoredValue = getMonitoredValue( epicsChannelName, useMonitorCache );
+         if ( optMonitoredValue.isPresent() )
+         {
+            monitoredValues.put( epicsChannelName, optMonitoredValue.get() );
+         }
+         else
+         {
+            channelsToRead.add( epicsChannelName );
+         }
+      }
+
+      final Map<EpicsChannelName,WicaChannelValue> readValues = channelsToRead.isEmpty() ? Map.of() :
+            epicsChannelGetAndPutService.getAll( channelsToRead, timeout, timeUnit );
+
+      final Map<EpicsChannelName,WicaChannelValue> resultMap = new LinkedHashMap<>();
+      epicsChannelNames.forEach( n -> resultMap.put( n, monitoredValues.containsKey( n ) ? monitoredValues.get( n ) : readValues.get( n ) ) );
+      return Collections.unmodifiableMap( resultMap );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+
+   private Optional<WicaChannelValue> getMonitoredValue( EpicsChannelName epicsChannelName, boolean useMonitorCache )
+   {
+      if ( ! useMonitorCache || ! epicsChannelMonitoringService.isMonitoredAndConnected( epicsChannelName ) )
+      {
+         statisticsCollector.incrementControlSystemReads();
+         return Optional.empty();
+      }
+
+      // The monitor delivers every change so the latest value received is current,
+      // however long ago that was, for as long as the monitor remains connected.
+      final Optional<WicaChannelValue> optMonitoredValue = wicaStreamMonitoredValueCollectorService.findLatest( epicsChannelName )
+            .filter( WicaChannelValue::isConnected );
+      if ( optMonitoredValue.isPresent() )
+      {
+         logger.trace( "'{}' - returning value from monitor buffer.", epicsChannelName );
+         statisticsCollector.incrementMonitorBufferReads();
+      }
+      else
+      {
+         statisticsCollector.incrementControlSystemReads();
+      }
+      return optMonitoredValue;
+   }
+
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
@@ -0,0 +1,74 @@
+/*- Package Declaration ------------------------------------------------------*/
+
+package ch.psi.wica.services.channel;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.app.StatisticsCollectable;
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+@ThreadSafe
+public class WicaChannelGetServiceStatistics implements StatisticsCollectable
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private final AtomicInteger monitorBufferReads = new AtomicInteger(0);
+   private final AtomicInteger controlSystemReads = new AtomicInteger(0);
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @Override
+   public Statistics get()
+   {
+      return new Statistics( "WICA CHANNEL GET SERVICE",
+                             List.of( new StatisticsItem("- Values Read From Monitor Buffer", getMonitorBufferReads() ),
+                                      new StatisticsItem("- Values Read From Control System", getControlSystemReads() ) )
+                             );
+   }
+
+   @Override
+   public void reset()
+   {
+      monitorBufferReads.set( 0 );
+      controlSystemReads.set( 0 );
+   }
+
+/*- Package-access methods ---------------------------------------------------*/
+
+   void incrementMonitorBufferReads()
+   {
+      monitorBufferReads.incrementAndGet();
+   }
+
+   void incrementControlSystemReads()
+   {
+      controlSystemReads.incrementAndGet();
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+
+   private String getMonitorBufferReads()
+   {
+      return String.valueOf( monitorBufferReads.get() );
+   }
+
+   private String getControlSystemReads()
+   {
+      return String.valueOf( controlSystemReads.get() );
+   }
+
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
@@ -0,0 +1,206 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.services.channel;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.channel.WicaChannelAlarmSeverity;
+import ch.psi.wica.model.channel.WicaChannelAlarmStatus;
+import ch.psi.wica.model.channel.WicaChannelData;
+import ch.psi.wica.model.channel.WicaChannelStatistics;
+import ch.psi.wica.model.channel.WicaChannelValue;
+import net.jcip.annotations.NotThreadSafe;
+import org.apache.commons.lang3.Validate;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+/**
+ * A filter that summarises the values received during consecutive time
+ * windows of fixed length, writing one value of type
+ * WicaChannelType.STATISTICS to the output list for each window. The
+ * output value provides the number of samples in the window together
+ * with their minimum, maximum, mean and sample standard deviation.
+ *
+ * The windows are aligned on multiples of the window length and values
+ * are allocated to them according to their data source timestamp. The
+ * statistics of a window are produced when the first value belonging to a
+ * later window is received or, if the channel has gone quiet, at the end
+ * of the first input list which is processed after the window has ended.
+ * Since the window is defined in terms of the data source clock, its end
+ * is translated to the wica server clock using the difference between the
+ * two timestamps of the last value which contributed to it. The output
+ * value is timestamped with the start time of the window and carries the
+ * alarm state of the last value which contributed to it.
+ *
+ * The filter only operates on values for types WicaChannelType.REAL and
+ * WicaChannelType.INTEGER. All other value types in the input list
+ * will be ignored.
+ *
+ * If a value in the input list indicates that the data source is offline
+ * then the statistics of the current window are produced immediately and
+ * the offline value is passed through to the output list.
+ */
+@NotThreadSafe
+class WicaChannelValueAggregatingFilter implements WicaChannelValueStreamingFilter
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private final long windowLengthInNanos;
+   private final LongSupplier wicaServerTimeSupplier;
+
+   // The statistics are accumulated using Welford's online algorithm so
+   // that each sample is processed in constant time and space.
+   private long windowStartInEpochNanos;
+   private long count;
+   private double mean;
+   private double sumOfSquaredDeviations;
+   private double min;
+   private double max;
+   private WicaChannelAlarmSeverity lastAlarmSeverity;
+   private WicaChannelAlarmStatus lastAlarmStatus;
+   private long lastClockOffsetInNanos;
+
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+
+   /**
+    * Constructs a new instance which produces the statistics of the values
+    * received in each time window of the specified length.
+    *
+    * @param windowLengthInMillis the length of each time window.
+    */
+   WicaChannelValueAggregatingFilter( long windowLengthInMillis )
+   {
+      this( windowLengthInMillis, () -> WicaChannelData.toEpochNanos( LocalDateTime.now() ) );
+   }
+
+   /**
+    * Constructs a new instance which obtains the current wica server time
+    * from the specified supplier.
+    *
+    * @param windowLengthInMillis the length of each time window.
+    * @param wicaServerTimeSupplier supplies the current wica server time in
+    *     nanoseconds since the epoch.
+    */
+   WicaChannelValueAggregatingFilter( long windowLengthInMillis, LongSupplier wicaServerTimeSupplier )
+   {
+      Validate.isTrue( windowLengthInMillis > 0 );
+      this.windowLengthInNanos = windowLengthInMillis * 1_000_000L;
+      this.wicaServerTimeSupplier = Validate.notNull( wicaServerTimeSupplier );
+      reset();
+   }
+
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @Override
+   public void accept( WicaChannelValue inputValue, Consumer<WicaChannelValue> downstream )
+   {
+      Validate.notNull( inputValue );
+
+      if ( ! inputValue.isConnected() )
+      {
+         flush( downstream );
+         downstream.accept( inputValue );
+         return;
+      }
+
+      final WicaChannelValue.WicaChannelValueConnected connectedValue = (WicaChannelValue.WicaChannelValueConnected) inputValue;
+      final double sample;
+      switch ( connectedValue.getWicaChannelType() )
+      {
+         case REAL:
+            sample = ((WicaChannelValue.WicaChannelValueConnectedReal) connectedValue).getValue();
+            break;
+
+         case INTEGER:
+            sample = ((WicaChannelValue.WicaChannelValueConnectedInteger) connectedValue).getValue();
+            break;
+
+         default:
+            return;
+      }
+
+      final long timestamp = connectedValue.getDataSourceTimestampInEpochNanos();
+      if ( ( count > 0 ) && ( timestamp - windowStartInEpochNanos >= windowLengthInNanos ) )
+      {
+         flush( downstream );
+      }
+      if ( count == 0 )
+      {
+         windowStartInEpochNanos = timestamp - Math.floorMod( timestamp, windowLengthInNanos );
+      }
+      accumulate( sample );
+      lastAlarmSeverity = connectedValue.getWicaAlarmSeverity();
+      lastAlarmStatus = connectedValue.getWicaChannelAlarmStatus();
+      lastClockOffsetInNanos = connectedValue.getWicaServerTimestampInEpochNanos() - timestamp;
+   }
+
+   /**
+    * Produces the statistics of the current window if, according to the wica
+    * server clock, the window has already ended. This ensures that the last
+    * window is published when the channel stops producing new values.
+    *
+    * @param downstream the consumer of the values produced.
+    */
+   @Override
+   public void complete( Consumer<WicaChannelValue> downstream )
+   {
+      if ( ( count > 0 ) && ( wicaServerTimeSupplier.getAsLong() - lastClockOffsetInNanos - windowStartInEpochNanos >= windowLengthInNanos ) )
+      {
+         flush( downstream );
+      }
+   }
+
+   @Override
+   public String toString()
+   {
+      return "WicaChannelValueAggregatingFilter{" +
+              "windowLengthInNanos=" + windowLengthInNanos +
+              '}';
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+
+   private void accumulate( double sample )
+   {
+      count++;
+      final double delta = sample - mean;
+      mean += delta / count;
+      sumOfSquaredDeviations += delta * ( sample - mean );
+      min = Math.min( min, sample );
+      max = Math.max( max, sample );
+   }
+
+   private void flush( Consumer<WicaChannelValue> downstream )
+   {
+      if ( count == 0 )
+      {
+         return;
+      }
+      final double standardDeviation = ( count > 1 ) ? Math.sqrt( sumOfSquaredDeviations / ( count - 1 ) ) : 0.0;
+      final WicaChannelStatistics statistics = new WicaChannelStatistics( count, min, max, mean, standardDeviation );
+      downstream.accept( WicaChannelValue.createChannelValueConnected( lastAlarmSeverity, lastAlarmStatus, WicaChannelData.fromEpochNanos( windowStartInEpochNanos ), statistics ) );
+      reset();
+   }
+
+   private void reset()
+   {
+      count = 0;
+      mean = 0.0;
+      sumOfSquaredDeviations = 0.0;
+      min = Double.POSITIVE_INFINITY;
+      max = Double.NEGATIVE_INFINITY;
+   }
+
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
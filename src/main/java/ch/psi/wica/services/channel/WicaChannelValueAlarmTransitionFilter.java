@@ -0,0 +1,91 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.services.channel;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.channel.WicaChannelValue;
+import net.jcip.annotations.NotThreadSafe;
+import org.apache.commons.lang3.Validate;
+
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+/**
+ * A filter that writes a new value to the output list only when the alarm
+ * state of the input signal changes, that is to say when the alarm severity
+ * or alarm status differs from that of the previous value.
+ *
+ * The filter operates on values of all types. The first value received is
+ * always transferred to the output list.
+ *
+ * Where the values in the input list indicate that the data source has gone
+ * offline then the first offline value is transferred to the output list.
+ * When the data source eventually comes back online then the first online
+ * value is also transferred.
+ */
+@NotThreadSafe
+class WicaChannelValueAlarmTransitionFilter extends WicaChannelValueSelectingFilter
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private static final int NO_PREVIOUS_VALUE = -1;
+   private static final int DISCONNECTED = -2;
+
+   // The alarm state of the previous value is held in packed form: the
+   // severity ordinal in the upper half and the status code in the lower.
+   private long previousAlarmState;
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+
+   /**
+    * Constructs a new instance.
+    */
+   WicaChannelValueAlarmTransitionFilter()
+   {
+      this.previousAlarmState = NO_PREVIOUS_VALUE;
+   }
+
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @Override
+   public String toString()
+   {
+      return "WicaChannelValueAlarmTransitionFilter{}";
+   }
+
+/*- Protected methods --------------------------------------------------------*/
+
+   @Override
+   protected boolean select( WicaChannelValue currentValue )
+   {
+      Validate.notNull( currentValue );
+
+      final long currentAlarmState = getAlarmState( currentValue );
+      if ( currentAlarmState == previousAlarmState )
+      {
+         return false;
+      }
+      previousAlarmState = currentAlarmState;
+      return true;
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+
+   private static long getAlarmState( WicaChannelValue value )
+   {
+      if ( ! value.isConnected() )
+      {
+         return DISCONNECTED;
+      }
+      final WicaChannelValue.WicaChannelValueConnected connectedValue = (WicaChannelValue.WicaChannelValueConnected) value;
+      return ( (long) connectedValue.getWicaAlarmSeverity().ordinal() << 32 ) | connectedValue.getWicaChannelAlarmStatus().getStatusCode();
+   }
+
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
@@ -7,8 +7,7 @@ import ch.psi.wica.model.channel.WicaChannelValue;
 import net.jcip.annotations.ThreadSafe;
 import org.apache.commons.lang3.Validate;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.function.Consumer;
 
 
 /*- Interface Declaration ----------------------------------------------------*/
@@ -38,7 +37,7 @@ import java.util.List;
  * offline then the averaging result will be a single offline value.
  */
 @ThreadSafe
-class WicaChannelValueAveragingFilter implements WicaChannelValueFilter
+class WicaChannelValueAveragingFilter implements WicaChannelValueStreamingFilter
 {
 
 /*- Public attributes --------------------------------------------------------*/
@@ -76,24 +75,19 @@ class WicaChannelValueAveragingFilter implements WicaChannelValueFilter
 /*- Public methods -----------------------------------------------------------*/
 
    @Override
-   public List<WicaChannelValue> apply( List<WicaChannelValue> inputList )
+   public void accept( WicaChannelValue currentValue, Consumer<WicaChannelValue> downstream )
    {
-      Validate.notNull( inputList );
+      Validate.notNull( currentValue );
 
-      final List<WicaChannelValue> outputList = new LinkedList<>();
-      for ( WicaChannelValue currentValue : inputList )
+      processValue( currentValue );
+      if ( getNumberOfReceivedSamples() == numberOfSamplesInAverage )
       {
-         processValue( currentValue );
-         if ( getNumberOfReceivedSamples() == numberOfSamplesInAverage )
-         {
-            saveAverageInOutputList( outputList );
-            sum = 0.0;
-            numberOfReceivedOfflineSamples = 0;
-            numberOfReceivedIntegerSamples = 0;
-            numberOfReceivedDoubleSamples = 0;
-         }
+         downstream.accept( getAverage() );
+         sum = 0.0;
+         numberOfReceivedOfflineSamples = 0;
+         numberOfReceivedIntegerSamples = 0;
+         numberOfReceivedDoubleSamples = 0;
       }
-      return outputList;
    }
 
    @Override
@@ -140,13 +134,13 @@ class WicaChannelValueAveragingFilter implements WicaChannelValueFilter
       }
    }
 
-   private void saveAverageInOutputList( List<WicaChannelValue> outputList )
+   private WicaChannelValue getAverage()
    {
       // If any of the samples in the average was offline then present the
       // averaging result as an offline value.
       if ( numberOfReceivedOfflineSamples > 0 )
       {
-         outputList.add( WicaChannelValue.createChannelValueDisconnected() );
+         return WicaChannelValue.createChannelValueDisconnected();
       }
 
       // If there is at least one double sample then present the averaging result
@@ -154,7 +148,7 @@ class WicaChannelValueAveragingFilter implements WicaChannelValueFilter
       else if ( numberOfReceivedDoubleSamples > 0 )
       {
          final double average = sum / getNumberOfReceivedSamples();
-         outputList.add( WicaChannelValue.createChannelValueConnected( average ) );
+         return WicaChannelValue.createChannelValueConnected( average );
       }
 
       // If all the input samples are integers then present the averaging result
@@ -162,7 +156,7 @@ class WicaChannelValueAveragingFilter implements WicaChannelValueFilter
       else
       {
          final int average = (int) Math.round( sum / getNumberOfReceivedSamples() );
-         outputList.add( WicaChannelValue.createChannelValueConnected( average ) );
+         return WicaChannelValue.createChannelValueConnected( average );
       }
    }
 
@@ -3,14 +3,16 @@ package ch.psi.wica.services.channel;
 
 /*- Imported packages --------------------------------------------------------*/
 
+import ch.psi.wica.model.app.WicaDeadbandMode;
+import ch.psi.wica.model.channel.WicaChannelMetadata;
 import ch.psi.wica.model.channel.WicaChannelValue;
-import net.jcip.annotations.ThreadSafe;
+import net.jcip.annotations.NotThreadSafe;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 
 /*- Interface Declaration ----------------------------------------------------*/
@@ -20,6 +22,20 @@ import java.util.List;
  * A filter that writes a new value to the output list every time the input
  * signal makes a change whose absolute value exceeds the configured deadband.
  *
+ * The way in which the deadband is interpreted depends on the deadband mode:
+ * <ul>
+ *    <li>ABSOLUTE - the deadband is in the units of the channel and is
+ *        compared with the change from the previous value.</li>
+ *    <li>RELATIVE - the deadband is a percentage of the magnitude of the
+ *        previous value.</li>
+ *    <li>RANGE - the deadband is a percentage of the channel's display range,
+ *        as given by the most recent metadata. Until a positive display range
+ *        is known the deadband is applied as in the RELATIVE mode.</li>
+ *    <li>HYSTERESIS - the deadband is in the units of the channel but is
+ *        compared with the change from the last value transferred to the
+ *        output list, rather than from the previous input value.</li>
+ * </ul>
+ *
  * The filter only operates on values for types WicaChannelType.REAL and
  * WicaChannelType.INTEGER. All other value types in the input list
  * will be passed through unaffected.
@@ -34,8 +50,8 @@ import java.util.List;
  * to the output list.
  *
  */
-@ThreadSafe
-class WicaChannelValueChangeDetectingFilter implements WicaChannelValueFilter
+@NotThreadSafe
+class WicaChannelValueChangeDetectingFilter extends WicaChannelValueSelectingFilter
 {
 
 /*- Public attributes --------------------------------------------------------*/
@@ -44,7 +60,17 @@ class WicaChannelValueChangeDetectingFilter implements WicaChannelValueFilter
    private static final Logger logger = LoggerFactory.getLogger( WicaChannelValueChangeDetectingFilter.class);
 
    private final double deadband;
-   private WicaChannelValue previousValue;
+   private final WicaDeadbandMode deadbandMode;
+   private final Supplier<Optional<WicaChannelMetadata>> metadataSupplier;
+
+   // The value with which the next input value will be compared. Except in
+   // the HYSTERESIS mode this is simply the previous input value.
+   private WicaChannelValue referenceValue;
+
+   // The display range is obtained from the metadata when first required
+   // and again whenever the data source comes back online. NaN indicates
+   // that it is not yet known.
+   private double displayRange;
 
 /*- Main ---------------------------------------------------------------------*/
 /*- Constructor --------------------------------------------------------------*/
@@ -56,98 +82,105 @@ class WicaChannelValueChangeDetectingFilter implements WicaChannelValueFilter
     *     occur in order for the new value to be transferred from the input list
     *     to the output list.
     */
-   WicaChannelValueChangeDetectingFilter(double deadband )
+   WicaChannelValueChangeDetectingFilter( double deadband )
+   {
+      this( deadband, WicaDeadbandMode.ABSOLUTE, Optional::empty );
+   }
+
+   /**
+    * Constructs a new instance based on the specified deadband and deadband mode.
+    *
+    * @param deadband defines the change in the input value which must occur in
+    *     order for the new value to be transferred from the input list to the
+    *     output list. The units depend on the deadband mode.
+    * @param deadbandMode defines how the deadband is interpreted.
+    * @param metadataSupplier provides the most recent metadata for the channel
+    *     whose values are being filtered. Only used in the RANGE mode.
+    */
+   WicaChannelValueChangeDetectingFilter( double deadband, WicaDeadbandMode deadbandMode, Supplier<Optional<WicaChannelMetadata>> metadataSupplier )
    {
       Validate.isTrue( deadband > 0 );
       this.deadband = deadband;
-      this.previousValue = WicaChannelValue.createChannelValueDisconnected();
+      this.deadbandMode = Validate.notNull( deadbandMode );
+      this.metadataSupplier = Validate.notNull( metadataSupplier );
+      this.referenceValue = WicaChannelValue.createChannelValueDisconnected();
+      this.displayRange = Double.NaN;
    }
 
 /*- Class methods ------------------------------------------------------------*/
 /*- Public methods -----------------------------------------------------------*/
 
    @Override
-   public List<WicaChannelValue> apply( List<WicaChannelValue> inputList )
+   public String toString()
    {
-      Validate.notNull( inputList );
-      final List<WicaChannelValue> outputList = new LinkedList<>();
+      return "WicaChannelValueChangeDetectingFilter{" +
+              "deadband=" + deadband +
+              ", deadbandMode=" + deadbandMode +
+              '}';
+   }
 
-      for ( WicaChannelValue currentValue : inputList )
-      {
-         // If the current value is offline then transfer the offline value
-         // to the output list
-         if ( ( ! currentValue.isConnected() ) )
-         {
-            outputList.add( currentValue );
-            previousValue = currentValue;
-            continue;
-         }
+/*- Protected methods --------------------------------------------------------*/
 
-         // If the current and previous values indicates that the data source has
-         // just come online then transfer the new value to the output list
-         if ( ( ! previousValue.isConnected() ) && ( currentValue.isConnected() ) )
-         {
-            outputList.add( currentValue );
-            previousValue = currentValue;
-            continue;
-         }
+   @Override
+   protected boolean select( WicaChannelValue currentValue )
+   {
+      Validate.notNull( currentValue );
 
-         final WicaChannelValue.WicaChannelValueConnected currentValueConnected = (WicaChannelValue.WicaChannelValueConnected) currentValue;
-         final WicaChannelValue.WicaChannelValueConnected previousValueConnected = (WicaChannelValue.WicaChannelValueConnected) previousValue;
-         if ( isChangeDetected( currentValueConnected, previousValueConnected ) )
-         {
-            outputList.add( currentValue );
-         }
-         previousValue = currentValue;
+      // If the current value is offline then transfer the offline value
+      // to the output list
+      if ( ( ! currentValue.isConnected() ) )
+      {
+         referenceValue = currentValue;
+         return true;
       }
-      return outputList;
-   }
 
-   @Override
-   public String toString()
-   {
-      return "WicaChannelValueChangeDetectingFilter{" +
-              "deadband=" + deadband +
-              '}';
+      // If the current and reference values indicates that the data source has
+      // just come online then transfer the new value to the output list. The
+      // display range may have changed so it must be obtained again.
+      if ( ( ! referenceValue.isConnected() ) && ( currentValue.isConnected() ) )
+      {
+         referenceValue = currentValue;
+         displayRange = Double.NaN;
+         return true;
+      }
+
+      final WicaChannelValue.WicaChannelValueConnected currentValueConnected = (WicaChannelValue.WicaChannelValueConnected) currentValue;
+      final WicaChannelValue.WicaChannelValueConnected referenceValueConnected = (WicaChannelValue.WicaChannelValueConnected) referenceValue;
+      final boolean changeDetected = isChangeDetected( currentValueConnected, referenceValueConnected );
+      if ( changeDetected || ( deadbandMode != WicaDeadbandMode.HYSTERESIS ) )
+      {
+         referenceValue = currentValue;
+      }
+      return changeDetected;
    }
 
 /*- Private methods ----------------------------------------------------------*/
 
    private boolean isChangeDetected( WicaChannelValue.WicaChannelValueConnected currentValue,
-                                     WicaChannelValue.WicaChannelValueConnected previousValue )
+                                     WicaChannelValue.WicaChannelValueConnected referenceValue )
    {
       Validate.notNull( currentValue );
-      Validate.notNull( previousValue );
+      Validate.notNull( referenceValue );
 
       // Handle the unusual situation where successive values in the input list are of
       // different types. In this case transfer the new value.
-      if ( currentValue.getWicaChannelType() != previousValue.getWicaChannelType() )
+      if ( currentValue.getWicaChannelType() != referenceValue.getWicaChannelType() )
       {
          return true;
       }
 
+      final double currentValueAsDouble;
+      final double referenceValueAsDouble;
       switch ( currentValue.getWicaChannelType() )
       {
          case REAL:
-            final double currentValueAsDouble = ((WicaChannelValue.WicaChannelValueConnectedReal) currentValue).getValue();
-            final double previousValueAsDouble = ((WicaChannelValue.WicaChannelValueConnectedReal) previousValue).getValue();
-            final double changeAsDouble = currentValueAsDouble - previousValueAsDouble;
-            if ( Math.abs( changeAsDouble ) > deadband )
-            {
-               logger.trace("Change significant. Previous Value: {}, CurrentValue: {}, Change: {} units", previousValueAsDouble, currentValueAsDouble, changeAsDouble );
-               return true;
-            }
+            currentValueAsDouble = ((WicaChannelValue.WicaChannelValueConnectedReal) currentValue).getValue();
+            referenceValueAsDouble = ((WicaChannelValue.WicaChannelValueConnectedReal) referenceValue).getValue();
             break;
 
          case INTEGER:
-           final int currentValueAsInteger = ((WicaChannelValue.WicaChannelValueConnectedInteger) currentValue).getValue();
-           final int previousValueAsInteger = ((WicaChannelValue.WicaChannelValueConnectedInteger) previousValue).getValue();
-           final int changeAsInteger = currentValueAsInteger - previousValueAsInteger;
-            if ( Math.abs( changeAsInteger) > deadband )
-            {
-               logger.trace("Change significant. Previous Value: {}, CurrentValue: {}, Change: {} units", previousValueAsInteger, currentValueAsInteger, changeAsInteger );
-               return true;
-            }
+            currentValueAsDouble = ((WicaChannelValue.WicaChannelValueConnectedInteger) currentValue).getValue();
+            referenceValueAsDouble = ((WicaChannelValue.WicaChannelValueConnectedInteger) referenceValue).getValue();
             break;
 
          // All other types are passed through unchanged
@@ -155,9 +188,65 @@ class WicaChannelValueChangeDetectingFilter implements WicaChannelValueFilter
             return true;
       }
 
+      final double change = currentValueAsDouble - referenceValueAsDouble;
+      if ( Math.abs( change ) > getThreshold( referenceValueAsDouble ) )
+      {
+         // Guarded to avoid boxing the arguments when tracing is disabled.
+         if ( logger.isTraceEnabled() )
+         {
+            logger.trace("Change significant. Reference Value: {}, CurrentValue: {}, Change: {} units", referenceValueAsDouble, currentValueAsDouble, change );
+         }
+         return true;
+      }
       return false;
    }
 
+   private double getThreshold( double referenceValue )
+   {
+      switch ( deadbandMode )
+      {
+         case RELATIVE:
+            return Math.abs( referenceValue ) * deadband / 100.0;
+
+         case RANGE:
+            if ( Double.isNaN( displayRange ) )
+            {
+               displayRange = getDisplayRange();
+            }
+            // Until a usable display range is available the deadband is
+            // interpreted as a percentage of the reference value.
+            return ( displayRange > 0 ) ? displayRange * deadband / 100.0 : Math.abs( referenceValue ) * deadband / 100.0;
+
+         case ABSOLUTE:
+         case HYSTERESIS:
+         default:
+            return deadband;
+      }
+   }
+
+   private double getDisplayRange()
+   {
+      final Optional<WicaChannelMetadata> metadata = metadataSupplier.get();
+      if ( metadata.isEmpty() )
+      {
+         return Double.NaN;
+      }
+      switch ( metadata.get().getType() )
+      {
+         case REAL:
+         case REAL_ARRAY:
+            final WicaChannelMetadata.WicaChannelMetadataReal realMetadata = (WicaChannelMetadata.WicaChannelMetadataReal) metadata.get();
+            return realMetadata.getUpperDisplay() - realMetadata.getLowerDisplay();
+
+         case INTEGER:
+         case INTEGER_ARRAY:
+            final WicaChannelMetadata.WicaChannelMetadataInteger integerMetadata = (WicaChannelMetadata.WicaChannelMetadataInteger) metadata.get();
+            return (double) integerMetadata.getUpperDisplay() - integerMetadata.getLowerDisplay();
+
+         default:
+            return Double.NaN;
+      }
+   }
 
 /*- Nested Classes -----------------------------------------------------------*/
 
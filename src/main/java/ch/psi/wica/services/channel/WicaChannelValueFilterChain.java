@@ -0,0 +1,158 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.services.channel;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.channel.WicaChannelValue;
+import net.jcip.annotations.NotThreadSafe;
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+/**
+ * A filter which passes its input through an ordered chain of other filters,
+ * the output of each filter providing the input of the next.
+ *
+ * The chain is executed in a single pass over the input list. Each value
+ * produced by a filter is passed directly on to the next filter in the chain
+ * so that no intermediate lists are created between the filters. Filters
+ * which can only operate on a complete list of values (for example the
+ * last-n and lttb filters) collect their input in a buffer which is reused
+ * on every invocation and produce their output when the end of the input
+ * list is reached.
+ *
+ * The output of the chain is collected in a buffer which is also reused on
+ * every invocation. The list returned by the chain is a view onto that
+ * buffer and remains valid only until the chain is next applied. Apart from
+ * the lists produced by the filters which synthesise new values (for example
+ * the averaging and lttb filters) no lists are allocated on invocation.
+ */
+@NotThreadSafe
+class WicaChannelValueFilterChain implements WicaChannelValueFilter
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private final List<WicaChannelValueFilter> filters;
+   private final WicaChannelValueStreamingFilter[] stages;
+   private final Consumer<WicaChannelValue>[] downstreams;
+   private final List<WicaChannelValue> outputList = new ArrayList<>();
+   private final List<WicaChannelValue> outputView = Collections.unmodifiableList( outputList );
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+
+   /**
+    * Constructs a new instance based on the specified filters.
+    *
+    * @param filters the filters in the order in which they are to be applied.
+    *     The filters become owned by the chain and should not be used
+    *     elsewhere.
+    *
+    * @throws IllegalArgumentException if the list of filters was empty.
+    */
+   @SuppressWarnings( "unchecked" )
+   WicaChannelValueFilterChain( List<WicaChannelValueFilter> filters )
+   {
+      Validate.notEmpty( filters );
+      Validate.noNullElements( filters );
+      this.filters = List.copyOf( filters );
+
+      final int numberOfStages = filters.size();
+      this.stages = new WicaChannelValueStreamingFilter[ numberOfStages ];
+      for ( int i = 0; i < numberOfStages; i++ )
+      {
+         final WicaChannelValueFilter filter = filters.get( i );
+         stages[ i ] = ( filter instanceof WicaChannelValueStreamingFilter ) ? (WicaChannelValueStreamingFilter) filter : new BatchStage( filter );
+      }
+
+      // Each stage delivers its output to the next stage. The last stage
+      // delivers its output to the output list.
+      this.downstreams = new Consumer[ numberOfStages ];
+      downstreams[ numberOfStages - 1 ] = value -> outputList.add( value );
+      for ( int i = numberOfStages - 2; i >= 0; i-- )
+      {
+         final WicaChannelValueStreamingFilter nextStage = stages[ i + 1 ];
+         final Consumer<WicaChannelValue> nextDownstream = downstreams[ i + 1 ];
+         downstreams[ i ] = value -> nextStage.accept( value, nextDownstream );
+      }
+   }
+
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @Override
+   public List<WicaChannelValue> apply( List<WicaChannelValue> inputList )
+   {
+      Validate.notNull( inputList );
+
+      outputList.clear();
+      final WicaChannelValueStreamingFilter firstStage = stages[ 0 ];
+      final Consumer<WicaChannelValue> firstDownstream = downstreams[ 0 ];
+      for ( WicaChannelValue inputValue : inputList )
+      {
+         firstStage.accept( inputValue, firstDownstream );
+      }
+
+      // Complete the stages in order so that anything produced by a stage on
+      // completion still passes through all the stages which follow it.
+      for ( int i = 0; i < stages.length; i++ )
+      {
+         stages[ i ].complete( downstreams[ i ] );
+      }
+
+      return outputView;
+   }
+
+   @Override
+   public String toString()
+   {
+      return "WicaChannelValueFilterChain{" +
+            "filters=" + filters +
+            '}';
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+   /**
+    * Adapts a filter which can only operate on a complete list of values
+    * for use as a stage in the chain.
+    */
+   private static class BatchStage implements WicaChannelValueStreamingFilter
+   {
+      private final WicaChannelValueFilter filter;
+      private final List<WicaChannelValue> buffer = new ArrayList<>();
+
+      private BatchStage( WicaChannelValueFilter filter )
+      {
+         this.filter = filter;
+      }
+
+      @Override
+      public void accept( WicaChannelValue inputValue, Consumer<WicaChannelValue> downstream )
+      {
+         buffer.add( inputValue );
+      }
+
+      @Override
+      public void complete( Consumer<WicaChannelValue> downstream )
+      {
+         if ( buffer.isEmpty() )
+         {
+            return;
+         }
+         filter.apply( buffer ).forEach( downstream );
+         buffer.clear();
+      }
+   }
+
+}
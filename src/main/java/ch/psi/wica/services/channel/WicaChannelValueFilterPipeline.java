@@ -0,0 +1,118 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.services.channel;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.channel.WicaChannel;
+import ch.psi.wica.model.channel.WicaChannelValue;
+import net.jcip.annotations.NotThreadSafe;
+import org.apache.commons.lang3.Validate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+/**
+ * Holds the channel value filters used by a single consumer of channel values,
+ * typically one subscription to a wica stream.
+ *
+ * Many of the filters are stateful (for example the averager, the change
+ * detector and the rate limiter) so each consumer must own its own set of
+ * filters. A filter is created for each channel the first time that values
+ * are supplied for it.
+ *
+ * Instances are intended to be confined to a single consumer and must not be
+ * used concurrently. The number of filters may safely be read from other
+ * threads.
+ */
+@NotThreadSafe
+public class WicaChannelValueFilterPipeline
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private final Function<WicaChannel,WicaChannelValueFilter> filterFactory;
+   private final Map<WicaChannel,WicaChannelValueFilter> filterMap = new ConcurrentHashMap<>();
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+
+   /**
+    * Constructs a new instance.
+    *
+    * @param filterFactory the function which creates the filter for a channel.
+    */
+   public WicaChannelValueFilterPipeline( Function<WicaChannel,WicaChannelValueFilter> filterFactory )
+   {
+      this.filterFactory = Validate.notNull( filterFactory );
+   }
+
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   /**
+    * Filters the supplied list of channel values using this pipeline's
+    * filter for the specified channel.
+    *
+    * The returned list may be a view onto the supplied list which is reused
+    * by the filter. It remains valid only until values are next supplied
+    * for the same channel.
+    *
+    * @param wicaChannel the channel, which determines the filter type.
+    * @param wicaChannelValues the list of values to filter.
+    * @return the filtered output.
+    */
+   public List<WicaChannelValue> filterValues( WicaChannel wicaChannel, List<WicaChannelValue> wicaChannelValues )
+   {
+      Validate.notNull( wicaChannel );
+      Validate.notNull( wicaChannelValues );
+
+      WicaChannelValueFilter filter = filterMap.get( wicaChannel );
+      if ( filter == null )
+      {
+         filter = filterFactory.apply( wicaChannel );
+         filterMap.put( wicaChannel, filter );
+      }
+      return filter.apply( wicaChannelValues );
+   }
+
+   /**
+    * Discards the filters of any channels which are not in the supplied set.
+    *
+    * @param wicaChannels the channels whose filters should be kept.
+    */
+   public void retainOnly( Set<WicaChannel> wicaChannels )
+   {
+      Validate.notNull( wicaChannels );
+      filterMap.keySet().retainAll( wicaChannels );
+   }
+
+   /**
+    * Discards all filters.
+    */
+   public void clear()
+   {
+      filterMap.clear();
+   }
+
+   /**
+    * Returns the number of filters currently held by this pipeline.
+    *
+    * @return the result.
+    */
+   public int size()
+   {
+      return filterMap.size();
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
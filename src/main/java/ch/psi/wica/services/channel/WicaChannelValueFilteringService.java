@@ -3,25 +3,30 @@ package ch.psi.wica.services.channel;
 
 /*- Imported packages --------------------------------------------------------*/
 
+import ch.psi.wica.model.app.WicaDeadbandMode;
 import ch.psi.wica.model.app.WicaFilterType;
 import ch.psi.wica.model.channel.WicaChannel;
 import ch.psi.wica.model.channel.WicaChannelProperties;
+import ch.psi.wica.model.channel.WicaChannelPropertiesDefaults;
 import ch.psi.wica.model.channel.WicaChannelValue;
-import net.jcip.annotations.Immutable;
+import ch.psi.wica.services.stream.WicaStreamMetadataCollectorService;
+import net.jcip.annotations.ThreadSafe;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 
 /*- Interface Declaration ----------------------------------------------------*/
 /*- Class Declaration --------------------------------------------------------*/
 
-@Immutable
+@ThreadSafe
 @Service
 public class WicaChannelValueFilteringService
 {
@@ -31,44 +36,81 @@ public class WicaChannelValueFilteringService
 
    private static final Logger logger = LoggerFactory.getLogger(WicaChannelValueFilteringService.class );
 
-   private final Map<WicaChannel,WicaChannelValueFilter> wicaChannelValueFilterMap;
+   // The pipelines which are currently in use. These are tracked only for
+   // statistics purposes. The service itself holds no filter state.
+   private final Set<WicaChannelValueFilterPipeline> activePipelines;
+
+   // Provides the channel metadata needed by filters whose behaviour
+   // depends on the channel's display range.
+   private final WicaStreamMetadataCollectorService wicaStreamMetadataCollectorService;
 
 /*- Main ---------------------------------------------------------------------*/
 /*- Constructor --------------------------------------------------------------*/
 
-   public WicaChannelValueFilteringService()
+   /**
+    * Constructs a new instance.
+    *
+    * @param wicaStreamMetadataCollectorService the service which provides the
+    *     most recent metadata for each channel.
+    */
+   public WicaChannelValueFilteringService( @Autowired WicaStreamMetadataCollectorService wicaStreamMetadataCollectorService )
    {
-      this.wicaChannelValueFilterMap = new ConcurrentHashMap<>();
+      this.activePipelines = ConcurrentHashMap.newKeySet();
+      this.wicaStreamMetadataCollectorService = Validate.notNull( wicaStreamMetadataCollectorService );
    }
 
 /*- Class methods ------------------------------------------------------------*/
 /*- Public methods -----------------------------------------------------------*/
 
    /**
-    * Filters the supplied list of channel values of according to the properties
-    * defined for channel monitoring.
+    * Creates a new filter pipeline for the exclusive use of a single consumer
+    * of monitored channel values. The pipeline creates its filters according
+    * to the filtering properties of each channel.
     *
-    * @param wicaChannel object which provides access to the filtering properties.
-    * @param wicaChannelValues the list of values to filter.
-    * @return the filtered output.
+    * The pipeline should be returned by calling {@link #releasePipeline} when
+    * it is no longer required.
+    *
+    * @return the pipeline.
     */
-   public List<WicaChannelValue> filterValues( WicaChannel wicaChannel, List<WicaChannelValue> wicaChannelValues )
+   public WicaChannelValueFilterPipeline createPipeline()
    {
-      Validate.notNull( wicaChannel );
-      Validate.notNull( wicaChannelValues );
+      final WicaChannelValueFilterPipeline pipeline = new WicaChannelValueFilterPipeline( this::getFilterForChannel );
+      activePipelines.add( pipeline );
+      return pipeline;
+   }
 
-      final WicaChannelValueFilter filter;
-      if ( wicaChannelValueFilterMap.containsKey( wicaChannel ) )
-      {
-         filter = wicaChannelValueFilterMap.get( wicaChannel );
-      }
-      else
-      {
-         filter = getFilterForChannel( wicaChannel );
-         wicaChannelValueFilterMap.put( wicaChannel, filter );
-      }
+   /**
+    * Creates a new filter pipeline for the exclusive use of a single consumer
+    * of polled channel values.
+    *
+    * Polled values are already rate limited by the polling interval so by
+    * default every value is passed. Where a channel has been configured with
+    * a filter chain the chain is applied to the polled values too. The
+    * filters are independent of those used for the channel's monitored
+    * values.
+    *
+    * The pipeline should be returned by calling {@link #releasePipeline} when
+    * it is no longer required.
+    *
+    * @return the pipeline.
+    */
+   public WicaChannelValueFilterPipeline createPolledValuePipeline()
+   {
+      final WicaChannelValueFilterPipeline pipeline = new WicaChannelValueFilterPipeline( this::getFilterForPolledChannel );
+      activePipelines.add( pipeline );
+      return pipeline;
+   }
 
-      return filter.apply( wicaChannelValues );
+   /**
+    * Discards the state of a pipeline which is no longer required.
+    *
+    * @param pipeline the pipeline.
+    */
+   public void releasePipeline( WicaChannelValueFilterPipeline pipeline )
+   {
+      Validate.notNull( pipeline );
+      pipeline.clear();
+      activePipelines.remove( pipeline );
    }
 
    /**
@@ -83,13 +125,54 @@ public class WicaChannelValueFilteringService
       return filter.apply( wicaChannelValues);
    }
 
+   /**
+    * Returns the number of filters which are currently retained by all the
+    * pipelines in use.
+    *
+    * @return the result.
+    */
+   public int getFilterCount()
+   {
+      return activePipelines.stream().mapToInt( WicaChannelValueFilterPipeline::size ).sum();
+   }
+
 /*- Private methods ----------------------------------------------------------*/
 
    private WicaChannelValueFilter getFilterForChannel( WicaChannel wicaChannel )
    {
       final WicaChannelProperties wicaChannelProperties = wicaChannel.getProperties();
-      final WicaFilterType filterType = wicaChannelProperties.getFilterType();
+      final List<WicaFilterType> filterChain = wicaChannelProperties.getOptionalFilterChain().orElse( List.of() );
+      if ( ! filterChain.isEmpty() )
+      {
+         return getFilterChain( "MONITORED", filterChain, wicaChannel );
+      }
+      return getFilter( wicaChannelProperties.getFilterType(), wicaChannel );
+   }
 
+   private WicaChannelValueFilter getFilterForPolledChannel( WicaChannel wicaChannel )
+   {
+      final WicaChannelProperties wicaChannelProperties = wicaChannel.getProperties();
+      final List<WicaFilterType> filterChain = wicaChannelProperties.getOptionalFilterChain().orElse( List.of() );
+      if ( ! filterChain.isEmpty() )
+      {
+         return getFilterChain( "POLLED", filterChain, wicaChannel );
+      }
+      logger.trace("Creating channel value filter for POLLED channels with filterType='all-value'");
+      return new WicaChannelValuePassEverythingFilter();
+   }
+
+   private WicaChannelValueFilter getFilterChain( String valueSource, List<WicaFilterType> filterChain, WicaChannel wicaChannel )
+   {
+      logger.trace("Creating channel value filter chain for {} channels with filters='{}'", valueSource, filterChain );
+      final List<WicaChannelValueFilter> filters = filterChain.stream()
+            .map( filterType -> getFilter( filterType, wicaChannel ) )
+            .collect( Collectors.toList() );
+      return new WicaChannelValueFilterChain( filters );
+   }
+
+   private WicaChannelValueFilter getFilter( WicaFilterType filterType, WicaChannel wicaChannel )
+   {
+      final WicaChannelProperties wicaChannelProperties = wicaChannel.getProperties();
       final WicaChannelValueFilter filter;
       switch ( filterType )
       {
@@ -118,8 +201,11 @@ public class WicaChannelValueFilteringService
 
          case CHANGE_DETECTOR:
             final double deadband = wicaChannelProperties.getFilterDeadband();
-            logger.trace("Creating channel value filter for MONITORED channels with filterType='changes', deadband='{}'", deadband);
-            filter = new WicaChannelValueChangeDetectingFilter( deadband );
+            // The deadband mode was introduced after the deadband itself so
+            // properties which predate it are given the original behaviour.
+            final WicaDeadbandMode deadbandMode = wicaChannelProperties.getOptionalFilterDeadbandMode().orElse( WicaChannelPropertiesDefaults.DEFAULT_FILTER_DEADBAND_MODE );
+            logger.trace("Creating channel value filter for MONITORED channels with filterType='changes', deadband='{}', deadbandMode='{}'", deadband, deadbandMode );
+            filter = new WicaChannelValueChangeDetectingFilter( deadband, deadbandMode, () -> wicaStreamMetadataCollectorService.findLatest( wicaChannel ) );
             break;
 
          case AVERAGER:
@@ -128,6 +214,25 @@ public class WicaChannelValueFilteringService
             filter = new WicaChannelValueAveragingFilter( averagerNumberOfSamples );
             break;
 
+         case LTTB:
+            final int maxNumberOfSamples = wicaChannelProperties.getFilterNumSamples();
+            logger.trace("Creating channel value filter for MONITORED channels with filterType='lttb', n='{}'", maxNumberOfSamples );
+            filter = new WicaChannelValueLttbFilter( maxNumberOfSamples );
+            break;
+
+         case AGGREGATOR:
+            // The aggregator has no parameter of its own: the window length is
+            // given by the same 'interval' property as the rate-limiter's interval.
+            final int windowLength = wicaChannelProperties.getFilterSamplingIntervalInMillis();
+            logger.trace("Creating channel value filter for MONITORED channels with filterType='aggregator', window='{}'", windowLength );
+            filter = new WicaChannelValueAggregatingFilter( windowLength );
+            break;
+
+         case ALARM_CHANGES:
+            logger.trace("Creating channel value filter for MONITORED channels with filterType='alarm-changes'");
+            filter = new WicaChannelValueAlarmTransitionFilter();
+            break;
+
          default:
             logger.warn("The filterType parameter was not recognised. Using default (last-n) filter.");
             final int defaultMaxNumberOfSamples = 1;
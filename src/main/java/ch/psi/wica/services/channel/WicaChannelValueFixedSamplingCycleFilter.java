@@ -7,9 +7,6 @@ import ch.psi.wica.model.channel.WicaChannelValue;
 import net.jcip.annotations.NotThreadSafe;
 import org.apache.commons.lang3.Validate;
 
-import java.util.LinkedList;
-import java.util.List;
-
 
 /*- Interface Declaration ----------------------------------------------------*/
 /*- Class Declaration --------------------------------------------------------*/
@@ -19,7 +16,7 @@ import java.util.List;
  * taken from the input list over successive invocations.
  */
 @NotThreadSafe
-class WicaChannelValueFixedSamplingCycleFilter implements WicaChannelValueFilter
+class WicaChannelValueFixedSamplingCycleFilter extends WicaChannelValueSelectingFilter
 {
 
 /*- Public attributes --------------------------------------------------------*/
@@ -46,21 +43,6 @@ class WicaChannelValueFixedSamplingCycleFilter implements WicaChannelValueFilter
 /*- Class methods ------------------------------------------------------------*/
 /*- Public methods -----------------------------------------------------------*/
 
-   @Override
-   public List<WicaChannelValue> apply( List<WicaChannelValue> inputList )
-   {
-      final List<WicaChannelValue> outputList = new LinkedList<>();
-      for ( WicaChannelValue inputValue : inputList )
-      {
-         if ( samplingCycleIndex % samplingCycleLength == 0 )
-         {
-            outputList.add( inputValue );
-         }
-         samplingCycleIndex++;
-      }
-      return outputList;
-   }
-
    @Override
    public String toString()
    {
@@ -69,7 +51,17 @@ class WicaChannelValueFixedSamplingCycleFilter implements WicaChannelValueFilter
               '}';
    }
 
-   /*- Private methods ----------------------------------------------------------*/
+/*- Protected methods --------------------------------------------------------*/
+
+   @Override
+   protected boolean select( WicaChannelValue inputValue )
+   {
+      final boolean selected = ( samplingCycleIndex == 0 );
+      samplingCycleIndex = ( samplingCycleIndex + 1 ) % samplingCycleLength;
+      return selected;
+   }
+
+/*- Private methods ----------------------------------------------------------*/
 /*- Nested Classes -----------------------------------------------------------*/
 
 }
@@ -8,8 +8,6 @@ import net.jcip.annotations.Immutable;
 import org.apache.commons.lang3.Validate;
 
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 
 /*- Interface Declaration ----------------------------------------------------*/
@@ -18,6 +16,9 @@ import java.util.stream.IntStream;
 /**
  * A filter that returns an output list with the most recent N values taken
  * from the input list.
+ *
+ * The output list is a view onto the input list and is intended to be
+ * used with input lists which do not change.
  */
 @Immutable
 class WicaChannelValueLatestValueFilter implements WicaChannelValueFilter
@@ -53,7 +54,8 @@ class WicaChannelValueLatestValueFilter implements WicaChannelValueFilter
       final int startInclusive = Math.max( 0, inputList.size() - maxNumberOfSamples );
       final int endExclusive = inputList.size();
 
-      return IntStream.range( startInclusive, endExclusive ).mapToObj( inputList::get ).collect( Collectors.toList() );
+      // The output is a view onto the input list rather than a copy of it.
+      return inputList.subList( startInclusive, endExclusive );
    }
 
    @Override
@@ -0,0 +1,202 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.services.channel;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.channel.WicaChannelValue;
+import net.jcip.annotations.ThreadSafe;
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+/**
+ * A filter that downsamples the input list to at most N values using the
+ * Largest-Triangle-Three-Buckets (LTTB) algorithm.
+ *
+ * The first and last values in the input list are always retained. The
+ * values in between are divided into N - 2 buckets of approximately equal
+ * size and, from each bucket, the value is selected which forms the
+ * largest triangle with the value selected from the previous bucket and
+ * the average of the values in the next bucket. This preserves the visual
+ * shape of the signal, including any isolated spikes, whilst reducing the
+ * number of points to be transmitted.
+ *
+ * The x coordinate of each value is its data source timestamp (or the wica
+ * server timestamp when the channel is offline). The y coordinate is the
+ * numeric value for types WicaChannelType.REAL and WicaChannelType.INTEGER.
+ * Values of any other type (including offline values) have no y coordinate:
+ * when a bucket contains such a value the first of them is selected in
+ * preference to any numeric value, so that changes in the connection
+ * state remain visible in the output.
+ *
+ * If the input list contains N values or fewer it is passed through
+ * unchanged. The filter holds no state between invocations.
+ */
+@ThreadSafe
+class WicaChannelValueLttbFilter implements WicaChannelValueFilter
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private final int maxNumberOfSamples;
+
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+
+   /**
+    * Constructs a new instance that will reduce each input list to no
+    * more than the specified number of samples.
+    *
+    * @param maxNumberOfSamples the maximum number of samples in the
+    *        output list.
+    */
+   WicaChannelValueLttbFilter( int maxNumberOfSamples )
+   {
+      Validate.isTrue( maxNumberOfSamples > 0 );
+      this.maxNumberOfSamples = maxNumberOfSamples;
+   }
+
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @Override
+   public List<WicaChannelValue> apply( List<WicaChannelValue> inputList )
+   {
+      Validate.notNull( inputList );
+
+      final int inputSize = inputList.size();
+      if ( inputSize <= maxNumberOfSamples )
+      {
+         return new ArrayList<>( inputList );
+      }
+
+      // The bucket boundaries are calculated by index so the input list must
+      // support efficient random access.
+      final List<WicaChannelValue> values = ( inputList instanceof RandomAccess ) ? inputList : new ArrayList<>( inputList );
+      final List<WicaChannelValue> outputList = new ArrayList<>( maxNumberOfSamples );
+
+      // With fewer than three output samples there is no room for any
+      // buckets between the endpoints.
+      if ( maxNumberOfSamples < 3 )
+      {
+         if ( maxNumberOfSamples == 2 )
+         {
+            outputList.add( values.get( 0 ) );
+         }
+         outputList.add( values.get( inputSize - 1 ) );
+         return outputList;
+      }
+
+      // Timestamps are expressed relative to the first value to retain
+      // precision when they are converted to doubles.
+      final long originNanos = getX( values.get( 0 ) );
+      final double bucketSize = (double) ( inputSize - 2 ) / ( maxNumberOfSamples - 2 );
+
+      int selectedIndex = 0;
+      outputList.add( values.get( 0 ) );
+
+      for ( int bucket = 0; bucket < maxNumberOfSamples - 2; bucket++ )
+      {
+         // Calculate the average point in the next bucket. For the final
+         // bucket this is the last value in the input list.
+         final int nextBucketStart = (int) ( ( bucket + 1 ) * bucketSize ) + 1;
+         final int nextBucketEnd = Math.min( (int) ( ( bucket + 2 ) * bucketSize ) + 1, inputSize );
+         double sumX = 0;
+         double sumY = 0;
+         int numericCount = 0;
+         for ( int i = nextBucketStart; i < nextBucketEnd; i++ )
+         {
+            final WicaChannelValue value = values.get( i );
+            final double y = getY( value );
+            if ( ! Double.isNaN( y ) )
+            {
+               sumX += getX( value ) - originNanos;
+               sumY += y;
+               numericCount++;
+            }
+         }
+
+         // Select the value in the current bucket forming the largest triangle
+         // with the previously selected value and the next bucket average.
+         final int bucketStart = (int) ( bucket * bucketSize ) + 1;
+         final int bucketEnd = (int) ( ( bucket + 1 ) * bucketSize ) + 1;
+         final WicaChannelValue previousValue = values.get( selectedIndex );
+         final double ax = getX( previousValue ) - originNanos;
+         final double ay = getY( previousValue );
+         final double cx = numericCount > 0 ? sumX / numericCount : ax;
+         final double cy = numericCount > 0 ? sumY / numericCount : ay;
+
+         int bestIndex = bucketStart;
+         double bestArea = -1;
+         for ( int i = bucketStart; i < bucketEnd; i++ )
+         {
+            final WicaChannelValue value = values.get( i );
+            final double by = getY( value );
+            if ( Double.isNaN( by ) )
+            {
+               bestIndex = i;
+               break;
+            }
+            final double bx = getX( value ) - originNanos;
+            final double area = Double.isNaN( ay ) || Double.isNaN( cy ) ? Math.abs( by - cy ) + Math.abs( by - ay ) :
+                                Math.abs( ( ax - cx ) * ( by - ay ) - ( ax - bx ) * ( cy - ay ) );
+            if ( ! ( area <= bestArea ) )
+            {
+               bestArea = area;
+               bestIndex = i;
+            }
+         }
+         outputList.add( values.get( bestIndex ) );
+         selectedIndex = bestIndex;
+      }
+
+      outputList.add( values.get( inputSize - 1 ) );
+      return outputList;
+   }
+
+   @Override
+   public String toString()
+   {
+      return "WicaChannelValueLttbFilter{" +
+              "maxNumberOfSamples=" + maxNumberOfSamples +
+              '}';
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+
+   private static long getX( WicaChannelValue value )
+   {
+      return value.isConnected() ? ((WicaChannelValue.WicaChannelValueConnected) value).getDataSourceTimestampInEpochNanos() :
+                                   value.getWicaServerTimestampInEpochNanos();
+   }
+
+   private static double getY( WicaChannelValue value )
+   {
+      if ( ! value.isConnected() )
+      {
+         return Double.NaN;
+      }
+      switch ( value.getType() )
+      {
+         case REAL:
+            return ((WicaChannelValue.WicaChannelValueConnectedReal) value).getValue();
+
+         case INTEGER:
+            return ((WicaChannelValue.WicaChannelValueConnectedInteger) value).getValue();
+
+         default:
+            return Double.NaN;
+      }
+   }
+
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
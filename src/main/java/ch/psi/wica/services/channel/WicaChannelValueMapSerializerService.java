@@ -5,6 +5,7 @@ package ch.psi.wica.services.channel;
 
 import ch.psi.wica.infrastructure.channel.WicaChannelDataSerializerBuilder;
 import ch.psi.wica.model.channel.WicaChannel;
+import ch.psi.wica.model.channel.WicaChannelProperties;
 import ch.psi.wica.model.channel.WicaChannelValue;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -84,13 +85,16 @@ public class WicaChannelValueMapSerializerService
          for ( Object channel : value.keySet() )
          {
             final WicaChannel wicaChannel = (WicaChannel) channel;
-            final int numericScale = wicaChannel.getProperties().getNumericPrecision();
-            final Set<String> fieldsOfInterest = Set.of( wicaChannel.getProperties().getFieldsOfInterest().split(";" ) );
+            final WicaChannelProperties wicaChannelProperties = wicaChannel.getProperties();
+            final int numericScale = wicaChannelProperties.getNumericPrecision();
+            final Set<String> fieldsOfInterest = Set.of( wicaChannelProperties.getFieldsOfInterest().split(";" ) );
 
             final var serializer = WicaChannelDataSerializerBuilder.create()
                .withFieldsOfInterest( fieldsOfInterest )
                .withNumericScale( numericScale )
                .withQuotedNumericStrings( quoteNumericStrings )
+               .withWaveformDecimationPoints( wicaChannelProperties.getWaveformDecimationPoints() )
+               .withWaveformDecimationMode( wicaChannelProperties.getWaveformDecimationMode() )
                .build();
 
             gen.writeFieldName( wicaChannel.getName().toString() );
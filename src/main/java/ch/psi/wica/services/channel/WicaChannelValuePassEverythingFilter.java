@@ -8,6 +8,7 @@ import net.jcip.annotations.Immutable;
 import org.apache.commons.lang3.Validate;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 
 /*- Interface Declaration ----------------------------------------------------*/
@@ -18,7 +19,7 @@ import java.util.List;
  * unchanged.
  */
 @Immutable
-class WicaChannelValuePassEverythingFilter implements WicaChannelValueFilter
+class WicaChannelValuePassEverythingFilter implements WicaChannelValueStreamingFilter
 {
 
 /*- Public attributes --------------------------------------------------------*/
@@ -28,6 +29,12 @@ class WicaChannelValuePassEverythingFilter implements WicaChannelValueFilter
 /*- Class methods ------------------------------------------------------------*/
 /*- Public methods -----------------------------------------------------------*/
 
+   @Override
+   public void accept( WicaChannelValue inputValue, Consumer<WicaChannelValue> downstream )
+   {
+      downstream.accept( inputValue );
+   }
+
    @Override
    public List<WicaChannelValue> apply( List<WicaChannelValue> inputList )
    {
@@ -4,17 +4,9 @@ package ch.psi.wica.services.channel;
 /*- Imported packages --------------------------------------------------------*/
 
 import ch.psi.wica.model.channel.WicaChannelValue;
-import net.jcip.annotations.ThreadSafe;
+import net.jcip.annotations.NotThreadSafe;
 import org.apache.commons.lang3.Validate;
 
-import java.time.Duration;
-import java.time.LocalDateTime;
-import java.util.LinkedList;
-import java.util.List;
-
-import static java.time.temporal.ChronoUnit.MILLIS;
-
-
 /*- Interface Declaration ----------------------------------------------------*/
 /*- Class Declaration --------------------------------------------------------*/
 
@@ -22,15 +14,16 @@ import static java.time.temporal.ChronoUnit.MILLIS;
  * A filter that returns an output list with values taken from the input list
  * periodically according to the value's timestamp.
  */
-@ThreadSafe
-class WicaChannelValueRateLimitingFilter implements WicaChannelValueFilter
+@NotThreadSafe
+class WicaChannelValueRateLimitingFilter extends WicaChannelValueSelectingFilter
 {
 
 /*- Public attributes --------------------------------------------------------*/
 /*- Private attributes -------------------------------------------------------*/
 
-   private final Duration samplingInterval;
-   private LocalDateTime lastSampleTimestamp;
+   private final long samplingIntervalInNanos;
+   private long lastSampleTimestampInEpochNanos;
+   private boolean sampleTaken;
 
 
 /*- Main ---------------------------------------------------------------------*/
@@ -47,35 +40,36 @@ class WicaChannelValueRateLimitingFilter implements WicaChannelValueFilter
    {
       Validate.isTrue(samplingIntervalInMillis > 0 );
 
-      samplingInterval = Duration.of( samplingIntervalInMillis, MILLIS );
-      this.lastSampleTimestamp = LocalDateTime.MIN;
+      this.samplingIntervalInNanos = samplingIntervalInMillis * 1_000_000L;
+      this.sampleTaken = false;
    }
 
 /*- Class methods ------------------------------------------------------------*/
 /*- Public methods -----------------------------------------------------------*/
 
    @Override
-   public List<WicaChannelValue> apply( List<WicaChannelValue> inputList )
+   public String toString()
    {
-      final List<WicaChannelValue> outputList = new LinkedList<>();
-
-      for ( WicaChannelValue inputValue : inputList )
-      {
-         if ( Duration.between( lastSampleTimestamp, inputValue.getWicaServerTimestamp() ).compareTo( samplingInterval) > 0 )
-         {
-            outputList.add( inputValue );
-            lastSampleTimestamp = inputValue.getWicaServerTimestamp();
-         }
-      }
-      return outputList;
+      return "WicaChannelValueRateLimitingFilter{" +
+              "samplingIntervalInNanos=" + samplingIntervalInNanos +
+              '}';
    }
 
+/*- Protected methods --------------------------------------------------------*/
+
    @Override
-   public String toString()
+   protected boolean select( WicaChannelValue inputValue )
    {
-      return "WicaChannelValueRateLimitingFilter{" +
-              "samplingInterval=" + samplingInterval +
-              '}';
+      // The timestamps are compared in their primitive form to avoid creating
+      // temporary date/time objects for every value processed.
+      final long timestamp = inputValue.getWicaServerTimestampInEpochNanos();
+      if ( sampleTaken && ( timestamp - lastSampleTimestampInEpochNanos <= samplingIntervalInNanos ) )
+      {
+         return false;
+      }
+      lastSampleTimestampInEpochNanos = timestamp;
+      sampleTaken = true;
+      return true;
    }
 
 /*- Private methods ----------------------------------------------------------*/
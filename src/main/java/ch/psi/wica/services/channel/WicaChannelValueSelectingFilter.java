@@ -0,0 +1,91 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.services.channel;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.channel.WicaChannelValue;
+import net.jcip.annotations.NotThreadSafe;
+import org.apache.commons.lang3.Validate;
+
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+/**
+ * Base class for streaming filters whose output is always some subset of
+ * their input, that is to say filters which decide for each input value
+ * whether it should be passed on unchanged or discarded.
+ *
+ * When such a filter is applied to a whole list of values the output list
+ * is a {@link WicaChannelValueSelection} onto the input list which records
+ * only the positions of the selected values. The selection is owned by the
+ * filter and reused on each invocation, so the output list remains valid
+ * only until the filter is next applied. Where every input value is selected
+ * the input list itself is returned.
+ */
+@NotThreadSafe
+abstract class WicaChannelValueSelectingFilter implements WicaChannelValueStreamingFilter
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private final WicaChannelValueSelection selection = new WicaChannelValueSelection();
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @Override
+   public final void accept( WicaChannelValue inputValue, Consumer<WicaChannelValue> downstream )
+   {
+      if ( select( inputValue ) )
+      {
+         downstream.accept( inputValue );
+      }
+   }
+
+   @Override
+   public List<WicaChannelValue> apply( List<WicaChannelValue> inputList )
+   {
+      Validate.notNull( inputList );
+
+      // Lists without efficient positional access are processed by the
+      // general purpose implementation.
+      if ( ! ( inputList instanceof RandomAccess ) )
+      {
+         return WicaChannelValueStreamingFilter.super.apply( inputList );
+      }
+
+      final int inputSize = inputList.size();
+      selection.reset( inputList );
+      for ( int position = 0; position < inputSize; position++ )
+      {
+         if ( select( inputList.get( position ) ) )
+         {
+            selection.select( position );
+         }
+      }
+      return selection.size() == inputSize ? inputList : selection;
+   }
+
+/*- Protected methods --------------------------------------------------------*/
+
+   /**
+    * Processes the next input value, updating the filter's state and
+    * deciding whether the value should be passed on.
+    *
+    * @param inputValue the value to process.
+    * @return true when the value should be passed on.
+    */
+   protected abstract boolean select( WicaChannelValue inputValue );
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
@@ -0,0 +1,107 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.services.channel;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.channel.WicaChannelValue;
+import net.jcip.annotations.NotThreadSafe;
+import org.apache.commons.lang3.Validate;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+/**
+ * An unmodifiable view onto a subset of the values in some source list,
+ * where the subset is described by the positions of the selected values.
+ *
+ * Instances are intended to be reused: each call to {@link #reset(List)}
+ * discards the previous selection but retains the storage used to hold
+ * the positions, so that a filter which selects values from successive
+ * input lists does not need to allocate a new output list each time.
+ *
+ * The source list is not copied, so the view reflects the source list's
+ * current contents. It is intended for use with source lists which do not
+ * change, such as the snapshots obtained from the stream data buffers.
+ */
+@NotThreadSafe
+class WicaChannelValueSelection extends AbstractList<WicaChannelValue> implements RandomAccess
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private static final int INITIAL_CAPACITY = 16;
+
+   private List<WicaChannelValue> source;
+   private int[] positions;
+   private int size;
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+
+   /**
+    * Constructs a new instance with an empty selection.
+    */
+   WicaChannelValueSelection()
+   {
+      this.source = List.of();
+      this.positions = new int[ INITIAL_CAPACITY ];
+      this.size = 0;
+   }
+
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @Override
+   public WicaChannelValue get( int index )
+   {
+      Validate.validIndex( this, index );
+      return source.get( positions[ index ] );
+   }
+
+   @Override
+   public int size()
+   {
+      return size;
+   }
+
+/*- Package-level methods ----------------------------------------------------*/
+
+   /**
+    * Discards the current selection and starts a new, empty, selection of
+    * values from the specified source list.
+    *
+    * @param source the list from which values will be selected.
+    */
+   void reset( List<WicaChannelValue> source )
+   {
+      this.source = Validate.notNull( source );
+      this.size = 0;
+      this.modCount++;
+   }
+
+   /**
+    * Adds the value at the specified position in the source list to the end
+    * of the selection.
+    *
+    * @param position the position of the value in the source list.
+    */
+   void select( int position )
+   {
+      if ( size == positions.length )
+      {
+         positions = Arrays.copyOf( positions, Math.max( size * 2, source.size() ) );
+      }
+      positions[ size++ ] = position;
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
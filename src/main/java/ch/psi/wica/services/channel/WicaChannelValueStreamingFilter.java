@@ -0,0 +1,72 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.services.channel;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.channel.WicaChannelValue;
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+
+/*- Interface Declaration ----------------------------------------------------*/
+
+/**
+ * A filter which processes its input one value at a time, passing each value
+ * that it produces directly to a downstream consumer.
+ *
+ * Filters of this type can be connected one after another in a
+ * {@link WicaChannelValueFilterChain} so that a list of values is filtered
+ * in a single pass, without any intermediate lists being created between
+ * the filters.
+ */
+interface WicaChannelValueStreamingFilter extends WicaChannelValueFilter
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   /**
+    * Processes the next input value, passing any values produced to the
+    * downstream consumer.
+    *
+    * @param inputValue the value to process.
+    * @param downstream the consumer of the values produced.
+    */
+   void accept( WicaChannelValue inputValue, Consumer<WicaChannelValue> downstream );
+
+   /**
+    * Signals that the last value in the current list of input values has been
+    * processed. Filters whose output depends on the whole of the input list
+    * produce their values here.
+    *
+    * The default implementation does nothing.
+    *
+    * @param downstream the consumer of the values produced.
+    */
+   default void complete( Consumer<WicaChannelValue> downstream ) {}
+
+   @Override
+   default List<WicaChannelValue> apply( List<WicaChannelValue> inputList )
+   {
+      Validate.notNull( inputList );
+      final List<WicaChannelValue> outputList = new ArrayList<>();
+      final Consumer<WicaChannelValue> downstream = outputList::add;
+      for ( WicaChannelValue inputValue : inputList )
+      {
+         accept( inputValue, downstream );
+      }
+      complete( downstream );
+      return outputList;
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
@@ -0,0 +1,318 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.services.stream;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import net.jcip.annotations.Immutable;
+import net.jcip.annotations.ThreadSafe;
+import org.apache.commons.lang3.Validate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+/**
+ * Provides a reference-counting registry which keeps track of the level of
+ * interest in a set of resources and which releases each resource after a
+ * grace interval once the interest in it has dropped to zero.
+ *
+ * All updates to the interest count of a given key are performed atomically
+ * using {@link ConcurrentHashMap#compute}. The compute functions only decide
+ * whether a key is being registered or released: the associated actions are
+ * run afterwards, outside the map's internal locks, under a monitor which is
+ * shared by successive registrations of the same key so that the actions for
+ * a key always run in order. Deferred releases are scheduled on a
+ * {@link DelayQueue} so that the cost of processing them is proportional to
+ * the number of expired entries rather than to the number of keys.
+ *
+ * @param <K> the type of key that identifies the resource.
+ */
+@ThreadSafe
+class WicaChannelInterestRegistry<K>
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private final Duration releaseDelay;
+   private final Map<K,Interest> interestMap = new ConcurrentHashMap<>();
+   private final DelayQueue<PendingRelease<K>> pendingReleaseQueue = new DelayQueue<>();
+   private final AtomicLong generationSequencer = new AtomicLong( 0 );
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+
+   /**
+    * Constructs a new instance.
+    *
+    * @param releaseDelay the period after which a resource whose interest
+    *     count has dropped to zero will be released.
+    */
+   WicaChannelInterestRegistry( Duration releaseDelay )
+   {
+      this.releaseDelay = Validate.notNull( releaseDelay );
+      Validate.isTrue( ! releaseDelay.isNegative(), "The 'releaseDelay' argument was negative." );
+   }
+
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+/*- Package-level methods ----------------------------------------------------*/
+
+   /**
+    * Increments the interest count for the specified key.
+    *
+    * When the key is not yet known to the registry, or its release is in
+    * progress, the supplied action is run after the count is recorded. The
+    * action is run at most once per registration and after the release action
+    * of any previous registration has completed. Concurrent callers for the
+    * same key wait until it has completed.
+    *
+    * @param key the key.
+    * @param onFirstAcquire the action to run when the key is first registered.
+    * @return the new interest count.
+    */
+   int acquire( K key, Runnable onFirstAcquire )
+   {
+      Validate.notNull( key );
+      Validate.notNull( onFirstAcquire );
+
+      final boolean[] firstAcquire = { false };
+      final Interest interest = interestMap.compute( key, ( k, current ) -> {
+         if ( current == null )
+         {
+            firstAcquire[ 0 ] = true;
+            return new Interest( 1, nextGeneration(), new Object(), new CompletableFuture<>(), false );
+         }
+         if ( current.releasing )
+         {
+            firstAcquire[ 0 ] = true;
+            return new Interest( 1, nextGeneration(), current.lock, new CompletableFuture<>(), false );
+         }
+         return current.withCount( current.count + 1, current.generation );
+      } );
+
+      if ( firstAcquire[ 0 ] )
+      {
+         synchronized ( interest.lock )
+         {
+            try
+            {
+               onFirstAcquire.run();
+            }
+            finally
+            {
+               interest.acquired.complete( null );
+            }
+         }
+      }
+      else
+      {
+         interest.acquired.join();
+      }
+      return interest.count;
+   }
+
+   /**
+    * Decrements the interest count for the specified key.
+    *
+    * When the count reaches zero the key is scheduled for release after the
+    * grace interval. A subsequent call to {@link #acquire} before the grace
+    * interval has elapsed cancels the release.
+    *
+    * @param key the key.
+    * @return the new interest count.
+    * @throws IllegalStateException if the key was not registered or its
+    *     interest count was already zero.
+    */
+   int release( K key )
+   {
+      Validate.notNull( key );
+
+      final Interest interest = interestMap.computeIfPresent( key, ( k, current ) -> {
+         Validate.validState( current.count > 0, "The interest count was already zero." );
+         return current.withCount( current.count - 1, current.count == 1 ? nextGeneration() : current.generation );
+      } );
+      Validate.validState( interest != null, "The key was not registered." );
+
+      if ( interest.count == 0 )
+      {
+         pendingReleaseQueue.add( new PendingRelease<>( key, interest.generation, System.nanoTime() + releaseDelay.toNanos() ) );
+      }
+      return interest.count;
+   }
+
+   /**
+    * Releases all keys whose grace interval has elapsed and whose interest
+    * count is still zero.
+    *
+    * For each such key the supplied action is run and the key is removed
+    * from the registry. A concurrent {@link #acquire} which arrives while the
+    * action is running starts a new registration whose action runs only once
+    * the release action has completed.
+    *
+    * @param onRelease the action to run for each released key.
+    * @return the number of keys that were released.
+    */
+   int releaseExpired( Consumer<K> onRelease )
+   {
+      Validate.notNull( onRelease );
+
+      int releaseCount = 0;
+      PendingRelease<K> pendingRelease;
+      while ( ( pendingRelease = pendingReleaseQueue.poll() ) != null )
+      {
+         final PendingRelease<K> expired = pendingRelease;
+         final Interest[] released = { null };
+         interestMap.computeIfPresent( expired.key, ( k, current ) -> {
+
+            // The release is stale if the key has been re-acquired since it was scheduled.
+            if ( current.count > 0 || current.generation != expired.generation || current.releasing )
+            {
+               return current;
+            }
+            released[ 0 ] = new Interest( 0, current.generation, current.lock, current.acquired, true );
+            return released[ 0 ];
+         } );
+
+         if ( released[ 0 ] != null )
+         {
+            synchronized ( released[ 0 ].lock )
+            {
+               onRelease.accept( expired.key );
+            }
+            // The entry is only removed if it was not re-acquired in the meantime.
+            interestMap.remove( expired.key, released[ 0 ] );
+            releaseCount++;
+         }
+      }
+      return releaseCount;
+   }
+
+   /**
+    * Returns the interest count for the specified key.
+    *
+    * @param key the key.
+    * @return the count, or zero if the key is not registered.
+    */
+   int getInterestCount( K key )
+   {
+      final Interest interest = interestMap.get( key );
+      return interest == null ? 0 : interest.count;
+   }
+
+   /**
+    * Returns the time of the last acquire or release on the specified key.
+    *
+    * @param key the key.
+    * @return the result, or empty if the key is not registered.
+    */
+   Optional<LocalDateTime> getLastEvent( K key )
+   {
+      return Optional.ofNullable( interestMap.get( key ) ).map( i -> i.lastEvent );
+   }
+
+   /**
+    * Returns the number of keys that are currently registered.
+    *
+    * @return the result.
+    */
+   int size()
+   {
+      return interestMap.size();
+   }
+
+   /**
+    * Returns the number of releases that are waiting for their grace interval
+    * to elapse (including any that have been cancelled by a later acquire).
+    *
+    * @return the result.
+    */
+   int getPendingReleaseCount()
+   {
+      return pendingReleaseQueue.size();
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+
+   private long nextGeneration()
+   {
+      return generationSequencer.incrementAndGet();
+   }
+
+/*- Nested Classes -----------------------------------------------------------*/
+
+   @Immutable
+   private static class Interest
+   {
+      private final int count;
+      private final long generation;
+      private final LocalDateTime lastEvent;
+
+      // The monitor which serialises the actions for the key. It is shared
+      // by all registrations of the key until the key is removed.
+      private final Object lock;
+
+      // Completes when the action for the current registration has run.
+      private final CompletableFuture<Void> acquired;
+
+      // Whether the release action for the key is in progress.
+      private final boolean releasing;
+
+      private Interest( int count, long generation, Object lock, CompletableFuture<Void> acquired, boolean releasing )
+      {
+         this.count = count;
+         this.generation = generation;
+         this.lastEvent = LocalDateTime.now();
+         this.lock = lock;
+         this.acquired = acquired;
+         this.releasing = releasing;
+      }
+
+      private Interest withCount( int count, long generation )
+      {
+         return new Interest( count, generation, lock, acquired, releasing );
+      }
+   }
+
+   @Immutable
+   private static class PendingRelease<K> implements Delayed
+   {
+      private final K key;
+      private final long generation;
+      private final long expiryTimeInNanos;
+
+      private PendingRelease( K key, long generation, long expiryTimeInNanos )
+      {
+         this.key = key;
+         this.generation = generation;
+         this.expiryTimeInNanos = expiryTimeInNanos;
+      }
+
+      @Override
+      public long getDelay( TimeUnit unit )
+      {
+         return unit.convert( expiryTimeInNanos - System.nanoTime(), TimeUnit.NANOSECONDS );
+      }
+
+      @Override
+      public int compareTo( Delayed other )
+      {
+         // The queue only ever contains instances of this class. Comparing the
+         // expiry times directly gives a consistent ordering, which comparing
+         // delays obtained at different instants would not.
+         return Long.compare( expiryTimeInNanos, ((PendingRelease<?>) other).expiryTimeInNanos );
+      }
+   }
+
+}
@@ -0,0 +1,221 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.services.stream;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.app.ControlSystemName;
+import ch.psi.wica.model.channel.WicaChannel;
+import ch.psi.wica.model.channel.WicaChannelAlarmSeverity;
+import ch.psi.wica.model.channel.WicaChannelValue;
+import net.jcip.annotations.ThreadSafe;
+import org.apache.commons.lang3.Validate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+/**
+ * Maintains a count of the channels in a wica stream which are currently
+ * offline and of those which are online in each of the alarm severities.
+ *
+ * The counts are maintained incrementally: each update concerns a single
+ * control system channel and moves it (together with any other wica
+ * channels in the stream which share the same control point) from one count
+ * to another.
+ *
+ * The summary is serialized in the following form, in which the keys of
+ * the "sevr" object are the alarm severities as they appear in the channel
+ * values:
+ * <pre>
+ *    {"total":10,"offline":1,"sevr":{"0":6,"1":2,"2":1,"3":0}}
+ * </pre>
+ */
+@ThreadSafe
+class WicaStreamAlarmSummary
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   // The counts are indexed by alarm severity, with an additional
+   // entry at the end for the channels which are offline.
+   private static final int OFFLINE = WicaChannelAlarmSeverity.values().length;
+
+   private final Map<ControlSystemName,Entry> entries = new HashMap<>();
+   private final int[] counts = new int[ OFFLINE + 1 ];
+   private int totalCount;
+   private boolean changed;
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @Override
+   public synchronized String toString()
+   {
+      return "WicaStreamAlarmSummary{" + serialize() + '}';
+   }
+
+/*- Package-access methods ---------------------------------------------------*/
+
+   /**
+    * Discards the current counts and recalculates them for the specified
+    * channels. Channels for which no value is available are counted as
+    * offline.
+    *
+    * The latest values are obtained whilst the lock on this summary is held
+    * so that any update which arrives concurrently is applied after the
+    * summary has been recalculated rather than being lost.
+    *
+    * @param wicaChannels the channels to be summarised.
+    * @param latestValuesSupplier supplies the latest values of the channels.
+    */
+   synchronized void reset( Collection<WicaChannel> wicaChannels, Supplier<Map<WicaChannel,List<WicaChannelValue>>> latestValuesSupplier )
+   {
+      Validate.notNull( wicaChannels );
+      Validate.notNull( latestValuesSupplier );
+
+      final Map<WicaChannel,List<WicaChannelValue>> latestValues = Validate.notNull( latestValuesSupplier.get() );
+
+      entries.clear();
+      for ( int i = 0; i < counts.length; i++ )
+      {
+         counts[ i ] = 0;
+      }
+
+      for ( WicaChannel wicaChannel : wicaChannels )
+      {
+         final List<WicaChannelValue> values = latestValues.get( wicaChannel );
+         final int category = ( ( values == null ) || values.isEmpty() ) ? OFFLINE : getCategory( values.get( values.size() - 1 ) );
+         final Entry entry = entries.computeIfAbsent( wicaChannel.getName().getControlSystemName(), k -> new Entry( category ) );
+         entry.multiplicity++;
+         counts[ entry.category ]++;
+      }
+      totalCount = wicaChannels.size();
+      changed = true;
+   }
+
+   /**
+    * Records the latest value of the specified control system channel.
+    * Values for channels which are not part of the summary are ignored.
+    *
+    * @param controlSystemName the name of the channel.
+    * @param wicaChannelValue the value.
+    */
+   synchronized void update( ControlSystemName controlSystemName, WicaChannelValue wicaChannelValue )
+   {
+      Validate.notNull( controlSystemName );
+      Validate.notNull( wicaChannelValue );
+
+      final Entry entry = entries.get( controlSystemName );
+      if ( entry == null )
+      {
+         return;
+      }
+      final int category = getCategory( wicaChannelValue );
+      if ( category == entry.category )
+      {
+         return;
+      }
+      counts[ entry.category ] -= entry.multiplicity;
+      counts[ category ] += entry.multiplicity;
+      entry.category = category;
+      changed = true;
+   }
+
+   /**
+    * Returns the serialized summary if any of the counts have changed since
+    * the last time this method was called.
+    *
+    * @return the result.
+    */
+   synchronized Optional<String> getSerializedSummaryIfChanged()
+   {
+      if ( ! changed )
+      {
+         return Optional.empty();
+      }
+      changed = false;
+      return Optional.of( serialize() );
+   }
+
+   /**
+    * Returns the number of channels which are online and in the specified
+    * alarm severity.
+    *
+    * @param wicaChannelAlarmSeverity the severity.
+    * @return the result.
+    */
+   synchronized int getCount( WicaChannelAlarmSeverity wicaChannelAlarmSeverity )
+   {
+      return counts[ wicaChannelAlarmSeverity.ordinal() ];
+   }
+
+   /**
+    * Returns the number of channels which are offline.
+    *
+    * @return the result.
+    */
+   synchronized int getOfflineCount()
+   {
+      return counts[ OFFLINE ];
+   }
+
+   /**
+    * Returns the number of channels which are being summarised.
+    *
+    * @return the result.
+    */
+   synchronized int getTotalCount()
+   {
+      return totalCount;
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+
+   private String serialize()
+   {
+      final StringBuilder sb = new StringBuilder( 64 );
+      sb.append( "{\"total\":" ).append( totalCount )
+        .append( ",\"offline\":" ).append( counts[ OFFLINE ] )
+        .append( ",\"sevr\":{" );
+      for ( WicaChannelAlarmSeverity severity : WicaChannelAlarmSeverity.values() )
+      {
+         if ( severity.ordinal() > 0 )
+         {
+            sb.append( ',' );
+         }
+         sb.append( '"' ).append( severity ).append( "\":" ).append( counts[ severity.ordinal() ] );
+      }
+      return sb.append( "}}" ).toString();
+   }
+
+   private static int getCategory( WicaChannelValue wicaChannelValue )
+   {
+      return wicaChannelValue.isConnected() ?
+         ((WicaChannelValue.WicaChannelValueConnected) wicaChannelValue).getWicaAlarmSeverity().ordinal() : OFFLINE;
+   }
+
+/*- Nested Classes -----------------------------------------------------------*/
+
+   private static class Entry
+   {
+      private int category;
+      private int multiplicity;
+
+      Entry( int category )
+      {
+         this.category = category;
+         this.multiplicity = 0;
+      }
+   }
+
+}
@@ -0,0 +1,270 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.services.stream;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.controlsystem.event.WicaChannelMonitoredValueUpdateEvent;
+import ch.psi.wica.controlsystem.event.WicaChannelStartMonitoringEvent;
+import ch.psi.wica.controlsystem.event.WicaChannelStopMonitoringEvent;
+import ch.psi.wica.model.app.ControlSystemName;
+import ch.psi.wica.model.app.WicaDataBufferStorageKey;
+import ch.psi.wica.model.channel.WicaChannel;
+import ch.psi.wica.model.channel.WicaChannelAlarmSeverity;
+import ch.psi.wica.model.channel.WicaChannelAlarmStatus;
+import ch.psi.wica.model.channel.WicaChannelData;
+import ch.psi.wica.model.channel.WicaChannelExpression;
+import ch.psi.wica.model.channel.WicaChannelValue;
+import net.jcip.annotations.ThreadSafe;
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+/**
+ * Provides a service which computes the values of derived channels, that is
+ * to say channels whose names have the form 'calc://expression' and whose
+ * values are computed by the wica server from the values of other channels.
+ *
+ * A derived channel is evaluated each time a monitored value is received for
+ * any of its inputs. The result is published as a monitored value of the
+ * derived channel itself so that it is buffered, filtered and published in
+ * the same way as the value of any other channel.
+ *
+ * The derived value is offline whenever any of its inputs is offline. Its
+ * alarm state is that of the input with the most severe alarm and its data
+ * source timestamp is the latest of the timestamps of its inputs. Inputs of
+ * non-numeric types contribute the value NaN.
+ */
+@Service
+@ThreadSafe
+public class WicaStreamDerivedValueService
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private final Logger logger = LoggerFactory.getLogger( WicaStreamDerivedValueService.class );
+
+   private final ApplicationEventPublisher applicationEventPublisher;
+   private final WicaStreamMonitoredValueCollectorService wicaStreamMonitoredValueCollectorService;
+
+   private final Map<WicaDataBufferStorageKey,DerivedChannel> derivedChannels = new ConcurrentHashMap<>();
+   private final Map<ControlSystemName,List<DerivedChannel>> dependentChannels = new ConcurrentHashMap<>();
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+
+   /**
+    * Constructs a new instance.
+    *
+    * @param applicationEventPublisher the publisher which will be used to
+    *     publish the values of the derived channels.
+    * @param wicaStreamMonitoredValueCollectorService the service which
+    *     provides the values which were received for the input channels before
+    *     the derived channel was started.
+    */
+   public WicaStreamDerivedValueService( @Autowired ApplicationEventPublisher applicationEventPublisher,
+                                         @Autowired WicaStreamMonitoredValueCollectorService wicaStreamMonitoredValueCollectorService )
+   {
+      this.applicationEventPublisher = Validate.notNull( applicationEventPublisher );
+      this.wicaStreamMonitoredValueCollectorService = Validate.notNull( wicaStreamMonitoredValueCollectorService );
+   }
+
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @EventListener
+   public void handleWicaChannelStartMonitoringEvent( WicaChannelStartMonitoringEvent event )
+   {
+      Validate.notNull( event );
+      final WicaChannel wicaChannel = event.get();
+      if ( ! wicaChannel.getName().isDerived() )
+      {
+         return;
+      }
+
+      final WicaDataBufferStorageKey wicaDataBufferStorageKey = WicaDataBufferStorageKey.getMonitoredValueStorageKey( wicaChannel );
+      final WicaChannelExpression expression = WicaChannelExpression.of( wicaChannel.getName() );
+      final Consumer<WicaChannelValue> publisher = v -> applicationEventPublisher.publishEvent( new WicaChannelMonitoredValueUpdateEvent( wicaChannel, v ) );
+      final DerivedChannel derivedChannel = new DerivedChannel( expression, publisher );
+      if ( derivedChannels.putIfAbsent( wicaDataBufferStorageKey, derivedChannel ) != null )
+      {
+         return;
+      }
+      logger.info( "Starting evaluation of derived channel: '{}'", wicaChannel );
+
+      // Register for updates before looking at the values which were already
+      // received for the inputs so that no update can be missed.
+      final List<ControlSystemName> inputs = expression.getInputs();
+      inputs.forEach( n -> dependentChannels.computeIfAbsent( n, k -> new CopyOnWriteArrayList<>() ).add( derivedChannel ) );
+      for ( int i = 0; i < inputs.size(); i++ )
+      {
+         final int index = i;
+         wicaStreamMonitoredValueCollectorService.findLatest( inputs.get( i ) ).ifPresent( v -> derivedChannel.initialise( index, v ) );
+      }
+   }
+
+   @EventListener
+   public void handleWicaChannelStopMonitoringEvent( WicaChannelStopMonitoringEvent event )
+   {
+      Validate.notNull( event );
+      final WicaChannel wicaChannel = event.get();
+      if ( ! wicaChannel.getName().isDerived() )
+      {
+         return;
+      }
+
+      final DerivedChannel derivedChannel = derivedChannels.remove( WicaDataBufferStorageKey.getMonitoredValueStorageKey( wicaChannel ) );
+      if ( derivedChannel == null )
+      {
+         return;
+      }
+      logger.info( "Stopping evaluation of derived channel: '{}'", wicaChannel );
+      derivedChannel.getInputs().forEach( n -> dependentChannels.computeIfPresent( n, ( k, list ) -> {
+         list.remove( derivedChannel );
+         return list.isEmpty() ? null : list;
+      } ) );
+   }
+
+   @EventListener
+   public void handleWicaChannelMonitoredValueUpdateEvent( WicaChannelMonitoredValueUpdateEvent event )
+   {
+      Validate.notNull( event );
+      final WicaChannel wicaChannel = event.getWicaChannel();
+      if ( wicaChannel.getName().isDerived() )
+      {
+         return;
+      }
+
+      final ControlSystemName controlSystemName = wicaChannel.getName().getControlSystemName();
+      final List<DerivedChannel> dependents = dependentChannels.get( controlSystemName );
+      if ( dependents == null )
+      {
+         return;
+      }
+      for ( DerivedChannel derivedChannel : dependents )
+      {
+         derivedChannel.update( derivedChannel.getInputs().indexOf( controlSystemName ), event.getWicaChannelValue() );
+      }
+   }
+
+/*- Package-access methods ---------------------------------------------------*/
+
+   /**
+    * Returns the number of derived channels which are currently being evaluated.
+    *
+    * @return the result.
+    */
+   int getDerivedChannelCount()
+   {
+      return derivedChannels.size();
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+   /**
+    * Holds the most recent values of the inputs of a derived channel and
+    * publishes a new value each time one of them changes.
+    */
+   @ThreadSafe
+   private static class DerivedChannel
+   {
+      private final WicaChannelExpression expression;
+      private final Consumer<WicaChannelValue> publisher;
+      private final WicaChannelValue[] inputValues;
+      private final double[] numericInputValues;
+      private boolean connected;
+
+      DerivedChannel( WicaChannelExpression expression, Consumer<WicaChannelValue> publisher )
+      {
+         this.expression = expression;
+         this.publisher = publisher;
+         this.inputValues = new WicaChannelValue[ expression.getInputs().size() ];
+         this.numericInputValues = new double[ expression.getInputs().size() ];
+
+         // The derived channel starts in the offline state, which is
+         // published when monitoring of the channel is requested.
+         this.connected = false;
+      }
+
+      List<ControlSystemName> getInputs()
+      {
+         return expression.getInputs();
+      }
+
+      // Sets the initial value of an input unless an update has already
+      // been received for it.
+      synchronized void initialise( int inputIndex, WicaChannelValue inputValue )
+      {
+         if ( inputValues[ inputIndex ] == null )
+         {
+            update( inputIndex, inputValue );
+         }
+      }
+
+      // Publishing takes place while the lock is held so that the values
+      // of the derived channel are published in the order computed.
+      synchronized void update( int inputIndex, WicaChannelValue inputValue )
+      {
+         inputValues[ inputIndex ] = inputValue;
+
+         WicaChannelAlarmSeverity severity = null;
+         WicaChannelAlarmStatus status = null;
+         long timestampInEpochNanos = Long.MIN_VALUE;
+         for ( int i = 0; i < inputValues.length; i++ )
+         {
+            if ( ( inputValues[ i ] == null ) || ( ! inputValues[ i ].isConnected() ) )
+            {
+               // Only the transition to the offline state is published.
+               if ( connected )
+               {
+                  connected = false;
+                  publisher.accept( WicaChannelValue.createChannelValueDisconnected() );
+               }
+               return;
+            }
+            final WicaChannelValue.WicaChannelValueConnected connectedValue = (WicaChannelValue.WicaChannelValueConnected) inputValues[ i ];
+            numericInputValues[ i ] = getNumericValue( connectedValue );
+            if ( ( severity == null ) || ( connectedValue.getWicaAlarmSeverity().ordinal() > severity.ordinal() ) )
+            {
+               severity = connectedValue.getWicaAlarmSeverity();
+               status = connectedValue.getWicaChannelAlarmStatus();
+            }
+            timestampInEpochNanos = Math.max( timestampInEpochNanos, connectedValue.getDataSourceTimestampInEpochNanos() );
+         }
+
+         connected = true;
+         final double result = expression.evaluate( numericInputValues );
+         publisher.accept( WicaChannelValue.createChannelValueConnected( severity, status, WicaChannelData.fromEpochNanos( timestampInEpochNanos ), result ) );
+      }
+
+      private static double getNumericValue( WicaChannelValue.WicaChannelValueConnected value )
+      {
+         switch ( value.getWicaChannelType() )
+         {
+            case REAL:
+               return ((WicaChannelValue.WicaChannelValueConnectedReal) value).getValue();
+
+            case INTEGER:
+               return ((WicaChannelValue.WicaChannelValueConnectedInteger) value).getValue();
+
+            default:
+               return Double.NaN;
+         }
+      }
+   }
+
+}
@@ -7,24 +7,36 @@ package ch.psi.wica.services.stream;
 
 import ch.psi.wica.infrastructure.stream.WicaStreamConfigurationDecoder;
 import ch.psi.wica.model.app.StatisticsCollectionService;
+import ch.psi.wica.model.channel.WicaChannel;
 import ch.psi.wica.model.stream.WicaStream;
 import ch.psi.wica.model.stream.WicaStreamId;
+import ch.psi.wica.model.stream.WicaStreamProperties;
 import ch.psi.wica.services.channel.WicaChannelMetadataMapSerializerService;
+import ch.psi.wica.services.channel.WicaChannelValueFilteringService;
 import ch.psi.wica.services.channel.WicaChannelValueMapSerializerService;
+import net.jcip.annotations.Immutable;
 import net.jcip.annotations.ThreadSafe;
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.time.StopWatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 
-import java.util.Collections;
-import java.util.HashMap;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Service
 @ThreadSafe
@@ -34,9 +46,15 @@ public class WicaStreamLifecycleService
 /*- Public attributes --------------------------------------------------------*/
 /*- Private attributes -------------------------------------------------------*/
 
+   private static final int IDLE_STREAM_SCAN_INTERVAL = 10_000;
+
    private final Logger logger = LoggerFactory.getLogger(WicaStreamLifecycleService.class );
 
-   private final Map<WicaStreamId, WicaStreamServerSentEventPublisher> wicaStreamPublisherMap = Collections.synchronizedMap( new HashMap<>() );
+   private final Map<WicaStreamId, WicaStreamServerSentEventPublisher> wicaStreamPublisherMap = new ConcurrentHashMap<>();
+   private final Map<WicaStreamContent, SharedPublisher> sharedPublisherMap = new ConcurrentHashMap<>();
+
+   private final boolean wicaStreamDeduplicationEnabled;
+   private final int wicaStreamIdleTimeoutInSecs;
 
    private final WicaStreamConfigurationDecoder wicaStreamConfigurationDecoder;
    private final WicaStreamMonitoredValueRequesterService wicaStreamMonitoredValueRequesterService;
@@ -46,6 +64,7 @@ public class WicaStreamLifecycleService
    private final WicaStreamPolledValueCollectorService wicaStreamPolledValueCollectorService;
    private final WicaChannelMetadataMapSerializerService wicaChannelMetadataMapSerializerService;
    private final WicaChannelValueMapSerializerService wicaChannelValueMapSerializerService;
+   private final WicaChannelValueFilteringService wicaChannelValueFilteringService;
    private final WicaStreamLifecycleStatistics wicaStreamLifecycleStatistics;
 
 
@@ -53,6 +72,12 @@ public class WicaStreamLifecycleService
 /*- Constructor --------------------------------------------------------------*/
 
    /**
+    *
+    * @param wicaStreamDeduplicationEnabled whether streams with identical configurations
+    *        should share a single publisher and a single set of channel monitors and pollers.
+    *
+    * @param wicaStreamIdleTimeoutInSecs the period after which a stream without any
+    *        subscribers will be deleted automatically. Zero disables the feature.
     *
     * @param wicaStreamConfigurationDecoder refernce to the service that can decode the JSON stream configuration.
     *
@@ -74,8 +99,11 @@ public class WicaStreamLifecycleService
     *        this class instance.
     * @param wicaChannelMetadataMapSerializerService reference to the service that serializes the metadata map.
     * @param wicaChannelValueMapSerializerService reference to the service that serializes the value map.
+    * @param wicaChannelValueFilteringService reference to the service that filters the channel values.
     */
-   public WicaStreamLifecycleService( @Autowired WicaStreamConfigurationDecoder wicaStreamConfigurationDecoder,
+   public WicaStreamLifecycleService( @Value( "${wica.stream-deduplication-enabled:false}" ) boolean wicaStreamDeduplicationEnabled,
+                                      @Value( "${wica.stream-idle-timeout-in-secs:0}" ) int wicaStreamIdleTimeoutInSecs,
+                                      @Autowired WicaStreamConfigurationDecoder wicaStreamConfigurationDecoder,
                                       @Autowired WicaStreamMonitoredValueRequesterService wicaStreamMonitoredValueRequesterService,
                                       @Autowired WicaStreamPolledValueRequesterService wicaStreamPolledValueRequesterService,
                                       @Autowired WicaStreamMetadataCollectorService wicaStreamMetadataCollectorService,
@@ -83,9 +111,13 @@ public class WicaStreamLifecycleService
                                       @Autowired WicaStreamPolledValueCollectorService wicaStreamPolledValueCollectorService,
                                       @Autowired WicaChannelMetadataMapSerializerService wicaChannelMetadataMapSerializerService,
                                       @Autowired WicaChannelValueMapSerializerService wicaChannelValueMapSerializerService,
+                                      @Autowired WicaChannelValueFilteringService wicaChannelValueFilteringService,
                                       @Autowired StatisticsCollectionService statisticsCollectionService
    )
    {
+      Validate.isTrue( wicaStreamIdleTimeoutInSecs >= 0, "The 'wicaStreamIdleTimeoutInSecs' argument was negative." );
+      this.wicaStreamDeduplicationEnabled = wicaStreamDeduplicationEnabled;
+      this.wicaStreamIdleTimeoutInSecs = wicaStreamIdleTimeoutInSecs;
       this.wicaStreamConfigurationDecoder = wicaStreamConfigurationDecoder;
       this.wicaStreamMonitoredValueRequesterService = Validate.notNull( wicaStreamMonitoredValueRequesterService);
       this.wicaStreamPolledValueRequesterService = Validate.notNull(wicaStreamPolledValueRequesterService);
@@ -94,9 +126,16 @@ public class WicaStreamLifecycleService
       this.wicaStreamPolledValueCollectorService = wicaStreamPolledValueCollectorService;
       this.wicaChannelMetadataMapSerializerService = wicaChannelMetadataMapSerializerService;
       this.wicaChannelValueMapSerializerService = wicaChannelValueMapSerializerService;
+      this.wicaChannelValueFilteringService = wicaChannelValueFilteringService;
 
       this.wicaStreamLifecycleStatistics = new WicaStreamLifecycleStatistics("WICA STREAM LIFECYCLE SERVICE" );
       statisticsCollectionService.addCollectable( wicaStreamLifecycleStatistics );
+
+      statisticsCollectionService.addCollectable( new WicaStreamResourceStatistics( "WICA STREAM RESOURCES",
+                                                                                    wicaStreamMonitoredValueCollectorService::getRetainedChannelCount,
+                                                                                    wicaStreamPolledValueCollectorService::getRetainedChannelCount,
+                                                                                    wicaStreamMetadataCollectorService::getRetainedChannelCount,
+                                                                                    wicaChannelValueFilteringService::getFilterCount ) );
    }
 
 /*- Class methods ------------------------------------------------------------*/
@@ -115,57 +154,44 @@ public class WicaStreamLifecycleService
 
       logger.info( "Creating new stream from config string: '{}'", jsonStreamConfiguration );
 
-      // To ensure consistency the following operations are performed as a single atomic operation.
-      synchronized( this )
-      {
-         // Attempt to decode the stream configuration.
-         final StopWatch streamDecodeTimer = StopWatch.createStarted();
+      // Note: no global lock is taken here. Decoding is side-effect free, the
+      // requester services maintain their per-channel interest counts atomically
+      // and each stream has a unique id, so streams can be created in parallel.
 
-         final WicaStream wicaStream;
-         try
-         {
-            wicaStream = wicaStreamConfigurationDecoder.decode( jsonStreamConfiguration);
-         }
-         catch ( Exception ex )
-         {
-            throw new IllegalArgumentException("The JSON configuration string '" + jsonStreamConfiguration + "' was invalid.", ex);
-         }
-
-         if ( wicaStream.getWicaChannels().size() == 0 )
-         {
-            throw new IllegalArgumentException("The JSON configuration string did not define any channels.");
-         }
+      // Attempt to decode the stream configuration.
+      final StopWatch streamDecodeTimer = StopWatch.createStarted();
 
-         final long streamDecodeTimeInMillis = streamDecodeTimer.getTime();
-         logger.info("Stream decoding took: '{}' ms.,", streamDecodeTimeInMillis );
+      final WicaStream wicaStream;
+      try
+      {
+         wicaStream = wicaStreamConfigurationDecoder.decode( jsonStreamConfiguration);
+      }
+      catch ( Exception ex )
+      {
+         throw new IllegalArgumentException("The JSON configuration string '" + jsonStreamConfiguration + "' was invalid.", ex);
+      }
 
-         logger.info( "Stream created OK from config string: '{}.'", wicaStream );
+      if ( wicaStream.getWicaChannels().size() == 0 )
+      {
+         throw new IllegalArgumentException("The JSON configuration string did not define any channels.");
+      }
 
-         // Tell the control system monitoring service to start monitoring
-         // and/or polling the  control system channels in this stream.
-         final StopWatch startMonitoringTimer = StopWatch.createStarted();
-         wicaStreamMonitoredValueRequesterService.startMonitoring( wicaStream );
-         wicaStreamPolledValueRequesterService.startPolling( wicaStream );
-         final long startMonitoringTimeInMicroseconds = startMonitoringTimer.getTime(TimeUnit.MICROSECONDS );
-         logger.info("Stream monitoring took: '{}' us.", startMonitoringTimeInMicroseconds);
+      final long streamDecodeTimeInMillis = streamDecodeTimer.getTime();
+      logger.info("Stream decoding took: '{}' ms.,", streamDecodeTimeInMillis );
 
-         // Create a new publisher and add it to the map of recognized publishers.
-         // Note:publication will not begin until there is at least one active subscriber.
-         final var wicaStreamServerSentEventPublisher = new WicaStreamServerSentEventPublisher( wicaStream,
-                                                                                                wicaStreamMetadataCollectorService,
-                                                                                                wicaStreamMonitoredValueCollectorService,
-                                                                                                wicaStreamPolledValueCollectorService,
-                                                                                                wicaChannelMetadataMapSerializerService,
-                                                                                                wicaChannelValueMapSerializerService);
+      logger.info( "Stream created OK from config string: '{}.'", wicaStream );
 
-         wicaStreamPublisherMap.put( wicaStream.getWicaStreamId(), wicaStreamServerSentEventPublisher );
+      // Obtain a publisher for the stream. When deduplication is enabled streams
+      // whose decoded configurations are identical share a single publisher.
+      // Note:publication will not begin until there is at least one active subscriber.
+      final var wicaStreamServerSentEventPublisher = wicaStreamDeduplicationEnabled ? acquireSharedPublisher( wicaStream ) : createPublisher( wicaStream );
+      wicaStreamPublisherMap.put( wicaStream.getWicaStreamId(), wicaStreamServerSentEventPublisher );
 
-         // Lastly increase the count of created streams.
-         wicaStreamLifecycleStatistics.incrementStreamsCreated();
+      // Lastly increase the count of created streams.
+      wicaStreamLifecycleStatistics.incrementStreamsCreated();
 
-         // Return a reference to the newly created stream.
-         return wicaStream;
-      }
+      // Return a reference to the newly created stream.
+      return wicaStream;
    }
 
    /**
@@ -179,26 +205,128 @@ public class WicaStreamLifecycleService
    public void delete( WicaStreamId wicaStreamId )
    {
       Validate.notNull( wicaStreamId, "The 'wicaStreamId' argument was null." );
-      Validate.isTrue(( isKnown(wicaStreamId ) ), "The 'wicaStreamId' argument was not recognised."  );
 
-      // To ensure consistency the following operations are performed as a single atomic operation.
-      synchronized( this )
+      // Remove the stream's ID from the map of recognised publishers. The removal is
+      // atomic so a stream that is being deleted concurrently by several callers will
+      // only ever be shut down once.
+      final WicaStreamServerSentEventPublisher wicaStreamServerSentEventPublisher = wicaStreamPublisherMap.remove( wicaStreamId );
+      Validate.isTrue( wicaStreamServerSentEventPublisher != null, "The 'wicaStreamId' argument was not recognised." );
+
+      // Release the publisher. When deduplication is enabled a shared publisher is
+      // only released when the last stream which refers to it has been deleted.
+      if ( wicaStreamDeduplicationEnabled )
+      {
+         releaseSharedPublisher( wicaStreamServerSentEventPublisher );
+      }
+      else
+      {
+         // Wait for any modification of the stream which is in progress to complete.
+         synchronized ( wicaStreamServerSentEventPublisher )
+         {
+            releasePublisher( wicaStreamServerSentEventPublisher );
+         }
+      }
+
+      // Lastly increase the count of deleted streams.
+      wicaStreamLifecycleStatistics.incrementStreamsDeleted();
+   }
+
+   /**
+    * Modifies the wica stream with the specified id by adding and/or removing
+    * channels.
+    *
+    * The interest in the underlying control system channels is adjusted only
+    * for the channels which are added or removed; the monitors and pollers of
+    * the channels which are unaffected are left undisturbed. Subscribers which
+    * are already attached to the stream remain attached. On their next update
+    * they receive the metadata and latest values of the added channels.
+    *
+    * Channels to be added are decoded in the context of the stream's existing
+    * properties, exactly as if they had been specified when the stream was
+    * created.
+    *
+    * @param wicaStreamId the id of the stream to modify.
+    * @param jsonChannelsToAdd a JSON array of the channel configurations to
+    *     add, or null if no channels are to be added.
+    * @param channelNamesToRemove the names of the channels to remove.
+    * @return the modified stream.
+    *
+    * @throws NullPointerException if the stream ID or the set of channel names was null.
+    * @throws IllegalArgumentException if the stream ID was not recognised or
+    *     the modification was invalid.
+    * @throws IllegalStateException if stream deduplication is enabled.
+    */
+   public WicaStream modify( WicaStreamId wicaStreamId, String jsonChannelsToAdd, Set<String> channelNamesToRemove )
+   {
+      Validate.notNull( wicaStreamId, "The 'wicaStreamId' argument was null." );
+      Validate.notNull( channelNamesToRemove, "The 'channelNamesToRemove' argument was null." );
+
+      // Streams which share a publisher cannot be modified independently of one another.
+      Validate.validState( ! wicaStreamDeduplicationEnabled, "Streams cannot be modified when stream deduplication is enabled." );
+
+      final WicaStreamServerSentEventPublisher wicaStreamServerSentEventPublisher = wicaStreamPublisherMap.get( wicaStreamId );
+      Validate.isTrue( wicaStreamServerSentEventPublisher != null, "The 'wicaStreamId' argument was not recognised." );
+
+      // Modifications of the same stream are serialised with one another and with the
+      // stream's deletion. Modifications of different streams proceed in parallel.
+      synchronized ( wicaStreamServerSentEventPublisher )
       {
-         // Shutdown the information publisher associated with this stream.
-         final WicaStreamServerSentEventPublisher wicaStreamServerSentEventPublisher = wicaStreamPublisherMap.get( wicaStreamId );
-         wicaStreamServerSentEventPublisher.shutdown();
+         Validate.isTrue( wicaStreamPublisherMap.get( wicaStreamId ) == wicaStreamServerSentEventPublisher, "The 'wicaStreamId' argument was not recognised." );
+         final WicaStream currentStream = wicaStreamServerSentEventPublisher.getStream();
 
-         // Tell the control system monitoring service that we are no longer
-         // interested in this stream.
-         final WicaStream wicaStream = wicaStreamServerSentEventPublisher.getStream();
-         wicaStreamMonitoredValueRequesterService.stopMonitoring(wicaStream ) ;
-         wicaStreamPolledValueRequesterService.stopPolling(wicaStream ) ;
+         final Set<WicaChannel> channelsToRemove = new HashSet<>();
+         for ( String channelName : channelNamesToRemove )
+         {
+            final WicaChannel wicaChannel = currentStream.getWicaChannel( channelName )
+                  .orElseThrow( () -> new IllegalArgumentException( "The channel to be removed: '" + channelName + "' was not in the stream." ) );
+            channelsToRemove.add( wicaChannel );
+         }
 
-         // Remove the stream's ID from the list of recognised publishers.
-         wicaStreamPublisherMap.remove( wicaStreamId );
+         final Set<WicaChannel> channelsToAdd;
+         try
+         {
+            channelsToAdd = jsonChannelsToAdd == null ? Set.of() : wicaStreamConfigurationDecoder.decodeChannels( currentStream, jsonChannelsToAdd ).getWicaChannels();
+         }
+         catch ( Exception ex )
+         {
+            throw new IllegalArgumentException( "The JSON channel configuration string '" + jsonChannelsToAdd + "' was invalid.", ex );
+         }
+
+         for ( WicaChannel wicaChannel : channelsToAdd )
+         {
+            final String channelName = wicaChannel.getName().asString();
+            if ( currentStream.getWicaChannel( channelName ).isPresent() && ! channelNamesToRemove.contains( channelName ) )
+            {
+               throw new IllegalArgumentException( "The channel to be added: '" + channelName + "' was already in the stream." );
+            }
+         }
 
-         // Lastly increase the count of deleted streams.
-         wicaStreamLifecycleStatistics.incrementStreamsDeleted();
+         final Set<WicaChannel> modifiedChannels = new HashSet<>( currentStream.getWicaChannels() );
+         modifiedChannels.removeAll( channelsToRemove );
+         modifiedChannels.addAll( channelsToAdd );
+         if ( modifiedChannels.isEmpty() )
+         {
+            throw new IllegalArgumentException( "The modification would leave the stream without any channels." );
+         }
+
+         final WicaStreamProperties wicaStreamProperties = currentStream.getWicaStreamProperties();
+         final WicaStream addedChannelStream = new WicaStream( wicaStreamId, wicaStreamProperties, channelsToAdd );
+         final WicaStream removedChannelStream = new WicaStream( wicaStreamId, wicaStreamProperties, channelsToRemove );
+         final WicaStream modifiedStream = new WicaStream( wicaStreamId, wicaStreamProperties, modifiedChannels );
+
+         // Register the interest in the new channels before the publisher starts
+         // to look for their data, and release the interest in the old channels
+         // only after the publisher has stopped looking for it. A channel which
+         // is both removed and re-added therefore keeps its monitor.
+         wicaStreamMonitoredValueRequesterService.startMonitoring( addedChannelStream );
+         wicaStreamPolledValueRequesterService.startPolling( addedChannelStream );
+         wicaStreamServerSentEventPublisher.updateStream( modifiedStream );
+         wicaStreamMonitoredValueRequesterService.stopMonitoring( removedChannelStream );
+         wicaStreamPolledValueRequesterService.stopPolling( removedChannelStream );
+
+         logger.info( "Stream '{}' modified: added {} channel(s), removed {} channel(s).", wicaStreamId, channelsToAdd.size(), channelsToRemove.size() );
+         wicaStreamLifecycleStatistics.incrementStreamsModified();
+         return modifiedStream;
       }
    }
 
@@ -211,7 +339,7 @@ public class WicaStreamLifecycleService
    public Flux<ServerSentEvent<String>> getFlux( WicaStreamId wicaStreamId  )
    {
       Validate.notNull( wicaStreamId, "The 'wicaStreamId' argument was null." );
-      return wicaStreamPublisherMap.get( wicaStreamId ).getFlux();
+      return wicaStreamPublisherMap.get( wicaStreamId ).getFlux( wicaStreamId );
    }
 
    /**
@@ -226,7 +354,212 @@ public class WicaStreamLifecycleService
       return wicaStreamPublisherMap.containsKey( wicaStreamId );
    }
 
+   /**
+    * This method runs periodically to delete streams which have had no subscribers
+    * for longer than the configured idle timeout. This reclaims the resources of
+    * streams whose clients have gone away without deleting them (for example,
+    * because the browser crashed).
+    *
+    * When deduplication is enabled the streams which share a publisher are only
+    * deleted once none of them has any subscribers.
+    */
+   @Scheduled( fixedRate=IDLE_STREAM_SCAN_INTERVAL )
+   public void deleteIdleStreams()
+   {
+      if ( wicaStreamIdleTimeoutInSecs == 0 )
+      {
+         return;
+      }
+
+      final LocalDateTime idleThreshold = LocalDateTime.now().minusSeconds( wicaStreamIdleTimeoutInSecs );
+      final List<WicaStreamId> idleStreamIds = wicaStreamPublisherMap.entrySet()
+         .stream()
+         .filter( e -> e.getValue().getSubscriberCount() == 0 )
+         .filter( e -> e.getValue().getLastSubscriberActivityTime().isBefore( idleThreshold ) )
+         .map( Map.Entry::getKey )
+         .collect( Collectors.toList() );
+
+      for ( WicaStreamId wicaStreamId : idleStreamIds )
+      {
+         logger.info( "Deleting stream '{}' which has had no subscribers for more than {} seconds.", wicaStreamId, wicaStreamIdleTimeoutInSecs );
+         try
+         {
+            delete( wicaStreamId );
+            wicaStreamLifecycleStatistics.incrementStreamsReaped();
+         }
+         catch ( IllegalArgumentException ex )
+         {
+            // The stream was deleted concurrently by its client.
+            logger.info( "Stream '{}' was already deleted.", wicaStreamId );
+         }
+      }
+   }
+
 /*- Private methods ----------------------------------------------------------*/
+
+   /**
+    * Starts monitoring and/or polling the channels in the specified stream and
+    * returns a new publisher for it.
+    *
+    * @param wicaStream the stream.
+    * @return the publisher.
+    */
+   private WicaStreamServerSentEventPublisher createPublisher( WicaStream wicaStream )
+   {
+      // Tell the control system monitoring service to start monitoring
+      // and/or polling the  control system channels in this stream.
+      final StopWatch startMonitoringTimer = StopWatch.createStarted();
+      wicaStreamMonitoredValueRequesterService.startMonitoring( wicaStream );
+      wicaStreamPolledValueRequesterService.startPolling( wicaStream );
+      final long startMonitoringTimeInMicroseconds = startMonitoringTimer.getTime(TimeUnit.MICROSECONDS );
+      logger.info("Stream monitoring took: '{}' us.", startMonitoringTimeInMicroseconds);
+
+      return new WicaStreamServerSentEventPublisher( wicaStream,
+                                                     wicaStreamMetadataCollectorService,
+                                                     wicaStreamMonitoredValueCollectorService,
+                                                     wicaStreamPolledValueCollectorService,
+                                                     wicaChannelMetadataMapSerializerService,
+                                                     wicaChannelValueMapSerializerService,
+                                                     wicaChannelValueFilteringService );
+   }
+
+   /**
+    * Shuts down the specified publisher and tells the control system monitoring
+    * service that we are no longer interested in its stream.
+    *
+    * @param wicaStreamServerSentEventPublisher the publisher.
+    */
+   private void releasePublisher( WicaStreamServerSentEventPublisher wicaStreamServerSentEventPublisher )
+   {
+      // Shutdown the information publisher associated with this stream.
+      wicaStreamServerSentEventPublisher.shutdown();
+
+      // Tell the control system monitoring service that we are no longer
+      // interested in this stream.
+      final WicaStream wicaStream = wicaStreamServerSentEventPublisher.getStream();
+      wicaStreamMonitoredValueRequesterService.stopMonitoring( wicaStream ) ;
+      wicaStreamPolledValueRequesterService.stopPolling( wicaStream ) ;
+   }
+
+   /**
+    * Returns the shared publisher for streams with the same content as the
+    * specified stream, creating it if necessary, and increments its reference count.
+    *
+    * The map entry only reserves the publisher: the publisher itself is created
+    * after the entry has been recorded so that the monitoring and polling of the
+    * stream's channels are not started while the map is locked. Callers which
+    * share the publisher wait until it has been created.
+    *
+    * @param wicaStream the stream.
+    * @return the publisher.
+    */
+   private WicaStreamServerSentEventPublisher acquireSharedPublisher( WicaStream wicaStream )
+   {
+      final WicaStreamContent wicaStreamContent = new WicaStreamContent( wicaStream );
+      final SharedPublisher sharedPublisher = sharedPublisherMap.compute( wicaStreamContent, ( k, current ) ->
+         current == null ? new SharedPublisher( new CompletableFuture<>(), 1 ) : new SharedPublisher( current.publisherFuture, current.referenceCount + 1 ) );
+
+      if ( sharedPublisher.referenceCount > 1 )
+      {
+         final WicaStreamServerSentEventPublisher publisher = sharedPublisher.publisherFuture.join();
+         logger.info( "Stream '{}' shares the publisher of stream '{}'.", wicaStream.getWicaStreamId(), publisher.getStream().getWicaStreamId() );
+         wicaStreamLifecycleStatistics.incrementStreamsDeduplicated();
+         return publisher;
+      }
+
+      try
+      {
+         final WicaStreamServerSentEventPublisher publisher = createPublisher( wicaStream );
+         sharedPublisher.publisherFuture.complete( publisher );
+         return publisher;
+      }
+      catch ( RuntimeException ex )
+      {
+         // Withdraw the reservation so that the next stream with the same
+         // content makes a fresh attempt to create the publisher.
+         sharedPublisherMap.computeIfPresent( wicaStreamContent, ( k, current ) -> current.publisherFuture == sharedPublisher.publisherFuture ? null : current );
+         sharedPublisher.publisherFuture.completeExceptionally( ex );
+         throw ex;
+      }
+   }
+
+   /**
+    * Decrements the reference count of the specified shared publisher, releasing
+    * it when there are no more streams which refer to it.
+    *
+    * @param wicaStreamServerSentEventPublisher the publisher.
+    */
+   private void releaseSharedPublisher( WicaStreamServerSentEventPublisher wicaStreamServerSentEventPublisher )
+   {
+      final WicaStreamContent wicaStreamContent = new WicaStreamContent( wicaStreamServerSentEventPublisher.getStream() );
+      final boolean[] lastReference = { false };
+      sharedPublisherMap.computeIfPresent( wicaStreamContent, ( k, current ) -> {
+         if ( current.referenceCount > 1 )
+         {
+            return new SharedPublisher( current.publisherFuture, current.referenceCount - 1 );
+         }
+         lastReference[ 0 ] = true;
+         return null;
+      } );
+
+      // The publisher is released after its entry has been removed. A stream with
+      // the same content which is created in the meantime gets a new publisher;
+      // this is safe because the interest in the underlying channels is counted.
+      if ( lastReference[ 0 ] )
+      {
+         releasePublisher( wicaStreamServerSentEventPublisher );
+      }
+   }
+
 /*- Nested Classes -----------------------------------------------------------*/
 
+   /**
+    * The canonical content of a stream, which is independent of the stream's id
+    * and of the order in which the channels were specified.
+    */
+   @Immutable
+   private static class WicaStreamContent
+   {
+      private final WicaStreamProperties wicaStreamProperties;
+      private final Set<WicaChannel> wicaChannels;
+      private final int hashCode;
+
+      private WicaStreamContent( WicaStream wicaStream )
+      {
+         this.wicaStreamProperties = wicaStream.getWicaStreamProperties();
+         this.wicaChannels = Set.copyOf( wicaStream.getWicaChannels() );
+         this.hashCode = Objects.hash( wicaStreamProperties, wicaChannels );
+      }
+
+      @Override
+      public boolean equals( Object o )
+      {
+         if ( this == o ) return true;
+         if ( !(o instanceof WicaStreamContent) ) return false;
+         WicaStreamContent that = (WicaStreamContent) o;
+         return hashCode == that.hashCode &&
+               Objects.equals( wicaStreamProperties, that.wicaStreamProperties ) &&
+               Objects.equals( wicaChannels, that.wicaChannels );
+      }
+
+      @Override
+      public int hashCode()
+      {
+         return hashCode;
+      }
+   }
+
+   @Immutable
+   private static class SharedPublisher
+   {
+      private final CompletableFuture<WicaStreamServerSentEventPublisher> publisherFuture;
+      private final int referenceCount;
+
+      private SharedPublisher( CompletableFuture<WicaStreamServerSentEventPublisher> publisherFuture, int referenceCount )
+      {
+         this.publisherFuture = publisherFuture;
+         this.referenceCount = referenceCount;
+      }
+   }
+
 }
@@ -24,6 +24,9 @@ public class WicaStreamLifecycleStatistics implements StatisticsCollectable
    private final String statisticsHeader;
    private final AtomicInteger streamsCreated = new AtomicInteger(0);
    private final AtomicInteger streamsDeleted = new AtomicInteger(0);
+   private final AtomicInteger streamsDeduplicated = new AtomicInteger(0);
+   private final AtomicInteger streamsReaped = new AtomicInteger(0);
+   private final AtomicInteger streamsModified = new AtomicInteger(0);
 
 
 
@@ -44,7 +47,10 @@ public class WicaStreamLifecycleStatistics implements StatisticsCollectable
    public Statistics get()
    {
       return new Statistics( statisticsHeader, List.of( new StatisticsItem("- Streams Created", getStreamsCreated() ),
-                                                        new StatisticsItem("- Streams Deleted", getStreamsDeleted() ) )
+                                                        new StatisticsItem("- Streams Deleted", getStreamsDeleted() ),
+                                                        new StatisticsItem("- Streams Deduplicated", getStreamsDeduplicated() ),
+                                                        new StatisticsItem("- Streams Reaped (Idle)", getStreamsReaped() ),
+                                                        new StatisticsItem("- Streams Modified", getStreamsModified() ) )
       );
    }
 
@@ -53,6 +59,9 @@ public class WicaStreamLifecycleStatistics implements StatisticsCollectable
    {
       streamsCreated.set( 0 );
       streamsDeleted.set( 0 );
+      streamsDeduplicated.set( 0 );
+      streamsReaped.set( 0 );
+      streamsModified.set( 0 );
    }
 
 /*- Package-access methods ---------------------------------------------------*/
@@ -65,6 +74,18 @@ public class WicaStreamLifecycleStatistics implements StatisticsCollectable
    {
       streamsDeleted.incrementAndGet();
    }
+   void incrementStreamsDeduplicated()
+   {
+      streamsDeduplicated.incrementAndGet();
+   }
+   void incrementStreamsReaped()
+   {
+      streamsReaped.incrementAndGet();
+   }
+   void incrementStreamsModified()
+   {
+      streamsModified.incrementAndGet();
+   }
 
 /*- Private methods ----------------------------------------------------------*/
 
@@ -78,6 +99,21 @@ public class WicaStreamLifecycleStatistics implements StatisticsCollectable
       return String.valueOf(streamsDeleted.get());
    }
 
+   private String getStreamsDeduplicated()
+   {
+      return String.valueOf(streamsDeduplicated.get());
+   }
+
+   private String getStreamsReaped()
+   {
+      return String.valueOf(streamsReaped.get());
+   }
+
+   private String getStreamsModified()
+   {
+      return String.valueOf(streamsModified.get());
+   }
+
 
 /*- Nested Classes -----------------------------------------------------------*/
 
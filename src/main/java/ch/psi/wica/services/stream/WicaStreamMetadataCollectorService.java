@@ -4,6 +4,7 @@ package ch.psi.wica.services.stream;
 /*- Imported packages --------------------------------------------------------*/
 
 import ch.psi.wica.controlsystem.event.WicaChannelMetadataUpdateEvent;
+import ch.psi.wica.controlsystem.event.WicaChannelStopMonitoringEvent;
 import ch.psi.wica.infrastructure.stream.WicaStreamMetadataDataBuffer;
 import ch.psi.wica.model.app.WicaDataBufferStorageKey;
 import ch.psi.wica.model.channel.WicaChannel;
@@ -20,6 +21,7 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /*- Interface Declaration ----------------------------------------------------*/
@@ -76,6 +78,45 @@ public class WicaStreamMetadataCollectorService
       return outputMap;
    }
 
+   /**
+    * Returns the most recent metadata received for the specified channel, or
+    * an empty result if no metadata has yet been received.
+    *
+    * @param wicaChannel the channel.
+    * @return the result.
+    */
+   public Optional<WicaChannelMetadata> findLatest( WicaChannel wicaChannel )
+   {
+      Validate.notNull( wicaChannel );
+      final WicaDataBufferStorageKey wicaDataBufferStorageKey = WicaDataBufferStorageKey.getMonitoredValueStorageKey( wicaChannel );
+      return wicaStreamMetadataDataBuffer.findLatest( wicaDataBufferStorageKey );
+   }
+
+   /**
+    * Discards the buffered metadata of a channel whose monitor has been
+    * released.
+    *
+    * @param event the event.
+    */
+   @EventListener
+   public void handleWicaChannelStopMonitoringEvent( WicaChannelStopMonitoringEvent event )
+   {
+      Validate.notNull( event );
+      final WicaDataBufferStorageKey wicaDataBufferStorageKey = WicaDataBufferStorageKey.getMonitoredValueStorageKey( event.get() );
+      wicaStreamMetadataDataBuffer.discard( wicaDataBufferStorageKey );
+   }
+
+/*- Package-access methods ---------------------------------------------------*/
+
+   /**
+    * Returns the number of channels whose metadata is currently buffered.
+    *
+    * @return the result.
+    */
+   int getRetainedChannelCount()
+   {
+      return wicaStreamMetadataDataBuffer.size();
+   }
 
 /*- Private methods ----------------------------------------------------------*/
 /*- Nested Classes -----------------------------------------------------------*/
@@ -5,13 +5,19 @@ package ch.psi.wica.services.stream;
 
 import ch.psi.wica.controlsystem.event.WicaChannelMonitoredValueUpdateEvent;
 import ch.psi.wica.controlsystem.event.WicaChannelPolledMonitorValueUpdateEvent;
+import ch.psi.wica.controlsystem.event.WicaChannelStopMonitoringEvent;
 import ch.psi.wica.controlsystem.event.WicaChannelPolledValueUpdateEvent;
+import ch.psi.wica.infrastructure.channel.WicaChannelBuilder;
+import ch.psi.wica.infrastructure.channel.WicaChannelPropertiesBuilder;
 import ch.psi.wica.infrastructure.channel.WicaChannelValueTimestampRewriter;
 import ch.psi.wica.infrastructure.stream.WicaStreamMonitoredValueDataBuffer;
+import ch.psi.wica.model.app.ControlSystemName;
 import ch.psi.wica.model.app.WicaDataBufferStorageKey;
 import ch.psi.wica.model.channel.WicaChannel;
+import ch.psi.wica.model.channel.WicaChannelAlarmSeverity;
 import ch.psi.wica.model.channel.WicaChannelValue;
 import ch.psi.wica.model.stream.WicaStream;
+import ch.psi.wica.services.channel.WicaChannelValueFilterPipeline;
 import ch.psi.wica.services.channel.WicaChannelValueFilteringService;
 import net.jcip.annotations.ThreadSafe;
 import org.apache.commons.lang3.Validate;
@@ -20,11 +26,16 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.DirectProcessor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
 
 import java.time.LocalDateTime;
 import java.util.AbstractMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /*- Interface Declaration ----------------------------------------------------*/
@@ -38,11 +49,21 @@ public class WicaStreamMonitoredValueCollectorService
 /*- Public attributes --------------------------------------------------------*/
 /*- Private attributes -------------------------------------------------------*/
 
+   // The number of alarm transitions which are held for each subscriber which
+   // is not keeping up with them before the oldest are dropped.
+   static final int ALARM_TRANSITION_BUFFER_SIZE = 256;
+
    private final WicaStreamMonitoredValueDataBuffer wicaStreamMonitoredValueDataBuffer;
    private final ApplicationEventPublisher applicationEventPublisher;
    private final WicaChannelValueTimestampRewriter wicaChannelValueTimestampRewriter;
    private final WicaChannelValueFilteringService wicaChannelValueFilteringService;
 
+   // Values whose alarm severity differs from that of their predecessor are
+   // republished here so that they can be delivered without waiting for the
+   // next periodic update of the streams which are interested in them.
+   private final DirectProcessor<WicaChannelMonitoredValueUpdateEvent> alarmTransitionProcessor = DirectProcessor.create();
+   private final FluxSink<WicaChannelMonitoredValueUpdateEvent> alarmTransitionSink = alarmTransitionProcessor.sink();
+
 /*- Main ---------------------------------------------------------------------*/
 /*- Constructor --------------------------------------------------------------*/
 
@@ -60,13 +81,25 @@ public class WicaStreamMonitoredValueCollectorService
 /*- Class methods ------------------------------------------------------------*/
 /*- Public methods -----------------------------------------------------------*/
 
-   public Map<WicaChannel,List<WicaChannelValue>> get( WicaStream wicaStream, LocalDateTime since )
+   /**
+    * Returns the values of the monitored channels in the specified wica stream
+    * which have been received since the specified time, after passing them
+    * through the supplied filter pipeline.
+    *
+    * @param wicaStream the stream.
+    * @param since the time and date used for comparison.
+    * @param wicaChannelValueFilterPipeline the filter pipeline, which must be
+    *     owned by the caller.
+    * @return the map.
+    */
+   public Map<WicaChannel,List<WicaChannelValue>> get( WicaStream wicaStream, LocalDateTime since, WicaChannelValueFilterPipeline wicaChannelValueFilterPipeline )
    {
+      Validate.notNull( wicaChannelValueFilterPipeline );
       final var inputMap = wicaStreamMonitoredValueDataBuffer.getLaterThan( wicaStream.getWicaChannels(), since );
       return inputMap.entrySet()
             .stream()
             .filter( e -> e.getKey().getProperties().getDataAcquisitionMode().doesMonitorPublication() )
-            .map( e -> new AbstractMap.SimpleEntry<>( e.getKey(), wicaChannelValueFilteringService.filterValues( e.getKey(), e.getValue() ) ) )
+            .map( e -> new AbstractMap.SimpleEntry<>( e.getKey(), wicaChannelValueFilterPipeline.filterValues( e.getKey(), e.getValue() ) ) )
             .filter( e -> e.getValue().size() > 0 )
             .collect( Collectors.toUnmodifiableMap( Map.Entry::getKey, Map.Entry::getValue ) );
    }
@@ -82,6 +115,50 @@ public class WicaStreamMonitoredValueCollectorService
                      .collect( Collectors.toUnmodifiableMap( Map.Entry::getKey, Map.Entry::getValue ) );
    }
 
+   /**
+    * Returns the most recent monitored value received for the specified
+    * control system channel, or an empty result if no value is buffered.
+    *
+    * Note: the buffer is shared between all wica streams so the value will be
+    * available if ANY stream is monitoring the channel. Since the monitor
+    * delivers every change the value remains current for as long as the
+    * monitor stays connected, however long ago it was received.
+    *
+    * @param controlSystemName the name of the control system channel.
+    * @return the result.
+    */
+   public Optional<WicaChannelValue> findLatest( ControlSystemName controlSystemName )
+   {
+      Validate.notNull( controlSystemName );
+
+      final WicaChannel wicaChannel = WicaChannelBuilder.create()
+            .withChannelNameAndProperties( controlSystemName.asString(), WicaChannelPropertiesBuilder.create().withDefaultProperties().build() )
+            .build();
+      final WicaDataBufferStorageKey wicaDataBufferStorageKey = WicaDataBufferStorageKey.getMonitoredValueStorageKey( wicaChannel );
+      return wicaStreamMonitoredValueDataBuffer.findLatest( wicaDataBufferStorageKey );
+   }
+
+   /**
+    * Returns a flux which publishes every monitored value whose alarm severity
+    * (or connection state) differs from that of the previous value received
+    * for the same control system channel.
+    *
+    * Values which are received when there are no subscribers are not
+    * retained. Each subscriber which falls behind has up to
+    * ALARM_TRANSITION_BUFFER_SIZE transitions buffered on its behalf; when
+    * the buffer overflows the oldest transitions are dropped. A dropped
+    * transition is not lost to the streams since the value is still
+    * published by the next periodic update of the monitored values, but
+    * it is not delivered early and is not counted in any alarm summary
+    * until that summary is next recalculated.
+    *
+    * @return the flux.
+    */
+   public Flux<WicaChannelMonitoredValueUpdateEvent> getAlarmTransitionFlux()
+   {
+      return alarmTransitionProcessor.onBackpressureBuffer( ALARM_TRANSITION_BUFFER_SIZE, BufferOverflowStrategy.DROP_OLDEST );
+   }
+
    @EventListener
    public void handleWicaChannelMonitoredValueUpdateEvent( WicaChannelMonitoredValueUpdateEvent event)
    {
@@ -89,7 +166,20 @@ public class WicaStreamMonitoredValueCollectorService
       final WicaChannel wicaChannel = event.getWicaChannel();
       final WicaDataBufferStorageKey wicaDataBufferStorageKey = WicaDataBufferStorageKey.getMonitoredValueStorageKey( wicaChannel );
       final WicaChannelValue wicaChannelValue = event.getWicaChannelValue();
+
+      // The previous value is only needed when somebody is listening for
+      // alarm transitions.
+      if ( ! alarmTransitionProcessor.hasDownstreams() )
+      {
+         wicaStreamMonitoredValueDataBuffer.saveDataPoint( wicaDataBufferStorageKey, wicaChannelValue );
+         return;
+      }
+      final Optional<WicaChannelValue> previousValue = wicaStreamMonitoredValueDataBuffer.findLatest( wicaDataBufferStorageKey );
       wicaStreamMonitoredValueDataBuffer.saveDataPoint( wicaDataBufferStorageKey, wicaChannelValue );
+      if ( previousValue.isPresent() && isAlarmTransition( previousValue.get(), wicaChannelValue ) )
+      {
+         alarmTransitionSink.next( event );
+      }
    }
 
    @EventListener
@@ -103,7 +193,49 @@ public class WicaStreamMonitoredValueCollectorService
       applicationEventPublisher.publishEvent( new WicaChannelPolledValueUpdateEvent( wicaChannel, rewrittenChannelValue ) );
    }
 
+   /**
+    * Discards the buffered values of a channel whose monitor has been
+    * released.
+    *
+    * @param event the event.
+    */
+   @EventListener
+   public void handleWicaChannelStopMonitoringEvent( WicaChannelStopMonitoringEvent event )
+   {
+      Validate.notNull( event );
+      final WicaDataBufferStorageKey wicaDataBufferStorageKey = WicaDataBufferStorageKey.getMonitoredValueStorageKey( event.get() );
+      wicaStreamMonitoredValueDataBuffer.discard( wicaDataBufferStorageKey );
+   }
+
+/*- Package-access methods ---------------------------------------------------*/
+
+   /**
+    * Returns the number of channels whose values are currently buffered.
+    *
+    * @return the result.
+    */
+   int getRetainedChannelCount()
+   {
+      return wicaStreamMonitoredValueDataBuffer.size();
+   }
+
 /*- Private methods ----------------------------------------------------------*/
+
+   private static boolean isAlarmTransition( WicaChannelValue previousValue, WicaChannelValue currentValue )
+   {
+      if ( previousValue.isConnected() != currentValue.isConnected() )
+      {
+         return true;
+      }
+      if ( ! currentValue.isConnected() )
+      {
+         return false;
+      }
+      final WicaChannelAlarmSeverity previousSeverity = ((WicaChannelValue.WicaChannelValueConnected) previousValue).getWicaAlarmSeverity();
+      final WicaChannelAlarmSeverity currentSeverity = ((WicaChannelValue.WicaChannelValueConnected) currentValue).getWicaAlarmSeverity();
+      return previousSeverity != currentSeverity;
+   }
+
 /*- Nested Classes -----------------------------------------------------------*/
 
 }
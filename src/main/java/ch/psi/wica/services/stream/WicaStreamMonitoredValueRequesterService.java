@@ -7,8 +7,10 @@ import ch.psi.wica.controlsystem.event.WicaChannelMetadataUpdateEvent;
 import ch.psi.wica.controlsystem.event.WicaChannelMonitoredValueUpdateEvent;
 import ch.psi.wica.controlsystem.event.WicaChannelStartMonitoringEvent;
 import ch.psi.wica.controlsystem.event.WicaChannelStopMonitoringEvent;
+import ch.psi.wica.infrastructure.channel.WicaChannelBuilder;
 import ch.psi.wica.model.app.WicaDataBufferStorageKey;
 import ch.psi.wica.model.channel.WicaChannel;
+import ch.psi.wica.model.channel.WicaChannelExpression;
 import ch.psi.wica.model.channel.WicaChannelMetadata;
 import ch.psi.wica.model.channel.WicaChannelValue;
 import ch.psi.wica.model.stream.WicaStream;
@@ -24,10 +26,9 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -54,8 +55,7 @@ public class WicaStreamMonitoredValueRequesterService
 
    private final int wicaChannelResourceReleaseIntervalInSecs;
    private final ApplicationEventPublisher applicationEventPublisher;
-   private final Map<WicaDataBufferStorageKey,Integer> monitoredChannelInterestMap;
-   private final Map<WicaDataBufferStorageKey,LocalDateTime> monitoredChannelEventMap;
+   private final WicaChannelInterestRegistry<WicaDataBufferStorageKey> monitoredChannelInterestRegistry;
 
 /*- Main ---------------------------------------------------------------------*/
 /*- Constructor --------------------------------------------------------------*/
@@ -76,8 +76,7 @@ public class WicaStreamMonitoredValueRequesterService
    {
       this.wicaChannelResourceReleaseIntervalInSecs = wicaChannelResourceReleaseIntervalInSecs;
       this.applicationEventPublisher = Validate.notNull( applicationEventPublisher );
-      this.monitoredChannelInterestMap = Collections.synchronizedMap( new HashMap<>() );
-      this.monitoredChannelEventMap = Collections.synchronizedMap( new HashMap<>() );
+      this.monitoredChannelInterestRegistry = new WicaChannelInterestRegistry<>( Duration.ofSeconds( wicaChannelResourceReleaseIntervalInSecs ) );
    }
 
 /*- Class methods ------------------------------------------------------------*/
@@ -124,7 +123,7 @@ public class WicaStreamMonitoredValueRequesterService
    int getInterestCountForChannel( WicaChannel wicaChannel )
    {
       final var storageKey = WicaDataBufferStorageKey.getMonitoredValueStorageKey( wicaChannel );
-      return monitoredChannelInterestMap.getOrDefault( storageKey, 0 );
+      return monitoredChannelInterestRegistry.getInterestCount( storageKey );
    }
 
    /**
@@ -139,7 +138,7 @@ public class WicaStreamMonitoredValueRequesterService
    Optional<LocalDateTime> getLastEventForChannel( WicaChannel wicaChannel )
    {
       final var storageKey = WicaDataBufferStorageKey.getMonitoredValueStorageKey( wicaChannel );
-      return Optional.ofNullable( monitoredChannelEventMap.get( storageKey ) );
+      return monitoredChannelInterestRegistry.getLastEvent( storageKey );
    }
 
 /*- Private methods ----------------------------------------------------------*/
@@ -165,19 +164,17 @@ public class WicaStreamMonitoredValueRequesterService
       final var storageKey = WicaDataBufferStorageKey.getMonitoredValueStorageKey( wicaChannel );
       final var controlSystemName = wicaChannel.getName().getControlSystemName();
 
-      // Update the timestamp of the event that was most recently associated with the storage key.
-      monitoredChannelEventMap.put( storageKey, LocalDateTime.now() );
+      // The value of a derived channel is computed from the values of its input
+      // channels, so these must be monitored too. They are started first so that
+      // their values are available when the derived channel is started.
+      if ( wicaChannel.getName().isDerived() )
+      {
+         getDerivedChannelInputs( wicaChannel ).forEach( this::startMonitoringChannel );
+      }
 
       // If a channel with the same storage key was not previously being monitored
       // then start monitoring it. Otherwise simply increase the interest count.
-      if ( monitoredChannelInterestMap.containsKey( storageKey ) )
-      {
-         final int newInterestCount = monitoredChannelInterestMap.get( storageKey ) + 1;
-         logger.info( "Increasing interest level in monitored control system channel: '{}' to {}", controlSystemName, newInterestCount );
-         monitoredChannelInterestMap.put( storageKey, newInterestCount );
-      }
-      else
-      {
+      final int newInterestCount = monitoredChannelInterestRegistry.acquire( storageKey, () -> {
          logger.info( "Starting monitoring on control system channel: '{}'", controlSystemName );
 
          // Set the initial state for the value and metadata stashes and publish an event
@@ -185,8 +182,8 @@ public class WicaStreamMonitoredValueRequesterService
          applicationEventPublisher.publishEvent( new WicaChannelMetadataUpdateEvent( wicaChannel, WicaChannelMetadata.createUnknownInstance() ) );
          applicationEventPublisher.publishEvent( new WicaChannelMonitoredValueUpdateEvent(wicaChannel, WicaChannelValue.createChannelValueDisconnected() ) );
          applicationEventPublisher.publishEvent( new WicaChannelStartMonitoringEvent( wicaChannel ) );
-         monitoredChannelInterestMap.put( storageKey, 1 );
-      }
+      } );
+      logger.info( "Interest level in monitored control system channel: '{}' is now {}", controlSystemName, newInterestCount );
    }
 
    /**
@@ -209,52 +206,54 @@ public class WicaStreamMonitoredValueRequesterService
 
       final var storageKey = WicaDataBufferStorageKey.getMonitoredValueStorageKey( wicaChannel );
       final var controlSystemName = wicaChannel.getName().getControlSystemName();
-      Validate.validState( monitoredChannelInterestMap.containsKey( storageKey ) );
-      Validate.validState(monitoredChannelInterestMap.get( storageKey ) > 0 );
 
-      // Update the timestamp of the event that was most recently associated with the storage key.
-      monitoredChannelEventMap.put( storageKey, LocalDateTime.now() );
+      // Reduce the level of interest in the channel. When the interest drops to
+      // zero the channel is scheduled for release after the grace interval.
+      final int newInterestCount = monitoredChannelInterestRegistry.release( storageKey );
 
-      // Reduce the level of interest in the channel.
-      final int currentInterestCount = monitoredChannelInterestMap.get( storageKey );
-      final int newInterestCount = currentInterestCount - 1;
       logger.info( "Reducing interest level in monitored control system channel: '{}' to {}" , controlSystemName.asString(), newInterestCount );
-      monitoredChannelInterestMap.put( storageKey, newInterestCount );
-
-      if ( currentInterestCount == 0 )
+      if ( newInterestCount == 0 )
       {
          logger.info( "No more interest in control system channel: '{}'", controlSystemName.asString() );
          logger.info( "The resources for the channel will be discarded in {} seconds.", wicaChannelResourceReleaseIntervalInSecs );
       }
+
+      if ( wicaChannel.getName().isDerived() )
+      {
+         getDerivedChannelInputs( wicaChannel ).forEach( this::stopMonitoringChannel );
+      }
    }
 
    /**
-    * This method runs periodically to scan the discard list for entries corresponding to
-    * monitored channels that are no longer of interest
+    * Returns the channels whose values are required to compute the value of
+    * the specified derived channel.
+    *
+    * @param wicaChannel the derived channel.
+    * @return the input channels, which share the properties of the derived channel.
+    */
+   private static List<WicaChannel> getDerivedChannelInputs( WicaChannel wicaChannel )
+   {
+      return WicaChannelExpression.of( wicaChannel.getName() ).getInputs()
+            .stream()
+            .map( n -> WicaChannelBuilder.create().withChannelNameAndProperties( n.asString(), wicaChannel.getProperties() ).build() )
+            .collect( Collectors.toList() );
+   }
+
+   /**
+    * This method runs periodically to release the monitored channels that are
+    * no longer of interest and whose grace interval has elapsed. Only the
+    * expired entries are visited.
     */
    @Scheduled( fixedRate=RESOURCE_RELEASE_SCAN_INTERVAL )
    public void discardMonitorsThatHaveReachedEndOfLife()
    {
-      final var timeNow = LocalDateTime.now();
-      monitoredChannelInterestMap.keySet()
-         .stream()
-         .filter( key -> monitoredChannelInterestMap.get( key ) == 0 )
-         .filter( key -> timeNow.isAfter( monitoredChannelEventMap.get( key ).plusSeconds( wicaChannelResourceReleaseIntervalInSecs ) ) )
-         .collect( Collectors.toList() )
-         .forEach( this::discardMonitoredChannel );
+      monitoredChannelInterestRegistry.releaseExpired( this::discardMonitoredChannel );
    }
 
    private void discardMonitoredChannel( WicaDataBufferStorageKey storageKey )
    {
-      Validate.isTrue( monitoredChannelInterestMap.containsKey( storageKey ) );
-      Validate.isTrue( monitoredChannelEventMap.containsKey( storageKey ) );
-      Validate.isTrue( monitoredChannelInterestMap.get(storageKey ) == 0 );
-
       logger.info( "Releasing resources for monitored control system channel associated with storage key: '{}'." , storageKey.toString() );
       applicationEventPublisher.publishEvent( new WicaChannelStopMonitoringEvent( storageKey.getWicaChannel() ) );
-
-      monitoredChannelInterestMap.remove( storageKey );
-      monitoredChannelEventMap.remove( storageKey );
    }
 
 /*- Nested Classes -----------------------------------------------------------*/
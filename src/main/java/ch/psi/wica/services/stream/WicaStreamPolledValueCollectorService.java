@@ -4,11 +4,13 @@ package ch.psi.wica.services.stream;
 /*- Imported packages --------------------------------------------------------*/
 
 import ch.psi.wica.controlsystem.event.WicaChannelPolledValueUpdateEvent;
+import ch.psi.wica.controlsystem.event.WicaChannelStopPollingEvent;
 import ch.psi.wica.infrastructure.stream.WicaStreamPolledValueDataBuffer;
 import ch.psi.wica.model.app.WicaDataBufferStorageKey;
 import ch.psi.wica.model.channel.WicaChannel;
 import ch.psi.wica.model.channel.WicaChannelValue;
 import ch.psi.wica.model.stream.WicaStream;
+import ch.psi.wica.services.channel.WicaChannelValueFilterPipeline;
 import ch.psi.wica.services.channel.WicaChannelValueFilteringService;
 import net.jcip.annotations.ThreadSafe;
 import org.apache.commons.lang3.Validate;
@@ -50,12 +52,25 @@ public class WicaStreamPolledValueCollectorService
 /*- Class methods ------------------------------------------------------------*/
 /*- Public methods -----------------------------------------------------------*/
 
-   public Map<WicaChannel,List<WicaChannelValue>> get( WicaStream wicaStream, LocalDateTime since )
+   /**
+    * Returns the values of the polled channels in the specified wica stream
+    * which have been received since the specified time, after passing them
+    * through the supplied filter pipeline.
+    *
+    * @param wicaStream the stream.
+    * @param since the time and date used for comparison.
+    * @param wicaChannelValueFilterPipeline the filter pipeline, which must be
+    *     owned by the caller.
+    * @return the map.
+    */
+   public Map<WicaChannel,List<WicaChannelValue>> get( WicaStream wicaStream, LocalDateTime since, WicaChannelValueFilterPipeline wicaChannelValueFilterPipeline )
    {
+      Validate.notNull( wicaChannelValueFilterPipeline );
       final var inputMap = wicaStreamPolledValueDataBuffer.getLaterThan( wicaStream.getWicaChannels(), since );
       return inputMap.entrySet()
                      .stream()
                      .filter( e -> e.getKey().getProperties().getDataAcquisitionMode().doesPolling() )
+                     .map( e -> new AbstractMap.SimpleEntry<>( e.getKey(), wicaChannelValueFilterPipeline.filterValues( e.getKey(), e.getValue() ) ) )
                      .filter( e -> e.getValue().size() > 0 )
                      .collect( Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue ) );
    }
@@ -84,6 +99,31 @@ public class WicaStreamPolledValueCollectorService
       wicaStreamPolledValueDataBuffer.saveDataPoint( wicaDataBufferStorageKey, wicaChannelValue );
    }
 
+   /**
+    * Discards the buffered values of a channel which is no longer being polled.
+    *
+    * @param event the event.
+    */
+   @EventListener
+   public void handleStopPollingEvent( WicaChannelStopPollingEvent event )
+   {
+      Validate.notNull( event );
+      final WicaDataBufferStorageKey wicaDataBufferStorageKey = WicaDataBufferStorageKey.getPolledValueStorageKey( event.get() );
+      wicaStreamPolledValueDataBuffer.discard( wicaDataBufferStorageKey );
+   }
+
+/*- Package-access methods ---------------------------------------------------*/
+
+   /**
+    * Returns the number of channels whose values are currently buffered.
+    *
+    * @return the result.
+    */
+   int getRetainedChannelCount()
+   {
+      return wicaStreamPolledValueDataBuffer.size();
+   }
+
 /*- Nested Classes -----------------------------------------------------------*/
 
 
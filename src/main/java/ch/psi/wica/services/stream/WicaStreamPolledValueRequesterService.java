@@ -18,9 +18,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.time.Duration;
 
 /*- Interface Declaration ----------------------------------------------------*/
 /*- Class Declaration --------------------------------------------------------*/
@@ -40,7 +38,9 @@ public class WicaStreamPolledValueRequesterService
    private final Logger logger = LoggerFactory.getLogger( WicaStreamMonitoredValueRequesterService.class );
    private final ApplicationEventPublisher applicationEventPublisher;
 
-   private final Map<WicaDataBufferStorageKey,Integer> pollerInterestMap;
+   // Polling stops as soon as the interest in a channel drops to zero, so the
+   // registry is used without a grace interval.
+   private final WicaChannelInterestRegistry<WicaDataBufferStorageKey> pollerInterestRegistry;
 
 /*- Main ---------------------------------------------------------------------*/
 /*- Constructor --------------------------------------------------------------*/
@@ -55,7 +55,7 @@ public class WicaStreamPolledValueRequesterService
    WicaStreamPolledValueRequesterService( @Autowired ApplicationEventPublisher applicationEventPublisher )
    {
       this.applicationEventPublisher = Validate.notNull( applicationEventPublisher );
-      this.pollerInterestMap = Collections.synchronizedMap(new HashMap<>() );
+      this.pollerInterestRegistry = new WicaChannelInterestRegistry<>( Duration.ZERO );
    }
 
 /*- Class methods ------------------------------------------------------------*/
@@ -102,7 +102,7 @@ public class WicaStreamPolledValueRequesterService
    int getInterestCountForChannel( WicaChannel wicaChannel )
    {
       final var storageKey = WicaDataBufferStorageKey.getPolledValueStorageKey( wicaChannel );
-      return pollerInterestMap.getOrDefault(storageKey, 0 );
+      return pollerInterestRegistry.getInterestCount( storageKey );
    }
 
 /*- Private methods ----------------------------------------------------------*/
@@ -128,28 +128,20 @@ public class WicaStreamPolledValueRequesterService
       final var storageKey = WicaDataBufferStorageKey.getPolledValueStorageKey( wicaChannel );
       final var controlSystemName = wicaChannel.getName().getControlSystemName();
 
-      // If a channel with these polling parameters already exists simply increment the interest count.
-      if ( pollerInterestMap.containsKey( storageKey ) )
-      {
-         final int currentInterestCount = pollerInterestMap.get( storageKey );
-         final int newInterestCount = currentInterestCount + 1;
-         logger.info( "Increasing interest level in polled control system channel named: '{}' to {}", controlSystemName, newInterestCount );
-         pollerInterestMap.put(storageKey, newInterestCount );
-      }
-      // If a channel with these polling parameters DOES NOT exist then start polling it using
-      // the prescribed parameters.
-      else
-      {
+      // The interest count is updated atomically for the storage key. The events
+      // which start polling are published afterwards, outside the registry's
+      // internal locks, since their listeners run synchronously.
+      final int newInterestCount = pollerInterestRegistry.acquire( storageKey, () -> {
          logger.info( "Starting polling control system channel named: '{}'", controlSystemName.asString() );
 
          // Set the initial state for the value stash.
          // Note: the poller does not write a separate metadata stash
-        applicationEventPublisher.publishEvent( new WicaChannelPolledValueUpdateEvent(wicaChannel, WicaChannelValue.createChannelValueDisconnected() ));
+         applicationEventPublisher.publishEvent( new WicaChannelPolledValueUpdateEvent(wicaChannel, WicaChannelValue.createChannelValueDisconnected() ));
 
          // Now start polling
          applicationEventPublisher.publishEvent( new WicaChannelStartPollingEvent( wicaChannel ) );
-         pollerInterestMap.put(storageKey, 1 );
-      }
+      } );
+      logger.info( "Interest level in polled control system channel named: '{}' is now {}", controlSystemName, newInterestCount );
    }
 
    /**
@@ -173,24 +165,22 @@ public class WicaStreamPolledValueRequesterService
       final var storageKey = WicaDataBufferStorageKey.getPolledValueStorageKey( wicaChannel );
       final var controlSystemName = wicaChannel.getName().getControlSystemName();
 
-      Validate.validState(pollerInterestMap.containsKey(storageKey ) );
-      Validate.validState(pollerInterestMap.get(storageKey ) > 0 );
-
-      final int currentInterestCount = pollerInterestMap.get(storageKey );
-      if ( currentInterestCount > 1 )
+      // Reduce the level of interest in the channel. When it drops to zero the
+      // channel is released at once, which publishes the event that stops polling.
+      final int newInterestCount = pollerInterestRegistry.release( storageKey );
+      logger.info( "Reducing interest level in polled control system channel named: '{}' to {}" , controlSystemName.asString(), newInterestCount );
+      if ( newInterestCount == 0 )
       {
-         final int newInterestCount = currentInterestCount - 1;
-         logger.info( "Reducing interest level in polled control system channel named: '{}' to {}" , controlSystemName.asString(), newInterestCount );
-         pollerInterestMap.put(storageKey, newInterestCount );
-      }
-      else
-      {
-         logger.info( "Stopping polling control system channel named: '{}'", controlSystemName.asString() );
-         pollerInterestMap.remove(storageKey );
-         applicationEventPublisher.publishEvent( new WicaChannelStopPollingEvent( wicaChannel ) );
+         pollerInterestRegistry.releaseExpired( this::discardPolledChannel );
       }
    }
 
+   private void discardPolledChannel( WicaDataBufferStorageKey storageKey )
+   {
+      logger.info( "Stopping polling control system channel named: '{}'", storageKey.getWicaChannel().getName().getControlSystemName().asString() );
+      applicationEventPublisher.publishEvent( new WicaChannelStopPollingEvent( storageKey.getWicaChannel() ) );
+   }
+
    /*- Nested Classes -----------------------------------------------------------*/
 
 }
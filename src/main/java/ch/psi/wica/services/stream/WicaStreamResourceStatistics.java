@@ -0,0 +1,75 @@
+/*- Package Declaration ------------------------------------------------------*/
+
+package ch.psi.wica.services.stream;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.app.StatisticsCollectable;
+import net.jcip.annotations.ThreadSafe;
+import org.apache.commons.lang3.Validate;
+
+import java.util.List;
+import java.util.function.IntSupplier;
+
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+/**
+ * Reports the number of channels for which the wica server currently retains
+ * buffered data or filter state. The counts are read directly from the
+ * owning services each time the statistics are requested so there is nothing
+ * to reset.
+ */
+@ThreadSafe
+public class WicaStreamResourceStatistics implements StatisticsCollectable
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private final String statisticsHeader;
+   private final IntSupplier monitoredValueBufferCount;
+   private final IntSupplier polledValueBufferCount;
+   private final IntSupplier metadataBufferCount;
+   private final IntSupplier valueFilterCount;
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+
+   public WicaStreamResourceStatistics( String statisticsHeader,
+                                        IntSupplier monitoredValueBufferCount,
+                                        IntSupplier polledValueBufferCount,
+                                        IntSupplier metadataBufferCount,
+                                        IntSupplier valueFilterCount )
+   {
+      this.statisticsHeader = Validate.notNull( statisticsHeader );
+      this.monitoredValueBufferCount = Validate.notNull( monitoredValueBufferCount );
+      this.polledValueBufferCount = Validate.notNull( polledValueBufferCount );
+      this.metadataBufferCount = Validate.notNull( metadataBufferCount );
+      this.valueFilterCount = Validate.notNull( valueFilterCount );
+   }
+
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @Override
+   public Statistics get()
+   {
+      return new Statistics( statisticsHeader, List.of( new StatisticsItem("- Monitored Value Buffers Retained", String.valueOf( monitoredValueBufferCount.getAsInt() ) ),
+                                                        new StatisticsItem("- Polled Value Buffers Retained", String.valueOf( polledValueBufferCount.getAsInt() ) ),
+                                                        new StatisticsItem("- Metadata Buffers Retained", String.valueOf( metadataBufferCount.getAsInt() ) ),
+                                                        new StatisticsItem("- Value Filters Retained", String.valueOf( valueFilterCount.getAsInt() ) ) )
+      );
+   }
+
+   @Override
+   public void reset()
+   {
+      // Nothing to do: the counts reflect the current state of the server.
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
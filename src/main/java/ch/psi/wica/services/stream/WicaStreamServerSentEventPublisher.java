@@ -5,10 +5,16 @@ package ch.psi.wica.services.stream;
 /*- Class Declaration --------------------------------------------------------*/
 
 import ch.psi.wica.infrastructure.stream.WicaStreamServerSentEventBuilder;
+import ch.psi.wica.model.app.ControlSystemName;
+import ch.psi.wica.model.channel.WicaChannel;
+import ch.psi.wica.model.channel.WicaChannelMetadata;
+import ch.psi.wica.model.channel.WicaChannelValue;
 import ch.psi.wica.model.stream.WicaStream;
 import ch.psi.wica.model.stream.WicaStreamId;
 import ch.psi.wica.model.stream.WicaStreamProperties;
 import ch.psi.wica.services.channel.WicaChannelMetadataMapSerializerService;
+import ch.psi.wica.services.channel.WicaChannelValueFilterPipeline;
+import ch.psi.wica.services.channel.WicaChannelValueFilteringService;
 import ch.psi.wica.services.channel.WicaChannelValueMapSerializerService;
 import net.jcip.annotations.ThreadSafe;
 import org.apache.commons.lang3.Validate;
@@ -19,8 +25,15 @@ import reactor.core.publisher.Flux;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 @ThreadSafe
 public class WicaStreamServerSentEventPublisher
@@ -30,7 +43,7 @@ public class WicaStreamServerSentEventPublisher
 /*- Private attributes -------------------------------------------------------*/
 
    private final Logger logger = LoggerFactory.getLogger( WicaStreamServerSentEventPublisher.class );
-   private final WicaStream wicaStream;
+   private volatile WicaStream wicaStream;
    private final WicaStreamId wicaStreamId;
    private final WicaStreamProperties wicaStreamProperties;
 
@@ -40,8 +53,10 @@ public class WicaStreamServerSentEventPublisher
 
    private final WicaChannelMetadataMapSerializerService wicaChannelMetadataMapSerializerService;
    private final WicaChannelValueMapSerializerService wicaChannelValueMapSerializerService;
+   private final WicaChannelValueFilteringService wicaChannelValueFilteringService;
    private final AtomicBoolean shutdown = new AtomicBoolean( false );
-
+   private final AtomicInteger subscriberCount = new AtomicInteger( 0 );
+   private volatile LocalDateTime lastSubscriberActivityTime = LocalDateTime.now();
 
 /*- Main ---------------------------------------------------------------------*/
 /*- Constructor --------------------------------------------------------------*/
@@ -51,7 +66,8 @@ public class WicaStreamServerSentEventPublisher
                                        WicaStreamMonitoredValueCollectorService wicaStreamMonitoredValueCollectorService,
                                        WicaStreamPolledValueCollectorService wicaStreamPolledValueCollectorService,
                                        WicaChannelMetadataMapSerializerService wicaChannelMetadataMapSerializerService,
-                                       WicaChannelValueMapSerializerService wicaChannelValueMapSerializerService
+                                       WicaChannelValueMapSerializerService wicaChannelValueMapSerializerService,
+                                       WicaChannelValueFilteringService wicaChannelValueFilteringService
    )
    {
       this.wicaStream = Validate.notNull( wicaStream );
@@ -60,6 +76,7 @@ public class WicaStreamServerSentEventPublisher
       this.wicaStreamPolledValueCollectorService = Validate.notNull( wicaStreamPolledValueCollectorService );
       this.wicaChannelMetadataMapSerializerService = Validate.notNull(wicaChannelMetadataMapSerializerService);
       this.wicaChannelValueMapSerializerService = Validate.notNull(wicaChannelValueMapSerializerService);
+      this.wicaChannelValueFilteringService = Validate.notNull( wicaChannelValueFilteringService );
 
       this.wicaStreamId = Validate.notNull( wicaStream.getWicaStreamId() );
       this.wicaStreamProperties = Validate.notNull( wicaStream.getWicaStreamProperties() );
@@ -80,6 +97,26 @@ public class WicaStreamServerSentEventPublisher
       return this.wicaStream;
    }
 
+   /**
+    * Replaces the stream published by this publisher with one containing a
+    * different set of channels.
+    *
+    * Existing subscribers are not disturbed. On their next update they will
+    * receive the latest metadata and values of any channels which have been
+    * added, and they will cease to receive updates for any channels which
+    * have been removed.
+    *
+    * @param updatedWicaStream the updated stream, which must have the same
+    *     id and properties as the current stream.
+    */
+   void updateStream( WicaStream updatedWicaStream )
+   {
+      Validate.notNull( updatedWicaStream );
+      Validate.isTrue( updatedWicaStream.getWicaStreamId().equals( wicaStreamId ), "The stream id must not change." );
+      Validate.isTrue( updatedWicaStream.getWicaStreamProperties().equals( wicaStreamProperties ), "The stream properties must not change." );
+      this.wicaStream = updatedWicaStream;
+   }
+
    /**
     * Returns a reference to this publisher's combined flux.
     *
@@ -89,12 +126,61 @@ public class WicaStreamServerSentEventPublisher
     */
    Flux<ServerSentEvent<String>> getFlux()
    {
+      return getFlux( wicaStreamId );
+   }
+
+   /**
+    * Returns a reference to this publisher's combined flux, whose events will
+    * be labelled with the specified stream id.
+    *
+    * This allows a publisher to be shared between several streams with the
+    * same configuration whilst each of the subscribers continues to receive
+    * events labelled with the id of the stream that it requested.
+    *
+    * @param eventStreamId the stream id to be included in the published events.
+    * @return the flux.
+    *
+    * @throws IllegalStateException if the flux has been shutdown.
+    */
+   Flux<ServerSentEvent<String>> getFlux( WicaStreamId eventStreamId )
+   {
+      Validate.notNull( eventStreamId );
       if ( shutdown.get() )
       {
          logger.error( "Programming error: unexpected state - attempt to get flux after publisher has been shut down." );
          throw new IllegalStateException( "Call to getFlux(), but the publisher has already been shut down." );
       }
-      return createCombinedFlux();
+      return createCombinedFlux( eventStreamId )
+         .doOnSubscribe( s -> {
+            subscriberCount.incrementAndGet();
+            lastSubscriberActivityTime = LocalDateTime.now();
+         } )
+         .doFinally( signal -> {
+            subscriberCount.decrementAndGet();
+            lastSubscriberActivityTime = LocalDateTime.now();
+         } );
+   }
+
+   /**
+    * Returns the number of subscribers that are currently attached to this
+    * publisher's fluxes.
+    *
+    * @return the result.
+    */
+   int getSubscriberCount()
+   {
+      return subscriberCount.get();
+   }
+
+   /**
+    * Returns the time at which this publisher was created or at which a
+    * subscriber was most recently attached or detached, whichever is later.
+    *
+    * @return the result.
+    */
+   LocalDateTime getLastSubscriberActivityTime()
+   {
+      return lastSubscriberActivityTime;
    }
 
    /**
@@ -116,6 +202,59 @@ public class WicaStreamServerSentEventPublisher
 
 /*- Private methods ----------------------------------------------------------*/
 
+   /**
+    * Returns the monitored channels in the stream which are configured for
+    * alarm bypass, indexed by the name of their control system channel.
+    *
+    * @param wicaStream the stream.
+    * @return the result.
+    */
+   private static Map<ControlSystemName,List<WicaChannel>> getAlarmBypassChannels( WicaStream wicaStream )
+   {
+      return wicaStream.getWicaChannels().stream()
+            .filter( c -> c.getProperties().getDataAcquisitionMode().doesMonitorPublication() )
+            .filter( c -> c.getProperties().getOptionalAlarmBypass().orElse( false ) )
+            .collect( Collectors.groupingBy( c -> c.getName().getControlSystemName(), Collectors.toUnmodifiableList() ) );
+   }
+
+   /**
+    * Returns a stream containing the channels which are present in the current
+    * stream but which were not present in the previously published stream.
+    *
+    * @param previousStream the stream at the time of the last update.
+    * @param currentStream the stream now.
+    * @return the result, or null if no channels have been added.
+    */
+   private static WicaStream getAddedChannelStream( WicaStream previousStream, WicaStream currentStream )
+   {
+      if ( previousStream == currentStream )
+      {
+         return null;
+      }
+      final Set<WicaChannel> previousChannels = previousStream.getWicaChannels();
+      final Set<WicaChannel> addedChannels = currentStream.getWicaChannels().stream()
+            .filter( c -> ! previousChannels.contains( c ) )
+            .collect( Collectors.toUnmodifiableSet() );
+      return addedChannels.isEmpty() ? null : new WicaStream( currentStream.getWicaStreamId(), currentStream.getWicaStreamProperties(), addedChannels );
+   }
+
+   /**
+    * Returns true when the stream is configured so that its channels may
+    * request alarm bypass: either the stream enables it for all its channels
+    * or at least one channel enables it individually.
+    *
+    * Note: the check is made when a subscriber attaches. Channels which are
+    * added to the stream later and which enable alarm bypass individually
+    * only benefit from it for subsequent subscribers.
+    *
+    * @return the result.
+    */
+   private boolean isAlarmBypassPossible()
+   {
+      return wicaStreamProperties.getOptionalAlarmBypass().orElse( false ) ||
+             wicaStream.getWicaChannels().stream().anyMatch( c -> c.getProperties().getOptionalAlarmBypass().orElse( false ) );
+   }
+
    /**
     * Creates the HEARTBEAT FLUX.
     *
@@ -127,19 +266,20 @@ public class WicaStreamServerSentEventPublisher
     *
     * This flux runs periodically at a rate determined by the properties of the stream.
     *
+    * @param eventStreamId the stream id to be included in the published events.
     * @return the flux.
     */
-   private Flux<ServerSentEvent<String>> createHeartbeatFlux()
+   private Flux<ServerSentEvent<String>> createHeartbeatFlux( WicaStreamId eventStreamId )
    {
       return Flux.interval( Duration.ofMillis( wicaStreamProperties.getHeartbeatFluxIntervalInMillis() ) )
             .map(l -> {
                logger.trace("heartbeat flux is publishing new SSE...");
                final String jsonHeartbeatString = LocalDateTime.now().toString();
-               return WicaStreamServerSentEventBuilder.EV_WICA_SERVER_HEARTBEAT.build( wicaStreamId, jsonHeartbeatString );
+               return WicaStreamServerSentEventBuilder.EV_WICA_SERVER_HEARTBEAT.build( eventStreamId, jsonHeartbeatString );
             })
-            .doOnComplete( () -> logger.warn( "heartbeat flux with id: '{}' completed.", wicaStreamId   ))
-            .doOnCancel( () -> logger.warn( "heartbeat flux with id: '{}' was cancelled.", wicaStreamId  ))
-            .doOnError( (e) -> logger.warn( "heartbeat flux with id: '{}' had error.", wicaStreamId, e ));
+            .doOnComplete( () -> logger.warn( "heartbeat flux with id: '{}' completed.", eventStreamId   ))
+            .doOnCancel( () -> logger.warn( "heartbeat flux with id: '{}' was cancelled.", eventStreamId  ))
+            .doOnError( (e) -> logger.warn( "heartbeat flux with id: '{}' had error.", eventStreamId, e ));
       //.log();
    }
 
@@ -157,24 +297,36 @@ public class WicaStreamServerSentEventPublisher
     * all channels, then subsequently only updates for those channels whose metadata
     * has changed.
     *
+    * @param eventStreamId the stream id to be included in the published events.
     * @return the flux.
     */
-   private Flux<ServerSentEvent<String>> createMetadataFlux()
+   private Flux<ServerSentEvent<String>> createMetadataFlux( WicaStreamId eventStreamId )
    {
       final AtomicReference<LocalDateTime> lastUpdateTime = new AtomicReference<>( LocalDateTime.MIN );
+      final AtomicReference<WicaStream> lastPublishedStream = new AtomicReference<>( wicaStream );
       return Flux.interval( Duration.ofMillis( wicaStreamProperties.getMetadataFluxIntervalInMillis() ) )
          .map( l -> {
-            logger.trace("channel-metadata flux with id: '{}' is publishing new SSE...", wicaStreamId);
-            return wicaStreamMetadataCollectorService.get( wicaStream, lastUpdateTime.getAndSet( LocalDateTime.now()) );
+            logger.trace("channel-metadata flux with id: '{}' is publishing new SSE...", eventStreamId);
+            final var currentStream = wicaStream;
+            final var addedChannelStream = getAddedChannelStream( lastPublishedStream.getAndSet( currentStream ), currentStream );
+            final var map = wicaStreamMetadataCollectorService.get( currentStream, lastUpdateTime.getAndSet( LocalDateTime.now()) );
+            if ( addedChannelStream == null )
+            {
+               return map;
+            }
+            // Channels added since the last update start with their full metadata.
+            final Map<WicaChannel,WicaChannelMetadata> combinedMap = new HashMap<>( map );
+            combinedMap.putAll( wicaStreamMetadataCollectorService.get( addedChannelStream, LocalDateTime.MIN ) );
+            return combinedMap;
          } )
          .filter( m -> m.keySet().size() > 0 )
          .map( map -> {
                final String jsonMetadataString = wicaChannelMetadataMapSerializerService.serialize ( map );
-               return WicaStreamServerSentEventBuilder.EV_WICA_CHANNEL_METADATA.build( wicaStreamId, jsonMetadataString );
+               return WicaStreamServerSentEventBuilder.EV_WICA_CHANNEL_METADATA.build( eventStreamId, jsonMetadataString );
          } )
-         .doOnComplete( () -> logger.warn( "channel-metadata flux with id: '{}' completed.", wicaStreamId  ))
-         .doOnCancel( () -> logger.warn( "channel-metadata flux with id: '{}' was cancelled.", wicaStreamId  ) )
-         .doOnError( (e) -> logger.warn( "heartbeat flux with id: '{}' had error.", wicaStreamId, e ));
+         .doOnComplete( () -> logger.warn( "channel-metadata flux with id: '{}' completed.", eventStreamId  ))
+         .doOnCancel( () -> logger.warn( "channel-metadata flux with id: '{}' was cancelled.", eventStreamId  ) )
+         .doOnError( (e) -> logger.warn( "heartbeat flux with id: '{}' had error.", eventStreamId, e ));
       //.log();
    }
 
@@ -191,27 +343,148 @@ public class WicaStreamServerSentEventPublisher
     * monitored channels, then subsequently only updates for those channels whose
     * values have changed.
     *
+    * @param eventStreamId the stream id to be included in the published events.
     * @return the flux.
     */
-   private Flux<ServerSentEvent<String>> createMonitoredValueFlux()
+   private Flux<ServerSentEvent<String>> createMonitoredValueFlux( WicaStreamId eventStreamId )
    {
-      final AtomicReference<LocalDateTime> lastUpdateTime = new AtomicReference<>( LocalDateTime.MIN  );
-      return Flux.interval( Duration.ofMillis( wicaStreamProperties.getMonitoredValueFluxIntervalInMillis() ) )
-         .map(l -> {
-            logger.trace("channel-value-monitor flux with id: '{}' is publishing new SSE...", wicaStreamId );
-            final var timeOfLastUpdate = lastUpdateTime.getAndSet( LocalDateTime.now() );
-            final var map = timeOfLastUpdate.equals( LocalDateTime.MIN  ) ?
-               wicaStreamMonitoredValueCollectorService.getLatest( wicaStream ) :
-               wicaStreamMonitoredValueCollectorService.get( wicaStream, timeOfLastUpdate );
-            final var jsonServerSentEventString = wicaChannelValueMapSerializerService.serialize(map );
-            return WicaStreamServerSentEventBuilder.EV_WICA_CHANNEL_MONITORED_VALUES.build(wicaStreamId, jsonServerSentEventString );
+      // The state of the flux, including the state of the channel value filters,
+      // is created afresh for each subscription so that no two subscribers
+      // share (and corrupt) one another's filter state.
+      return Flux.defer( () -> {
+         final AtomicReference<LocalDateTime> lastUpdateTime = new AtomicReference<>( LocalDateTime.MIN  );
+         final AtomicReference<WicaStream> lastPublishedStream = new AtomicReference<>( wicaStream );
+         final WicaChannelValueFilterPipeline filterPipeline = wicaChannelValueFilteringService.createPipeline();
+         return Flux.interval( Duration.ofMillis( wicaStreamProperties.getMonitoredValueFluxIntervalInMillis() ) )
+            .map(l -> {
+               logger.trace("channel-value-monitor flux with id: '{}' is publishing new SSE...", eventStreamId );
+               final var timeOfLastUpdate = lastUpdateTime.getAndSet( LocalDateTime.now() );
+               final var currentStream = wicaStream;
+               final var previousStream = lastPublishedStream.getAndSet( currentStream );
+               final var addedChannelStream = getAddedChannelStream( previousStream, currentStream );
+               if ( previousStream != currentStream )
+               {
+                  // Discard the filters of any channels which have been removed.
+                  filterPipeline.retainOnly( currentStream.getWicaChannels() );
+               }
+               Map<WicaChannel,List<WicaChannelValue>> map = timeOfLastUpdate.equals( LocalDateTime.MIN  ) ?
+                  wicaStreamMonitoredValueCollectorService.getLatest( currentStream ) :
+                  wicaStreamMonitoredValueCollectorService.get( currentStream, timeOfLastUpdate, filterPipeline );
+               if ( ( addedChannelStream != null ) && ( ! timeOfLastUpdate.equals( LocalDateTime.MIN ) ) )
+               {
+                  // Channels added since the last update start with their latest value.
+                  map = new HashMap<>( map );
+                  map.putAll( wicaStreamMonitoredValueCollectorService.getLatest( addedChannelStream ) );
+               }
+               final var jsonServerSentEventString = wicaChannelValueMapSerializerService.serialize(map );
+               return WicaStreamServerSentEventBuilder.EV_WICA_CHANNEL_MONITORED_VALUES.build(eventStreamId, jsonServerSentEventString );
+            } )
+            .doFinally( signal -> wicaChannelValueFilteringService.releasePipeline( filterPipeline ) );
          } )
-         .doOnComplete( () -> logger.warn( "channel-value-monitor flux with id: '{}' completed.", wicaStreamId ))
-         .doOnCancel( () -> logger.warn("channel-value-monitor flux with id: '{}' was cancelled.", wicaStreamId ))
-         .doOnError( (e) -> logger.warn( "channel-value-monitor flux with id: '{}' had error.", wicaStreamId, e ));
+         .doOnComplete( () -> logger.warn( "channel-value-monitor flux with id: '{}' completed.", eventStreamId ))
+         .doOnCancel( () -> logger.warn("channel-value-monitor flux with id: '{}' was cancelled.", eventStreamId ))
+         .doOnError( (e) -> logger.warn( "channel-value-monitor flux with id: '{}' had error.", eventStreamId, e ));
       //.log();
    }
 
+   /**
+    * Create the WICA CHANNEL ALARM BYPASS FLUX.
+    *
+    * The purpose of this flux is to publish immediately any change in the
+    * alarm severity of the monitored channels in the stream which are
+    * configured for alarm bypass. The values are published in the same
+    * format as the monitored values flux, so that clients need not
+    * distinguish between them, but without waiting for its next periodic
+    * update. The changed values are also published on the monitored values
+    * flux in the usual way.
+    *
+    * @param eventStreamId the stream id to be included in the published events.
+    * @return the flux.
+    */
+   private Flux<ServerSentEvent<String>> createAlarmBypassFlux( WicaStreamId eventStreamId )
+   {
+      // The transitions are looked up in an index of the bypass channels which
+      // is rebuilt only when the set of channels in the stream changes.
+      return Flux.defer( () -> {
+         final AtomicReference<WicaStream> lastIndexedStream = new AtomicReference<>( null );
+         final AtomicReference<Map<ControlSystemName,List<WicaChannel>>> alarmBypassChannels = new AtomicReference<>( Map.of() );
+         return wicaStreamMonitoredValueCollectorService.getAlarmTransitionFlux()
+            .map( event -> {
+               final var currentStream = wicaStream;
+               if ( lastIndexedStream.getAndSet( currentStream ) != currentStream )
+               {
+                  alarmBypassChannels.set( getAlarmBypassChannels( currentStream ) );
+               }
+               final var controlSystemName = event.getWicaChannel().getName().getControlSystemName();
+               final var value = List.of( event.getWicaChannelValue() );
+               return alarmBypassChannels.get().getOrDefault( controlSystemName, List.of() ).stream()
+                  .collect( Collectors.toUnmodifiableMap( c -> c, c -> value ) );
+            } )
+            .filter( m -> m.keySet().size() > 0 )
+            .map( map -> {
+               logger.trace("channel-alarm-bypass flux with id: '{}' is publishing new SSE...", eventStreamId );
+               final var jsonServerSentEventString = wicaChannelValueMapSerializerService.serialize( map );
+               return WicaStreamServerSentEventBuilder.EV_WICA_CHANNEL_MONITORED_VALUES.build( eventStreamId, jsonServerSentEventString );
+            } );
+         } )
+         .doOnComplete( () -> logger.warn( "channel-alarm-bypass flux with id: '{}' completed.", eventStreamId ))
+         .doOnCancel( () -> logger.warn("channel-alarm-bypass flux with id: '{}' was cancelled.", eventStreamId ))
+         .doOnError( (e) -> logger.warn( "channel-alarm-bypass flux with id: '{}' had error.", eventStreamId, e ));
+   }
+
+   /**
+    * Create the WICA STREAM ALARM SUMMARY FLUX.
+    *
+    * The purpose of this flux is to publish the number of monitored channels
+    * in the stream which are offline and the number which are online in each
+    * alarm severity. This allows overview displays to follow the state of a
+    * large number of channels without receiving their values.
+    *
+    * The summary is maintained incrementally from the alarm transitions of
+    * the monitored channels and is recalculated only when the set of channels
+    * in the stream changes. This flux runs periodically at a rate determined
+    * by the properties of the stream but publishes only when the summary has
+    * changed. The summary is first calculated, and published, as soon as the
+    * flux is subscribed.
+    *
+    * @param eventStreamId the stream id to be included in the published events.
+    * @return the flux.
+    */
+   private Flux<ServerSentEvent<String>> createAlarmSummaryFlux( WicaStreamId eventStreamId )
+   {
+      // Each subscription maintains its own summary. The transitions are
+      // subscribed before the summary is first calculated so that none which
+      // are not already reflected in the latest values can be missed.
+      return Flux.defer( () -> {
+         final WicaStreamAlarmSummary alarmSummary = new WicaStreamAlarmSummary();
+         final AtomicReference<WicaStream> lastSummarisedStream = new AtomicReference<>( null );
+         final Flux<ServerSentEvent<String>> transitionFlux = wicaStreamMonitoredValueCollectorService.getAlarmTransitionFlux()
+            .doOnNext( event -> alarmSummary.update( event.getWicaChannel().getName().getControlSystemName(), event.getWicaChannelValue() ) )
+            .thenMany( Flux.empty() );
+         final Flux<ServerSentEvent<String>> summaryFlux = Flux.interval( Duration.ZERO, Duration.ofMillis( wicaStreamProperties.getAlarmSummaryFluxIntervalInMillis() ) )
+            .map( l -> {
+               final var currentStream = wicaStream;
+               if ( lastSummarisedStream.getAndSet( currentStream ) != currentStream )
+               {
+                  final var monitoredChannels = currentStream.getWicaChannels().stream()
+                     .filter( c -> c.getProperties().getDataAcquisitionMode().doesMonitorPublication() )
+                     .collect( Collectors.toUnmodifiableList() );
+                  alarmSummary.reset( monitoredChannels, () -> wicaStreamMonitoredValueCollectorService.getLatest( currentStream ) );
+               }
+               return alarmSummary.getSerializedSummaryIfChanged();
+            } )
+            .filter( Optional::isPresent )
+            .map( summary -> {
+               logger.trace("alarm-summary flux with id: '{}' is publishing new SSE...", eventStreamId );
+               return WicaStreamServerSentEventBuilder.EV_WICA_STREAM_ALARM_SUMMARY.build( eventStreamId, summary.get() );
+            } );
+         return transitionFlux.mergeWith( summaryFlux );
+         } )
+         .doOnComplete( () -> logger.warn( "alarm-summary flux with id: '{}' completed.", eventStreamId ))
+         .doOnCancel( () -> logger.warn("alarm-summary flux with id: '{}' was cancelled.", eventStreamId ))
+         .doOnError( (e) -> logger.warn( "alarm-summary flux with id: '{}' had error.", eventStreamId, e ));
+   }
+
    /**
     * Create the WICA CHANNEL POLLED VALUES FLUX.
     *
@@ -225,24 +498,46 @@ public class WicaStreamServerSentEventPublisher
     * polled channels, then subsequently only updates for those channels whose
     * values have changed.
     *
+    * @param eventStreamId the stream id to be included in the published events.
     * @return the flux.
     */
-   private Flux<ServerSentEvent<String>> createPolledValueFlux()
+   private Flux<ServerSentEvent<String>> createPolledValueFlux( WicaStreamId eventStreamId )
    {
-      final AtomicReference<LocalDateTime> lastUpdateTime = new AtomicReference<>( LocalDateTime.MIN  );
-      return Flux.interval( Duration.ofMillis( wicaStreamProperties.getPolledValueFluxIntervalInMillis() ) )
-         .map(l -> {
-            logger.trace("channel-value-poll flux with id: '{}' is publishing new SSE...", wicaStreamId );
-            final var timeOfLastUpdate = lastUpdateTime.getAndSet( LocalDateTime.now() );
-            final var map = timeOfLastUpdate.equals( LocalDateTime.MIN  ) ?
-               wicaStreamPolledValueCollectorService.getLatest( wicaStream ) :
-               wicaStreamPolledValueCollectorService.get( wicaStream, timeOfLastUpdate );
-            final var jsonServerSentEventString = wicaChannelValueMapSerializerService.serialize(map );
-            return WicaStreamServerSentEventBuilder.EV_WICA_CHANNEL_POLLED_VALUES.build(wicaStreamId, jsonServerSentEventString );
+      // As for the monitored values the state of the flux, including the state
+      // of the channel value filters, is created afresh for each subscription.
+      return Flux.defer( () -> {
+         final AtomicReference<LocalDateTime> lastUpdateTime = new AtomicReference<>( LocalDateTime.MIN  );
+         final AtomicReference<WicaStream> lastPublishedStream = new AtomicReference<>( wicaStream );
+         final WicaChannelValueFilterPipeline filterPipeline = wicaChannelValueFilteringService.createPolledValuePipeline();
+         return Flux.interval( Duration.ofMillis( wicaStreamProperties.getPolledValueFluxIntervalInMillis() ) )
+            .map(l -> {
+               logger.trace("channel-value-poll flux with id: '{}' is publishing new SSE...", eventStreamId );
+               final var timeOfLastUpdate = lastUpdateTime.getAndSet( LocalDateTime.now() );
+               final var currentStream = wicaStream;
+               final var previousStream = lastPublishedStream.getAndSet( currentStream );
+               final var addedChannelStream = getAddedChannelStream( previousStream, currentStream );
+               if ( previousStream != currentStream )
+               {
+                  // Discard the filters of any channels which have been removed.
+                  filterPipeline.retainOnly( currentStream.getWicaChannels() );
+               }
+               Map<WicaChannel,List<WicaChannelValue>> map = timeOfLastUpdate.equals( LocalDateTime.MIN  ) ?
+                  wicaStreamPolledValueCollectorService.getLatest( currentStream ) :
+                  wicaStreamPolledValueCollectorService.get( currentStream, timeOfLastUpdate, filterPipeline );
+               if ( ( addedChannelStream != null ) && ( ! timeOfLastUpdate.equals( LocalDateTime.MIN ) ) )
+               {
+                  // Channels added since the last update start with their latest value.
+                  map = new HashMap<>( map );
+                  map.putAll( wicaStreamPolledValueCollectorService.getLatest( addedChannelStream ) );
+               }
+               final var jsonServerSentEventString = wicaChannelValueMapSerializerService.serialize(map );
+               return WicaStreamServerSentEventBuilder.EV_WICA_CHANNEL_POLLED_VALUES.build(eventStreamId, jsonServerSentEventString );
+            } )
+            .doFinally( signal -> wicaChannelValueFilteringService.releasePipeline( filterPipeline ) );
          } )
-         .doOnComplete( () -> logger.warn( "channel-value-poll flux with id: '{}' completed.", wicaStreamId ))
-         .doOnCancel( () -> logger.warn("channel-value-poll flux with id: '{}' was cancelled.", wicaStreamId ))
-         .doOnError( (e) -> logger.warn( "channel-value-poll flux with id: '{}' had error.", wicaStreamId, e ));
+         .doOnComplete( () -> logger.warn( "channel-value-poll flux with id: '{}' completed.", eventStreamId ))
+         .doOnCancel( () -> logger.warn("channel-value-poll flux with id: '{}' was cancelled.", eventStreamId ))
+         .doOnError( (e) -> logger.warn( "channel-value-poll flux with id: '{}' had error.", eventStreamId, e ));
    //.log();
    }
 
@@ -252,17 +547,26 @@ public class WicaStreamServerSentEventPublisher
     * The purpose of this flux is to merge together all the individual fluxes in
     * this publisher, returning a reference to a flux which can be cancelled
     * by a call to the shutdown method.
+    *
+    * @param eventStreamId the stream id to be included in the published events.
     */
-   private Flux<ServerSentEvent<String>> createCombinedFlux()
+   private Flux<ServerSentEvent<String>> createCombinedFlux( WicaStreamId eventStreamId )
    {
       // Any flux can be suppressed by configuring its refresh rate to 0ms.
-      final var heartbeatFlux = wicaStreamProperties.getHeartbeatFluxIntervalInMillis() > 0 ? createHeartbeatFlux() :
+      final var heartbeatFlux = wicaStreamProperties.getHeartbeatFluxIntervalInMillis() > 0 ? createHeartbeatFlux( eventStreamId ) :
+         Flux.<ServerSentEvent<String>>empty();
+      final var metadataFlux = wicaStreamProperties.getMetadataFluxIntervalInMillis() > 0 ? createMetadataFlux( eventStreamId ) :
+         Flux.<ServerSentEvent<String>>empty();
+      final var monitoredValueFlux = wicaStreamProperties.getMonitoredValueFluxIntervalInMillis() > 0 ? createMonitoredValueFlux( eventStreamId ) :
          Flux.<ServerSentEvent<String>>empty();
-      final var metadataFlux = wicaStreamProperties.getMetadataFluxIntervalInMillis() > 0 ? createMetadataFlux() :
+      final var polledValueFlux = wicaStreamProperties.getPolledValueFluxIntervalInMillis() > 0 ? createPolledValueFlux( eventStreamId ) :
          Flux.<ServerSentEvent<String>>empty();
-      final var monitoredValueFlux = wicaStreamProperties.getMonitoredValueFluxIntervalInMillis() > 0 ? createMonitoredValueFlux() :
+      // The alarm bypass flux is only needed when the stream could contain
+      // channels which request it.
+      final var alarmBypassFlux = isAlarmBypassPossible() ? createAlarmBypassFlux( eventStreamId ) :
          Flux.<ServerSentEvent<String>>empty();
-      final var polledValueFlux = wicaStreamProperties.getPolledValueFluxIntervalInMillis() > 0 ?  createPolledValueFlux() :
+      // The alarm summary flux is optional and is only created on request.
+      final var alarmSummaryFlux = wicaStreamProperties.getOptionalAlarmSummaryFluxIntervalInMillis().orElse( 0 ) > 0 ? createAlarmSummaryFlux( eventStreamId ) :
          Flux.<ServerSentEvent<String>>empty();
 
       // Create a single Flux which merges all of the above.
@@ -270,14 +574,16 @@ public class WicaStreamServerSentEventPublisher
          .mergeWith( metadataFlux )
          .mergeWith( monitoredValueFlux )
          .mergeWith( polledValueFlux )
-         .doOnComplete( () -> logger.warn( "combined flux with id: '{}' flux completed.", wicaStreamId ))
-         .doOnCancel( () -> logger.warn("combined flux with id: '{}' was cancelled.", wicaStreamId ))
-         .doOnError( (e) -> logger.warn( "combined flux with id: '{}' had error: '{}'", wicaStreamId, e ) )
+         .mergeWith( alarmBypassFlux )
+         .mergeWith( alarmSummaryFlux )
+         .doOnComplete( () -> logger.warn( "combined flux with id: '{}' flux completed.", eventStreamId ))
+         .doOnCancel( () -> logger.warn("combined flux with id: '{}' was cancelled.", eventStreamId ))
+         .doOnError( (e) -> logger.warn( "combined flux with id: '{}' had error: '{}'", eventStreamId, e ) )
          .takeUntil( (sse) -> {
             final boolean shutdownRequest = shutdown.get();
             if ( shutdownRequest)
             {
-               logger.warn( "combined flux with id: '{}' discovered shutdown request when delivering SSE: '{}'",  wicaStreamId, sse );
+               logger.warn( "combined flux with id: '{}' discovered shutdown request when delivering SSE: '{}'",  eventStreamId, sse );
             }
             return shutdownRequest;
          } );
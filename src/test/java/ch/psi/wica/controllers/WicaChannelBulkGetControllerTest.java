@@ -0,0 +1,91 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.controllers;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.time.Duration;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class WicaChannelBulkGetControllerTest
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   @Autowired
+   private MockMvc mockMvc;
+
+   @Value( "${wica.channel-get-timeout-interval-in-ms}")
+   private int DEFAULT_GET_TIMEOUT;
+
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @Test
+   void testBulkGetRequest_DefaultTimeout()
+   {
+      final RequestBuilder postRequest = MockMvcRequestBuilders.post("/ca/channels/get?fieldsOfInterest=conn" )
+                                                               .content( "[ \"XXXXX\", \"YYYYY\" ]" )
+                                                               .contentType( MediaType.APPLICATION_JSON_VALUE )
+                                                               .accept( MediaType.APPLICATION_JSON_VALUE );
+
+      // Check that the method returns in less than twice the default timeout, even though
+      // it fetches more than one channel. This demonstrates that the timeout is shared.
+      final int methodDefaultTimeout = DEFAULT_GET_TIMEOUT;
+      final int guardTime = DEFAULT_GET_TIMEOUT / 2;
+      final int testTimeoutInMillis = methodDefaultTimeout + guardTime;
+      assertTimeoutPreemptively( Duration.ofMillis( testTimeoutInMillis ), () -> {
+         mockMvc.perform( postRequest )
+               .andExpect( status().isOk() )
+               .andExpect( content().contentTypeCompatibleWith( MediaType.APPLICATION_JSON_VALUE ) )
+               .andDo( print() )
+               .andExpect( content().string( containsString("\"XXXXX\":{\"conn\":false}") ) )
+               .andExpect( content().string( containsString("\"YYYYY\":{\"conn\":false}") ) )
+               .andReturn();
+      } );
+   }
+
+   @Test
+   void testBulkGetRequest_EmptyChannelList()
+   {
+      final RequestBuilder postRequest = MockMvcRequestBuilders.post("/ca/channels/get" )
+                                                               .content( "[]" )
+                                                               .contentType( MediaType.APPLICATION_JSON_VALUE )
+                                                               .accept( MediaType.APPLICATION_JSON_VALUE );
+      assertTimeoutPreemptively( Duration.ofMillis( DEFAULT_GET_TIMEOUT ), () -> {
+         mockMvc.perform( postRequest )
+               .andDo( print() )
+               .andExpect( status().isBadRequest() )
+               .andExpect( header().string( "X-WICA-ERROR", "The list of channel names was empty." ) )
+               .andReturn();
+      } );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
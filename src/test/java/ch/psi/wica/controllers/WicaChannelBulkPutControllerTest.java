@@ -0,0 +1,107 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.controllers;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.time.Duration;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class WicaChannelBulkPutControllerTest
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   @Autowired
+   private MockMvc mockMvc;
+
+   @Value( "${wica.channel-put-timeout-interval-in-ms}")
+   private int DEFAULT_PUT_TIMEOUT;
+
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @Test
+   void testBulkPutRequest_UserSpecifiedTimeout()
+   {
+      final int userSpecifiedTimeout = 300;
+      final RequestBuilder postRequest = MockMvcRequestBuilders.post("/ca/channels/put?timeout=" + userSpecifiedTimeout )
+                                                               .content( "{ \"XXXXX\": 25, \"YYYYY\": \"abc\" }" )
+                                                               .contentType( MediaType.APPLICATION_JSON_VALUE )
+                                                               .accept( MediaType.APPLICATION_JSON_VALUE );
+
+      // Check that the method returns in less than twice the user specified timeout, even
+      // though it writes to more than one channel. This demonstrates that the timeout is shared.
+      final int guardTime = userSpecifiedTimeout;
+      final int testTimeoutInMillis = userSpecifiedTimeout + guardTime;
+      assertTimeoutPreemptively( Duration.ofMillis( testTimeoutInMillis ), () -> {
+         mockMvc.perform( postRequest )
+               .andDo( print() )
+               .andExpect( status().is5xxServerError() )
+               .andExpect( header().string( "X-WICA-ERROR", "2 of 2 channel PUT operations failed." ) )
+               .andExpect( content().string( containsString( "\"XXXXX\":{\"success\":false,\"error\":\"timeout\"" ) ) )
+               .andExpect( content().string( containsString( "\"YYYYY\":{\"success\":false,\"error\":\"timeout\"" ) ) )
+               .andReturn();
+      } );
+   }
+
+   @Test
+   void testBulkPutRequest_EmptyChannelMap()
+   {
+      final RequestBuilder postRequest = MockMvcRequestBuilders.post("/ca/channels/put" )
+                                                               .content( "{}" )
+                                                               .contentType( MediaType.APPLICATION_JSON_VALUE )
+                                                               .accept( MediaType.APPLICATION_JSON_VALUE );
+      assertTimeoutPreemptively( Duration.ofMillis( DEFAULT_PUT_TIMEOUT ), () -> {
+         mockMvc.perform( postRequest )
+               .andDo( print() )
+               .andExpect( status().isBadRequest() )
+               .andExpect( header().string( "X-WICA-ERROR", "The map of channel values was empty." ) )
+               .andReturn();
+      } );
+   }
+
+   @Test
+   void testBulkPutRequest_NonScalarValue()
+   {
+      final RequestBuilder postRequest = MockMvcRequestBuilders.post("/ca/channels/put" )
+                                                               .content( "{ \"XXXXX\": [ 1, 2, 3 ] }" )
+                                                               .contentType( MediaType.APPLICATION_JSON_VALUE )
+                                                               .accept( MediaType.APPLICATION_JSON_VALUE );
+      assertTimeoutPreemptively( Duration.ofMillis( DEFAULT_PUT_TIMEOUT ), () -> {
+         mockMvc.perform( postRequest )
+               .andDo( print() )
+               .andExpect( status().isBadRequest() )
+               .andExpect( header().string( "X-WICA-ERROR", "The channel values must be JSON strings, numbers or booleans." ) )
+               .andReturn();
+      } );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
@@ -0,0 +1,158 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.controllers;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.controlsystem.epics.EpicsChannelMonitoringService;
+import ch.psi.wica.model.stream.WicaStreamId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+// Need to rewire the service before the tests begin since the epics
+// channel monitoring service will have been used an unknown number
+// of times before the test begins.
+@DirtiesContext( classMode= DirtiesContext.ClassMode.BEFORE_CLASS )
+@SpringBootTest
+@AutoConfigureMockMvc
+class WicaStreamModifyControllerTest
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private final Logger logger = LoggerFactory.getLogger( WicaStreamModifyControllerTest.class );
+
+   @Autowired
+   private MockMvc mockMvc;
+
+   @Autowired
+   private EpicsChannelMonitoringService epicsChannelMonitoringService;
+
+   private String epicsChannelListOk;
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @BeforeEach
+   void buildJsonNotificationBody() throws IOException
+   {
+      epicsChannelListOk = Files.readString( Paths.get("src/test/resources/epics/epics_channel_list_ok.json") );
+      WicaStreamId.resetAllocationSequencer();
+      epicsChannelMonitoringService.getStatistics().reset();
+   }
+
+   @Test
+   void test_PATCH_SendValidRequest_RequestIsAccepted() throws Exception
+   {
+      // Send a POST request to create a stream with a couple of EPICS channels which are not used elsewhere.
+      final RequestBuilder postRequest = MockMvcRequestBuilders.post( "/ca/streams" )
+            .content( "{ \"channels\": [ { \"name\": \"test:modify00\" }, { \"name\": \"test:modify01\" } ] }" )
+            .contentType( MediaType.APPLICATION_JSON_VALUE )
+            .accept( MediaType.TEXT_PLAIN_VALUE );
+      final MvcResult postRequestResult = mockMvc.perform( postRequest ).andDo( print()).andExpect( status().isOk() ).andReturn();
+      final String streamId = postRequestResult.getResponse().getContentAsString();
+      final int startRequestsBeforePatch = Integer.parseInt( epicsChannelMonitoringService.getStatistics().getStartRequests() );
+
+      // Send a PATCH request to add one channel and to remove another.
+      final RequestBuilder patchRequest = MockMvcRequestBuilders.patch( "/ca/streams/" + streamId )
+            .content( "{ \"add\": [ { \"name\": \"test:modify02\" } ], \"remove\": [ \"test:modify00\" ] }" )
+            .contentType( MediaType.APPLICATION_JSON_VALUE )
+            .accept( MediaType.TEXT_PLAIN_VALUE );
+      final MvcResult patchRequestResult = mockMvc.perform( patchRequest ).andDo( print() ).andExpect( status().isOk() ).andReturn();
+      assertEquals( streamId, patchRequestResult.getResponse().getContentAsString() );
+
+      // Verify that only the added channel resulted in a new monitoring request.
+      final int startRequestsAfterPatch = Integer.parseInt( epicsChannelMonitoringService.getStatistics().getStartRequests() );
+      assertThat( startRequestsAfterPatch - startRequestsBeforePatch, is( 1 ) );
+
+      mockMvc.perform( MockMvcRequestBuilders.delete( "/ca/streams/" + streamId ) ).andExpect( status().isOk() );
+   }
+
+   @Test
+   void test_PATCH_SendInvalidRequest_RequestIsRejectedWhenStreamIdIsUnrecognised() throws Exception
+   {
+      final RequestBuilder rb = MockMvcRequestBuilders.patch( "/ca/streams/UnknownStreamId!" )
+            .content( "{ \"remove\": [ \"test:counter00\" ] }" )
+            .contentType( MediaType.APPLICATION_JSON_VALUE )
+            .accept( MediaType.TEXT_PLAIN_VALUE );
+      final MvcResult result = mockMvc.perform( rb ).andDo( print()).andExpect( status().isBadRequest()).andReturn();
+
+      final String errorHeader = result.getResponse().getHeader( "X-WICA-ERROR" );
+      assertNotNull( errorHeader );
+      assertEquals( "WICA SERVER: The stream ID 'UnknownStreamId!' was not recognised.", errorHeader );
+      assertEquals( "", result.getResponse().getContentAsString() );
+   }
+
+   @Test
+   void test_PATCH_SendInvalidRequest_RequestIsRejectedWhenChannelIsNotInStream() throws Exception
+   {
+      final RequestBuilder postRequest = MockMvcRequestBuilders.post( "/ca/streams" )
+            .content( epicsChannelListOk )
+            .contentType( MediaType.APPLICATION_JSON_VALUE )
+            .accept( MediaType.TEXT_PLAIN_VALUE );
+      final String streamId = mockMvc.perform( postRequest ).andExpect( status().isOk() ).andReturn().getResponse().getContentAsString();
+
+      final RequestBuilder rb = MockMvcRequestBuilders.patch( "/ca/streams/" + streamId )
+            .content( "{ \"remove\": [ \"test:counter99\" ] }" )
+            .contentType( MediaType.APPLICATION_JSON_VALUE )
+            .accept( MediaType.TEXT_PLAIN_VALUE );
+      final MvcResult result = mockMvc.perform( rb ).andDo( print()).andExpect( status().isBadRequest()).andReturn();
+
+      final String errorHeader = result.getResponse().getHeader( "X-WICA-ERROR" );
+      assertNotNull( errorHeader );
+      assertEquals( "WICA SERVER: The channel to be removed: 'test:counter99' was not in the stream.", errorHeader );
+      logger.info( "Returned error header was: '{}'", errorHeader );
+
+      mockMvc.perform( MockMvcRequestBuilders.delete( "/ca/streams/" + streamId ) ).andExpect( status().isOk() );
+   }
+
+   @Test
+   void test_PATCH_SendInvalidRequest_RequestIsRejectedWhenNothingToDo() throws Exception
+   {
+      final RequestBuilder postRequest = MockMvcRequestBuilders.post( "/ca/streams" )
+            .content( epicsChannelListOk )
+            .contentType( MediaType.APPLICATION_JSON_VALUE )
+            .accept( MediaType.TEXT_PLAIN_VALUE );
+      final String streamId = mockMvc.perform( postRequest ).andExpect( status().isOk() ).andReturn().getResponse().getContentAsString();
+
+      final RequestBuilder rb = MockMvcRequestBuilders.patch( "/ca/streams/" + streamId )
+            .content( "{ \"add\": [], \"remove\": [] }" )
+            .contentType( MediaType.APPLICATION_JSON_VALUE )
+            .accept( MediaType.TEXT_PLAIN_VALUE );
+      final MvcResult result = mockMvc.perform( rb ).andDo( print()).andExpect( status().isBadRequest()).andReturn();
+      assertEquals( "WICA SERVER: The modification request did not add or remove any channels.", result.getResponse().getHeader( "X-WICA-ERROR" ) );
+
+      mockMvc.perform( MockMvcRequestBuilders.delete( "/ca/streams/" + streamId ) ).andExpect( status().isOk() );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
@@ -0,0 +1,92 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.controlsystem.epics;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+class EpicsChannelContextPoolTest
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+/*- Package-access methods ---------------------------------------------------*/
+
+   @Test
+   void testConstructor_ThrowsIllegalArgumentExceptionWhenNumberOfContextsIsZero()
+   {
+      assertThrows( IllegalArgumentException.class, () -> new EpicsChannelContextPool( 0, "BlockingQueueMultipleWorkerMonitorNotificationServiceImpl,16", 800 ) );
+   }
+
+   @Test
+   void testGetShardIndex_IsStableAndInRange()
+   {
+      try ( EpicsChannelContextPool pool = new EpicsChannelContextPool( 4, "BlockingQueueMultipleWorkerMonitorNotificationServiceImpl,16", 800 ) )
+      {
+         assertThat( pool.size(), is( 4 ) );
+         for ( int i = 0; i < 1000; i++ )
+         {
+            final EpicsChannelName name = EpicsChannelName.of( "XXX:CHAN" + i );
+            final int shard = pool.getShardIndex( name );
+            assertThat( shard >= 0 && shard < 4, is( true ) );
+            assertThat( pool.getShardIndex( EpicsChannelName.of( "XXX:CHAN" + i ) ), is( shard ) );
+            assertThat( pool.getContext( name ), is( pool.getContext( EpicsChannelName.of( "XXX:CHAN" + i ) ) ) );
+         }
+      }
+   }
+
+   @Test
+   void testJumpConsistentHash_DistributesSimilarNamesEvenly()
+   {
+      final int buckets = 8;
+      final int keys = 80_000;
+      final int[] counts = new int[ buckets ];
+      for ( int i = 0; i < keys; i++ )
+      {
+         counts[ EpicsChannelContextPool.jumpConsistentHash( i, buckets ) ]++;
+      }
+      for ( int count : counts )
+      {
+         assertThat( count, greaterThan( 9_000 ) );
+         assertThat( count, lessThan( 11_000 ) );
+      }
+   }
+
+   @Test
+   void testJumpConsistentHash_MovesFewKeysWhenBucketAdded()
+   {
+      final int keys = 10_000;
+      int moved = 0;
+      for ( int i = 0; i < keys; i++ )
+      {
+         final int before = EpicsChannelContextPool.jumpConsistentHash( i, 4 );
+         final int after = EpicsChannelContextPool.jumpConsistentHash( i, 5 );
+         if ( before != after )
+         {
+            // Keys only ever move to the new bucket.
+            assertThat( after, is( 4 ) );
+            moved++;
+         }
+      }
+      // Ideally one fifth of the keys move.
+      assertThat( moved, greaterThan( 1_500 ) );
+      assertThat( moved, lessThan( 2_500 ) );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
@@ -0,0 +1,194 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.controlsystem.epics;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.app.StatisticsCollectionService;
+import ch.psi.wica.model.channel.WicaChannelValue;
+import org.epics.ca.Channel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+@SpringBootTest( webEnvironment = SpringBootTest.WebEnvironment.NONE )
+class EpicsChannelGetAndPutServiceTest
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   @Autowired
+   private EpicsChannelGetAndPutService epicsChannelGetAndPutService;
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+/*- Package-access methods ---------------------------------------------------*/
+
+   @BeforeEach
+   void beforeEach()
+   {
+      epicsChannelGetAndPutService.getStatistics().reset();
+   }
+
+   @Test
+   void testGet_ThrowsNullPointerExceptionWhenChannelNameIsNull()
+   {
+      assertThrows( NullPointerException.class, () -> epicsChannelGetAndPutService.get( null, 100, TimeUnit.MILLISECONDS ) );
+   }
+
+   @Test
+   void testGet_ReturnsDisconnectedValueForUnknownChannel()
+   {
+      final WicaChannelValue value = epicsChannelGetAndPutService.get( EpicsChannelName.of( "XXXXX" ), 100, TimeUnit.MILLISECONDS );
+      assertThat( value.isConnected(), is( false ) );
+      assertThat( epicsChannelGetAndPutService.getStatistics().getGetRequests(), is( "1" ) );
+      assertThat( epicsChannelGetAndPutService.getStatistics().getGetRequestsCoalesced(), is( "0" ) );
+   }
+
+   @Test
+   void testGet_SequentialRequestsAreNotCoalesced()
+   {
+      epicsChannelGetAndPutService.get( EpicsChannelName.of( "XXXXX" ), 100, TimeUnit.MILLISECONDS );
+      epicsChannelGetAndPutService.get( EpicsChannelName.of( "XXXXX" ), 100, TimeUnit.MILLISECONDS );
+      assertThat( epicsChannelGetAndPutService.getStatistics().getGetRequests(), is( "2" ) );
+      assertThat( epicsChannelGetAndPutService.getStatistics().getGetRequestsCoalesced(), is( "0" ) );
+   }
+
+   @Test
+   void testGet_ConcurrentRequestsAreCoalesced() throws InterruptedException, ExecutionException
+   {
+      final int numberOfCallers = 10;
+      final ExecutorService executor = Executors.newFixedThreadPool( numberOfCallers );
+      final CountDownLatch startSignal = new CountDownLatch( 1 );
+      final List<Future<WicaChannelValue>> futures = new ArrayList<>();
+      for ( int i = 0; i < numberOfCallers; i++ )
+      {
+         futures.add( executor.submit( () -> {
+            startSignal.await();
+            return epicsChannelGetAndPutService.get( EpicsChannelName.of( "XXXXX" ), 1000, TimeUnit.MILLISECONDS );
+         } ) );
+      }
+      startSignal.countDown();
+      for ( Future<WicaChannelValue> future : futures )
+      {
+         assertThat( future.get().isConnected(), is( false ) );
+      }
+      executor.shutdown();
+
+      assertThat( epicsChannelGetAndPutService.getStatistics().getGetRequests(), is( String.valueOf( numberOfCallers ) ) );
+      assertThat( epicsChannelGetAndPutService.getStatistics().getGetRequestsCoalesced(), is( String.valueOf( numberOfCallers - 1 ) ) );
+      assertThat( epicsChannelGetAndPutService.getStatistics().getInFlightGetCount(), is( "0" ) );
+   }
+
+   @SuppressWarnings( "unchecked" )
+   @Test
+   void testGet_ReturnsDisconnectedValueWhenMonitoredChannelGetterThrows()
+   {
+      final EpicsChannelValueGetter mockGetter = mock( EpicsChannelValueGetter.class );
+      final EpicsChannelMonitoringService mockMonitoringService = mock( EpicsChannelMonitoringService.class );
+      final Channel<Object> mockChannel = mock( Channel.class );
+      given( mockMonitoringService.getConnectedChannel( any() ) ).willReturn( Optional.of( mockChannel ) );
+      given( mockGetter.getAsync( mockChannel ) ).willThrow( new IllegalStateException( "Channel not connected." ) );
+
+      final EpicsChannelGetAndPutService service = new EpicsChannelGetAndPutService( "BlockingQueueMultipleWorkerMonitorNotificationServiceImpl,16,10", 800, 1, 10, 0,
+                                                                                     mockGetter, mockMonitoringService, new StatisticsCollectionService() );
+      try
+      {
+         assertThat( service.get( EpicsChannelName.of( "XXXXX" ), 100, TimeUnit.MILLISECONDS ).isConnected(), is( false ) );
+         assertThat( service.getStatistics().getInFlightGetCount(), is( "0" ) );
+
+         // The failed read must not leave behind a flight that later requests would join.
+         final Map<EpicsChannelName,WicaChannelValue> resultMap = service.getAll( Set.of( EpicsChannelName.of( "XXXXX" ) ), 100, TimeUnit.MILLISECONDS );
+         assertThat( resultMap.get( EpicsChannelName.of( "XXXXX" ) ).isConnected(), is( false ) );
+         assertThat( service.getStatistics().getGetRequestsCoalesced(), is( "0" ) );
+         assertThat( service.getStatistics().getInFlightGetCount(), is( "0" ) );
+      }
+      finally
+      {
+         service.close();
+      }
+   }
+
+   @SuppressWarnings( "unchecked" )
+   @Test
+   void testGet_JoinerWithLongerTimeoutIsNotLimitedByFirstCaller() throws InterruptedException, ExecutionException
+   {
+      final EpicsChannelValueGetter mockGetter = mock( EpicsChannelValueGetter.class );
+      final EpicsChannelMonitoringService mockMonitoringService = mock( EpicsChannelMonitoringService.class );
+      final Channel<Object> mockChannel = mock( Channel.class );
+      final CompletableFuture<WicaChannelValue> read = new CompletableFuture<>();
+      final WicaChannelValue readValue = WicaChannelValue.createChannelValueConnected( 123.0 );
+      given( mockMonitoringService.getConnectedChannel( any() ) ).willReturn( Optional.of( mockChannel ) );
+      given( mockGetter.getAsync( mockChannel ) ).willReturn( read );
+
+      final EpicsChannelGetAndPutService service = new EpicsChannelGetAndPutService( "BlockingQueueMultipleWorkerMonitorNotificationServiceImpl,16,10", 800, 1, 10, 0,
+                                                                                     mockGetter, mockMonitoringService, new StatisticsCollectionService() );
+      final ExecutorService executor = Executors.newFixedThreadPool( 2 );
+      try
+      {
+         // The first caller starts the read with a short timeout, the second joins it with a longer one.
+         final Future<WicaChannelValue> firstCaller = executor.submit( () -> service.get( EpicsChannelName.of( "XXXXX" ), 100, TimeUnit.MILLISECONDS ) );
+         Thread.sleep( 20 );
+         final Future<WicaChannelValue> secondCaller = executor.submit( () -> service.get( EpicsChannelName.of( "XXXXX" ), 2000, TimeUnit.MILLISECONDS ) );
+
+         // The value arrives after the first caller has given up but within the timeout of the second.
+         assertThat( firstCaller.get().isConnected(), is( false ) );
+         Thread.sleep( 200 );
+         read.complete( readValue );
+
+         assertThat( secondCaller.get(), is( readValue ) );
+         assertThat( service.getStatistics().getGetRequestsCoalesced(), is( "1" ) );
+         assertThat( service.getStatistics().getInFlightGetCount(), is( "0" ) );
+      }
+      finally
+      {
+         executor.shutdown();
+         service.close();
+      }
+   }
+
+   @Test
+   void testGetAll_ReturnsDisconnectedValuesInRequestOrder()
+   {
+      final var channelNames = new LinkedHashSet<>( List.of( EpicsChannelName.of( "YYYYY" ), EpicsChannelName.of( "XXXXX" ) ) );
+      final Map<EpicsChannelName,WicaChannelValue> resultMap = epicsChannelGetAndPutService.getAll( channelNames, 100, TimeUnit.MILLISECONDS );
+      assertThat( List.copyOf( resultMap.keySet() ), is( List.copyOf( channelNames ) ) );
+      assertThat( resultMap.values().stream().noneMatch( WicaChannelValue::isConnected ), is( true ) );
+   }
+
+   @Test
+   void testPutAll_ReportsTimeoutForUnknownChannel()
+   {
+      final var resultMap = epicsChannelGetAndPutService.putAll( Map.of( EpicsChannelName.of( "XXXXX" ), "25" ), 100, TimeUnit.MILLISECONDS );
+      final EpicsChannelPutResult result = resultMap.get( EpicsChannelName.of( "XXXXX" ) );
+      assertThat( result.isSuccess(), is( false ) );
+      assertThat( result.getErrorMessage().orElseThrow(), is( "timeout" ) );
+      assertThat( epicsChannelGetAndPutService.getStatistics().getPutRequests(), is( "1" ) );
+      assertThat( epicsChannelGetAndPutService.getStatistics().getPutChannelPoolCount(), is( "0" ) );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
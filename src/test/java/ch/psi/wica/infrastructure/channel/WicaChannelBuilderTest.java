@@ -60,6 +60,23 @@ class WicaChannelBuilderTest
       assertThat( objectUnderTest.getProperties(), is( testProps ) );
    }
 
+   @Test
+   void testEqualChannelsShareInstances()
+   {
+      final WicaChannelProperties properties = WicaChannelPropertiesBuilder.create().withDefaultProperties().withNumericPrecision( 7 ).build();
+      final WicaChannel channel1 = WicaChannelBuilder.create().withChannelNameAndProperties( new String( "interned:chan" ), properties ).build();
+      final WicaChannel channel2 = WicaChannelBuilder.create().withChannelNameAndProperties( new String( "interned:chan" ), WicaChannelPropertiesBuilder.create().withDefaultProperties().withNumericPrecision( 7 ).build() ).build();
+
+      assertThat( channel2 == channel1, is( true ) );
+      assertThat( channel2.getName() == channel1.getName(), is( true ) );
+      assertThat( channel2.getProperties() == properties, is( true ) );
+
+      // Channels whose properties differ remain distinct.
+      final WicaChannel channel3 = WicaChannelBuilder.create().withChannelNameAndDefaultProperties( "interned:chan" ).build();
+      assertThat( channel3 == channel1, is( false ) );
+      assertThat( channel3.getName() == channel1.getName(), is( true ) );
+   }
+
 /*- Private methods ----------------------------------------------------------*/
 /*- Nested Classes -----------------------------------------------------------*/
 
@@ -4,6 +4,10 @@ package ch.psi.wica.infrastructure.channel;
 /*- Imported packages --------------------------------------------------------*/
 
 import ch.psi.wica.infrastructure.util.JsonStringFormatter;
+import ch.psi.wica.model.app.WicaWaveformDecimationMode;
+import ch.psi.wica.model.channel.WicaChannelAlarmSeverity;
+import ch.psi.wica.model.channel.WicaChannelAlarmStatus;
+import ch.psi.wica.model.channel.WicaChannelStatistics;
 import ch.psi.wica.model.channel.WicaChannelValue;
 import com.fasterxml.jackson.core.json.JsonReadFeature;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -19,6 +23,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -169,6 +174,51 @@ class WicaChannelDataSerializerTestWithChannelValues
       assertEquals( NaN, rootNode.get( "val" ).get(2).asDouble() );
    }
 
+   @Test
+   void test_serializeValueRealArrayWithWaveformDecimation() throws IOException
+   {
+      final double[] waveform = new double[ 1000 ];
+      waveform[ 503 ] = 99.0;
+      final var value = WicaChannelValue.createChannelValueConnected( waveform );
+      final var serializer = new WicaChannelDataSerializer( Set.of(), 4, false, 20, WicaWaveformDecimationMode.MIN_MAX );
+      final JsonNode rootNode = jsonDecoder.readTree( serializer.writeToJson( value ) );
+      assertEquals( JsonNodeType.ARRAY, rootNode.get( "val" ).getNodeType() );
+      assertTrue( rootNode.get( "val" ).size() <= 20 );
+      boolean spikeFound = false;
+      for ( JsonNode node : rootNode.get( "val" ) )
+      {
+         spikeFound |= ( node.asDouble() == 99.0 );
+      }
+      assertTrue( spikeFound );
+   }
+
+   @Test
+   void test_serializeValueIntegerArrayWithWaveformDecimation() throws IOException
+   {
+      final int[] waveform = new int[ 100 ];
+      for ( int i = 0; i < waveform.length; i++ )
+      {
+         waveform[ i ] = i;
+      }
+      final var value = WicaChannelValue.createChannelValueConnected( waveform );
+      final var serializer = new WicaChannelDataSerializer( Set.of(), 4, false, 10, WicaWaveformDecimationMode.STRIDE );
+      final JsonNode rootNode = jsonDecoder.readTree( serializer.writeToJson( value ) );
+      assertEquals( 10, rootNode.get( "val" ).size() );
+      assertEquals( 0, rootNode.get( "val" ).get( 0 ).asInt() );
+      assertEquals( 90, rootNode.get( "val" ).get( 9 ).asInt() );
+   }
+
+   @Test
+   void test_serializeValueStatistics() throws IOException
+   {
+      final var statistics = new WicaChannelStatistics( 8, 2.0, 9.0, 5.0, 2.138089935299395 );
+      final var value = WicaChannelValue.createChannelValueConnected( WicaChannelAlarmSeverity.NO_ALARM, WicaChannelAlarmStatus.of( 0 ), LocalDateTime.now(), statistics );
+      final var serializer = new WicaChannelDataSerializer( Set.of( "type", "val" ), 3, false );
+      final var jsonStr = serializer.writeToJson( value );
+      logger.info("JSON Value STATISTICS serialisation looks like this: \n'{}'", JsonStringFormatter.prettyFormat( jsonStr ) );
+      assertEquals( "{\"type\":\"STATISTICS\",\"val\":{\"n\":8,\"min\":2.000,\"max\":9.000,\"mean\":5.000,\"sdev\":2.138}}", jsonStr );
+   }
+
    @Test
    void test_serializeValueRealIncludesNanSerializedAsNumber() throws IOException
    {
@@ -0,0 +1,70 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.infrastructure.channel;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.app.WicaWaveformDecimationMode;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+class WicaWaveformDecimatorTest
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @Test
+   void testConstructorRejectsInvalidArguments()
+   {
+      assertThrows( IllegalArgumentException.class, () -> new WicaWaveformDecimator( -1, WicaWaveformDecimationMode.STRIDE ) );
+      assertThrows( NullPointerException.class, () -> new WicaWaveformDecimator( 10, null ) );
+   }
+
+   @Test
+   void testDecimationRequired()
+   {
+      final var decimator = new WicaWaveformDecimator( 10, WicaWaveformDecimationMode.MIN_MAX );
+      assertThat( decimator.isDecimationRequired( 10 ), is( false ) );
+      assertThat( decimator.isDecimationRequired( 11 ), is( true ) );
+      assertThat( WicaWaveformDecimator.NONE.isDecimationRequired( 1_000_000 ), is( false ) );
+   }
+
+   @Test
+   void testStrideSelection()
+   {
+      final var decimator = new WicaWaveformDecimator( 4, WicaWaveformDecimationMode.STRIDE );
+      assertThat( decimator.selectIndices( new int[ 10 ] ), is( new int[] { 0, 2, 5, 7 } ) );
+   }
+
+   @Test
+   void testMinMaxSelectionPreservesSpikesInOrder()
+   {
+      final double[] waveform = new double[ 100 ];
+      waveform[ 10 ] = 5.0;
+      waveform[ 20 ] = -5.0;
+      waveform[ 70 ] = 3.0;
+      final var decimator = new WicaWaveformDecimator( 4, WicaWaveformDecimationMode.MIN_MAX );
+      assertThat( decimator.selectIndices( waveform ), is( new int[] { 10, 20, 50, 70 } ) );
+   }
+
+   @Test
+   void testMinMaxSelectionOfFlatWaveform()
+   {
+      final var decimator = new WicaWaveformDecimator( 6, WicaWaveformDecimationMode.MIN_MAX );
+      assertThat( decimator.selectIndices( new int[ 30 ] ), is( new int[] { 0, 10, 20 } ) );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
@@ -139,6 +139,40 @@ class WicaStreamConfigurationDecoderTest
       assertThat( channels.size(), is( 45 ) );
    }
 
+   @Test
+   void testGoodDecodeSequence_channelsFieldPrecedesPropsField()
+   {
+      final String testString = "{ \"channels\": [ { \"name\": \"CHAN1\" }, { \"name\": \"CHAN2\", \"props\": { \"fields\": \"val\" } } ]," +
+                                  "\"unknown\": { \"ignored\": [ 1, 2 ] }, \"props\": { \"prec\": 5, \"fields\": \"val;sevr\" } }";
+
+      final WicaStream wicaStream = decoder.decode( testString );
+      assertThat( wicaStream.getWicaChannel( "CHAN1" ).orElseThrow().getProperties().getNumericPrecision(), is( 5 ) );
+      assertThat( wicaStream.getWicaChannel( "CHAN1" ).orElseThrow().getProperties().getFieldsOfInterest(), is( "val;sevr" ) );
+      assertThat( wicaStream.getWicaChannel( "CHAN2" ).orElseThrow().getProperties().getNumericPrecision(), is( 5 ) );
+      assertThat( wicaStream.getWicaChannel( "CHAN2" ).orElseThrow().getProperties().getFieldsOfInterest(), is( "val" ) );
+   }
+
+   @Test
+   void testGoodDecodeChannelsSequence_channelsInheritStreamProperties()
+   {
+      final WicaStream wicaStream = decoder.decode( "{ \"props\": { \"prec\": 7, \"hbflux\": 50 }, \"channels\": [ { \"name\": \"CHAN1\" } ] }" );
+      final WicaStream addedChannelStream = decoder.decodeChannels( wicaStream, "[ { \"name\": \"CHAN2\" }, { \"name\": \"CHAN3\", \"props\": { \"prec\": 3 } } ]" );
+
+      assertThat( addedChannelStream.getWicaStreamId(), is( wicaStream.getWicaStreamId() ) );
+      assertThat( addedChannelStream.getWicaStreamProperties(), is( wicaStream.getWicaStreamProperties() ) );
+      assertThat( addedChannelStream.getWicaChannels().size(), is( 2 ) );
+      assertThat( addedChannelStream.getWicaChannel( "CHAN2" ).orElseThrow().getProperties().getNumericPrecision(), is( 7 ) );
+      assertThat( addedChannelStream.getWicaChannel( "CHAN3" ).orElseThrow().getProperties().getNumericPrecision(), is( 3 ) );
+   }
+
+   @Test
+   void testBadDecodeChannelsSequence_inputIsNotArray()
+   {
+      final WicaStream wicaStream = decoder.decode( "{ \"channels\": [ { \"name\": \"CHAN1\" } ] }" );
+      final var ex = assertThrows( IllegalArgumentException.class, () -> decoder.decodeChannels( wicaStream, "{}" ) );
+      assertThat( ex.getMessage(), is( "The JSON channel configuration string was not an array." ) );
+   }
+
    @Test
    void testBadDecodeSequence_nullString()
    {
@@ -185,6 +185,43 @@ class WicaStreamMonitoredValueDataBufferTest
       }
    }
 
+   @Test
+   void testChannelsWithCollidingHashesAreStoredSeparately()
+   {
+      // The strings "Aa" and "BB" have the same hash code.
+      final WicaChannel aa = WicaChannelBuilder.create().withChannelNameAndDefaultProperties( "Aa" ).build();
+      final WicaChannel bb = WicaChannelBuilder.create().withChannelNameAndDefaultProperties( "BB" ).build();
+      final WicaDataBufferStorageKey aaKey = WicaDataBufferStorageKey.getMonitoredValueStorageKey( aa );
+      final WicaDataBufferStorageKey bbKey = WicaDataBufferStorageKey.getMonitoredValueStorageKey( bb );
+      assertThat( aaKey.hashCode(), is( bbKey.hashCode() ) );
+      assertThat( aaKey.equals( bbKey ), is( false ) );
+
+      injectValueUpdate( aa, WicaChannelValue.createChannelValueDisconnected() );
+      final var resultMap = testObject.getLaterThan( Set.of( aa, bb ), LocalDateTime.MIN );
+      assertThat( resultMap.get( aa ).size(), is( 1 ) );
+      assertThat( resultMap.get( bb ).size(), is( 0 ) );
+   }
+
+   @Test
+   void testDiscard()
+   {
+      final WicaChannel abc = WicaChannelBuilder.create().withChannelNameAndDefaultProperties( "abc" ).build();
+      final WicaChannel def = WicaChannelBuilder.create().withChannelNameAndDefaultProperties( "def" ).build();
+      injectValueUpdate( abc, WicaChannelValue.createChannelValueDisconnected() );
+      assertThat( testObject.size(), is( 1 ) );
+
+      assertThat( testObject.discard( WicaDataBufferStorageKey.getMonitoredValueStorageKey( abc ) ), is( true ) );
+      assertThat( testObject.discard( WicaDataBufferStorageKey.getMonitoredValueStorageKey( abc ) ), is( false ) );
+      assertThat( testObject.size(), is( 0 ) );
+      assertThat( testObject.findLatest( WicaDataBufferStorageKey.getMonitoredValueStorageKey( abc ) ).isPresent(), is( false ) );
+
+      // The storage which is reused by the next channel must start empty.
+      injectValueUpdate( def, WicaChannelValue.createChannelValueDisconnected() );
+      final var resultMap = testObject.getLaterThan( Set.of( abc, def ), LocalDateTime.MIN );
+      assertThat( resultMap.get( abc ).size(), is( 0 ) );
+      assertThat( resultMap.get( def ).size(), is( 1 ) );
+   }
+
 /*- Private methods ----------------------------------------------------------*/
    
    private void injectValueUpdate( WicaChannel wicaChannel, WicaChannelValue wicaChannelValue )
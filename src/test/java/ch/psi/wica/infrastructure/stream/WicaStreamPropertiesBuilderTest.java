@@ -65,6 +65,7 @@ class WicaStreamPropertiesBuilderTest
          .withMetadataFluxInterval( 2 )
          .withMonitoredValueFluxInterval( 3 )
          .withPolledValueFluxInterval( 4 )
+         .withAlarmSummaryFluxInterval( 12 )
          .withFilterCycleLength( 5 )
          .withFilterDeadband( 6.0 )
          .withFilterNumSamples( 7 )
@@ -81,6 +82,7 @@ class WicaStreamPropertiesBuilderTest
       assertThat( props.getMetadataFluxIntervalInMillis(), is(2 ) );
       assertThat( props.getMonitoredValueFluxIntervalInMillis(), is(3 ) );
       assertThat( props.getPolledValueFluxIntervalInMillis(), is(4 ) );
+      assertThat( props.getAlarmSummaryFluxIntervalInMillis(), is(12 ) );
       assertThat( props.getFilterCycleLength(), is(5 ) );
       assertThat( props.getFilterDeadband(), is(6.0 ) );
       assertThat( props.getFilterNumSamples(), is(7 ) );
@@ -7,12 +7,15 @@ import ch.psi.wica.infrastructure.channel.WicaChannelBuilder;
 import ch.psi.wica.infrastructure.channel.WicaChannelPropertiesBuilder;
 import ch.psi.wica.model.app.WicaDataAcquisitionMode;
 import ch.psi.wica.model.app.WicaFilterType;
+import ch.psi.wica.model.app.WicaWaveformDecimationMode;
 import ch.psi.wica.model.channel.WicaChannel;
 import ch.psi.wica.model.channel.WicaChannelProperties;
 import ch.psi.wica.model.stream.WicaStream;
 import ch.psi.wica.model.stream.WicaStreamProperties;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
@@ -52,7 +55,7 @@ class WicaStreamSerializerTest
    {
       final WicaStreamProperties inputProps = WicaStreamPropertiesBuilder.create().build();
       final String resultStr = WicaStreamSerializer.writeToJson( inputProps );
-      assertThat( resultStr, is( "{\"hbflux\":null,\"metaflux\":null,\"monflux\":null,\"pollflux\":null,\"daqmode\":null,\"pollint\":null,\"fields\":null,\"prec\":null,\"filter\":null,\"n\":null,\"x\":null,\"m\":null,\"interval\":null,\"deadband\":null}" ) );
+      assertThat( resultStr, is( "{\"hbflux\":null,\"metaflux\":null,\"monflux\":null,\"pollflux\":null,\"daqmode\":null,\"pollint\":null,\"fields\":null,\"prec\":null,\"filter\":null,\"n\":null,\"x\":null,\"m\":null,\"interval\":null,\"deadband\":null,\"wfpts\":null,\"wfmode\":null,\"filters\":null,\"alarmbypass\":null,\"dbmode\":null,\"sumflux\":null}" ) );
    }
    @Test
    void testSerializeWicaStreamProperties_SelectedProperties1_ProducesExpectedValues()
@@ -64,7 +67,7 @@ class WicaStreamSerializerTest
             .withFilterDeadband( 14.3 )
             .build();
       final String resultStr = WicaStreamSerializer.writeToJson( inputProps );
-      assertThat( resultStr, is( "{\"hbflux\":22,\"metaflux\":null,\"monflux\":null,\"pollflux\":null,\"daqmode\":null,\"pollint\":null,\"fields\":null,\"prec\":65,\"filter\":null,\"n\":null,\"x\":null,\"m\":null,\"interval\":null,\"deadband\":14.3}" ) );
+      assertThat( resultStr, is( "{\"hbflux\":22,\"metaflux\":null,\"monflux\":null,\"pollflux\":null,\"daqmode\":null,\"pollint\":null,\"fields\":null,\"prec\":65,\"filter\":null,\"n\":null,\"x\":null,\"m\":null,\"interval\":null,\"deadband\":14.3,\"wfpts\":null,\"wfmode\":null,\"filters\":null,\"alarmbypass\":null,\"dbmode\":null,\"sumflux\":null}" ) );
    }
 
    @Test
@@ -78,7 +81,7 @@ class WicaStreamSerializerTest
               .withFilterType( WicaFilterType.AVERAGER )
               .build();
       final String resultStr = WicaStreamSerializer.writeToJson( inputProps );
-      assertThat( resultStr, is( "{\"hbflux\":22,\"metaflux\":null,\"monflux\":null,\"pollflux\":null,\"daqmode\":null,\"pollint\":null,\"fields\":null,\"prec\":65,\"filter\":\"averager\",\"n\":null,\"x\":null,\"m\":null,\"interval\":null,\"deadband\":14.3}" ) );
+      assertThat( resultStr, is( "{\"hbflux\":22,\"metaflux\":null,\"monflux\":null,\"pollflux\":null,\"daqmode\":null,\"pollint\":null,\"fields\":null,\"prec\":65,\"filter\":\"averager\",\"n\":null,\"x\":null,\"m\":null,\"interval\":null,\"deadband\":14.3,\"wfpts\":null,\"wfmode\":null,\"filters\":null,\"alarmbypass\":null,\"dbmode\":null,\"sumflux\":null}" ) );
    }
 
    /****************************************************************************************
@@ -126,6 +129,15 @@ class WicaStreamSerializerTest
       assertThat( props.getOptionalFilterDeadband().isEmpty(),                     is( true ) );
    }
 
+   @Test
+   void testDeserializeWicaStreamProperties_AlarmSummaryFluxInterval()
+   {
+      final String inputString = "{\"sumflux\":500}";
+      final WicaStreamProperties props = WicaStreamSerializer.readFromJson( inputString, WicaStreamProperties.class );
+      assertThat( props.getOptionalAlarmSummaryFluxIntervalInMillis().isPresent(), is( true ) );
+      assertThat( props.getOptionalAlarmSummaryFluxIntervalInMillis().get(),       is( 500 ) );
+   }
+
    @Test
    void testDeserializeWicaStreamProperties_ConfiguredFieldValues1_ProducesExpectedObject()
    {
@@ -284,7 +296,7 @@ class WicaStreamSerializerTest
    {
       final WicaChannelProperties inputProps = WicaChannelPropertiesBuilder.create().build();
       final String resultStr = WicaStreamSerializer.writeToJson( inputProps );
-      assertThat( resultStr, is( "{\"daqmode\":null,\"pollint\":null,\"fields\":null,\"prec\":null,\"filter\":null,\"n\":null,\"x\":null,\"m\":null,\"interval\":null,\"deadband\":null}" ) );
+      assertThat( resultStr, is( "{\"daqmode\":null,\"pollint\":null,\"fields\":null,\"prec\":null,\"filter\":null,\"n\":null,\"x\":null,\"m\":null,\"interval\":null,\"deadband\":null,\"wfpts\":null,\"wfmode\":null,\"filters\":null,\"alarmbypass\":null,\"dbmode\":null}" ) );
    }
 
    @Test
@@ -307,7 +319,7 @@ class WicaStreamSerializerTest
    @Test
    void testDeserializeWicaChannelProperties_SparselyConfiguredFieldValues_ProducesExpectedObject()
    {
-      final String inputString = "{\"daqmode\":\"poll\",\"pollint\":5,\"fields\":\"abc\",\"prec\":6,\"filter\":\"last-n\",\"n\":7,\"x\":8,\"m\":9,\"interval\":10,\"deadband\":11.0}";
+      final String inputString = "{\"daqmode\":\"poll\",\"pollint\":5,\"fields\":\"abc\",\"prec\":6,\"filter\":\"last-n\",\"n\":7,\"x\":8,\"m\":9,\"interval\":10,\"deadband\":11.0,\"wfpts\":12,\"wfmode\":\"stride\",\"filters\":[\"changes\",\"rate-limiter\"]}";
       final WicaStreamProperties props = WicaStreamSerializer.readFromJson( inputString, WicaStreamProperties.class );
 
       assertThat( props.getOptionalDataAcquisitionMode().isPresent(),                is( true ) );
@@ -320,6 +332,9 @@ class WicaStreamSerializerTest
       assertThat( props.getOptionalFilterCycleLength().isPresent(),                  is( true ) );
       assertThat( props.getOptionalFilterSamplingIntervalInMillis().isPresent(),     is( true ) );
       assertThat( props.getOptionalFilterDeadband().isPresent(),                     is( true ) );
+      assertThat( props.getOptionalWaveformDecimationPoints().isPresent(),           is( true ) );
+      assertThat( props.getOptionalWaveformDecimationMode().isPresent(),             is( true ) );
+      assertThat( props.getOptionalFilterChain().isPresent(),                        is( true ) );
 
       assertThat( props.getOptionalDataAcquisitionMode().get(),                      is( WicaDataAcquisitionMode.POLL ) );
       assertThat( props.getOptionalPollingIntervalInMillis().get(),                  is( 5 ) );
@@ -331,6 +346,9 @@ class WicaStreamSerializerTest
       assertThat( props.getOptionalFilterCycleLength().get(),                        is( 9 ) );
       assertThat( props.getOptionalFilterSamplingIntervalInMillis().get(),           is( 10 ) );
       assertThat( props.getOptionalFilterDeadband().get(),                           is( 11.0 ) );
+      assertThat( props.getOptionalWaveformDecimationPoints().get(),                 is( 12 ) );
+      assertThat( props.getOptionalWaveformDecimationMode().get(),                   is( WicaWaveformDecimationMode.STRIDE ) );
+      assertThat( props.getOptionalFilterChain().get(),                              is( List.of( WicaFilterType.CHANGE_DETECTOR, WicaFilterType.RATE_LIMITER ) ) );
    }
 
    /****************************************************************************************
@@ -399,7 +417,7 @@ class WicaStreamSerializerTest
             .build();
 
       final String resultStr = WicaStreamSerializer.writeToJson( testChannel );
-      assertThat( resultStr, is( "{\"name\":\"CHAN-X\",\"props\":{\"daqmode\":null,\"pollint\":null,\"fields\":null,\"prec\":66,\"filter\":null,\"n\":null,\"x\":null,\"m\":null,\"interval\":null,\"deadband\":null}}") );
+      assertThat( resultStr, is( "{\"name\":\"CHAN-X\",\"props\":{\"daqmode\":null,\"pollint\":null,\"fields\":null,\"prec\":66,\"filter\":null,\"n\":null,\"x\":null,\"m\":null,\"interval\":null,\"deadband\":null,\"wfpts\":null,\"wfmode\":null,\"filters\":null,\"alarmbypass\":null,\"dbmode\":null}}") );
    }
 
    /****************************************************************************************
@@ -0,0 +1,75 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.infrastructure.util;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+class WeakInternerTest
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @Test
+   void testIntern_EqualSamplesShareFirstInstance()
+   {
+      final WeakInterner<String,String> interner = new WeakInterner<>();
+      final String first = new String( "abc" );
+      final String second = new String( "abc" );
+
+      assertThat( interner.intern( first ), sameInstance( first ) );
+      assertThat( interner.intern( second ), sameInstance( first ) );
+      assertThat( interner.size(), is( 1 ) );
+   }
+
+   @Test
+   void testGet_FactoryIsOnlyCalledForNewKeys()
+   {
+      final WeakInterner<String,StringBuilder> interner = new WeakInterner<>();
+      final AtomicInteger factoryCalls = new AtomicInteger();
+      final String key = "abc";
+
+      final StringBuilder first = interner.get( key, k -> { factoryCalls.incrementAndGet(); return new StringBuilder( k ); } );
+      final StringBuilder second = interner.get( key, k -> { factoryCalls.incrementAndGet(); return new StringBuilder( k ); } );
+
+      assertThat( second, sameInstance( first ) );
+      assertThat( factoryCalls.get(), is( 1 ) );
+   }
+
+   @Test
+   void testIntern_UnreferencedEntriesAreDiscarded() throws InterruptedException
+   {
+      final WeakInterner<Object,Object> interner = new WeakInterner<>();
+      for ( int i = 0; i < 1000; i++ )
+      {
+         interner.intern( new Object() );
+      }
+
+      // Garbage collection cannot be forced, so allow a few attempts.
+      for ( int attempt = 0; attempt < 10 && interner.size() > 0; attempt++ )
+      {
+         System.gc();
+         Thread.sleep( 100 );
+      }
+      assertThat( interner.size(), is( 0 ) );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
@@ -0,0 +1,95 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.model.channel;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.app.ControlSystemName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+class WicaChannelExpressionTest
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @CsvSource( delimiter = ';', value = {
+         "a + b * 2;                  8",
+         "(a + b) * 2;                10",
+         "a - b - 1;                  -2",
+         "b / a / 3;                  0.5",
+         "-a ^ 2;                     -4",
+         "b ^ a ^ 0.5;                4.7288",
+         "+a - -b;                    5",
+         "2 * a + 1.5e1;              19",
+         "abs( a - b );               1",
+         "sqrt( a * 8 );              4",
+         "min( a, b ) + max( a, b );  5",
+         "log10( a * 50 );            2",
+         "exp( 0 ) * b;               3" } )
+   @ParameterizedTest
+   void testEvaluate( String text, double expectedResult )
+   {
+      final WicaChannelExpression expression = WicaChannelExpression.compile( text );
+      final double[] inputValues = expression.getInputs().stream().mapToDouble( n -> n.asString().equals( "a" ) ? 2 : 3 ).toArray();
+      assertThat( expression.evaluate( inputValues ), closeTo( expectedResult, 1e-4 ) );
+   }
+
+   @Test
+   void testInputs()
+   {
+      final WicaChannelExpression expression = WicaChannelExpression.compile( "XYZ:CURRENT * {ABC-01:GAIN} + XYZ:CURRENT" );
+      assertThat( expression.getInputs(), is( List.of( ControlSystemName.of( "XYZ:CURRENT" ), ControlSystemName.of( "ABC-01:GAIN" ) ) ) );
+      assertThat( expression.evaluate( new double[] { 3, 4 } ), is( 15.0 ) );
+   }
+
+   @Test
+   void testNaNInputPropagates()
+   {
+      final WicaChannelExpression expression = WicaChannelExpression.compile( "a + 1" );
+      assertThat( Double.isNaN( expression.evaluate( new double[] { Double.NaN } ) ), is( true ) );
+   }
+
+   @Test
+   void testEvaluateWithWrongNumberOfInputs()
+   {
+      final WicaChannelExpression expression = WicaChannelExpression.compile( "a + b" );
+      assertThrows( IllegalArgumentException.class, () -> expression.evaluate( new double[] { 1 } ) );
+   }
+
+   @ValueSource( strings = { "", "1 + 2", "a +", "(a + b", "a b", "foo( a )", "min( a )", "{a", "{a b}", "{}", "a $ b", "1.2.3 * a" } )
+   @ParameterizedTest
+   void testInvalidExpressions( String text )
+   {
+      assertThrows( IllegalArgumentException.class, () -> WicaChannelExpression.compile( text ) );
+   }
+
+   @Test
+   void testOf()
+   {
+      final WicaChannelExpression expression = WicaChannelExpression.of( WicaChannelName.of( "calc://a*2##3" ) );
+      assertThat( expression.getInputs(), is( List.of( ControlSystemName.of( "a" ) ) ) );
+      assertThat( expression.evaluate( new double[] { 4 } ), is( 8.0 ) );
+      assertThrows( IllegalArgumentException.class, () -> WicaChannelExpression.of( WicaChannelName.of( "a" ) ) );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
@@ -133,6 +133,25 @@ class WicaChannelNameTest
       assertThrows( IllegalArgumentException.class, () -> WicaChannelName.of( "#" ) );
    }
 
+   @Test
+   void testDerivedChannel()
+   {
+      final WicaChannelName wicaChannelName = WicaChannelName.of( "calc://{XYZ-01:A} - B:C##2" );
+      assertEquals( ControlSystemName.of( "calc://{XYZ-01:A} - B:C" ), wicaChannelName.getControlSystemName() );
+      assertEquals( WicaChannelName.Protocol.CALC, wicaChannelName.getProtocol().get() );
+      assertEquals( 2, wicaChannelName.getInstance().get().intValue()  );
+      assertEquals( "calc://{XYZ-01:A} - B:C##2", wicaChannelName.asString() );
+      assertTrue( wicaChannelName.isDerived() );
+      assertFalse( WicaChannelName.of( "ca://abc" ).isDerived() );
+   }
+
+   @Test
+   void testDerivedChannelInvalidExpression()
+   {
+      assertThrows( IllegalArgumentException.class, () -> WicaChannelName.of( "calc://a +" ) );
+      assertThrows( IllegalArgumentException.class, () -> WicaChannelName.of( "calc://" ) );
+   }
+
    @Test
    void testJsonSerialization() throws JsonProcessingException
    {
@@ -5,10 +5,14 @@ package ch.psi.wica.model.channel;
 
 import ch.psi.wica.infrastructure.channel.WicaChannelPropertiesBuilder;
 import ch.psi.wica.model.app.WicaDataAcquisitionMode;
+import ch.psi.wica.model.app.WicaDeadbandMode;
 import ch.psi.wica.model.app.WicaFilterType;
+import ch.psi.wica.model.app.WicaWaveformDecimationMode;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.List;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -43,12 +47,17 @@ class WicaChannelPropertiesTest
       assertThat( objectUnderTest.getFilterCycleLength(),                  is( WicaChannelPropertiesDefaults.DEFAULT_FILTER_CYCLE_LENGTH ) );
       assertThat( objectUnderTest.getFilterSamplingIntervalInMillis(),     is( WicaChannelPropertiesDefaults.DEFAULT_FILTER_SAMPLING_INTERVAL_IN_MILLIS) );
       assertThat( objectUnderTest.getFilterDeadband(),                     is( WicaChannelPropertiesDefaults.DEFAULT_FILTER_DEADBAND ) );
+      assertThat( objectUnderTest.getWaveformDecimationPoints(),           is( WicaChannelPropertiesDefaults.DEFAULT_WAVEFORM_DECIMATION_POINTS ) );
+      assertThat( objectUnderTest.getWaveformDecimationMode(),             is( WicaChannelPropertiesDefaults.DEFAULT_WAVEFORM_DECIMATION_MODE ) );
+      assertThat( objectUnderTest.getFilterChain(),                        is( WicaChannelPropertiesDefaults.DEFAULT_FILTER_CHAIN ) );
+      assertThat( objectUnderTest.getAlarmBypass(),                        is( WicaChannelPropertiesDefaults.DEFAULT_ALARM_BYPASS ) );
+      assertThat( objectUnderTest.getFilterDeadbandMode(),                 is( WicaChannelPropertiesDefaults.DEFAULT_FILTER_DEADBAND_MODE ) );
    }
 
    @Test
    void testFullConstructorReturnsAssignedValues()
    {
-      final var objectUnderTest = new WicaChannelProperties( WicaDataAcquisitionMode.MONITOR, 11,"fields", 12, WicaFilterType.LAST_N, 13, 14, 15, 16, 17.0 );
+      final var objectUnderTest = new WicaChannelProperties( WicaDataAcquisitionMode.MONITOR, 11,"fields", 12, WicaFilterType.LAST_N, 13, 14, 15, 16, 17.0, 18, WicaWaveformDecimationMode.STRIDE, List.of( WicaFilterType.CHANGE_DETECTOR, WicaFilterType.RATE_LIMITER ), true, WicaDeadbandMode.HYSTERESIS );
 
       assertThat( objectUnderTest.getDataAcquisitionMode(),                                is( WicaDataAcquisitionMode.MONITOR ) );
       assertThat( objectUnderTest.getPollingIntervalInMillis(),                            is(11 ) );
@@ -60,6 +69,11 @@ class WicaChannelPropertiesTest
       assertThat( objectUnderTest.getFilterCycleLength(),                                  is(15 ) );
       assertThat( objectUnderTest.getFilterSamplingIntervalInMillis(),                     is(16 ) );
       assertThat( objectUnderTest.getFilterDeadband(),                                     is(17.0 ) );
+      assertThat( objectUnderTest.getWaveformDecimationPoints(),                           is(18 ) );
+      assertThat( objectUnderTest.getWaveformDecimationMode(),                             is(WicaWaveformDecimationMode.STRIDE ) );
+      assertThat( objectUnderTest.getFilterChain(),                                        is( List.of( WicaFilterType.CHANGE_DETECTOR, WicaFilterType.RATE_LIMITER ) ) );
+      assertThat( objectUnderTest.getAlarmBypass(),                                        is( true ) );
+      assertThat( objectUnderTest.getFilterDeadbandMode(),                                 is( WicaDeadbandMode.HYSTERESIS ) );
 
       assertThat( objectUnderTest.getOptionalDataAcquisitionMode().isPresent(),            is(true ) );
       assertThat( objectUnderTest.getOptionalPollingIntervalInMillis().isPresent(),        is(true ) );
@@ -71,6 +85,11 @@ class WicaChannelPropertiesTest
       assertThat( objectUnderTest.getOptionalFilterCycleLength().isPresent(),              is(true ) );
       assertThat( objectUnderTest.getOptionalFilterSamplingIntervalInMillis().isPresent(), is(true ) );
       assertThat( objectUnderTest.getOptionalFilterDeadband().isPresent(),                 is(true ) );
+      assertThat( objectUnderTest.getOptionalWaveformDecimationPoints().isPresent(),       is(true ) );
+      assertThat( objectUnderTest.getOptionalWaveformDecimationMode().isPresent(),         is(true ) );
+      assertThat( objectUnderTest.getOptionalFilterChain().isPresent(),                    is(true ) );
+      assertThat( objectUnderTest.getOptionalAlarmBypass().isPresent(),                    is(true ) );
+      assertThat( objectUnderTest.getOptionalFilterDeadbandMode().isPresent(),             is(true ) );
 
       assertThat( objectUnderTest.getOptionalDataAcquisitionMode().get(),                  is( WicaDataAcquisitionMode.MONITOR ) );
       assertThat( objectUnderTest.getOptionalPollingIntervalInMillis().get(),              is(11 ) );
@@ -82,12 +101,17 @@ class WicaChannelPropertiesTest
       assertThat( objectUnderTest.getOptionalFilterCycleLength().get(),                    is(15 ) );
       assertThat( objectUnderTest.getOptionalFilterSamplingIntervalInMillis().get(),       is(16 ) );
       assertThat( objectUnderTest.getOptionalFilterDeadband().get(),                       is(17.0 ) );
+      assertThat( objectUnderTest.getOptionalWaveformDecimationPoints().get(),             is(18 ) );
+      assertThat( objectUnderTest.getOptionalWaveformDecimationMode().get(),               is(WicaWaveformDecimationMode.STRIDE ) );
+      assertThat( objectUnderTest.getOptionalFilterChain().get(),                          is( List.of( WicaFilterType.CHANGE_DETECTOR, WicaFilterType.RATE_LIMITER ) ) );
+      assertThat( objectUnderTest.getOptionalAlarmBypass().get(),                          is( true ) );
+      assertThat( objectUnderTest.getOptionalFilterDeadbandMode().get(),                   is( WicaDeadbandMode.HYSTERESIS ) );
    }
 
    @Test
    void testConstructorWithNullValues()
    {
-      final var objectUnderTest = new WicaChannelProperties( null, null, null, null, null, null, null, null, null, null );
+      final var objectUnderTest = new WicaChannelProperties( null, null, null, null, null, null, null, null, null, null, null, null, null, null, null );
 
       var ex01 = assertThrows( IllegalArgumentException.class, objectUnderTest::getDataAcquisitionMode );
       var ex02 = assertThrows( IllegalArgumentException.class, objectUnderTest::getPollingIntervalInMillis );
@@ -99,6 +123,11 @@ class WicaChannelPropertiesTest
       var ex08 = assertThrows( IllegalArgumentException.class, objectUnderTest::getFilterCycleLength );
       var ex09 = assertThrows( IllegalArgumentException.class, objectUnderTest::getFilterSamplingIntervalInMillis );
       var ex10 = assertThrows( IllegalArgumentException.class, objectUnderTest::getFilterDeadband );
+      var ex11 = assertThrows( IllegalArgumentException.class, objectUnderTest::getWaveformDecimationPoints );
+      var ex12 = assertThrows( IllegalArgumentException.class, objectUnderTest::getWaveformDecimationMode );
+      var ex13 = assertThrows( IllegalArgumentException.class, objectUnderTest::getFilterChain );
+      var ex14 = assertThrows( IllegalArgumentException.class, objectUnderTest::getAlarmBypass );
+      var ex15 = assertThrows( IllegalArgumentException.class, objectUnderTest::getFilterDeadbandMode );
 
       assertThat( ex01.getMessage(), is("The data acquisition mode for this channel was not specified." ) );
       assertThat( ex02.getMessage(), is("The polling interval for this channel was not specified." ) );
@@ -110,6 +139,11 @@ class WicaChannelPropertiesTest
       assertThat( ex08.getMessage(), is("The cycle length for this channel's ONE_IN_M filter was not specified." ) );
       assertThat( ex09.getMessage(), is("The sampling interval for this channel's RATE_LIMITER filter was not specified." ) );
       assertThat( ex10.getMessage(), is("The deadband for this channel's CHANGE_DETECTOR filter was not specified." ) );
+      assertThat( ex11.getMessage(), is("The waveform decimation point count for this channel was not specified." ) );
+      assertThat( ex12.getMessage(), is("The waveform decimation mode for this channel was not specified." ) );
+      assertThat( ex13.getMessage(), is("The filter chain for this channel was not specified." ) );
+      assertThat( ex14.getMessage(), is("The alarm bypass mode for this channel was not specified." ) );
+      assertThat( ex15.getMessage(), is("The filter deadband mode for this channel was not specified." ) );
    }
 
    @Test
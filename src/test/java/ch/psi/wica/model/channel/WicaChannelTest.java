@@ -5,9 +5,13 @@ package ch.psi.wica.model.channel;
 
 import ch.psi.wica.infrastructure.channel.WicaChannelPropertiesBuilder;
 import ch.psi.wica.model.app.WicaDataAcquisitionMode;
+import ch.psi.wica.model.app.WicaDeadbandMode;
 import ch.psi.wica.model.app.WicaFilterType;
+import ch.psi.wica.model.app.WicaWaveformDecimationMode;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
@@ -48,7 +52,12 @@ class WicaChannelTest
                                                       14,
                                                       15,
                                                       16,
-                                                      17.0 );
+                                                      17.0,
+                                                      18,
+                                                      WicaWaveformDecimationMode.STRIDE,
+                                                      List.of( WicaFilterType.CHANGE_DETECTOR, WicaFilterType.RATE_LIMITER ),
+                                                      true,
+                                                      WicaDeadbandMode.HYSTERESIS );
 
 
       final WicaChannel objectUnderTest =  new WicaChannel( testName, testProps );
@@ -102,6 +102,26 @@ class WicaChannelValueTest
       assertThat( Arrays.stream( wicaChannelValue.getValue()).boxed().toArray( Double[]::new ), arrayContaining( 123.56, 456.78 ) );
    }
 
+   @Test
+   void testChannelValueConnectedPreservesAlarmAndTimestamp()
+   {
+      final LocalDateTime dataSourceTimestamp = LocalDateTime.of( 1995, 6, 7, 8, 9, 10, 123_456_789 );
+      var wicaChannelValue = WicaChannelValue.createChannelValueConnected( WicaChannelAlarmSeverity.INVALID_ALARM, WicaChannelAlarmStatus.of( 17 ), dataSourceTimestamp, 1.5 );
+      assertThat( wicaChannelValue.getWicaAlarmSeverity(), is( WicaChannelAlarmSeverity.INVALID_ALARM ) );
+      assertThat( wicaChannelValue.getWicaChannelAlarmStatus().getStatusCode(), is( 17 ) );
+      assertThat( wicaChannelValue.getDataSourceTimestamp(), is( dataSourceTimestamp ) );
+      assertThat( wicaChannelValue.getDataSourceTimestampInEpochNanos(), is( WicaChannelData.toEpochNanos( dataSourceTimestamp ) ) );
+   }
+
+   @Test
+   void testEpochNanosConversion()
+   {
+      final LocalDateTime timestamp = LocalDateTime.of( 1960, 1, 2, 3, 4, 5, 999_999_999 );
+      assertThat( WicaChannelData.fromEpochNanos( WicaChannelData.toEpochNanos( timestamp ) ), is( timestamp ) );
+      assertThat( WicaChannelData.toEpochNanos( LocalDateTime.MIN ), is( Long.MIN_VALUE ) );
+      assertThat( WicaChannelData.toEpochNanos( LocalDateTime.MAX ), is( Long.MAX_VALUE ) );
+   }
+
 /*- Public attributes --------------------------------------------------------*/
 /*- Private attributes -------------------------------------------------------*/
 /*- Main ---------------------------------------------------------------------*/
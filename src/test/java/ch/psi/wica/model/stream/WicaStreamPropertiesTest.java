@@ -5,9 +5,13 @@ package ch.psi.wica.model.stream;
 
 import ch.psi.wica.infrastructure.stream.WicaStreamPropertiesBuilder;
 import ch.psi.wica.model.app.WicaDataAcquisitionMode;
+import ch.psi.wica.model.app.WicaDeadbandMode;
 import ch.psi.wica.model.app.WicaFilterType;
+import ch.psi.wica.model.app.WicaWaveformDecimationMode;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -45,6 +49,12 @@ class WicaStreamPropertiesTest
       assertThat( objectUnderTest.getFilterCycleLength(),                  is( WicaStreamPropertiesDefaults.DEFAULT_FILTER_CYCLE_LENGTH ) );
       assertThat( objectUnderTest.getFilterSamplingIntervalInMillis(),     is( WicaStreamPropertiesDefaults.DEFAULT_FILTER_SAMPLING_INTERVAL_IN_MILLIS) );
       assertThat( objectUnderTest.getFilterDeadband(),                     is( WicaStreamPropertiesDefaults.DEFAULT_FILTER_DEADBAND ) );
+      assertThat( objectUnderTest.getWaveformDecimationPoints(),           is( WicaStreamPropertiesDefaults.DEFAULT_WAVEFORM_DECIMATION_POINTS ) );
+      assertThat( objectUnderTest.getWaveformDecimationMode(),             is( WicaStreamPropertiesDefaults.DEFAULT_WAVEFORM_DECIMATION_MODE ) );
+      assertThat( objectUnderTest.getFilterChain(),                        is( WicaStreamPropertiesDefaults.DEFAULT_FILTER_CHAIN ) );
+      assertThat( objectUnderTest.getAlarmBypass(),                        is( WicaStreamPropertiesDefaults.DEFAULT_ALARM_BYPASS ) );
+      assertThat( objectUnderTest.getFilterDeadbandMode(),                 is( WicaStreamPropertiesDefaults.DEFAULT_FILTER_DEADBAND_MODE ) );
+      assertThat( objectUnderTest.getAlarmSummaryFluxIntervalInMillis(),   is( WicaStreamPropertiesDefaults.DEFAULT_ALARM_SUMMARY_FLUX_INTERVAL_IN_MILLIS ) );
    }
 
    @Test
@@ -63,7 +73,13 @@ class WicaStreamPropertiesTest
                                                            14,
                                                            15,
                                                            16,
-                                                           17.0 );
+                                                           17.0,
+                                                           18,
+                                                           WicaWaveformDecimationMode.STRIDE,
+                                                           List.of( WicaFilterType.CHANGE_DETECTOR, WicaFilterType.RATE_LIMITER ),
+                                                           true,
+                                                           WicaDeadbandMode.HYSTERESIS,
+                                                           24 );
 
       assertThat( objectUnderTest.getHeartbeatFluxIntervalInMillis(),      is(20 ) );
       assertThat( objectUnderTest.getMetadataFluxIntervalInMillis(),       is(21 ) );
@@ -79,6 +95,12 @@ class WicaStreamPropertiesTest
       assertThat( objectUnderTest.getFilterCycleLength(),                  is(15 ) );
       assertThat( objectUnderTest.getFilterSamplingIntervalInMillis(),     is(16 ) );
       assertThat( objectUnderTest.getFilterDeadband(),                     is(17.0 ) );
+      assertThat( objectUnderTest.getWaveformDecimationPoints(),           is(18 ) );
+      assertThat( objectUnderTest.getWaveformDecimationMode(),             is(WicaWaveformDecimationMode.STRIDE ) );
+      assertThat( objectUnderTest.getFilterChain(),                        is( List.of( WicaFilterType.CHANGE_DETECTOR, WicaFilterType.RATE_LIMITER ) ) );
+      assertThat( objectUnderTest.getAlarmBypass(),                        is( true ) );
+      assertThat( objectUnderTest.getFilterDeadbandMode(),                 is( WicaDeadbandMode.HYSTERESIS ) );
+      assertThat( objectUnderTest.getAlarmSummaryFluxIntervalInMillis(),   is(24 ) );
 
       assertThat( objectUnderTest.getOptionalHeartbeatFluxIntervalInMillis().isPresent(),      is(true ) );
       assertThat( objectUnderTest.getOptionalMetadataFluxIntervalInMillis().isPresent(),       is(true ) );
@@ -94,6 +116,12 @@ class WicaStreamPropertiesTest
       assertThat( objectUnderTest.getOptionalFilterCycleLength().isPresent(),                  is(true ) );
       assertThat( objectUnderTest.getOptionalFilterSamplingIntervalInMillis().isPresent(),     is(true ) );
       assertThat( objectUnderTest.getOptionalFilterDeadband().isPresent(),                     is(true ) );
+      assertThat( objectUnderTest.getOptionalWaveformDecimationPoints().isPresent(),           is(true ) );
+      assertThat( objectUnderTest.getOptionalWaveformDecimationMode().isPresent(),             is(true ) );
+      assertThat( objectUnderTest.getOptionalFilterChain().isPresent(),                        is(true ) );
+      assertThat( objectUnderTest.getOptionalAlarmBypass().isPresent(),                        is(true ) );
+      assertThat( objectUnderTest.getOptionalFilterDeadbandMode().isPresent(),                 is(true ) );
+      assertThat( objectUnderTest.getOptionalAlarmSummaryFluxIntervalInMillis().isPresent(),   is(true ) );
 
       assertThat( objectUnderTest.getOptionalHeartbeatFluxIntervalInMillis().get(),      is(20 ) );
       assertThat( objectUnderTest.getOptionalMetadataFluxIntervalInMillis().get(),       is(21 ) );
@@ -109,6 +137,12 @@ class WicaStreamPropertiesTest
       assertThat( objectUnderTest.getOptionalFilterCycleLength().get(),                  is(15 ) );
       assertThat( objectUnderTest.getOptionalFilterSamplingIntervalInMillis().get(),     is(16 ) );
       assertThat( objectUnderTest.getOptionalFilterDeadband().get(),                     is(17.0 ) );
+      assertThat( objectUnderTest.getOptionalWaveformDecimationPoints().get(),           is(18 ) );
+      assertThat( objectUnderTest.getOptionalWaveformDecimationMode().get(),             is(WicaWaveformDecimationMode.STRIDE ) );
+      assertThat( objectUnderTest.getOptionalFilterChain().get(),                        is( List.of( WicaFilterType.CHANGE_DETECTOR, WicaFilterType.RATE_LIMITER ) ) );
+      assertThat( objectUnderTest.getOptionalAlarmBypass().get(),                        is( true ) );
+      assertThat( objectUnderTest.getOptionalFilterDeadbandMode().get(),                 is( WicaDeadbandMode.HYSTERESIS ) );
+      assertThat( objectUnderTest.getOptionalAlarmSummaryFluxIntervalInMillis().get(),   is(24 ) );
    }
 
    @Test
@@ -118,7 +152,7 @@ class WicaStreamPropertiesTest
                                                            null, null,
                                                            null, null, null,
                                                            null, null, null, null,
-                                                           null, null, null );
+                                                           null, null, null, null, null, null, null, null, null );
 
       var ex01 = assertThrows( IllegalArgumentException.class, objectUnderTest::getHeartbeatFluxIntervalInMillis );
       var ex02 = assertThrows( IllegalArgumentException.class, objectUnderTest::getMetadataFluxIntervalInMillis );
@@ -134,6 +168,12 @@ class WicaStreamPropertiesTest
       var ex12 = assertThrows( IllegalArgumentException.class, objectUnderTest::getFilterCycleLength );
       var ex13 = assertThrows( IllegalArgumentException.class, objectUnderTest::getFilterSamplingIntervalInMillis );
       var ex14 = assertThrows( IllegalArgumentException.class, objectUnderTest::getFilterDeadband );
+      var ex15 = assertThrows( IllegalArgumentException.class, objectUnderTest::getWaveformDecimationPoints );
+      var ex16 = assertThrows( IllegalArgumentException.class, objectUnderTest::getWaveformDecimationMode );
+      var ex17 = assertThrows( IllegalArgumentException.class, objectUnderTest::getFilterChain );
+      var ex18 = assertThrows( IllegalArgumentException.class, objectUnderTest::getAlarmBypass );
+      var ex19 = assertThrows( IllegalArgumentException.class, objectUnderTest::getFilterDeadbandMode );
+      var ex20 = assertThrows( IllegalArgumentException.class, objectUnderTest::getAlarmSummaryFluxIntervalInMillis );
 
       assertThat( ex01.getMessage(), is("The heartbeat flux interval for this stream was not specified." ) );
       assertThat( ex02.getMessage(), is("The metadata flux interval for this stream was not specified." ) );
@@ -149,6 +189,12 @@ class WicaStreamPropertiesTest
       assertThat( ex12.getMessage(), is("The cycle length for this stream's ONE_IN_M filter was not specified." ) );
       assertThat( ex13.getMessage(), is("The sampling interval for this stream's RATE_LIMITER filter was not specified." ) );
       assertThat( ex14.getMessage(), is("The deadband for this stream's CHANGE_DETECTOR filter was not specified." ) );
+      assertThat( ex15.getMessage(), is("The waveform decimation point count for this stream was not specified." ) );
+      assertThat( ex16.getMessage(), is("The waveform decimation mode for this stream was not specified." ) );
+      assertThat( ex17.getMessage(), is("The filter chain for this stream was not specified." ) );
+      assertThat( ex18.getMessage(), is("The alarm bypass mode for this stream was not specified." ) );
+      assertThat( ex19.getMessage(), is("The filter deadband mode for this stream was not specified." ) );
+      assertThat( ex20.getMessage(), is("The alarm summary flux interval for this stream was not specified." ) );
    }
 
    @Test
@@ -4,9 +4,12 @@ package ch.psi.wica.model.stream;
 /*- Imported packages --------------------------------------------------------*/
 
 import ch.psi.wica.model.app.WicaDataAcquisitionMode;
+import ch.psi.wica.model.app.WicaDeadbandMode;
 import ch.psi.wica.model.app.WicaFilterType;
+import ch.psi.wica.model.app.WicaWaveformDecimationMode;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Set;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -53,7 +56,13 @@ class WicaStreamTest
                                                      14,
                                                      15,
                                                      16,
-                                                     17.0 );
+                                                     17.0,
+                                                     18,
+                                                     WicaWaveformDecimationMode.STRIDE,
+                                                     List.of( WicaFilterType.CHANGE_DETECTOR, WicaFilterType.RATE_LIMITER ),
+                                                     true,
+                                                     WicaDeadbandMode.HYSTERESIS,
+                                                     24 );
 
       final WicaStream objectUnderTest =  new WicaStream( testId, testProps, Set.of() );
       assertThat( objectUnderTest.getWicaStreamId(), is( testId ) );
@@ -0,0 +1,137 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.services.channel;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.controlsystem.epics.EpicsChannelGetAndPutService;
+import ch.psi.wica.controlsystem.epics.EpicsChannelMonitoringService;
+import ch.psi.wica.controlsystem.epics.EpicsChannelName;
+import ch.psi.wica.model.app.StatisticsCollectionService;
+import ch.psi.wica.model.channel.WicaChannelValue;
+import ch.psi.wica.services.stream.WicaStreamMonitoredValueCollectorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+class WicaChannelGetServiceTest
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private static final EpicsChannelName MONITORED_CHANNEL = EpicsChannelName.of( "MONITORED" );
+   private static final EpicsChannelName UNMONITORED_CHANNEL = EpicsChannelName.of( "UNMONITORED" );
+
+   private final WicaChannelValue monitoredValue = WicaChannelValue.createChannelValueConnected( 123.0 );
+   private final WicaChannelValue readValue = WicaChannelValue.createChannelValueConnected( 456.0 );
+
+   private EpicsChannelGetAndPutService epicsChannelGetAndPutServiceMock;
+   private EpicsChannelMonitoringService epicsChannelMonitoringServiceMock;
+   private WicaStreamMonitoredValueCollectorService wicaStreamMonitoredValueCollectorServiceMock;
+   private WicaChannelGetService serviceUnderTest;
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @BeforeEach
+   void beforeEach()
+   {
+      epicsChannelGetAndPutServiceMock = Mockito.mock( EpicsChannelGetAndPutService.class );
+      epicsChannelMonitoringServiceMock = Mockito.mock( EpicsChannelMonitoringService.class );
+      wicaStreamMonitoredValueCollectorServiceMock = Mockito.mock( WicaStreamMonitoredValueCollectorService.class );
+
+      given( epicsChannelMonitoringServiceMock.isMonitoredAndConnected( MONITORED_CHANNEL ) ).willReturn( true );
+      given( epicsChannelMonitoringServiceMock.isMonitoredAndConnected( UNMONITORED_CHANNEL ) ).willReturn( false );
+      given( wicaStreamMonitoredValueCollectorServiceMock.findLatest( MONITORED_CHANNEL ) ).willReturn( Optional.of( monitoredValue ) );
+      given( epicsChannelGetAndPutServiceMock.get( any(), anyLong(), any() ) ).willReturn( readValue );
+      given( epicsChannelGetAndPutServiceMock.getAll( eq( Set.of( UNMONITORED_CHANNEL ) ), anyLong(), any() ) ).willReturn( Map.of( UNMONITORED_CHANNEL, readValue ) );
+
+      serviceUnderTest = new WicaChannelGetService( true,
+                                                    epicsChannelGetAndPutServiceMock,
+                                                    epicsChannelMonitoringServiceMock,
+                                                    wicaStreamMonitoredValueCollectorServiceMock,
+                                                    new StatisticsCollectionService() );
+   }
+
+   @Test
+   void testGet_monitoredChannelIsAnsweredFromBuffer()
+   {
+      assertThat( serviceUnderTest.get( MONITORED_CHANNEL, 100, TimeUnit.MILLISECONDS ), is( monitoredValue ) );
+      verify( epicsChannelGetAndPutServiceMock, never() ).get( any(), anyLong(), any() );
+   }
+
+   @Test
+   void testGet_unmonitoredChannelIsReadFromControlSystem()
+   {
+      assertThat( serviceUnderTest.get( UNMONITORED_CHANNEL, 100, TimeUnit.MILLISECONDS ), is( readValue ) );
+      verify( epicsChannelGetAndPutServiceMock ).get( UNMONITORED_CHANNEL, 100, TimeUnit.MILLISECONDS );
+   }
+
+   @Test
+   void testGet_monitorCacheSwitchedOffForcesReadFromControlSystem()
+   {
+      assertThat( serviceUnderTest.get( MONITORED_CHANNEL, 100, TimeUnit.MILLISECONDS, false ), is( readValue ) );
+      verify( epicsChannelGetAndPutServiceMock ).get( MONITORED_CHANNEL, 100, TimeUnit.MILLISECONDS );
+   }
+
+   @Test
+   void testGet_monitorCacheSwitchedOffByDefaultForcesReadFromControlSystem()
+   {
+      final WicaChannelGetService serviceWithoutCache = new WicaChannelGetService( false,
+                                                                                   epicsChannelGetAndPutServiceMock,
+                                                                                   epicsChannelMonitoringServiceMock,
+                                                                                   wicaStreamMonitoredValueCollectorServiceMock,
+                                                                                   new StatisticsCollectionService() );
+
+      assertThat( serviceWithoutCache.get( MONITORED_CHANNEL, 100, TimeUnit.MILLISECONDS ), is( readValue ) );
+      assertThat( serviceWithoutCache.get( MONITORED_CHANNEL, 100, TimeUnit.MILLISECONDS, true ), is( monitoredValue ) );
+      verify( epicsChannelGetAndPutServiceMock ).get( MONITORED_CHANNEL, 100, TimeUnit.MILLISECONDS );
+   }
+
+   @Test
+   void testGetAll_monitorCacheSwitchedOffForcesReadFromControlSystem()
+   {
+      final Set<EpicsChannelName> channelNames = Set.of( MONITORED_CHANNEL );
+      given( epicsChannelGetAndPutServiceMock.getAll( eq( channelNames ), anyLong(), any() ) ).willReturn( Map.of( MONITORED_CHANNEL, readValue ) );
+
+      assertThat( serviceUnderTest.getAll( channelNames, 100, TimeUnit.MILLISECONDS, false ).get( MONITORED_CHANNEL ), is( readValue ) );
+      verify( epicsChannelGetAndPutServiceMock ).getAll( channelNames, 100, TimeUnit.MILLISECONDS );
+   }
+
+   @Test
+   void testGetAll_onlyUnmonitoredChannelsAreReadFromControlSystem()
+   {
+      final Set<EpicsChannelName> channelNames = new LinkedHashSet<>( List.of( UNMONITORED_CHANNEL, MONITORED_CHANNEL ) );
+      final Map<EpicsChannelName,WicaChannelValue> resultMap = serviceUnderTest.getAll( channelNames, 100, TimeUnit.MILLISECONDS );
+
+      assertThat( List.copyOf( resultMap.keySet() ), is( List.of( UNMONITORED_CHANNEL, MONITORED_CHANNEL ) ) );
+      assertThat( resultMap.get( MONITORED_CHANNEL ), is( monitoredValue ) );
+      assertThat( resultMap.get( UNMONITORED_CHANNEL ), is( readValue ) );
+      verify( epicsChannelGetAndPutServiceMock ).getAll( Set.of( UNMONITORED_CHANNEL ), 100, TimeUnit.MILLISECONDS );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
@@ -0,0 +1,167 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.services.channel;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.channel.WicaChannelAlarmSeverity;
+import ch.psi.wica.model.channel.WicaChannelAlarmStatus;
+import ch.psi.wica.model.channel.WicaChannelData;
+import ch.psi.wica.model.channel.WicaChannelStatistics;
+import ch.psi.wica.model.channel.WicaChannelType;
+import ch.psi.wica.model.channel.WicaChannelValue;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.number.IsCloseTo.closeTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+class WicaChannelValueAggregatingFilterTest
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private static final LocalDateTime START_TIME = LocalDateTime.of( 2020, 1, 1, 0, 0 );
+
+   // A wica server clock which does not advance whilst the tests run, so that
+   // the values received by a test are never old enough to complete a window.
+   private static final long STOPPED_CLOCK_TIME_IN_NANOS = WicaChannelData.toEpochNanos( LocalDateTime.now() );
+   private static final LongSupplier STOPPED_CLOCK = () -> STOPPED_CLOCK_TIME_IN_NANOS;
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @Test
+   void testConstructorRejectsInvalidWindowLength()
+   {
+      assertThrows( IllegalArgumentException.class, () -> new WicaChannelValueAggregatingFilter( 0 ) );
+   }
+
+   @Test
+   void testStatisticsAreProducedWhenTheNextWindowStarts()
+   {
+      final WicaChannelValueFilter filter = new WicaChannelValueAggregatingFilter( 1000, STOPPED_CLOCK );
+      final List<WicaChannelValue> inputList = List.of( createRealValue( 100, 2.0 ),
+                                                        createRealValue( 200, 4.0 ),
+                                                        createRealValue( 300, 4.0 ),
+                                                        createRealValue( 400, 4.0 ),
+                                                        createRealValue( 500, 5.0 ),
+                                                        createRealValue( 600, 5.0 ),
+                                                        createRealValue( 700, 7.0 ),
+                                                        createRealValue( 800, 9.0 ) );
+      assertThat( filter.apply( inputList ).size(), is( 0 ) );
+
+      final List<WicaChannelValue> outputList = filter.apply( List.of( createRealValue( 1100, 1.0 ) ) );
+      assertThat( outputList.size(), is( 1 ) );
+      final WicaChannelValue.WicaChannelValueConnected outputValue = (WicaChannelValue.WicaChannelValueConnected) outputList.get( 0 );
+      assertThat( outputValue.getWicaChannelType(), is( WicaChannelType.STATISTICS ) );
+      assertThat( outputValue.getDataSourceTimestamp(), is( START_TIME ) );
+
+      final WicaChannelStatistics statistics = ( (WicaChannelValue.WicaChannelValueConnectedStatistics) outputValue ).getValue();
+      assertThat( statistics.getCount(), is( 8L ) );
+      assertThat( statistics.getMin(), is( 2.0 ) );
+      assertThat( statistics.getMax(), is( 9.0 ) );
+      assertThat( statistics.getMean(), is( 5.0 ) );
+      assertThat( statistics.getStandardDeviation(), closeTo( Math.sqrt( 32.0 / 7.0 ), 1E-12 ) );
+   }
+
+   @Test
+   void testIntegerValuesAreAggregated()
+   {
+      final WicaChannelValueFilter filter = new WicaChannelValueAggregatingFilter( 10, STOPPED_CLOCK );
+      final List<WicaChannelValue> outputList = filter.apply( List.of( createIntegerValue( 1, 3 ),
+                                                                       createIntegerValue( 2, 5 ),
+                                                                       createIntegerValue( 12, 0 ) ) );
+      assertThat( outputList.size(), is( 1 ) );
+      final WicaChannelStatistics statistics = ( (WicaChannelValue.WicaChannelValueConnectedStatistics) outputList.get( 0 ) ).getValue();
+      assertThat( statistics.getCount(), is( 2L ) );
+      assertThat( statistics.getMean(), is( 4.0 ) );
+   }
+
+   @Test
+   void testSingleSampleWindowHasZeroStandardDeviation()
+   {
+      final WicaChannelValueFilter filter = new WicaChannelValueAggregatingFilter( 10, STOPPED_CLOCK );
+      final List<WicaChannelValue> outputList = filter.apply( List.of( createRealValue( 1, 3.0 ), createRealValue( 25, 4.0 ) ) );
+      final WicaChannelStatistics statistics = ( (WicaChannelValue.WicaChannelValueConnectedStatistics) outputList.get( 0 ) ).getValue();
+      assertThat( statistics.getCount(), is( 1L ) );
+      assertThat( statistics.getStandardDeviation(), is( 0.0 ) );
+   }
+
+   @Test
+   void testDisconnectedValueFlushesWindowAndIsPassedThrough()
+   {
+      final WicaChannelValueFilter filter = new WicaChannelValueAggregatingFilter( 1000, STOPPED_CLOCK );
+      final WicaChannelValue disconnectedValue = WicaChannelValue.createChannelValueDisconnected();
+      final List<WicaChannelValue> outputList = filter.apply( List.of( createRealValue( 1, 3.0 ), createRealValue( 2, 4.0 ), disconnectedValue ) );
+      assertThat( outputList.size(), is( 2 ) );
+      assertThat( outputList.get( 0 ).getType(), is( WicaChannelType.STATISTICS ) );
+      assertThat( outputList.get( 1 ), is( disconnectedValue ) );
+   }
+
+   @Test
+   void testNonNumericValuesAreIgnored()
+   {
+      final WicaChannelValueFilter filter = new WicaChannelValueAggregatingFilter( 10, STOPPED_CLOCK );
+      final List<WicaChannelValue> outputList = filter.apply( List.of( createRealValue( 1, 3.0 ),
+                                                                       WicaChannelValue.createChannelValueConnected( "abc" ),
+                                                                       createRealValue( 11, 4.0 ) ) );
+      assertThat( outputList.size(), is( 1 ) );
+      assertThat( ( (WicaChannelValue.WicaChannelValueConnectedStatistics) outputList.get( 0 ) ).getValue().getCount(), is( 1L ) );
+   }
+
+   @Test
+   void testOutputCarriesAlarmStateOfLastSample()
+   {
+      final WicaChannelValueFilter filter = new WicaChannelValueAggregatingFilter( 10, STOPPED_CLOCK );
+      final WicaChannelValue alarmValue = WicaChannelValue.createChannelValueConnected( WicaChannelAlarmSeverity.MAJOR_ALARM, WicaChannelAlarmStatus.of( 3 ), START_TIME.plusNanos( 2_000_000 ), 5.0 );
+      final List<WicaChannelValue> outputList = filter.apply( List.of( createRealValue( 1, 3.0 ), alarmValue, createRealValue( 11, 4.0 ) ) );
+      final WicaChannelValue.WicaChannelValueConnected outputValue = (WicaChannelValue.WicaChannelValueConnected) outputList.get( 0 );
+      assertThat( outputValue.getWicaAlarmSeverity(), is( WicaChannelAlarmSeverity.MAJOR_ALARM ) );
+      assertThat( outputValue.getWicaChannelAlarmStatus().getStatusCode(), is( 3 ) );
+   }
+
+   @Test
+   void testLastWindowIsProducedWhenChannelGoesQuiet()
+   {
+      // The server clock is advanced independently of the values received.
+      final AtomicLong serverClockAdvanceInNanos = new AtomicLong( 0 );
+      final WicaChannelValueFilter filter = new WicaChannelValueAggregatingFilter( 1000, () -> WicaChannelData.toEpochNanos( LocalDateTime.now() ) + serverClockAdvanceInNanos.get() );
+      assertThat( filter.apply( List.of( createRealValue( 100, 2.0 ), createRealValue( 200, 4.0 ) ) ).size(), is( 0 ) );
+      assertThat( filter.apply( List.of() ).size(), is( 0 ) );
+
+      // Once the window has ended according to the server clock its statistics are produced without waiting for a new value.
+      serverClockAdvanceInNanos.set( 2_000_000_000L );
+      final List<WicaChannelValue> outputList = filter.apply( List.of() );
+      assertThat( outputList.size(), is( 1 ) );
+      assertThat( ( (WicaChannelValue.WicaChannelValueConnected) outputList.get( 0 ) ).getDataSourceTimestamp(), is( START_TIME ) );
+      assertThat( ( (WicaChannelValue.WicaChannelValueConnectedStatistics) outputList.get( 0 ) ).getValue().getCount(), is( 2L ) );
+      assertThat( filter.apply( List.of() ).size(), is( 0 ) );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+
+   private static WicaChannelValue createRealValue( long offsetInMillis, double value )
+   {
+      return WicaChannelValue.createChannelValueConnected( WicaChannelAlarmSeverity.NO_ALARM, WicaChannelAlarmStatus.of( 0 ), START_TIME.plusNanos( offsetInMillis * 1_000_000L ), value );
+   }
+
+   private static WicaChannelValue createIntegerValue( long offsetInMillis, int value )
+   {
+      return WicaChannelValue.createChannelValueConnected( WicaChannelAlarmSeverity.NO_ALARM, WicaChannelAlarmStatus.of( 0 ), START_TIME.plusNanos( offsetInMillis * 1_000_000L ), value );
+   }
+
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
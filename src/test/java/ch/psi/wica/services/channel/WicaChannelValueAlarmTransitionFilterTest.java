@@ -0,0 +1,75 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.services.channel;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.channel.WicaChannelAlarmSeverity;
+import ch.psi.wica.model.channel.WicaChannelAlarmStatus;
+import ch.psi.wica.model.channel.WicaChannelValue;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+class WicaChannelValueAlarmTransitionFilterTest
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @Test
+   void testOnlyAlarmTransitionsArePassed()
+   {
+      final WicaChannelValue value1 = createValue( WicaChannelAlarmSeverity.NO_ALARM, 0, 1.0 );
+      final WicaChannelValue value2 = createValue( WicaChannelAlarmSeverity.NO_ALARM, 0, 2.0 );
+      final WicaChannelValue value3 = createValue( WicaChannelAlarmSeverity.MINOR_ALARM, 4, 3.0 );
+      final WicaChannelValue value4 = createValue( WicaChannelAlarmSeverity.MINOR_ALARM, 4, 4.0 );
+      final WicaChannelValue value5 = createValue( WicaChannelAlarmSeverity.MINOR_ALARM, 6, 5.0 );
+      final WicaChannelValue value6 = createValue( WicaChannelAlarmSeverity.NO_ALARM, 0, 6.0 );
+
+      final WicaChannelValueFilter filter = new WicaChannelValueAlarmTransitionFilter();
+      final List<WicaChannelValue> outputList = filter.apply( List.of( value1, value2, value3, value4, value5, value6 ) );
+      assertThat( outputList, is( List.of( value1, value3, value5, value6 ) ) );
+   }
+
+   @Test
+   void testConnectionChangesArePassed()
+   {
+      final WicaChannelValue value1 = createValue( WicaChannelAlarmSeverity.NO_ALARM, 0, 1.0 );
+      final WicaChannelValue value2 = WicaChannelValue.createChannelValueDisconnected();
+      final WicaChannelValue value3 = WicaChannelValue.createChannelValueDisconnected();
+      final WicaChannelValue value4 = createValue( WicaChannelAlarmSeverity.NO_ALARM, 0, 2.0 );
+
+      final WicaChannelValueFilter filter = new WicaChannelValueAlarmTransitionFilter();
+      final List<WicaChannelValue> outputList = filter.apply( List.of( value1, value2, value3, value4 ) );
+      assertThat( outputList, is( List.of( value1, value2, value4 ) ) );
+   }
+
+   @Test
+   void testFilterStateIsRetainedBetweenInvocations()
+   {
+      final WicaChannelValueFilter filter = new WicaChannelValueAlarmTransitionFilter();
+      assertThat( filter.apply( List.of( createValue( WicaChannelAlarmSeverity.MAJOR_ALARM, 3, 1.0 ) ) ).size(), is( 1 ) );
+      assertThat( filter.apply( List.of( createValue( WicaChannelAlarmSeverity.MAJOR_ALARM, 3, 2.0 ) ) ).size(), is( 0 ) );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+
+   private static WicaChannelValue createValue( WicaChannelAlarmSeverity severity, int status, double value )
+   {
+      return WicaChannelValue.createChannelValueConnected( severity, WicaChannelAlarmStatus.of( status ), LocalDateTime.now(), value );
+   }
+
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
@@ -3,13 +3,17 @@ package ch.psi.wica.services.channel;
 
 /*- Imported packages --------------------------------------------------------*/
 
+import ch.psi.wica.model.app.WicaDeadbandMode;
+import ch.psi.wica.model.channel.WicaChannelMetadata;
 import ch.psi.wica.model.channel.WicaChannelValue;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -197,7 +201,54 @@ class WicaChannelValueChangeDetectingFilterTest
    }
 
 
+   @Test
+   void testRelativeDeadbandMode()
+   {
+      final WicaChannelValueFilter relativeFilter = new WicaChannelValueChangeDetectingFilter( 10, WicaDeadbandMode.RELATIVE, Optional::empty );
+      assertThat( applyToDoubles( relativeFilter, List.of( 1000.0, 1050.0, 1160.0, 1170.0 ) ), is( List.of( 1000.0, 1160.0 ) ) );
+      assertThat( applyToDoubles( relativeFilter, List.of( 0.001, 0.00105, 0.0012 ) ), is( List.of( 0.001, 0.0012 ) ) );
+   }
+
+   @Test
+   void testRangeDeadbandMode()
+   {
+      final WicaChannelMetadata metadata = WicaChannelMetadata.createRealInstance( "mA", 3, 200.0, 100.0, 200.0, 100.0, 190.0, 110.0, 180.0, 120.0 );
+      final WicaChannelValueFilter rangeFilter = new WicaChannelValueChangeDetectingFilter( 5, WicaDeadbandMode.RANGE, () -> Optional.of( metadata ) );
+      assertThat( applyToDoubles( rangeFilter, List.of( 150.0, 154.0, 160.0, 164.0 ) ), is( List.of( 150.0, 160.0 ) ) );
+   }
+
+   @Test
+   void testRangeDeadbandModeWithoutMetadataIsRelative()
+   {
+      final WicaChannelValueFilter rangeFilter = new WicaChannelValueChangeDetectingFilter( 5, WicaDeadbandMode.RANGE, Optional::empty );
+      assertThat( applyToDoubles( rangeFilter, List.of( 150.0, 154.0, 170.0 ) ), is( List.of( 150.0, 170.0 ) ) );
+   }
+
+   @Test
+   void testHysteresisDeadbandMode()
+   {
+      final WicaChannelValueFilter hysteresisFilter = new WicaChannelValueChangeDetectingFilter( 1, WicaDeadbandMode.HYSTERESIS, Optional::empty );
+
+      // A slow drift is eventually reported, whereas the default mode would
+      // never report it.
+      assertThat( applyToDoubles( hysteresisFilter, List.of( 0.0, 0.5, 1.0, 1.5, 2.0, 2.5, 3.0 ) ), is( List.of( 0.0, 1.5, 3.0 ) ) );
+      assertThat( applyToDoubles( new WicaChannelValueChangeDetectingFilter( 1 ), List.of( 0.0, 0.5, 1.0, 1.5, 2.0, 2.5, 3.0 ) ), is( List.of( 0.0 ) ) );
+
+      // Noise around the last reported value is suppressed.
+      assertThat( applyToDoubles( hysteresisFilter, List.of( 3.9, 2.1, 3.5, 2.5 ) ), is( List.of() ) );
+   }
+
+
 /*- Private methods ----------------------------------------------------------*/
+
+   private static List<Double> applyToDoubles( WicaChannelValueFilter filter, List<Double> inputDblList )
+   {
+      final List<WicaChannelValue> inputList = inputDblList.stream().map( WicaChannelValue::createChannelValueConnected ).collect( Collectors.toList() );
+      return filter.apply( inputList ).stream()
+                   .map( v -> ((WicaChannelValue.WicaChannelValueConnectedReal) v ).getValue() )
+                   .collect( Collectors.toList() );
+   }
+
 /*- Nested Classes -----------------------------------------------------------*/
 
 }
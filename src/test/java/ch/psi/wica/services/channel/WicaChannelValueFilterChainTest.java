@@ -0,0 +1,117 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.services.channel;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.channel.WicaChannelValue;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+class WicaChannelValueFilterChainTest
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @Test
+   void testConstructorRejectsEmptyChain()
+   {
+      assertThrows( IllegalArgumentException.class, () -> new WicaChannelValueFilterChain( List.of() ) );
+   }
+
+   @Test
+   void testSingleFilterChainBehavesLikeFilter()
+   {
+      final List<WicaChannelValue> inputList = createIntegerValues( 1, 2, 3, 4, 5 );
+      final WicaChannelValueFilter filter = new WicaChannelValueFilterChain( List.of( new WicaChannelValueFixedSamplingCycleFilter( 2 ) ) );
+      assertThat( filter.apply( inputList ), is( List.of( inputList.get( 0 ), inputList.get( 2 ), inputList.get( 4 ) ) ) );
+   }
+
+   @Test
+   void testAveragerThenChangeDetector()
+   {
+      // Averages of successive pairs: 1, 1, 5, 5.
+      final List<WicaChannelValue> inputList = createIntegerValues( 1, 1, 1, 1, 5, 5, 5, 5 );
+      final WicaChannelValueFilter filter = new WicaChannelValueFilterChain( List.of( new WicaChannelValueAveragingFilter( 2 ),
+                                                                                      new WicaChannelValueChangeDetectingFilter( 0.5 ) ) );
+      final List<WicaChannelValue> outputList = filter.apply( inputList );
+      assertThat( outputList.size(), is( 2 ) );
+      assertThat( ( (WicaChannelValue.WicaChannelValueConnectedInteger) outputList.get( 0 ) ).getValue(), is( 1 ) );
+      assertThat( ( (WicaChannelValue.WicaChannelValueConnectedInteger) outputList.get( 1 ) ).getValue(), is( 5 ) );
+   }
+
+   @Test
+   void testStreamingFilterThenBatchFilter()
+   {
+      final List<WicaChannelValue> inputList = createIntegerValues( 1, 2, 3, 4, 5, 6, 7, 8 );
+      final WicaChannelValueFilter filter = new WicaChannelValueFilterChain( List.of( new WicaChannelValueFixedSamplingCycleFilter( 2 ),
+                                                                                      new WicaChannelValueLatestValueFilter( 2 ) ) );
+      assertThat( filter.apply( inputList ), is( List.of( inputList.get( 4 ), inputList.get( 6 ) ) ) );
+   }
+
+   @Test
+   void testBatchFilterThenStreamingFilter()
+   {
+      final List<WicaChannelValue> inputList = createIntegerValues( 1, 2, 3, 4, 5, 6, 7, 8 );
+      final WicaChannelValueFilter filter = new WicaChannelValueFilterChain( List.of( new WicaChannelValueLatestValueFilter( 4 ),
+                                                                                      new WicaChannelValueFixedSamplingCycleFilter( 2 ) ) );
+      assertThat( filter.apply( inputList ), is( List.of( inputList.get( 4 ), inputList.get( 6 ) ) ) );
+
+      // The batch buffer is emptied between invocations.
+      assertThat( filter.apply( List.of() ), is( List.of() ) );
+   }
+
+   @Test
+   void testFilterStateIsRetainedBetweenInvocations()
+   {
+      final WicaChannelValueFilter filter = new WicaChannelValueFilterChain( List.of( new WicaChannelValuePassEverythingFilter(),
+                                                                                      new WicaChannelValueAveragingFilter( 3 ) ) );
+      assertThat( filter.apply( createIntegerValues( 1, 2 ) ).size(), is( 0 ) );
+      final List<WicaChannelValue> outputList = filter.apply( createIntegerValues( 3 ) );
+      assertThat( outputList.size(), is( 1 ) );
+      assertThat( ( (WicaChannelValue.WicaChannelValueConnectedInteger) outputList.get( 0 ) ).getValue(), is( 2 ) );
+   }
+
+   @Test
+   void testOutputBufferIsReusedBetweenInvocations()
+   {
+      final WicaChannelValueFilter filter = new WicaChannelValueFilterChain( List.of( new WicaChannelValuePassEverythingFilter(),
+                                                                                      new WicaChannelValuePassEverythingFilter() ) );
+      final List<WicaChannelValue> firstInputList = createIntegerValues( 1, 2 );
+      final List<WicaChannelValue> firstOutputList = filter.apply( firstInputList );
+      assertThat( firstOutputList, is( firstInputList ) );
+
+      final List<WicaChannelValue> secondInputList = createIntegerValues( 3 );
+      assertThat( filter.apply( secondInputList ), sameInstance( firstOutputList ) );
+      assertThat( firstOutputList, is( secondInputList ) );
+      assertThrows( UnsupportedOperationException.class, () -> firstOutputList.add( secondInputList.get( 0 ) ) );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+
+   private static List<WicaChannelValue> createIntegerValues( int... values )
+   {
+      final WicaChannelValue[] result = new WicaChannelValue[ values.length ];
+      for ( int i = 0; i < values.length; i++ )
+      {
+         result[ i ] = WicaChannelValue.createChannelValueConnected( values[ i ] );
+      }
+      return List.of( result );
+   }
+
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
@@ -7,11 +7,14 @@ package ch.psi.wica.services.channel;
 import ch.psi.wica.infrastructure.channel.WicaChannelBuilder;
 import ch.psi.wica.infrastructure.channel.WicaChannelPropertiesBuilder;
 import ch.psi.wica.model.app.WicaFilterType;
+import ch.psi.wica.model.channel.WicaChannelAlarmSeverity;
+import ch.psi.wica.model.channel.WicaChannelAlarmStatus;
 import ch.psi.wica.model.channel.WicaChannelValue;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.*;
@@ -50,7 +53,7 @@ class WicaChannelValueFilteringServiceTest
             .build();
 
       final List<WicaChannelValue> inputList = List.of( dblValue1, dblValue2, dblValue3, dblValue4 );
-      final List<WicaChannelValue> outputList = serviceUnderTest.filterValues( WicaChannelBuilder.create()
+      final List<WicaChannelValue> outputList = serviceUnderTest.createPipeline().filterValues( WicaChannelBuilder.create()
                                                                                  .withChannelNameAndProperties( "abc", props )
                                                                                  .build(), inputList );
 
@@ -73,7 +76,7 @@ class WicaChannelValueFilteringServiceTest
             .build();
 
       final List<WicaChannelValue> inputList = List.of( intValue1, intValue2, intValue3, intValue4 );
-      final List<WicaChannelValue> outputList = serviceUnderTest.filterValues( WicaChannelBuilder.create()
+      final List<WicaChannelValue> outputList = serviceUnderTest.createPipeline().filterValues( WicaChannelBuilder.create()
                                                                                  .withChannelNameAndProperties( "abc", props )
                                                                                  .build(), inputList );
 
@@ -101,7 +104,7 @@ class WicaChannelValueFilteringServiceTest
             .build();
 
       final List<WicaChannelValue> inputList = List.of( intValue1, intValue2, intValue3, intValue4 , intValue5, intValue6, intValue7, intValue8 );
-      final List<WicaChannelValue> outputList = serviceUnderTest.filterValues( WicaChannelBuilder.create()
+      final List<WicaChannelValue> outputList = serviceUnderTest.createPipeline().filterValues( WicaChannelBuilder.create()
                                                                                .withChannelNameAndProperties( "abc", props )
                                                                                .build(), inputList );
       assertThat( outputList.size(), is( 2 ) );
@@ -123,7 +126,7 @@ class WicaChannelValueFilteringServiceTest
             .build();
 
       final List<WicaChannelValue> inputList = List.of( intValue1, intValue2, intValue3, intValue4 );
-      final List<WicaChannelValue> outputList = serviceUnderTest.filterValues( WicaChannelBuilder.create()
+      final List<WicaChannelValue> outputList = serviceUnderTest.createPipeline().filterValues( WicaChannelBuilder.create()
                                                                                      .withChannelNameAndProperties( "abc", props )
                                                                                      .build(), inputList );
 
@@ -148,7 +151,7 @@ class WicaChannelValueFilteringServiceTest
               .build();
 
       final List<WicaChannelValue> inputList = List.of( dblValue1, dblValue2, idblValue3, dblValue4 );
-      final List<WicaChannelValue> outputList = serviceUnderTest.filterValues( WicaChannelBuilder.create()
+      final List<WicaChannelValue> outputList = serviceUnderTest.createPipeline().filterValues( WicaChannelBuilder.create()
               .withChannelNameAndProperties( "abc", props )
               .build(), inputList );
 
@@ -157,6 +160,114 @@ class WicaChannelValueFilteringServiceTest
       assertThat( ( (WicaChannelValue.WicaChannelValueConnectedReal) outputList.get( 1 ) ).getValue(), is(3.5 ) );
    }
 
+   @Test
+   void testFilterValues_LttbFilter()
+   {
+      final var dblValue1 = WicaChannelValue.createChannelValueConnected( 1.0 );
+      final var dblValue2 = WicaChannelValue.createChannelValueConnected( 2.0 );
+      final var dblValue3 = WicaChannelValue.createChannelValueConnected( 3.0 );
+      final var dblValue4 = WicaChannelValue.createChannelValueConnected( 4.0 );
+
+      final var props =  WicaChannelPropertiesBuilder.create()
+              .withFilterType(WicaFilterType.LTTB )
+              .withFilterNumSamples( 2 )
+              .build();
+
+      final List<WicaChannelValue> inputList = List.of( dblValue1, dblValue2, dblValue3, dblValue4 );
+      final List<WicaChannelValue> outputList = serviceUnderTest.createPipeline().filterValues( WicaChannelBuilder.create()
+              .withChannelNameAndProperties( "abc", props )
+              .build(), inputList );
+
+      assertThat( outputList.size(), is( 2 ) );
+      assertThat( outputList.get( 0 ), is( dblValue1 ) );
+      assertThat( outputList.get( 1 ), is( dblValue4 ) );
+   }
+
+   @Test
+   void testFilterValues_AggregatorFilter()
+   {
+      final var startTime = LocalDateTime.of( 2020, 1, 1, 0, 0 );
+      final var dblValue1 = WicaChannelValue.createChannelValueConnected( WicaChannelAlarmSeverity.NO_ALARM, WicaChannelAlarmStatus.of( 0 ), startTime, 1.0 );
+      final var dblValue2 = WicaChannelValue.createChannelValueConnected( WicaChannelAlarmSeverity.NO_ALARM, WicaChannelAlarmStatus.of( 0 ), startTime.plusNanos( 500_000_000 ), 3.0 );
+      final var dblValue3 = WicaChannelValue.createChannelValueConnected( WicaChannelAlarmSeverity.NO_ALARM, WicaChannelAlarmStatus.of( 0 ), startTime.plusNanos( 1_500_000_000 ), 5.0 );
+
+      final var props =  WicaChannelPropertiesBuilder.create()
+              .withFilterType(WicaFilterType.AGGREGATOR )
+              .withFilterSamplingIntervalInMillis( 1000 )
+              .build();
+
+      final List<WicaChannelValue> inputList = List.of( dblValue1, dblValue2, dblValue3 );
+      final List<WicaChannelValue> outputList = serviceUnderTest.createPipeline().filterValues( WicaChannelBuilder.create()
+              .withChannelNameAndProperties( "abc", props )
+              .build(), inputList );
+
+      assertThat( outputList.size(), is( 1 ) );
+      final var statistics = ( (WicaChannelValue.WicaChannelValueConnectedStatistics) outputList.get( 0 ) ).getValue();
+      assertThat( statistics.getCount(), is( 2L ) );
+      assertThat( statistics.getMean(), is( 2.0 ) );
+   }
+
+   @Test
+   void testFilterValues_FilterChain()
+   {
+      final var intValue1 = WicaChannelValue.createChannelValueConnected( 1 );
+      final var intValue2 = WicaChannelValue.createChannelValueConnected( 1 );
+      final var intValue3 = WicaChannelValue.createChannelValueConnected( 9 );
+      final var intValue4 = WicaChannelValue.createChannelValueConnected( 9 );
+      final var intValue5 = WicaChannelValue.createChannelValueConnected( 20 );
+
+      final var props =  WicaChannelPropertiesBuilder.create()
+              .withFilterType( WicaFilterType.ALL_VALUE )
+              .withFilterChain( List.of( WicaFilterType.CHANGE_DETECTOR, WicaFilterType.LAST_N ) )
+              .withFilterDeadband( 2.0 )
+              .withFilterNumSamples( 2 )
+              .build();
+      final var channel = WicaChannelBuilder.create().withChannelNameAndProperties( "abc", props ).build();
+
+      final List<WicaChannelValue> inputList = List.of( intValue1, intValue2, intValue3, intValue4, intValue5 );
+      final List<WicaChannelValue> outputList = serviceUnderTest.createPipeline().filterValues( channel, inputList );
+      assertThat( outputList, is( List.of( intValue3, intValue5 ) ) );
+
+      // The chain is applied to polled values too, using separate filter state.
+      final List<WicaChannelValue> polledOutputList = serviceUnderTest.createPolledValuePipeline().filterValues( channel, inputList );
+      assertThat( polledOutputList, is( List.of( intValue3, intValue5 ) ) );
+   }
+
+   @Test
+   void testPolledValuePipelinePassesEverythingByDefault()
+   {
+      final var props =  WicaChannelPropertiesBuilder.create()
+              .withFilterType( WicaFilterType.LAST_N )
+              .withFilterNumSamples( 1 )
+              .build();
+      final var channel = WicaChannelBuilder.create().withChannelNameAndProperties( "abc", props ).build();
+      final List<WicaChannelValue> inputList = List.of( WicaChannelValue.createChannelValueConnected( 1 ), WicaChannelValue.createChannelValueConnected( 2 ) );
+      assertThat( serviceUnderTest.createPolledValuePipeline().filterValues( channel, inputList ), is( inputList ) );
+   }
+
+   @Test
+   void testPipelinesDoNotShareFilterState()
+   {
+      final var props =  WicaChannelPropertiesBuilder.create()
+            .withFilterType( WicaFilterType.ONE_IN_M )
+            .withFilterCycleLength( 2 )
+            .build();
+      final var channel = WicaChannelBuilder.create().withChannelNameAndProperties( "abc", props ).build();
+      final var value = WicaChannelValue.createChannelValueConnected( 1 );
+
+      // Each pipeline has its own sampling cycle so both see the first value.
+      final WicaChannelValueFilterPipeline pipeline1 = serviceUnderTest.createPipeline();
+      final WicaChannelValueFilterPipeline pipeline2 = serviceUnderTest.createPipeline();
+      assertThat( pipeline1.filterValues( channel, List.of( value ) ).size(), is( 1 ) );
+      assertThat( pipeline1.filterValues( channel, List.of( value ) ).size(), is( 0 ) );
+      assertThat( pipeline2.filterValues( channel, List.of( value ) ).size(), is( 1 ) );
+
+      final int filterCount = serviceUnderTest.getFilterCount();
+      serviceUnderTest.releasePipeline( pipeline1 );
+      assertThat( serviceUnderTest.getFilterCount(), is( filterCount - 1 ) );
+      serviceUnderTest.releasePipeline( pipeline2 );
+      assertThat( serviceUnderTest.getFilterCount(), is( filterCount - 2 ) );
+   }
 
 /*- Private methods ----------------------------------------------------------*/
 /*- Nested Classes -----------------------------------------------------------*/
@@ -0,0 +1,123 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.services.channel;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.channel.WicaChannelAlarmSeverity;
+import ch.psi.wica.model.channel.WicaChannelAlarmStatus;
+import ch.psi.wica.model.channel.WicaChannelValue;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+class WicaChannelValueLttbFilterTest
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private static final LocalDateTime START_TIME = LocalDateTime.of( 2020, 1, 1, 0, 0 );
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @Test
+   void testConstructorRejectsInvalidNumberOfSamples()
+   {
+      assertThrows( IllegalArgumentException.class, () -> new WicaChannelValueLttbFilter( 0 ) );
+   }
+
+   @Test
+   void testShortListIsPassedThrough()
+   {
+      final List<WicaChannelValue> inputList = createRamp( 5 );
+      final WicaChannelValueFilter filter = new WicaChannelValueLttbFilter( 5 );
+      assertThat( filter.apply( inputList ), is( inputList ) );
+   }
+
+   @Test
+   void testOutputIsLimitedAndEndpointsAreRetained()
+   {
+      final List<WicaChannelValue> inputList = createRamp( 1000 );
+      final WicaChannelValueFilter filter = new WicaChannelValueLttbFilter( 50 );
+      final List<WicaChannelValue> outputList = filter.apply( inputList );
+      assertThat( outputList.size(), is( 50 ) );
+      assertThat( outputList.get( 0 ), is( inputList.get( 0 ) ) );
+      assertThat( outputList.get( 49 ), is( inputList.get( 999 ) ) );
+   }
+
+   @Test
+   void testOutputPreservesTimeOrder()
+   {
+      final List<WicaChannelValue> inputList = createRamp( 1000 );
+      final List<WicaChannelValue> outputList = new WicaChannelValueLttbFilter( 37 ).apply( inputList );
+      for ( int i = 1; i < outputList.size(); i++ )
+      {
+         assertThat( inputList.indexOf( outputList.get( i ) ) > inputList.indexOf( outputList.get( i - 1 ) ), is( true ) );
+      }
+   }
+
+   @Test
+   void testSpikeIsPreserved()
+   {
+      final List<WicaChannelValue> inputList = new LinkedList<>();
+      for ( int i = 0; i < 1000; i++ )
+      {
+         inputList.add( createValue( i, i == 503 ? 1000.0 : 1.0 ) );
+      }
+      final List<WicaChannelValue> outputList = new WicaChannelValueLttbFilter( 10 ).apply( inputList );
+      assertThat( outputList.size(), is( 10 ) );
+      assertThat( outputList, hasItem( inputList.get( 503 ) ) );
+   }
+
+   @Test
+   void testOfflineValueIsPreserved()
+   {
+      final List<WicaChannelValue> inputList = createRamp( 100 );
+      final WicaChannelValue offlineValue = WicaChannelValue.createChannelValueDisconnected();
+      inputList.set( 42, offlineValue );
+      final List<WicaChannelValue> outputList = new WicaChannelValueLttbFilter( 10 ).apply( inputList );
+      assertThat( outputList.size(), is( 10 ) );
+      assertThat( outputList, hasItem( offlineValue ) );
+   }
+
+   @Test
+   void testMaxTwoSamplesReturnsEndpoints()
+   {
+      final List<WicaChannelValue> inputList = createRamp( 10 );
+      assertThat( new WicaChannelValueLttbFilter( 2 ).apply( inputList ), is( List.of( inputList.get( 0 ), inputList.get( 9 ) ) ) );
+      assertThat( new WicaChannelValueLttbFilter( 1 ).apply( inputList ), is( List.of( inputList.get( 9 ) ) ) );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+
+   private static List<WicaChannelValue> createRamp( int numberOfValues )
+   {
+      final List<WicaChannelValue> values = new ArrayList<>();
+      for ( int i = 0; i < numberOfValues; i++ )
+      {
+         values.add( createValue( i, i ) );
+      }
+      return values;
+   }
+
+   private static WicaChannelValue createValue( int secondsFromStart, double value )
+   {
+      return WicaChannelValue.createChannelValueConnected( WicaChannelAlarmSeverity.NO_ALARM, WicaChannelAlarmStatus.of( 0 ), START_TIME.plusSeconds( secondsFromStart ), value );
+   }
+
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
@@ -0,0 +1,90 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.services.channel;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.channel.WicaChannelValue;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+class WicaChannelValueSelectingFilterTest
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private final WicaChannelValue value1 = WicaChannelValue.createChannelValueConnected( "abc" );
+   private final WicaChannelValue value2 = WicaChannelValue.createChannelValueConnected( "def" );
+   private final WicaChannelValue value3 = WicaChannelValue.createChannelValueConnected( "ghi" );
+   private final WicaChannelValue value4 = WicaChannelValue.createChannelValueConnected( "jkl" );
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @Test
+   void testOutputListIsReusedBetweenInvocations()
+   {
+      final WicaChannelValueFilter filter = new WicaChannelValueFixedSamplingCycleFilter( 2 );
+      final List<WicaChannelValue> outputList1 = filter.apply( List.of( value1, value2, value3 ) );
+      assertThat( outputList1, is( List.of( value1, value3 ) ) );
+
+      final List<WicaChannelValue> outputList2 = filter.apply( List.of( value4, value1, value2 ) );
+      assertThat( outputList2, is( sameInstance( outputList1 ) ) );
+      assertThat( outputList2, is( List.of( value1 ) ) );
+   }
+
+   @Test
+   void testInputListIsReturnedWhenAllValuesAreSelected()
+   {
+      final List<WicaChannelValue> inputList = List.of( value1, value2, value3 );
+      final WicaChannelValueFilter filter = new WicaChannelValueFixedSamplingCycleFilter( 1 );
+      assertThat( filter.apply( inputList ), is( sameInstance( inputList ) ) );
+   }
+
+   @Test
+   void testOutputListIsUnmodifiable()
+   {
+      final WicaChannelValueFilter filter = new WicaChannelValueFixedSamplingCycleFilter( 2 );
+      final List<WicaChannelValue> outputList = filter.apply( List.of( value1, value2, value3 ) );
+      assertThrows( UnsupportedOperationException.class, () -> outputList.add( value4 ) );
+      assertThrows( IndexOutOfBoundsException.class, () -> outputList.get( 2 ) );
+   }
+
+   @Test
+   void testSequentialAccessInputList()
+   {
+      final WicaChannelValueFilter filter = new WicaChannelValueFixedSamplingCycleFilter( 2 );
+      final List<WicaChannelValue> outputList = filter.apply( new LinkedList<>( List.of( value1, value2, value3, value4 ) ) );
+      assertThat( outputList, is( List.of( value1, value3 ) ) );
+   }
+
+   @Test
+   void testLargeInputList()
+   {
+      final WicaChannelValue[] inputValues = new WicaChannelValue[ 1000 ];
+      for ( int i = 0; i < inputValues.length; i++ )
+      {
+         inputValues[ i ] = WicaChannelValue.createChannelValueConnected( i );
+      }
+      final WicaChannelValueFilter filter = new WicaChannelValueFixedSamplingCycleFilter( 3 );
+      final List<WicaChannelValue> outputList = filter.apply( List.of( inputValues ) );
+      assertThat( outputList.size(), is( 334 ) );
+      assertThat( outputList.get( 333 ), is( inputValues[ 999 ] ) );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
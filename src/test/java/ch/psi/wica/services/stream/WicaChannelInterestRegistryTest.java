@@ -0,0 +1,145 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.services.stream;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+class WicaChannelInterestRegistryTest
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+/*- Package-access methods ---------------------------------------------------*/
+
+   @Test
+   void testAcquire_RunsActionOnlyOnFirstAcquire()
+   {
+      final WicaChannelInterestRegistry<String> registry = new WicaChannelInterestRegistry<>( Duration.ZERO );
+      final AtomicInteger actionCount = new AtomicInteger();
+      assertThat( registry.acquire( "abc", actionCount::incrementAndGet ), is( 1 ) );
+      assertThat( registry.acquire( "abc", actionCount::incrementAndGet ), is( 2 ) );
+      assertThat( actionCount.get(), is( 1 ) );
+      assertThat( registry.getInterestCount( "abc" ), is( 2 ) );
+      assertThat( registry.getLastEvent( "abc" ).isPresent(), is( true ) );
+   }
+
+   @Test
+   void testRelease_ThrowsIllegalStateExceptionWhenKeyNotRegistered()
+   {
+      final WicaChannelInterestRegistry<String> registry = new WicaChannelInterestRegistry<>( Duration.ZERO );
+      assertThrows( IllegalStateException.class, () -> registry.release( "abc" ) );
+   }
+
+   @Test
+   void testRelease_ThrowsIllegalStateExceptionWhenCountAlreadyZero()
+   {
+      final WicaChannelInterestRegistry<String> registry = new WicaChannelInterestRegistry<>( Duration.ofHours( 1 ) );
+      registry.acquire( "abc", () -> {} );
+      registry.release( "abc" );
+      assertThrows( IllegalStateException.class, () -> registry.release( "abc" ) );
+   }
+
+   @Test
+   void testReleaseExpired_ReleasesOnlyAfterGraceInterval() throws InterruptedException
+   {
+      final WicaChannelInterestRegistry<String> registry = new WicaChannelInterestRegistry<>( Duration.ofMillis( 200 ) );
+      final List<String> released = new ArrayList<>();
+      registry.acquire( "abc", () -> {} );
+      assertThat( registry.release( "abc" ), is( 0 ) );
+      assertThat( registry.releaseExpired( released::add ), is( 0 ) );
+      assertThat( registry.size(), is( 1 ) );
+
+      Thread.sleep( 300 );
+      assertThat( registry.releaseExpired( released::add ), is( 1 ) );
+      assertThat( released, is( List.of( "abc" ) ) );
+      assertThat( registry.size(), is( 0 ) );
+      assertThat( registry.getPendingReleaseCount(), is( 0 ) );
+      assertThat( registry.getLastEvent( "abc" ).isPresent(), is( false ) );
+   }
+
+   @Test
+   void testReleaseExpired_ReacquireCancelsPendingRelease()
+   {
+      final WicaChannelInterestRegistry<String> registry = new WicaChannelInterestRegistry<>( Duration.ZERO );
+      final AtomicInteger actionCount = new AtomicInteger();
+      registry.acquire( "abc", actionCount::incrementAndGet );
+      registry.release( "abc" );
+      registry.acquire( "abc", actionCount::incrementAndGet );
+
+      assertThat( registry.releaseExpired( k -> { throw new AssertionError( "Unexpected release" ); } ), is( 0 ) );
+      assertThat( registry.getInterestCount( "abc" ), is( 1 ) );
+      assertThat( actionCount.get(), is( 1 ) );
+   }
+
+   @Test
+   void testReleaseExpired_StaleReleaseIsIgnoredAfterReacquireAndRelease() throws InterruptedException
+   {
+      final WicaChannelInterestRegistry<String> registry = new WicaChannelInterestRegistry<>( Duration.ofMillis( 200 ) );
+      registry.acquire( "abc", () -> {} );
+      registry.release( "abc" );
+      Thread.sleep( 100 );
+      registry.acquire( "abc", () -> {} );
+      registry.release( "abc" );
+
+      // The first release has expired but is stale, the second is still pending.
+      Thread.sleep( 150 );
+      assertThat( registry.releaseExpired( k -> {} ), is( 0 ) );
+      assertThat( registry.size(), is( 1 ) );
+
+      Thread.sleep( 100 );
+      assertThat( registry.releaseExpired( k -> {} ), is( 1 ) );
+      assertThat( registry.size(), is( 0 ) );
+   }
+
+   @Test
+   void testReleaseExpired_ReacquireDuringReleaseActionStartsNewRegistration()
+   {
+      final WicaChannelInterestRegistry<String> registry = new WicaChannelInterestRegistry<>( Duration.ZERO );
+      final List<String> events = new ArrayList<>();
+      registry.acquire( "abc", () -> events.add( "acquire" ) );
+      registry.release( "abc" );
+
+      // The actions run outside the map's internal locks so they may call back into the registry.
+      assertThat( registry.releaseExpired( k -> {
+         events.add( "release" );
+         registry.acquire( k, () -> events.add( "reacquire" ) );
+      } ), is( 1 ) );
+      assertThat( events, is( List.of( "acquire", "release", "reacquire" ) ) );
+      assertThat( registry.getInterestCount( "abc" ), is( 1 ) );
+      assertThat( registry.size(), is( 1 ) );
+   }
+
+   @Test
+   void testReleaseExpired_ReleasesInExpiryOrder() throws InterruptedException
+   {
+      final WicaChannelInterestRegistry<String> registry = new WicaChannelInterestRegistry<>( Duration.ofMillis( 50 ) );
+      final List<String> released = new ArrayList<>();
+      List.of( "c", "a", "b" ).forEach( k -> registry.acquire( k, () -> {} ) );
+      List.of( "c", "a", "b" ).forEach( registry::release );
+
+      Thread.sleep( 100 );
+      assertThat( registry.releaseExpired( released::add ), is( 3 ) );
+      assertThat( released, is( List.of( "c", "a", "b" ) ) );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
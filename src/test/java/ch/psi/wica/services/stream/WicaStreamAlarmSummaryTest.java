@@ -0,0 +1,138 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.services.stream;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.infrastructure.channel.WicaChannelBuilder;
+import ch.psi.wica.model.app.ControlSystemName;
+import ch.psi.wica.model.channel.WicaChannel;
+import ch.psi.wica.model.channel.WicaChannelAlarmSeverity;
+import ch.psi.wica.model.channel.WicaChannelAlarmStatus;
+import ch.psi.wica.model.channel.WicaChannelValue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+class WicaStreamAlarmSummaryTest
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   private final WicaChannel channelA  = WicaChannelBuilder.create().withChannelNameAndDefaultProperties( "A" ).build();
+   private final WicaChannel channelA1 = WicaChannelBuilder.create().withChannelNameAndDefaultProperties( "A##1" ).build();
+   private final WicaChannel channelB  = WicaChannelBuilder.create().withChannelNameAndDefaultProperties( "B" ).build();
+   private final WicaChannel channelC  = WicaChannelBuilder.create().withChannelNameAndDefaultProperties( "C" ).build();
+
+   private WicaStreamAlarmSummary objectUnderTest;
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @BeforeEach
+   void beforeEach()
+   {
+      objectUnderTest = new WicaStreamAlarmSummary();
+      objectUnderTest.reset( List.of( channelA, channelA1, channelB, channelC ),
+                             () -> Map.of( channelA,  List.of( createValue( WicaChannelAlarmSeverity.MINOR_ALARM ) ),
+                                     channelA1, List.of( createValue( WicaChannelAlarmSeverity.MINOR_ALARM ) ),
+                                     channelB,  List.of( createValue( WicaChannelAlarmSeverity.MAJOR_ALARM ), createValue( WicaChannelAlarmSeverity.NO_ALARM ) ) ) );
+   }
+
+   @Test
+   void testReset_UpdateArrivingDuringResetIsNotLost() throws InterruptedException
+   {
+      // The update is made whilst the latest values are being obtained, after
+      // the snapshot of channel B's value has been taken.
+      final Thread updater = new Thread( () -> objectUnderTest.update( channelB.getName().getControlSystemName(), createValue( WicaChannelAlarmSeverity.MAJOR_ALARM ) ) );
+      objectUnderTest.reset( List.of( channelB ), () -> {
+         final var snapshot = Map.of( channelB, List.of( createValue( WicaChannelAlarmSeverity.NO_ALARM ) ) );
+         updater.start();
+         try
+         {
+            updater.join( 100 );
+         }
+         catch ( InterruptedException ex )
+         {
+            Thread.currentThread().interrupt();
+         }
+         return snapshot;
+      } );
+      updater.join();
+
+      assertThat( objectUnderTest.getCount( WicaChannelAlarmSeverity.NO_ALARM ), is( 0 ) );
+      assertThat( objectUnderTest.getCount( WicaChannelAlarmSeverity.MAJOR_ALARM ), is( 1 ) );
+   }
+
+   @Test
+   void testReset()
+   {
+      assertThat( objectUnderTest.getTotalCount(), is( 4 ) );
+      assertThat( objectUnderTest.getOfflineCount(), is( 1 ) );
+      assertThat( objectUnderTest.getCount( WicaChannelAlarmSeverity.NO_ALARM ), is( 1 ) );
+      assertThat( objectUnderTest.getCount( WicaChannelAlarmSeverity.MINOR_ALARM ), is( 2 ) );
+      assertThat( objectUnderTest.getCount( WicaChannelAlarmSeverity.MAJOR_ALARM ), is( 0 ) );
+      assertThat( objectUnderTest.getCount( WicaChannelAlarmSeverity.INVALID_ALARM ), is( 0 ) );
+   }
+
+   @Test
+   void testUpdate_movesAllChannelsWithSameControlPoint()
+   {
+      objectUnderTest.update( ControlSystemName.of( "A" ), createValue( WicaChannelAlarmSeverity.INVALID_ALARM ) );
+      assertThat( objectUnderTest.getCount( WicaChannelAlarmSeverity.MINOR_ALARM ), is( 0 ) );
+      assertThat( objectUnderTest.getCount( WicaChannelAlarmSeverity.INVALID_ALARM ), is( 2 ) );
+
+      objectUnderTest.update( ControlSystemName.of( "A" ), WicaChannelValue.createChannelValueDisconnected() );
+      assertThat( objectUnderTest.getCount( WicaChannelAlarmSeverity.INVALID_ALARM ), is( 0 ) );
+      assertThat( objectUnderTest.getOfflineCount(), is( 3 ) );
+
+      objectUnderTest.update( ControlSystemName.of( "C" ), createValue( WicaChannelAlarmSeverity.NO_ALARM ) );
+      assertThat( objectUnderTest.getOfflineCount(), is( 2 ) );
+      assertThat( objectUnderTest.getCount( WicaChannelAlarmSeverity.NO_ALARM ), is( 2 ) );
+      assertThat( objectUnderTest.getTotalCount(), is( 4 ) );
+   }
+
+   @Test
+   void testUpdate_ignoresUnknownChannels()
+   {
+      objectUnderTest.getSerializedSummaryIfChanged();
+      objectUnderTest.update( ControlSystemName.of( "X" ), createValue( WicaChannelAlarmSeverity.MAJOR_ALARM ) );
+      assertThat( objectUnderTest.getCount( WicaChannelAlarmSeverity.MAJOR_ALARM ), is( 0 ) );
+      assertThat( objectUnderTest.getSerializedSummaryIfChanged().isPresent(), is( false ) );
+   }
+
+   @Test
+   void testGetSerializedSummaryIfChanged()
+   {
+      assertThat( objectUnderTest.getSerializedSummaryIfChanged().get(), is( "{\"total\":4,\"offline\":1,\"sevr\":{\"0\":1,\"1\":2,\"2\":0,\"3\":0}}" ) );
+      assertThat( objectUnderTest.getSerializedSummaryIfChanged().isPresent(), is( false ) );
+
+      // An update which does not change the severity does not change the summary.
+      objectUnderTest.update( ControlSystemName.of( "B" ), createValue( WicaChannelAlarmSeverity.NO_ALARM ) );
+      assertThat( objectUnderTest.getSerializedSummaryIfChanged().isPresent(), is( false ) );
+
+      objectUnderTest.update( ControlSystemName.of( "B" ), createValue( WicaChannelAlarmSeverity.MAJOR_ALARM ) );
+      assertThat( objectUnderTest.getSerializedSummaryIfChanged().get(), is( "{\"total\":4,\"offline\":1,\"sevr\":{\"0\":0,\"1\":2,\"2\":1,\"3\":0}}" ) );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+
+   private static WicaChannelValue createValue( WicaChannelAlarmSeverity severity )
+   {
+      return WicaChannelValue.createChannelValueConnected( severity, WicaChannelAlarmStatus.of( 0 ), LocalDateTime.now(), 1.0 );
+   }
+
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
@@ -0,0 +1,154 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.services.stream;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.controlsystem.event.WicaChannelMonitoredValueUpdateEvent;
+import ch.psi.wica.infrastructure.channel.WicaChannelBuilder;
+import ch.psi.wica.infrastructure.stream.WicaStreamBuilder;
+import ch.psi.wica.model.app.ControlSystemName;
+import ch.psi.wica.model.channel.WicaChannel;
+import ch.psi.wica.model.channel.WicaChannelAlarmSeverity;
+import ch.psi.wica.model.channel.WicaChannelAlarmStatus;
+import ch.psi.wica.model.channel.WicaChannelValue;
+import ch.psi.wica.model.stream.WicaStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+@DirtiesContext( classMode= DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD )
+@SpringBootTest
+class WicaStreamDerivedValueServiceTest
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   @Autowired
+   private ApplicationEventPublisher applicationEventPublisher;
+
+   @Autowired
+   private WicaStreamMonitoredValueRequesterService wicaStreamMonitoredValueRequesterService;
+
+   @Autowired
+   private WicaStreamMonitoredValueCollectorService wicaStreamMonitoredValueCollectorService;
+
+   @Autowired
+   private WicaStreamDerivedValueService service;
+
+   private WicaChannel inputChannelA;
+   private WicaChannel inputChannelB;
+   private WicaChannel derivedChannel;
+   private WicaStream wicaStream;
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+
+   @BeforeEach
+   void beforeEach()
+   {
+      inputChannelA = WicaChannelBuilder.create().withChannelNameAndDefaultProperties( "A" ).build();
+      inputChannelB = WicaChannelBuilder.create().withChannelNameAndDefaultProperties( "B" ).build();
+      derivedChannel = WicaChannelBuilder.create().withChannelNameAndDefaultProperties( "calc://A * 2 + B" ).build();
+      wicaStream = WicaStreamBuilder.create().withId( "myStream" ).withChannel( derivedChannel ).build();
+   }
+
+   @Test
+   void testStartMonitoring_startsInputChannels()
+   {
+      wicaStreamMonitoredValueRequesterService.startMonitoring( wicaStream );
+      assertThat( service.getDerivedChannelCount(), is( 1 ) );
+      assertThat( wicaStreamMonitoredValueRequesterService.getInterestCountForChannel( inputChannelA ), is( 1 ) );
+      assertThat( wicaStreamMonitoredValueRequesterService.getInterestCountForChannel( inputChannelB ), is( 1 ) );
+
+      // The derived channel itself is released only after the grace interval.
+      wicaStreamMonitoredValueRequesterService.stopMonitoring( wicaStream );
+      assertThat( wicaStreamMonitoredValueRequesterService.getInterestCountForChannel( inputChannelA ), is( 0 ) );
+      assertThat( wicaStreamMonitoredValueRequesterService.getInterestCountForChannel( inputChannelB ), is( 0 ) );
+   }
+
+   @Test
+   void testDerivedValue_isOfflineUntilAllInputsAreOnline()
+   {
+      wicaStreamMonitoredValueRequesterService.startMonitoring( wicaStream );
+      publish( inputChannelA, WicaChannelValue.createChannelValueConnected( 3.0 ) );
+      assertThat( getLatestDerivedValue().isConnected(), is( false ) );
+
+      publish( inputChannelB, WicaChannelValue.createChannelValueConnected( 4 ) );
+      assertThat( getLatestDerivedValue().isConnected(), is( true ) );
+      assertThat( getLatestDerivedValueAsDouble(), is( 10.0 ) );
+
+      publish( inputChannelB, WicaChannelValue.createChannelValueDisconnected() );
+      assertThat( getLatestDerivedValue().isConnected(), is( false ) );
+   }
+
+   @Test
+   void testDerivedValue_isRecomputedOnEachInputUpdate()
+   {
+      wicaStreamMonitoredValueRequesterService.startMonitoring( wicaStream );
+      publish( inputChannelA, WicaChannelValue.createChannelValueConnected( 1.0 ) );
+      publish( inputChannelB, WicaChannelValue.createChannelValueConnected( 1.0 ) );
+      assertThat( getLatestDerivedValueAsDouble(), is( 3.0 ) );
+      publish( inputChannelA, WicaChannelValue.createChannelValueConnected( 5.0 ) );
+      assertThat( getLatestDerivedValueAsDouble(), is( 11.0 ) );
+      publish( inputChannelB, WicaChannelValue.createChannelValueConnected( -1.0 ) );
+      assertThat( getLatestDerivedValueAsDouble(), is( 9.0 ) );
+   }
+
+   @Test
+   void testDerivedValue_takesMostSevereAlarm()
+   {
+      wicaStreamMonitoredValueRequesterService.startMonitoring( wicaStream );
+      publish( inputChannelA, WicaChannelValue.createChannelValueConnected( WicaChannelAlarmSeverity.MINOR_ALARM, WicaChannelAlarmStatus.of( 0 ), LocalDateTime.now(), 1.0 ) );
+      publish( inputChannelB, WicaChannelValue.createChannelValueConnected( WicaChannelAlarmSeverity.MAJOR_ALARM, WicaChannelAlarmStatus.of( 0 ), LocalDateTime.now(), 1.0 ) );
+      final WicaChannelValue.WicaChannelValueConnected value = (WicaChannelValue.WicaChannelValueConnected) getLatestDerivedValue();
+      assertThat( value.getWicaAlarmSeverity(), is( WicaChannelAlarmSeverity.MAJOR_ALARM ) );
+   }
+
+   @Test
+   void testDerivedValue_startsFromValuesAlreadyReceived()
+   {
+      final WicaStream inputStream = WicaStreamBuilder.create().withId( "inputStream" ).withChannels( Set.of( inputChannelA, inputChannelB ) ).build();
+      wicaStreamMonitoredValueRequesterService.startMonitoring( inputStream );
+      publish( inputChannelA, WicaChannelValue.createChannelValueConnected( 2.0 ) );
+      publish( inputChannelB, WicaChannelValue.createChannelValueConnected( 2.0 ) );
+
+      wicaStreamMonitoredValueRequesterService.startMonitoring( wicaStream );
+      assertThat( getLatestDerivedValueAsDouble(), is( 6.0 ) );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+
+   private void publish( WicaChannel wicaChannel, WicaChannelValue wicaChannelValue )
+   {
+      applicationEventPublisher.publishEvent( new WicaChannelMonitoredValueUpdateEvent( wicaChannel, wicaChannelValue ) );
+   }
+
+   private WicaChannelValue getLatestDerivedValue()
+   {
+      return wicaStreamMonitoredValueCollectorService.findLatest( derivedChannel.getName().getControlSystemName() ).orElseThrow();
+   }
+
+   private double getLatestDerivedValueAsDouble()
+   {
+      return ((WicaChannelValue.WicaChannelValueConnectedReal) getLatestDerivedValue()).getValue();
+   }
+
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
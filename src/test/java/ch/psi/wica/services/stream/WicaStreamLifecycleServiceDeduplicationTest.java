@@ -0,0 +1,132 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.services.stream;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.channel.WicaChannel;
+import ch.psi.wica.model.stream.WicaStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.codec.ServerSentEvent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+@SpringBootTest( webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "wica.stream-deduplication-enabled=true" )
+class WicaStreamLifecycleServiceDeduplicationTest
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   @Autowired
+   private WicaStreamLifecycleService service;
+
+   @Autowired
+   private WicaStreamMonitoredValueRequesterService monitoredValueRequesterService;
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+/*- Package-access methods ---------------------------------------------------*/
+
+   @Test
+   void testIdenticalStreamsShareChannelInterest()
+   {
+      // The channels are deliberately specified in a different order.
+      final WicaStream stream1 = service.create( "{ \"channels\":  [ { \"name\": \"DEDUP:CHAN1\" }, { \"name\": \"DEDUP:CHAN2\" } ] }" );
+      final WicaStream stream2 = service.create( "{ \"channels\":  [ { \"name\": \"DEDUP:CHAN2\" }, { \"name\": \"DEDUP:CHAN1\" } ] }" );
+      final WicaChannel channel1 = stream1.getWicaChannel( "DEDUP:CHAN1" ).orElseThrow();
+
+      assertThat( stream1.getWicaStreamId(), is( not( stream2.getWicaStreamId() ) ) );
+      assertThat( service.isKnown( stream1.getWicaStreamId() ), is( true ) );
+      assertThat( service.isKnown( stream2.getWicaStreamId() ), is( true ) );
+      assertThat( monitoredValueRequesterService.getInterestCountForChannel( channel1 ), is( 1 ) );
+
+      // Deleting the first stream must not release the shared resources.
+      service.delete( stream1.getWicaStreamId() );
+      assertThat( service.isKnown( stream1.getWicaStreamId() ), is( false ) );
+      assertThat( monitoredValueRequesterService.getInterestCountForChannel( channel1 ), is( 1 ) );
+
+      service.delete( stream2.getWicaStreamId() );
+      assertThat( monitoredValueRequesterService.getInterestCountForChannel( channel1 ), is( 0 ) );
+   }
+
+   @Test
+   void testDifferentStreamsAreNotShared()
+   {
+      final WicaStream stream1 = service.create( "{ \"channels\":  [ { \"name\": \"DEDUP:CHAN3\" } ] }" );
+      final WicaStream stream2 = service.create( "{ \"props\" : { \"prec\":3 }, \"channels\":  [ { \"name\": \"DEDUP:CHAN3\" } ] }" );
+      final WicaChannel channel = stream1.getWicaChannel( "DEDUP:CHAN3" ).orElseThrow();
+
+      assertThat( monitoredValueRequesterService.getInterestCountForChannel( channel ), is( 2 ) );
+
+      service.delete( stream1.getWicaStreamId() );
+      service.delete( stream2.getWicaStreamId() );
+      assertThat( monitoredValueRequesterService.getInterestCountForChannel( channel ), is( 0 ) );
+   }
+
+   @Test
+   void testSharedStreamEventsCarryTheRequestedStreamId()
+   {
+      final String config = "{ \"props\" : { \"metaflux\":50 }, \"channels\":  [ { \"name\": \"DEDUP:CHAN4\" } ] }";
+      final WicaStream stream1 = service.create( config );
+      final WicaStream stream2 = service.create( config );
+
+      final ServerSentEvent<String> event1 = service.getFlux( stream1.getWicaStreamId() ).blockFirst( Duration.ofSeconds( 5 ) );
+      final ServerSentEvent<String> event2 = service.getFlux( stream2.getWicaStreamId() ).blockFirst( Duration.ofSeconds( 5 ) );
+      assertThat( event1.id(), is( stream1.getWicaStreamId().asString() ) );
+      assertThat( event2.id(), is( stream2.getWicaStreamId().asString() ) );
+
+      service.delete( stream1.getWicaStreamId() );
+      service.delete( stream2.getWicaStreamId() );
+   }
+
+   @Test
+   void testConcurrentlyCreatedIdenticalStreamsShareChannelInterest() throws Exception
+   {
+      final int numberOfCallers = 8;
+      final String config = "{ \"channels\":  [ { \"name\": \"DEDUP:CHAN5\" } ] }";
+      final ExecutorService executor = Executors.newFixedThreadPool( numberOfCallers );
+      final CountDownLatch startSignal = new CountDownLatch( 1 );
+      final List<Future<WicaStream>> futures = new ArrayList<>();
+      for ( int i = 0; i < numberOfCallers; i++ )
+      {
+         futures.add( executor.submit( () -> {
+            startSignal.await();
+            return service.create( config );
+         } ) );
+      }
+      startSignal.countDown();
+      final List<WicaStream> streams = new ArrayList<>();
+      for ( Future<WicaStream> future : futures )
+      {
+         streams.add( future.get() );
+      }
+      executor.shutdown();
+
+      final WicaChannel channel = streams.get( 0 ).getWicaChannel( "DEDUP:CHAN5" ).orElseThrow();
+      assertThat( monitoredValueRequesterService.getInterestCountForChannel( channel ), is( 1 ) );
+
+      streams.forEach( s -> service.delete( s.getWicaStreamId() ) );
+      assertThat( monitoredValueRequesterService.getInterestCountForChannel( channel ), is( 0 ) );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
@@ -0,0 +1,65 @@
+/*- Package Declaration ------------------------------------------------------*/
+package ch.psi.wica.services.stream;
+
+/*- Imported packages --------------------------------------------------------*/
+
+import ch.psi.wica.model.stream.WicaStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.Disposable;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/*- Interface Declaration ----------------------------------------------------*/
+/*- Class Declaration --------------------------------------------------------*/
+
+@SpringBootTest( webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "wica.stream-idle-timeout-in-secs=1" )
+class WicaStreamLifecycleServiceIdleStreamTest
+{
+
+/*- Public attributes --------------------------------------------------------*/
+/*- Private attributes -------------------------------------------------------*/
+
+   @Autowired
+   private WicaStreamLifecycleService service;
+
+/*- Main ---------------------------------------------------------------------*/
+/*- Constructor --------------------------------------------------------------*/
+/*- Class methods ------------------------------------------------------------*/
+/*- Public methods -----------------------------------------------------------*/
+/*- Package-access methods ---------------------------------------------------*/
+
+   @Test
+   void testStreamWithoutSubscribersIsDeleted() throws InterruptedException
+   {
+      final WicaStream stream = service.create( "{ \"channels\":  [ { \"name\": \"IDLE:CHAN1\" } ] }" );
+      service.deleteIdleStreams();
+      assertThat( service.isKnown( stream.getWicaStreamId() ), is( true ) );
+
+      Thread.sleep( 1500 );
+      service.deleteIdleStreams();
+      assertThat( service.isKnown( stream.getWicaStreamId() ), is( false ) );
+   }
+
+   @Test
+   void testStreamWithSubscriberIsRetainedUntilSubscriberLeaves() throws InterruptedException
+   {
+      final WicaStream stream = service.create( "{ \"channels\":  [ { \"name\": \"IDLE:CHAN2\" } ] }" );
+      final Disposable subscription = service.getFlux( stream.getWicaStreamId() ).subscribe();
+
+      Thread.sleep( 1500 );
+      service.deleteIdleStreams();
+      assertThat( service.isKnown( stream.getWicaStreamId() ), is( true ) );
+
+      subscription.dispose();
+      Thread.sleep( 1500 );
+      service.deleteIdleStreams();
+      assertThat( service.isKnown( stream.getWicaStreamId() ), is( false ) );
+   }
+
+/*- Private methods ----------------------------------------------------------*/
+/*- Nested Classes -----------------------------------------------------------*/
+
+}
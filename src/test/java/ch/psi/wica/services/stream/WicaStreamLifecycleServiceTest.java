@@ -13,13 +13,22 @@ import org.junit.jupiter.api.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.test.context.junit4.SpringRunner;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /*- Interface Declaration ----------------------------------------------------*/
 /*- Class Declaration --------------------------------------------------------*/
@@ -35,6 +44,9 @@ class WicaStreamLifecycleServiceTest
    @Autowired
    public WicaStreamLifecycleService service;
 
+   @Autowired
+   private WicaStreamMonitoredValueRequesterService monitoredValueRequesterService;
+
 /*- Main ---------------------------------------------------------------------*/
 /*- Constructor --------------------------------------------------------------*/
 /*- Class methods ------------------------------------------------------------*/
@@ -100,7 +112,123 @@ class WicaStreamLifecycleServiceTest
       assertThat( wicaStreamId.asString(), is("0") );
    }
 
+   @Test
+   void testConcurrentCreateAndDelete() throws InterruptedException, ExecutionException
+   {
+      final int numberOfStreams = 20;
+      final ExecutorService executor = Executors.newFixedThreadPool( numberOfStreams );
+      final CountDownLatch startSignal = new CountDownLatch( 1 );
+
+      // Each stream has one channel of its own and one channel which is shared with all other streams.
+      final List<Future<WicaStream>> createFutures = new ArrayList<>();
+      for ( int i = 0; i < numberOfStreams; i++ )
+      {
+         final String config = "{ \"channels\":  [ { \"name\": \"CONCURRENT:SHARED\" }, { \"name\": \"CONCURRENT:OWN" + i + "\" } ] }";
+         createFutures.add( executor.submit( () -> {
+            startSignal.await();
+            return service.create( config );
+         } ) );
+      }
+      startSignal.countDown();
+
+      final List<WicaStream> streams = new ArrayList<>();
+      for ( Future<WicaStream> future : createFutures )
+      {
+         streams.add( future.get() );
+      }
+
+      // Check that every stream received a unique id and that the interest counts were not lost.
+      final Set<WicaStreamId> ids = streams.stream().map( WicaStream::getWicaStreamId ).collect( Collectors.toSet() );
+      assertThat( ids.size(), is( numberOfStreams ) );
+      final WicaChannel sharedChannel = getChannel( streams.get( 0 ), "CONCURRENT:SHARED" );
+      assertThat( monitoredValueRequesterService.getInterestCountForChannel( sharedChannel ), is( numberOfStreams ) );
+      assertThat( monitoredValueRequesterService.getInterestCountForChannel( getChannel( streams.get( 0 ), "CONCURRENT:OWN0" ) ), is( 1 ) );
+
+      final List<Future<?>> deleteFutures = new ArrayList<>();
+      for ( WicaStream stream : streams )
+      {
+         deleteFutures.add( executor.submit( () -> service.delete( stream.getWicaStreamId() ) ) );
+      }
+      for ( Future<?> future : deleteFutures )
+      {
+         future.get();
+      }
+      executor.shutdown();
+
+      assertThat( monitoredValueRequesterService.getInterestCountForChannel( sharedChannel ), is( 0 ) );
+      assertThat( ids.stream().noneMatch( service::isKnown ), is( true ) );
+   }
+
+   @Test
+   void testModifyAdjustsInterestForChangedChannelsOnly()
+   {
+      final WicaStream stream = service.create( "{ \"channels\":  [ { \"name\": \"MODIFY:CHAN1\" }, { \"name\": \"MODIFY:CHAN2\" } ] }" );
+      final WicaChannel channel1 = getChannel( stream, "MODIFY:CHAN1" );
+      final WicaChannel channel2 = getChannel( stream, "MODIFY:CHAN2" );
+
+      final WicaStream modifiedStream = service.modify( stream.getWicaStreamId(), "[ { \"name\": \"MODIFY:CHAN3\" } ]", Set.of( "MODIFY:CHAN1" ) );
+      final WicaChannel channel3 = getChannel( modifiedStream, "MODIFY:CHAN3" );
+
+      assertThat( modifiedStream.getWicaStreamId(), is( stream.getWicaStreamId() ) );
+      assertThat( modifiedStream.getWicaChannels(), is( Set.of( channel2, channel3 ) ) );
+      assertThat( monitoredValueRequesterService.getInterestCountForChannel( channel1 ), is( 0 ) );
+      assertThat( monitoredValueRequesterService.getInterestCountForChannel( channel2 ), is( 1 ) );
+      assertThat( monitoredValueRequesterService.getInterestCountForChannel( channel3 ), is( 1 ) );
+
+      service.delete( stream.getWicaStreamId() );
+      assertThat( monitoredValueRequesterService.getInterestCountForChannel( channel2 ), is( 0 ) );
+      assertThat( monitoredValueRequesterService.getInterestCountForChannel( channel3 ), is( 0 ) );
+   }
+
+   @Test
+   void testModifyRejectsInvalidChanges()
+   {
+      final WicaStream stream = service.create( "{ \"channels\":  [ { \"name\": \"MODIFY:CHAN4\" } ] }" );
+      final WicaStreamId id = stream.getWicaStreamId();
+
+      assertThrows( IllegalArgumentException.class, () -> service.modify( id, null, Set.of( "MODIFY:UNKNOWN" ) ) );
+      assertThrows( IllegalArgumentException.class, () -> service.modify( id, "[ { \"name\": \"MODIFY:CHAN4\" } ]", Set.of() ) );
+      assertThrows( IllegalArgumentException.class, () -> service.modify( id, null, Set.of( "MODIFY:CHAN4" ) ) );
+      assertThrows( IllegalArgumentException.class, () -> service.modify( id, "{}", Set.of() ) );
+      assertThrows( IllegalArgumentException.class, () -> service.modify( WicaStreamId.of( "UNKNOWN" ), null, Set.of() ) );
+
+      // The stream is unchanged by the rejected requests.
+      assertThat( monitoredValueRequesterService.getInterestCountForChannel( getChannel( stream, "MODIFY:CHAN4" ) ), is( 1 ) );
+      service.delete( id );
+   }
+
+   @Test
+   void testModifiedStreamPublishesMetadataOfAddedChannels()
+   {
+      final WicaStream stream = service.create( "{ \"props\" : { \"metaflux\":50 }, \"channels\":  [ { \"name\": \"MODIFY:CHAN5\" } ] }" );
+      final Flux<String> metadataFlux = service.getFlux( stream.getWicaStreamId() )
+            .filter( sse -> "ev-wica-channel-metadata".equals( sse.event() ) )
+            .map( ServerSentEvent::data );
+
+      StepVerifier.create( metadataFlux )
+            .assertNext( data -> assertThat( data.contains( "MODIFY:CHAN5" ), is( true ) ) )
+            .then( () -> service.modify( stream.getWicaStreamId(), "[ { \"name\": \"MODIFY:CHAN6\" } ]", Set.of() ) )
+            .assertNext( data -> {
+               assertThat( data.contains( "MODIFY:CHAN6" ), is( true ) );
+               assertThat( data.contains( "MODIFY:CHAN5" ), is( false ) );
+            } )
+            .thenCancel()
+            .verify( Duration.ofSeconds( 5 ) );
+
+      service.delete( stream.getWicaStreamId() );
+   }
+
 /*- Private methods ----------------------------------------------------------*/
+
+   private WicaChannel getChannel( WicaStream stream, String name )
+   {
+      return stream.getWicaChannels()
+            .stream()
+            .filter( c -> c.getName().getControlSystemName().asString().equals( name ) )
+            .findFirst()
+            .orElseThrow();
+   }
+
 /*- Nested Classes -----------------------------------------------------------*/
 
 }
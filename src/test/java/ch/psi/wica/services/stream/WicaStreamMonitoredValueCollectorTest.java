@@ -4,14 +4,19 @@ package ch.psi.wica.services.stream;
 /*- Imported packages --------------------------------------------------------*/
 
 import ch.psi.wica.controlsystem.event.WicaChannelMonitoredValueUpdateEvent;
+import ch.psi.wica.controlsystem.event.WicaChannelStopMonitoringEvent;
 import ch.psi.wica.infrastructure.channel.WicaChannelBuilder;
 import ch.psi.wica.infrastructure.channel.WicaChannelPropertiesBuilder;
 import ch.psi.wica.infrastructure.channel.WicaChannelValueTimestampRewriter;
 import ch.psi.wica.infrastructure.stream.WicaStreamBuilder;
+import ch.psi.wica.model.app.ControlSystemName;
 import ch.psi.wica.model.app.WicaDataAcquisitionMode;
 import ch.psi.wica.model.channel.WicaChannel;
+import ch.psi.wica.model.channel.WicaChannelAlarmSeverity;
+import ch.psi.wica.model.channel.WicaChannelAlarmStatus;
 import ch.psi.wica.model.channel.WicaChannelValue;
 import ch.psi.wica.model.stream.WicaStream;
+import ch.psi.wica.services.channel.WicaChannelValueFilterPipeline;
 import ch.psi.wica.services.channel.WicaChannelValueFilteringService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,8 +25,12 @@ import org.mockito.Captor;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.ApplicationEventPublisher;
+import org.reactivestreams.Subscription;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -42,15 +51,14 @@ class WicaStreamMonitoredValueCollectorTest
    @MockBean
    private WicaChannelValueFilteringService wicaChannelValueFilteringServiceMock;
 
+   private final WicaChannelValueFilterPipeline passEverythingPipeline = new WicaChannelValueFilterPipeline( c -> l -> l );
+
    @MockBean
    private ApplicationEventPublisher applicationEventPublisher;
 
    @MockBean
    private WicaChannelValueTimestampRewriter wicaChannelValueTimestampRewriter;
 
-   @Captor
-   private ArgumentCaptor<WicaChannel> captorChannel;
-
    @Captor
    private ArgumentCaptor<List<WicaChannelValue>> captorValueList;
 
@@ -114,7 +122,6 @@ class WicaStreamMonitoredValueCollectorTest
                                                                        wicaChannelValueTimestampRewriter,
                                                                        wicaChannelValueFilteringServiceMock );
 
-      given( wicaChannelValueFilteringServiceMock.filterValues( captorChannel.capture(), captorValueList.capture() ) ).willAnswer(( x) -> captorValueList.getValue() );
       given( wicaChannelValueFilteringServiceMock.filterLastValues( captorValueList.capture() ) ).willAnswer(( x) -> captorValueList.getValue() );
    }
 
@@ -122,8 +129,8 @@ class WicaStreamMonitoredValueCollectorTest
    void test_initialisation()
    {
       assertThat( serviceUnderTest.getLatest( testStream ).entrySet().isEmpty(), is( true ) );
-      assertThat( serviceUnderTest.get( testStream, LocalDateTime.MIN ).entrySet().isEmpty(), is( true ) );
-      assertThat( serviceUnderTest.get( testStream, LocalDateTime.MAX ).entrySet().isEmpty(), is( true ) );
+      assertThat( serviceUnderTest.get( testStream, LocalDateTime.MIN, passEverythingPipeline ).entrySet().isEmpty(), is( true ) );
+      assertThat( serviceUnderTest.get( testStream, LocalDateTime.MAX, passEverythingPipeline ).entrySet().isEmpty(), is( true ) );
   }
 
    @Test
@@ -163,23 +170,110 @@ class WicaStreamMonitoredValueCollectorTest
       serviceUnderTest.handleWicaChannelMonitoredValueUpdateEvent( new WicaChannelMonitoredValueUpdateEvent( testChannel3, someValue2A ) );
       serviceUnderTest.handleWicaChannelMonitoredValueUpdateEvent( new WicaChannelMonitoredValueUpdateEvent( testChannel3, someValue2B ) );
 
-      final Map<WicaChannel, List<WicaChannelValue>> resultMap1 = serviceUnderTest.get( testStream, LocalDateTime.MIN );
+      final Map<WicaChannel, List<WicaChannelValue>> resultMap1 = serviceUnderTest.get( testStream, LocalDateTime.MIN, passEverythingPipeline );
       assertThat( resultMap1.entrySet().size(), is( 2 ) );
       assertThat( resultMap1.keySet(), not( hasItems( testChannel2, testChannel4 ) ) );
       assertThat( resultMap1.keySet(), hasItems( testChannel1, testChannel3 ) );
       assertThat( resultMap1.values(), hasItem( List.of( someValue1A, someValue1B) ) );
       assertThat( resultMap1.values(), hasItem( List.of( someValue2A, someValue2B) ) );
 
-      final Map<WicaChannel, List<WicaChannelValue>> resultMap2 = serviceUnderTest.get( testStream, middleTime );
+      final Map<WicaChannel, List<WicaChannelValue>> resultMap2 = serviceUnderTest.get( testStream, middleTime, passEverythingPipeline );
       assertThat( resultMap2.entrySet().size(), is( 1 ) );
       assertThat( resultMap2.keySet(), hasItem( testChannel3 ) );
       assertThat( resultMap2.keySet(), not( hasItems( testChannel1, testChannel2 ) ) );
       assertThat( resultMap2.values(), hasItem( List.of( someValue2A, someValue2B) ) );
 
-      final Map<WicaChannel, List<WicaChannelValue>> resultMap3 = serviceUnderTest.get( testStream, LocalDateTime.MAX );
+      final Map<WicaChannel, List<WicaChannelValue>> resultMap3 = serviceUnderTest.get( testStream, LocalDateTime.MAX, passEverythingPipeline );
       assertThat( resultMap3.entrySet().size(), is( 0 ) );
    }
 
+   @Test
+   void test_findLatestByControlSystemName()
+   {
+      final ControlSystemName controlSystemName = ControlSystemName.of( "CH1_MONITOR" );
+      assertThat( serviceUnderTest.findLatest( controlSystemName ).isPresent(), is( false ) );
+
+      final WicaChannelValue someValue1A = WicaChannelValue.createChannelValueConnected( 1.0 );
+      final WicaChannelValue someValue1B = WicaChannelValue.createChannelValueConnected( 2.0 );
+      serviceUnderTest.handleWicaChannelMonitoredValueUpdateEvent( new WicaChannelMonitoredValueUpdateEvent( testChannel1, someValue1A ) );
+      serviceUnderTest.handleWicaChannelMonitoredValueUpdateEvent( new WicaChannelMonitoredValueUpdateEvent( testChannel1, someValue1B ) );
+
+      assertThat( serviceUnderTest.findLatest( controlSystemName ).orElseThrow(), is( someValue1B ) );
+      assertThat( serviceUnderTest.findLatest( ControlSystemName.of( "CH2_POLL" ) ).isPresent(), is( false ) );
+   }
+
+   @Test
+   void test_stopMonitoringDiscardsBufferedValues()
+   {
+      final ControlSystemName controlSystemName = ControlSystemName.of( "CH1_MONITOR" );
+      serviceUnderTest.handleWicaChannelMonitoredValueUpdateEvent( new WicaChannelMonitoredValueUpdateEvent( testChannel1, WicaChannelValue.createChannelValueConnected( 1.0 ) ) );
+      assertThat( serviceUnderTest.getRetainedChannelCount(), is( 1 ) );
+
+      serviceUnderTest.handleWicaChannelStopMonitoringEvent( new WicaChannelStopMonitoringEvent( testChannel1 ) );
+      assertThat( serviceUnderTest.getRetainedChannelCount(), is( 0 ) );
+      assertThat( serviceUnderTest.findLatest( controlSystemName ).isPresent(), is( false ) );
+   }
+
+   @Test
+   void test_alarmTransitionFlux()
+   {
+      final WicaChannelValue noAlarmValue1 = WicaChannelValue.createChannelValueConnected( WicaChannelAlarmSeverity.NO_ALARM, WicaChannelAlarmStatus.of( 0 ), LocalDateTime.now(), 1.0 );
+      final WicaChannelValue noAlarmValue2 = WicaChannelValue.createChannelValueConnected( WicaChannelAlarmSeverity.NO_ALARM, WicaChannelAlarmStatus.of( 0 ), LocalDateTime.now(), 2.0 );
+      final WicaChannelValue majorAlarmValue = WicaChannelValue.createChannelValueConnected( WicaChannelAlarmSeverity.MAJOR_ALARM, WicaChannelAlarmStatus.of( 3 ), LocalDateTime.now(), 3.0 );
+      final WicaChannelValue disconnectedValue = WicaChannelValue.createChannelValueDisconnected();
+
+      final List<WicaChannelMonitoredValueUpdateEvent> transitions = new ArrayList<>();
+      final Disposable subscription = serviceUnderTest.getAlarmTransitionFlux().subscribe( transitions::add );
+
+      serviceUnderTest.handleWicaChannelMonitoredValueUpdateEvent( new WicaChannelMonitoredValueUpdateEvent( testChannel1, noAlarmValue1 ) );
+      serviceUnderTest.handleWicaChannelMonitoredValueUpdateEvent( new WicaChannelMonitoredValueUpdateEvent( testChannel1, noAlarmValue2 ) );
+      serviceUnderTest.handleWicaChannelMonitoredValueUpdateEvent( new WicaChannelMonitoredValueUpdateEvent( testChannel1, majorAlarmValue ) );
+      serviceUnderTest.handleWicaChannelMonitoredValueUpdateEvent( new WicaChannelMonitoredValueUpdateEvent( testChannel1, disconnectedValue ) );
+      subscription.dispose();
+
+      // The first value has no predecessor and the second does not change the severity.
+      assertThat( transitions.size(), is( 2 ) );
+      assertThat( transitions.get( 0 ).getWicaChannelValue(), is( majorAlarmValue ) );
+      assertThat( transitions.get( 1 ).getWicaChannelValue(), is( disconnectedValue ) );
+   }
+
+   @Test
+   void test_alarmTransitionFluxDropsOldestTransitionsForSlowSubscriber()
+   {
+      final WicaChannelValue noAlarmValue = WicaChannelValue.createChannelValueConnected( WicaChannelAlarmSeverity.NO_ALARM, WicaChannelAlarmStatus.of( 0 ), LocalDateTime.now(), 1.0 );
+      final List<WicaChannelValue> transitionValues = new ArrayList<>();
+      for ( int i = 0; i < WicaStreamMonitoredValueCollectorService.ALARM_TRANSITION_BUFFER_SIZE + 2; i++ )
+      {
+         final WicaChannelAlarmSeverity severity = ( i % 2 == 0 ) ? WicaChannelAlarmSeverity.MAJOR_ALARM : WicaChannelAlarmSeverity.NO_ALARM;
+         transitionValues.add( WicaChannelValue.createChannelValueConnected( severity, WicaChannelAlarmStatus.of( 0 ), LocalDateTime.now(), i ) );
+      }
+
+      // The subscriber requests nothing until all the transitions have been published.
+      final List<WicaChannelMonitoredValueUpdateEvent> transitions = new ArrayList<>();
+      final BaseSubscriber<WicaChannelMonitoredValueUpdateEvent> slowSubscriber = new BaseSubscriber<>()
+      {
+         @Override
+         protected void hookOnSubscribe( Subscription subscription ) {}
+
+         @Override
+         protected void hookOnNext( WicaChannelMonitoredValueUpdateEvent event )
+         {
+            transitions.add( event );
+         }
+      };
+      serviceUnderTest.getAlarmTransitionFlux().subscribe( slowSubscriber );
+
+      serviceUnderTest.handleWicaChannelMonitoredValueUpdateEvent( new WicaChannelMonitoredValueUpdateEvent( testChannel1, noAlarmValue ) );
+      transitionValues.forEach( v -> serviceUnderTest.handleWicaChannelMonitoredValueUpdateEvent( new WicaChannelMonitoredValueUpdateEvent( testChannel1, v ) ) );
+      slowSubscriber.requestUnbounded();
+      slowSubscriber.dispose();
+
+      // Only the most recent transitions are retained.
+      assertThat( transitions.size(), is( WicaStreamMonitoredValueCollectorService.ALARM_TRANSITION_BUFFER_SIZE ) );
+      assertThat( transitions.get( 0 ).getWicaChannelValue(), is( transitionValues.get( 2 ) ) );
+      assertThat( transitions.get( transitions.size() - 1 ).getWicaChannelValue(), is( transitionValues.get( transitionValues.size() - 1 ) ) );
+   }
+
 /*- Private methods ----------------------------------------------------------*/
 /*- Nested Classes -----------------------------------------------------------*/
 
@@ -10,6 +10,7 @@ import ch.psi.wica.model.app.WicaDataAcquisitionMode;
 import ch.psi.wica.model.app.WicaFilterType;
 import ch.psi.wica.model.channel.*;
 import ch.psi.wica.model.stream.WicaStream;
+import ch.psi.wica.services.channel.WicaChannelValueFilterPipeline;
 import org.apache.commons.lang3.time.StopWatch;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -171,12 +172,12 @@ class WicaStreamMonitoredValueRequesterServiceTest
          .withChannel( myWicaChannel )
          .build();
 
-      final Map<WicaChannel, List<WicaChannelValue>> preInitialValueMap = wicaStreamMonitoredValueCollectorService.get( wicaStream, LocalDateTime.MIN );
+      final Map<WicaChannel, List<WicaChannelValue>> preInitialValueMap = wicaStreamMonitoredValueCollectorService.get( wicaStream, LocalDateTime.MIN, new WicaChannelValueFilterPipeline( c -> l -> l ) );
       assertThat( preInitialValueMap.size(), is( 0 ) );
 
       service.startMonitoring( wicaStream );
 
-      final Map<WicaChannel, List<WicaChannelValue>> initialValueMap = wicaStreamMonitoredValueCollectorService.get( wicaStream, LocalDateTime.MIN );
+      final Map<WicaChannel, List<WicaChannelValue>> initialValueMap = wicaStreamMonitoredValueCollectorService.get( wicaStream, LocalDateTime.MIN, new WicaChannelValueFilterPipeline( c -> l -> l ) );
       assertThat( initialValueMap.size(), is( 1 ) );
       assertThat( initialValueMap.containsKey( myWicaChannel ), is( true ) );
       assertThat( initialValueMap.get( myWicaChannel ).get( 0 ).isConnected(), is( false ) );
@@ -11,6 +11,7 @@ import ch.psi.wica.model.app.WicaDataAcquisitionMode;
 import ch.psi.wica.model.channel.WicaChannel;
 import ch.psi.wica.model.channel.WicaChannelValue;
 import ch.psi.wica.model.stream.WicaStream;
+import ch.psi.wica.services.channel.WicaChannelValueFilterPipeline;
 import ch.psi.wica.services.channel.WicaChannelValueFilteringService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -40,12 +41,11 @@ class WicaStreamPolledValueCollectorTest
    @MockBean
    private WicaChannelValueFilteringService wicaChannelValueFilteringServiceMock;
 
-   @Captor
-   private ArgumentCaptor<WicaChannel> captorChannel;
-
    @Captor
    private ArgumentCaptor<List<WicaChannelValue>> captorValueList;
 
+   private final WicaChannelValueFilterPipeline passEverythingPipeline = new WicaChannelValueFilterPipeline( c -> l -> l );
+
    private WicaStreamPolledValueCollectorService serviceUnderTest;
    private WicaStream testStream;
    private WicaChannel testChannel1;
@@ -111,15 +111,14 @@ class WicaStreamPolledValueCollectorTest
 
       serviceUnderTest = new WicaStreamPolledValueCollectorService( 5, wicaChannelValueFilteringServiceMock );
       given( wicaChannelValueFilteringServiceMock.filterLastValues( captorValueList.capture() ) ).willAnswer(( x) -> captorValueList.getValue() );
-      given( wicaChannelValueFilteringServiceMock.filterValues(  captorChannel.capture(), captorValueList.capture() ) ).willAnswer(( x) -> captorValueList.getValue() );
    }
 
    @Test
    void test_initialisation()
    {
       assertThat( serviceUnderTest.getLatest( testStream ).entrySet().isEmpty(), is( true ) );
-      assertThat( serviceUnderTest.get( testStream, LocalDateTime.MIN ).entrySet().isEmpty(), is( true ) );
-      assertThat( serviceUnderTest.get( testStream, LocalDateTime.MAX ).entrySet().isEmpty(), is( true ) );
+      assertThat( serviceUnderTest.get( testStream, LocalDateTime.MIN, passEverythingPipeline ).entrySet().isEmpty(), is( true ) );
+      assertThat( serviceUnderTest.get( testStream, LocalDateTime.MAX, passEverythingPipeline ).entrySet().isEmpty(), is( true ) );
    }
 
    @Test
@@ -172,7 +171,7 @@ class WicaStreamPolledValueCollectorTest
       serviceUnderTest.handleUpdateEvent( new WicaChannelPolledValueUpdateEvent( testChannel4, someValue4B ) );
 
 
-      final Map<WicaChannel, List<WicaChannelValue>> resultMap1A = serviceUnderTest.get( testStream, LocalDateTime.MIN );
+      final Map<WicaChannel, List<WicaChannelValue>> resultMap1A = serviceUnderTest.get( testStream, LocalDateTime.MIN, passEverythingPipeline );
       assertThat( resultMap1A.entrySet().size(), is( 3 ) );
       assertThat( resultMap1A.keySet(), not( hasItem( testChannel2 ) ) );
       assertThat( resultMap1A.keySet(), hasItems( testChannel1, testChannel3, testChannel4 ) );
@@ -180,7 +179,7 @@ class WicaStreamPolledValueCollectorTest
       assertThat( resultMap1A.values(), hasItem( List.of( someValue3A, someValue3B) ) );
       assertThat( resultMap1A.values(), hasItem( List.of( someValue4A, someValue4B) ) );
 
-      final Map<WicaChannel, List<WicaChannelValue>> resultMap1B = serviceUnderTest.get( testStream, beginTime );
+      final Map<WicaChannel, List<WicaChannelValue>> resultMap1B = serviceUnderTest.get( testStream, beginTime, passEverythingPipeline );
       assertThat( resultMap1B.entrySet().size(), is( 3 ) );
       assertThat( resultMap1B.keySet(), not( hasItem( testChannel2 ) ) );
       assertThat( resultMap1B.keySet(), hasItems( testChannel1, testChannel3, testChannel4 ) );
@@ -188,7 +187,7 @@ class WicaStreamPolledValueCollectorTest
       assertThat( resultMap1B.values(), hasItem( List.of( someValue3A, someValue3B) ) );
       assertThat( resultMap1B.values(), hasItem( List.of( someValue4A, someValue4B) ) );
 
-      final Map<WicaChannel, List<WicaChannelValue>> resultMap2 = serviceUnderTest.get( testStream, middleTime );
+      final Map<WicaChannel, List<WicaChannelValue>> resultMap2 = serviceUnderTest.get( testStream, middleTime, passEverythingPipeline );
       assertThat( resultMap2.entrySet().size(), is( 2 ) );
       assertThat( resultMap2.keySet(), hasItems( testChannel3, testChannel4 ) );
       assertThat( resultMap2.keySet(), not( hasItem( testChannel1 ) ) );
@@ -196,7 +195,7 @@ class WicaStreamPolledValueCollectorTest
       assertThat( resultMap2.values(), hasItem( List.of( someValue3A, someValue3B) ) );
       assertThat( resultMap2.values(), hasItem( List.of( someValue4A, someValue4B) ) );
 
-      final Map<WicaChannel, List<WicaChannelValue>> resultMap3 = serviceUnderTest.get( testStream, endTime );
+      final Map<WicaChannel, List<WicaChannelValue>> resultMap3 = serviceUnderTest.get( testStream, endTime, passEverythingPipeline );
       assertThat( resultMap3.entrySet().size(), is( 1 ) );
       assertThat( resultMap3.keySet(), hasItems( testChannel4 ) );
       assertThat( resultMap3.keySet(), not( hasItem( testChannel1 ) ) );
@@ -204,7 +203,7 @@ class WicaStreamPolledValueCollectorTest
       assertThat( resultMap3.keySet(), not( hasItem( testChannel3 ) ) );
       assertThat( resultMap3.values(), hasItem( List.of( someValue4A, someValue4B) ) );
 
-      final Map<WicaChannel, List<WicaChannelValue>> resultMap4 = serviceUnderTest.get( testStream, LocalDateTime.MAX );
+      final Map<WicaChannel, List<WicaChannelValue>> resultMap4 = serviceUnderTest.get( testStream, LocalDateTime.MAX, passEverythingPipeline );
       assertThat( resultMap4.entrySet().size(), is( 0 ) );
    }
 
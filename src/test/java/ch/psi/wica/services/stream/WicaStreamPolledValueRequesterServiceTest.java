@@ -12,6 +12,7 @@ import ch.psi.wica.model.channel.WicaChannel;
 import ch.psi.wica.model.channel.WicaChannelProperties;
 import ch.psi.wica.model.channel.WicaChannelValue;
 import ch.psi.wica.model.stream.WicaStream;
+import ch.psi.wica.services.channel.WicaChannelValueFilteringService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +22,10 @@ import org.springframework.test.annotation.DirtiesContext;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -43,6 +48,9 @@ class WicaStreamPolledValueRequesterServiceTest
    @Autowired
    private WicaStreamPolledValueRequesterService service;
 
+   @Autowired
+   private WicaChannelValueFilteringService wicaChannelValueFilteringService;
+
    private WicaChannel testChannel;
    private WicaStream wicaStream;
 
@@ -122,12 +130,43 @@ class WicaStreamPolledValueRequesterServiceTest
       final Map<WicaChannel, List<WicaChannelValue>> firstValueMap = wicaStreamPolledValueCollectorService.getLatest( wicaStream);
       assertThat( firstValueMap.size(), is( 1 ) );
 
-      final Map<WicaChannel, List<WicaChannelValue>> laterValueMap = wicaStreamPolledValueCollectorService.get( wicaStream, LocalDateTime.MIN  );
+      final Map<WicaChannel, List<WicaChannelValue>> laterValueMap = wicaStreamPolledValueCollectorService.get( wicaStream, LocalDateTime.MIN, wicaChannelValueFilteringService.createPolledValuePipeline() );
       assertThat( laterValueMap.size(), is( 1 ) );
       assertThat( laterValueMap.containsKey( myWicaChannel ), is( true ) );
       assertThat( laterValueMap.get( myWicaChannel ).get( 0 ).isConnected(), is( false ) );
    }
 
+   @Test
+   void testStartAndStopPolling_SameChannelInConcurrentStreams() throws Exception
+   {
+      final WicaStream otherWicaStream = WicaStreamBuilder.create()
+            .withId( "myOtherStream" )
+            .withChannel( testChannel )
+            .build();
+
+      final int numberOfRepetitions = 50;
+      final ExecutorService executor = Executors.newFixedThreadPool( 2 );
+      for ( int i = 0; i < numberOfRepetitions; i++ )
+      {
+         final CountDownLatch startSignal = new CountDownLatch( 1 );
+         final Future<?> future1 = executor.submit( () -> { startSignal.await(); service.startPolling( wicaStream ); return null; } );
+         final Future<?> future2 = executor.submit( () -> { startSignal.await(); service.startPolling( otherWicaStream ); return null; } );
+         startSignal.countDown();
+         future1.get();
+         future2.get();
+         assertEquals( 2, service.getInterestCountForChannel( testChannel ) );
+
+         final CountDownLatch stopSignal = new CountDownLatch( 1 );
+         final Future<?> future3 = executor.submit( () -> { stopSignal.await(); service.stopPolling( wicaStream ); return null; } );
+         final Future<?> future4 = executor.submit( () -> { stopSignal.await(); service.stopPolling( otherWicaStream ); return null; } );
+         stopSignal.countDown();
+         future3.get();
+         future4.get();
+         assertEquals( 0, service.getInterestCountForChannel( testChannel ) );
+      }
+      executor.shutdown();
+   }
+
 /*- Private methods ----------------------------------------------------------*/
 /*- Nested Classes -----------------------------------------------------------*/
 
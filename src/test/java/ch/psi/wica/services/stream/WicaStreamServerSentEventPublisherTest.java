@@ -3,16 +3,20 @@ package ch.psi.wica.services.stream;
 
 /*- Imported packages --------------------------------------------------------*/
 
+import ch.psi.wica.controlsystem.event.WicaChannelMonitoredValueUpdateEvent;
 import ch.psi.wica.infrastructure.channel.WicaChannelBuilder;
 import ch.psi.wica.infrastructure.stream.WicaStreamBuilder;
 import ch.psi.wica.infrastructure.stream.WicaStreamPropertiesBuilder;
 import ch.psi.wica.model.channel.WicaChannel;
+import ch.psi.wica.model.channel.WicaChannelAlarmSeverity;
+import ch.psi.wica.model.channel.WicaChannelAlarmStatus;
 import ch.psi.wica.model.channel.WicaChannelMetadata;
 import ch.psi.wica.model.channel.WicaChannelValue;
 import ch.psi.wica.model.stream.WicaStream;
 import ch.psi.wica.model.stream.WicaStreamId;
 import ch.psi.wica.model.stream.WicaStreamProperties;
 import ch.psi.wica.services.channel.WicaChannelMetadataMapSerializerService;
+import ch.psi.wica.services.channel.WicaChannelValueFilteringService;
 import ch.psi.wica.services.channel.WicaChannelValueMapSerializerService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -26,8 +30,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -39,6 +45,7 @@ import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 
 
@@ -71,6 +78,9 @@ class WicaStreamServerSentEventPublisherTest
    @Autowired
    private WicaChannelValueMapSerializerService wicaChannelValueMapSerializerService;
 
+   @Autowired
+   private WicaChannelValueFilteringService wicaChannelValueFilteringService;
+
    private final ObjectMapper jsonDecoder = new ObjectMapper();
 
    private final WicaChannel wicaTestChannel1 =  WicaChannelBuilder.create().withChannelNameAndDefaultProperties("CHAN_1").build();
@@ -129,7 +139,8 @@ class WicaStreamServerSentEventPublisherTest
                                                                 wicaStreamMonitoredValueCollectorService,
                                                                 wicaStreamPolledValueCollectorService,
                                                                 wicaChannelMetadataMapSerializerService,
-                                                                wicaChannelValueMapSerializerService );
+                                                                wicaChannelValueMapSerializerService,
+                                                                wicaChannelValueFilteringService );
    }
 
    @Test
@@ -141,8 +152,8 @@ class WicaStreamServerSentEventPublisherTest
       final ArgumentCaptor<WicaStream>captor1 = ArgumentCaptor.forClass( WicaStream.class );
       final ArgumentCaptor<LocalDateTime>captor2 = ArgumentCaptor.forClass( LocalDateTime.class );
       given( wicaStreamMetadataCollectorServiceMock.get( captor1.capture(), captor2.capture() ) ).willAnswer( rqst -> getMetadataMap() );
-      given( wicaStreamMonitoredValueCollectorService.get(captor1.capture(), captor2.capture() ) ).willAnswer( rqst -> req1MonitoredValueMap );
-      given( wicaStreamPolledValueCollectorService.get(captor1.capture(), captor2.capture() ) ).willAnswer(rqst -> req1MonitoredValueMap  );
+      given( wicaStreamMonitoredValueCollectorService.get(captor1.capture(), captor2.capture(), any() ) ).willAnswer( rqst -> req1MonitoredValueMap );
+      given( wicaStreamPolledValueCollectorService.get( captor1.capture(), captor2.capture(), any() ) ).willAnswer(rqst -> req1MonitoredValueMap  );
 
       final var flux = objectUnderTest.getFlux();
       flux.subscribe( (c) -> logger.info( "c is: ------> {}", c ) );
@@ -183,9 +194,9 @@ class WicaStreamServerSentEventPublisherTest
       final ArgumentCaptor<LocalDateTime>captor2 = ArgumentCaptor.forClass( LocalDateTime.class );
       given( wicaStreamMetadataCollectorServiceMock.get( captor1.capture(), captor2.capture() ) ).willAnswer( rqst -> getMetadataMap() );
       given( wicaStreamMonitoredValueCollectorService.getLatest( captor1.capture() ) ).willAnswer( rqst -> req1MonitoredValueMap );
-      given( wicaStreamMonitoredValueCollectorService.get( captor1.capture(), captor2.capture() ) ).willAnswer( rqst -> req2MonitoredValueMap );
+      given( wicaStreamMonitoredValueCollectorService.get( captor1.capture(), captor2.capture(), any() ) ).willAnswer( rqst -> req2MonitoredValueMap );
       given( wicaStreamPolledValueCollectorService.getLatest( captor1.capture() ) ).willAnswer(rqst -> req1PolledValueMap );
-      given( wicaStreamPolledValueCollectorService.get( captor1.capture(), captor2.capture() ) ).willAnswer(rqst -> req2PolledValueMap );
+      given( wicaStreamPolledValueCollectorService.get( captor1.capture(), captor2.capture(), any() ) ).willAnswer(rqst -> req2PolledValueMap );
 
       // Subscribe to the stream publisher,
       final List<ServerSentEvent<String>> sseList = new ArrayList<>();
@@ -318,6 +329,186 @@ class WicaStreamServerSentEventPublisherTest
       assertThat( sse5.data(), containsString( LocalDate.now().toString() ) );
    }
 
+   @Test
+   void testAlarmBypass() throws IOException
+   {
+      // Only the monitored value flux is enabled, and with an interval long
+      // enough that it never fires during the test.
+      final WicaStreamProperties wicaStreamProperties = WicaStreamPropertiesBuilder.create()
+            .withDefaultProperties()
+            .withMetadataFluxInterval( 0 )
+            .withHeartbeatFluxInterval( 0 )
+            .withPolledValueFluxInterval( 0 )
+            .withMonitoredValueFluxInterval( 60_000 )
+            .withAlarmBypass( true )
+            .withFieldsOfInterest( "val;sevr" )
+            .build();
+
+      final WicaStream wicaStream = WicaStreamBuilder.create()
+            .withStreamProperties( wicaStreamProperties )
+            .withChannelNameAndStreamProperties( "CHAN_1" )
+            .withChannelNameAndStreamProperties( "CHAN_2" )
+            .build();
+
+      final WicaChannelValue alarmValue = WicaChannelValue.createChannelValueConnected( WicaChannelAlarmSeverity.MAJOR_ALARM, WicaChannelAlarmStatus.of( 3 ), LocalDateTime.now(), 99.0 );
+      given( wicaStreamMonitoredValueCollectorService.getAlarmTransitionFlux() ).willReturn( Flux.just( new WicaChannelMonitoredValueUpdateEvent( wicaTestChannel1, alarmValue ) ) );
+
+      final var publisher = new WicaStreamServerSentEventPublisher( wicaStream,
+                                                                    wicaStreamMetadataCollectorServiceMock,
+                                                                    wicaStreamMonitoredValueCollectorService,
+                                                                    wicaStreamPolledValueCollectorService,
+                                                                    wicaChannelMetadataMapSerializerService,
+                                                                    wicaChannelValueMapSerializerService,
+                                                                    wicaChannelValueFilteringService );
+
+      final ServerSentEvent<String> sse = publisher.getFlux().blockFirst( Duration.ofSeconds( 5 ) );
+      publisher.shutdown();
+
+      assertThat( sse.event(), is( "ev-wica-channel-value" ) );
+      final JsonNode sseNode = jsonDecoder.readTree( sse.data() );
+      assertThat( sseNode.has( "CHAN_1" ), is( true ) );
+      assertThat( sseNode.has( "CHAN_2" ), is( false ) );
+      assertThat( sseNode.get( "CHAN_1" ).get( 0 ).get( "sevr" ).asInt(), is( 2 ) );
+   }
+
+   @Test
+   void testAlarmBypass_FollowsStreamUpdates() throws IOException
+   {
+      final WicaStreamProperties wicaStreamProperties = WicaStreamPropertiesBuilder.create()
+            .withDefaultProperties()
+            .withMetadataFluxInterval( 0 )
+            .withHeartbeatFluxInterval( 0 )
+            .withPolledValueFluxInterval( 0 )
+            .withMonitoredValueFluxInterval( 60_000 )
+            .withAlarmBypass( true )
+            .withFieldsOfInterest( "val;sevr" )
+            .build();
+
+      final WicaStream wicaStream = WicaStreamBuilder.create()
+            .withStreamProperties( wicaStreamProperties )
+            .withChannelNameAndStreamProperties( "CHAN_1" )
+            .build();
+
+      final WicaStream updatedWicaStream = new WicaStream( wicaStream.getWicaStreamId(), wicaStreamProperties, WicaStreamBuilder.create()
+            .withStreamProperties( wicaStreamProperties )
+            .withChannelNameAndStreamProperties( "CHAN_1" )
+            .withChannelNameAndStreamProperties( "CHAN_3" )
+            .build()
+            .getWicaChannels() );
+
+      // The stream gains a channel between the first and the second transition.
+      final WicaChannel wicaTestChannel3 = WicaChannelBuilder.create().withChannelNameAndDefaultProperties( "CHAN_3" ).build();
+      final WicaChannelValue alarmValue = WicaChannelValue.createChannelValueConnected( WicaChannelAlarmSeverity.MAJOR_ALARM, WicaChannelAlarmStatus.of( 3 ), LocalDateTime.now(), 99.0 );
+      final AtomicReference<WicaStreamServerSentEventPublisher> publisherRef = new AtomicReference<>();
+      given( wicaStreamMonitoredValueCollectorService.getAlarmTransitionFlux() ).willReturn(
+            Flux.just( new WicaChannelMonitoredValueUpdateEvent( wicaTestChannel1, alarmValue ) )
+                .concatWith( Flux.defer( () -> {
+                   publisherRef.get().updateStream( updatedWicaStream );
+                   return Flux.just( new WicaChannelMonitoredValueUpdateEvent( wicaTestChannel3, alarmValue ) );
+                } ) ) );
+
+      final var publisher = new WicaStreamServerSentEventPublisher( wicaStream,
+                                                                    wicaStreamMetadataCollectorServiceMock,
+                                                                    wicaStreamMonitoredValueCollectorService,
+                                                                    wicaStreamPolledValueCollectorService,
+                                                                    wicaChannelMetadataMapSerializerService,
+                                                                    wicaChannelValueMapSerializerService,
+                                                                    wicaChannelValueFilteringService );
+      publisherRef.set( publisher );
+
+      final List<ServerSentEvent<String>> sseList = publisher.getFlux().take( 2 ).collectList().block( Duration.ofSeconds( 5 ) );
+      publisher.shutdown();
+
+      assertThat( jsonDecoder.readTree( sseList.get( 0 ).data() ).has( "CHAN_1" ), is( true ) );
+      assertThat( jsonDecoder.readTree( sseList.get( 1 ).data() ).has( "CHAN_3" ), is( true ) );
+   }
+
+   @Test
+   void testAlarmSummary()
+   {
+      // Only the alarm summary flux is enabled.
+      final WicaStreamProperties wicaStreamProperties = WicaStreamPropertiesBuilder.create()
+            .withDefaultProperties()
+            .withMetadataFluxInterval( 0 )
+            .withHeartbeatFluxInterval( 0 )
+            .withPolledValueFluxInterval( 0 )
+            .withMonitoredValueFluxInterval( 0 )
+            .withAlarmSummaryFluxInterval( 100 )
+            .build();
+
+      final WicaStream wicaStream = WicaStreamBuilder.create()
+            .withStreamProperties( wicaStreamProperties )
+            .withChannelNameAndStreamProperties( "CHAN_1" )
+            .withChannelNameAndStreamProperties( "CHAN_2" )
+            .build();
+
+      // Initially CHAN_1 is online without alarm and CHAN_2 has no value. Later CHAN_1 goes into alarm.
+      final WicaChannel chan1 = wicaStream.getWicaChannels().stream().filter( c -> c.getName().asString().equals( "CHAN_1" ) ).findFirst().orElseThrow();
+      final WicaChannelValue alarmValue = WicaChannelValue.createChannelValueConnected( WicaChannelAlarmSeverity.MAJOR_ALARM, WicaChannelAlarmStatus.of( 3 ), LocalDateTime.now(), 99.0 );
+      given( wicaStreamMonitoredValueCollectorService.getLatest( any( WicaStream.class ) ) ).willReturn( Map.of( chan1, List.of( WicaChannelValue.createChannelValueConnected( 1.0 ) ) ) );
+      given( wicaStreamMonitoredValueCollectorService.getAlarmTransitionFlux() ).willReturn( Flux.just( new WicaChannelMonitoredValueUpdateEvent( wicaTestChannel1, alarmValue ) ).delayElements( Duration.ofMillis( 500 ) ).concatWith( Flux.never() ) );
+
+      final var publisher = new WicaStreamServerSentEventPublisher( wicaStream,
+                                                                    wicaStreamMetadataCollectorServiceMock,
+                                                                    wicaStreamMonitoredValueCollectorService,
+                                                                    wicaStreamPolledValueCollectorService,
+                                                                    wicaChannelMetadataMapSerializerService,
+                                                                    wicaChannelValueMapSerializerService,
+                                                                    wicaChannelValueFilteringService );
+
+      final List<ServerSentEvent<String>> sseList = publisher.getFlux().take( 2 ).collectList().block( Duration.ofSeconds( 5 ) );
+      publisher.shutdown();
+
+      assertThat( sseList.size(), is( 2 ) );
+      assertThat( sseList.get( 0 ).event(), is( "ev-wica-alarm-summary" ) );
+      assertThat( sseList.get( 0 ).data(), is( "{\"total\":2,\"offline\":1,\"sevr\":{\"0\":1,\"1\":0,\"2\":0,\"3\":0}}" ) );
+      assertThat( sseList.get( 1 ).data(), is( "{\"total\":2,\"offline\":1,\"sevr\":{\"0\":0,\"1\":0,\"2\":1,\"3\":0}}" ) );
+   }
+
+   @Test
+   void testAlarmSummary_TransitionBeforeFirstPeriodIsCounted()
+   {
+      // Only the alarm summary flux is enabled and its period is longer than the test.
+      final WicaStreamProperties wicaStreamProperties = WicaStreamPropertiesBuilder.create()
+            .withDefaultProperties()
+            .withMetadataFluxInterval( 0 )
+            .withHeartbeatFluxInterval( 0 )
+            .withPolledValueFluxInterval( 0 )
+            .withMonitoredValueFluxInterval( 0 )
+            .withAlarmSummaryFluxInterval( 60_000 )
+            .build();
+
+      final WicaStream wicaStream = WicaStreamBuilder.create()
+            .withStreamProperties( wicaStreamProperties )
+            .withChannelNameAndStreamProperties( "CHAN_1" )
+            .build();
+
+      // CHAN_1 goes into alarm as soon as the transitions are subscribed. As in
+      // the collector the value is saved before the transition is published.
+      final WicaChannel chan1 = wicaStream.getWicaChannels().iterator().next();
+      final WicaChannelValue alarmValue = WicaChannelValue.createChannelValueConnected( WicaChannelAlarmSeverity.MAJOR_ALARM, WicaChannelAlarmStatus.of( 3 ), LocalDateTime.now(), 99.0 );
+      final AtomicReference<Map<WicaChannel,List<WicaChannelValue>>> latestValues = new AtomicReference<>( Map.of( chan1, List.of( WicaChannelValue.createChannelValueConnected( 1.0 ) ) ) );
+      given( wicaStreamMonitoredValueCollectorService.getLatest( any( WicaStream.class ) ) ).willAnswer( i -> latestValues.get() );
+      given( wicaStreamMonitoredValueCollectorService.getAlarmTransitionFlux() ).willReturn( Flux.defer( () -> {
+         latestValues.set( Map.of( chan1, List.of( alarmValue ) ) );
+         return Flux.just( new WicaChannelMonitoredValueUpdateEvent( chan1, alarmValue ) );
+      } ).concatWith( Flux.never() ) );
+
+      final var publisher = new WicaStreamServerSentEventPublisher( wicaStream,
+                                                                    wicaStreamMetadataCollectorServiceMock,
+                                                                    wicaStreamMonitoredValueCollectorService,
+                                                                    wicaStreamPolledValueCollectorService,
+                                                                    wicaChannelMetadataMapSerializerService,
+                                                                    wicaChannelValueMapSerializerService,
+                                                                    wicaChannelValueFilteringService );
+
+      final ServerSentEvent<String> sse = publisher.getFlux().blockFirst( Duration.ofSeconds( 5 ) );
+      publisher.shutdown();
+
+      assertThat( sse.event(), is( "ev-wica-alarm-summary" ) );
+      assertThat( sse.data(), is( "{\"total\":1,\"offline\":0,\"sevr\":{\"0\":0,\"1\":0,\"2\":1,\"3\":0}}" ) );
+   }
+
 /*- Private methods ----------------------------------------------------------*/
 
    private Map<WicaChannel,WicaChannelMetadata> getMetadataMap()